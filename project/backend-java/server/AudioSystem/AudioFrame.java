@@ -0,0 +1,168 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+//
+// Ice version 3.7.10
+//
+// <auto-generated>
+//
+// Generated from file `AudioSubject.ice'
+//
+// Warning: do not edit this file.
+//
+// </auto-generated>
+//
+
+package AudioSystem;
+
+public class AudioFrame implements java.lang.Cloneable,
+                   java.io.Serializable
+{
+    public int seq;
+
+    public int timestamp;
+
+    public java.nio.ByteBuffer data;
+
+    public AudioFrame()
+    {
+    }
+
+    public AudioFrame(int seq, int timestamp, java.nio.ByteBuffer data)
+    {
+        this.seq = seq;
+        this.timestamp = timestamp;
+        this.data = data;
+    }
+
+    public boolean equals(java.lang.Object rhs)
+    {
+        if(this == rhs)
+        {
+            return true;
+        }
+        AudioFrame r = null;
+        if(rhs instanceof AudioFrame)
+        {
+            r = (AudioFrame)rhs;
+        }
+
+        if(r != null)
+        {
+            if(this.seq != r.seq)
+            {
+                return false;
+            }
+
+            if(this.timestamp != r.timestamp)
+            {
+                return false;
+            }
+
+            if(this.data != r.data)
+            {
+                if(this.data == null || r.data == null || !this.data.equals(r.data))
+                {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        return false;
+    }
+
+    public int hashCode()
+    {
+        int h_ = 5381;
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, "::AudioSystem::AudioFrame");
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, seq);
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, timestamp);
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, data);
+        return h_;
+    }
+
+    public AudioFrame clone()
+    {
+        AudioFrame c = null;
+        try
+        {
+            c = (AudioFrame)super.clone();
+        }
+        catch(CloneNotSupportedException ex)
+        {
+            assert false; // impossible
+        }
+        return c;
+    }
+
+    public void ice_writeMembers(com.zeroc.Ice.OutputStream ostr)
+    {
+        ostr.writeInt(this.seq);
+        ostr.writeInt(this.timestamp);
+        ostr.writeByteBuffer(this.data);
+    }
+
+    public void ice_readMembers(com.zeroc.Ice.InputStream istr)
+    {
+        this.seq = istr.readInt();
+        this.timestamp = istr.readInt();
+        this.data = istr.readByteBuffer();
+    }
+
+    static public void ice_write(com.zeroc.Ice.OutputStream ostr, AudioFrame v)
+    {
+        if(v == null)
+        {
+            _nullMarshalValue.ice_writeMembers(ostr);
+        }
+        else
+        {
+            v.ice_writeMembers(ostr);
+        }
+    }
+
+    static public AudioFrame ice_read(com.zeroc.Ice.InputStream istr)
+    {
+        AudioFrame v = new AudioFrame();
+        v.ice_readMembers(istr);
+        return v;
+    }
+
+    static public void ice_write(com.zeroc.Ice.OutputStream ostr, int tag, java.util.Optional<AudioFrame> v)
+    {
+        if(v != null && v.isPresent())
+        {
+            ice_write(ostr, tag, v.get());
+        }
+    }
+
+    static public void ice_write(com.zeroc.Ice.OutputStream ostr, int tag, AudioFrame v)
+    {
+        if(ostr.writeOptional(tag, com.zeroc.Ice.OptionalFormat.FSize))
+        {
+            int pos = ostr.startSize();
+            ice_write(ostr, v);
+            ostr.endSize(pos);
+        }
+    }
+
+    static public java.util.Optional<AudioFrame> ice_read(com.zeroc.Ice.InputStream istr, int tag)
+    {
+        if(istr.readOptional(tag, com.zeroc.Ice.OptionalFormat.FSize))
+        {
+            istr.skip(4);
+            return java.util.Optional.of(AudioFrame.ice_read(istr));
+        }
+        else
+        {
+            return java.util.Optional.empty();
+        }
+    }
+
+    private static final AudioFrame _nullMarshalValue = new AudioFrame();
+
+    /** @hidden */
+    public static final long serialVersionUID = 1035617770L;
+}
@@ -0,0 +1,169 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+//
+// Ice version 3.7.10
+//
+// <auto-generated>
+//
+// Generated from file `AudioSubject.ice'
+//
+// Warning: do not edit this file.
+//
+// </auto-generated>
+//
+
+package AudioSystem;
+
+public class AudioLevel implements java.lang.Cloneable,
+                   java.io.Serializable
+{
+    public String user;
+
+    public int level;
+
+    public boolean speaking;
+
+    public AudioLevel()
+    {
+        this.user = "";
+    }
+
+    public AudioLevel(String user, int level, boolean speaking)
+    {
+        this.user = user;
+        this.level = level;
+        this.speaking = speaking;
+    }
+
+    public boolean equals(java.lang.Object rhs)
+    {
+        if(this == rhs)
+        {
+            return true;
+        }
+        AudioLevel r = null;
+        if(rhs instanceof AudioLevel)
+        {
+            r = (AudioLevel)rhs;
+        }
+
+        if(r != null)
+        {
+            if(this.user != r.user)
+            {
+                if(this.user == null || r.user == null || !this.user.equals(r.user))
+                {
+                    return false;
+                }
+            }
+
+            if(this.level != r.level)
+            {
+                return false;
+            }
+
+            if(this.speaking != r.speaking)
+            {
+                return false;
+            }
+
+            return true;
+        }
+
+        return false;
+    }
+
+    public int hashCode()
+    {
+        int h_ = 5381;
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, "::AudioSystem::AudioLevel");
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, user);
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, level);
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, speaking);
+        return h_;
+    }
+
+    public AudioLevel clone()
+    {
+        AudioLevel c = null;
+        try
+        {
+            c = (AudioLevel)super.clone();
+        }
+        catch(CloneNotSupportedException ex)
+        {
+            assert false; // impossible
+        }
+        return c;
+    }
+
+    public void ice_writeMembers(com.zeroc.Ice.OutputStream ostr)
+    {
+        ostr.writeString(this.user);
+        ostr.writeInt(this.level);
+        ostr.writeBool(this.speaking);
+    }
+
+    public void ice_readMembers(com.zeroc.Ice.InputStream istr)
+    {
+        this.user = istr.readString();
+        this.level = istr.readInt();
+        this.speaking = istr.readBool();
+    }
+
+    static public void ice_write(com.zeroc.Ice.OutputStream ostr, AudioLevel v)
+    {
+        if(v == null)
+        {
+            _nullMarshalValue.ice_writeMembers(ostr);
+        }
+        else
+        {
+            v.ice_writeMembers(ostr);
+        }
+    }
+
+    static public AudioLevel ice_read(com.zeroc.Ice.InputStream istr)
+    {
+        AudioLevel v = new AudioLevel();
+        v.ice_readMembers(istr);
+        return v;
+    }
+
+    static public void ice_write(com.zeroc.Ice.OutputStream ostr, int tag, java.util.Optional<AudioLevel> v)
+    {
+        if(v != null && v.isPresent())
+        {
+            ice_write(ostr, tag, v.get());
+        }
+    }
+
+    static public void ice_write(com.zeroc.Ice.OutputStream ostr, int tag, AudioLevel v)
+    {
+        if(ostr.writeOptional(tag, com.zeroc.Ice.OptionalFormat.FSize))
+        {
+            int pos = ostr.startSize();
+            ice_write(ostr, v);
+            ostr.endSize(pos);
+        }
+    }
+
+    static public java.util.Optional<AudioLevel> ice_read(com.zeroc.Ice.InputStream istr, int tag)
+    {
+        if(istr.readOptional(tag, com.zeroc.Ice.OptionalFormat.FSize))
+        {
+            istr.skip(4);
+            return java.util.Optional.of(AudioLevel.ice_read(istr));
+        }
+        else
+        {
+            return java.util.Optional.empty();
+        }
+    }
+
+    private static final AudioLevel _nullMarshalValue = new AudioLevel();
+
+    /** @hidden */
+    public static final long serialVersionUID = -459153669L;
+}
@@ -53,6 +53,194 @@ public interface AudioObserverPrx extends com.zeroc.Ice.ObjectPrx
         return f;
     }
 
+    default void receiveSpeakerAudio(String fromUser, byte[] data)
+    {
+        receiveSpeakerAudio(fromUser, data, com.zeroc.Ice.ObjectPrx.noExplicitContext);
+    }
+
+    default void receiveSpeakerAudio(String fromUser, byte[] data, java.util.Map<String, String> context)
+    {
+        _iceI_receiveSpeakerAudioAsync(fromUser, data, context, true).waitForResponse();
+    }
+
+    default java.util.concurrent.CompletableFuture<Void> receiveSpeakerAudioAsync(String fromUser, byte[] data)
+    {
+        return _iceI_receiveSpeakerAudioAsync(fromUser, data, com.zeroc.Ice.ObjectPrx.noExplicitContext, false);
+    }
+
+    default java.util.concurrent.CompletableFuture<Void> receiveSpeakerAudioAsync(String fromUser, byte[] data, java.util.Map<String, String> context)
+    {
+        return _iceI_receiveSpeakerAudioAsync(fromUser, data, context, false);
+    }
+
+    /**
+     * @hidden
+     * @param iceP_fromUser -
+     * @param iceP_data -
+     * @param context -
+     * @param sync -
+     * @return -
+     **/
+    default com.zeroc.IceInternal.OutgoingAsync<Void> _iceI_receiveSpeakerAudioAsync(String iceP_fromUser, byte[] iceP_data, java.util.Map<String, String> context, boolean sync)
+    {
+        com.zeroc.IceInternal.OutgoingAsync<Void> f = new com.zeroc.IceInternal.OutgoingAsync<>(this, "receiveSpeakerAudio", null, sync, null);
+        f.invoke(false, context, null, ostr -> {
+                     ostr.writeString(iceP_fromUser);
+                     ostr.writeByteSeq(iceP_data);
+                 }, null);
+        return f;
+    }
+
+    default void receiveCodedAudio(String codec, int sampleRate, byte[] data)
+    {
+        receiveCodedAudio(codec, sampleRate, data, com.zeroc.Ice.ObjectPrx.noExplicitContext);
+    }
+
+    default void receiveCodedAudio(String codec, int sampleRate, byte[] data, java.util.Map<String, String> context)
+    {
+        _iceI_receiveCodedAudioAsync(codec, sampleRate, data, context, true).waitForResponse();
+    }
+
+    default java.util.concurrent.CompletableFuture<Void> receiveCodedAudioAsync(String codec, int sampleRate, byte[] data)
+    {
+        return _iceI_receiveCodedAudioAsync(codec, sampleRate, data, com.zeroc.Ice.ObjectPrx.noExplicitContext, false);
+    }
+
+    default java.util.concurrent.CompletableFuture<Void> receiveCodedAudioAsync(String codec, int sampleRate, byte[] data, java.util.Map<String, String> context)
+    {
+        return _iceI_receiveCodedAudioAsync(codec, sampleRate, data, context, false);
+    }
+
+    /**
+     * @hidden
+     * @param iceP_codec -
+     * @param iceP_sampleRate -
+     * @param iceP_data -
+     * @param context -
+     * @param sync -
+     * @return -
+     **/
+    default com.zeroc.IceInternal.OutgoingAsync<Void> _iceI_receiveCodedAudioAsync(String iceP_codec, int iceP_sampleRate, byte[] iceP_data, java.util.Map<String, String> context, boolean sync)
+    {
+        com.zeroc.IceInternal.OutgoingAsync<Void> f = new com.zeroc.IceInternal.OutgoingAsync<>(this, "receiveCodedAudio", null, sync, null);
+        f.invoke(false, context, null, ostr -> {
+                     ostr.writeString(iceP_codec);
+                     ostr.writeInt(iceP_sampleRate);
+                     ostr.writeByteSeq(iceP_data);
+                 }, null);
+        return f;
+    }
+
+    default void receiveComfortNoise(int level)
+    {
+        receiveComfortNoise(level, com.zeroc.Ice.ObjectPrx.noExplicitContext);
+    }
+
+    default void receiveComfortNoise(int level, java.util.Map<String, String> context)
+    {
+        _iceI_receiveComfortNoiseAsync(level, context, true).waitForResponse();
+    }
+
+    default java.util.concurrent.CompletableFuture<Void> receiveComfortNoiseAsync(int level)
+    {
+        return _iceI_receiveComfortNoiseAsync(level, com.zeroc.Ice.ObjectPrx.noExplicitContext, false);
+    }
+
+    default java.util.concurrent.CompletableFuture<Void> receiveComfortNoiseAsync(int level, java.util.Map<String, String> context)
+    {
+        return _iceI_receiveComfortNoiseAsync(level, context, false);
+    }
+
+    /**
+     * @hidden
+     * @param iceP_level -
+     * @param context -
+     * @param sync -
+     * @return -
+     **/
+    default com.zeroc.IceInternal.OutgoingAsync<Void> _iceI_receiveComfortNoiseAsync(int iceP_level, java.util.Map<String, String> context, boolean sync)
+    {
+        com.zeroc.IceInternal.OutgoingAsync<Void> f = new com.zeroc.IceInternal.OutgoingAsync<>(this, "receiveComfortNoise", null, sync, null);
+        f.invoke(false, context, null, ostr -> {
+                     ostr.writeInt(iceP_level);
+                 }, null);
+        return f;
+    }
+
+    default void qualityChanged(AudioQuality quality)
+    {
+        qualityChanged(quality, com.zeroc.Ice.ObjectPrx.noExplicitContext);
+    }
+
+    default void qualityChanged(AudioQuality quality, java.util.Map<String, String> context)
+    {
+        _iceI_qualityChangedAsync(quality, context, true).waitForResponse();
+    }
+
+    default java.util.concurrent.CompletableFuture<Void> qualityChangedAsync(AudioQuality quality)
+    {
+        return _iceI_qualityChangedAsync(quality, com.zeroc.Ice.ObjectPrx.noExplicitContext, false);
+    }
+
+    default java.util.concurrent.CompletableFuture<Void> qualityChangedAsync(AudioQuality quality, java.util.Map<String, String> context)
+    {
+        return _iceI_qualityChangedAsync(quality, context, false);
+    }
+
+    /**
+     * @hidden
+     * @param iceP_quality -
+     * @param context -
+     * @param sync -
+     * @return -
+     **/
+    default com.zeroc.IceInternal.OutgoingAsync<Void> _iceI_qualityChangedAsync(AudioQuality iceP_quality, java.util.Map<String, String> context, boolean sync)
+    {
+        com.zeroc.IceInternal.OutgoingAsync<Void> f = new com.zeroc.IceInternal.OutgoingAsync<>(this, "qualityChanged", null, sync, null);
+        f.invoke(false, context, null, ostr -> {
+                     AudioQuality.ice_write(ostr, iceP_quality);
+                 }, null);
+        return f;
+    }
+
+    default void audioLevels(String activeSpeaker, AudioLevel[] levels)
+    {
+        audioLevels(activeSpeaker, levels, com.zeroc.Ice.ObjectPrx.noExplicitContext);
+    }
+
+    default void audioLevels(String activeSpeaker, AudioLevel[] levels, java.util.Map<String, String> context)
+    {
+        _iceI_audioLevelsAsync(activeSpeaker, levels, context, true).waitForResponse();
+    }
+
+    default java.util.concurrent.CompletableFuture<Void> audioLevelsAsync(String activeSpeaker, AudioLevel[] levels)
+    {
+        return _iceI_audioLevelsAsync(activeSpeaker, levels, com.zeroc.Ice.ObjectPrx.noExplicitContext, false);
+    }
+
+    default java.util.concurrent.CompletableFuture<Void> audioLevelsAsync(String activeSpeaker, AudioLevel[] levels, java.util.Map<String, String> context)
+    {
+        return _iceI_audioLevelsAsync(activeSpeaker, levels, context, false);
+    }
+
+    /**
+     * @hidden
+     * @param iceP_activeSpeaker -
+     * @param iceP_levels -
+     * @param context -
+     * @param sync -
+     * @return -
+     **/
+    default com.zeroc.IceInternal.OutgoingAsync<Void> _iceI_audioLevelsAsync(String iceP_activeSpeaker, AudioLevel[] iceP_levels, java.util.Map<String, String> context, boolean sync)
+    {
+        com.zeroc.IceInternal.OutgoingAsync<Void> f = new com.zeroc.IceInternal.OutgoingAsync<>(this, "audioLevels", null, sync, null);
+        f.invoke(false, context, null, ostr -> {
+                     ostr.writeString(iceP_activeSpeaker);
+                     AudioLevelSeqHelper.write(ostr, iceP_levels);
+                 }, null);
+        return f;
+    }
+
     default void incomingCall(String fromUser)
     {
         incomingCall(fromUser, com.zeroc.Ice.ObjectPrx.noExplicitContext);
@@ -197,6 +385,78 @@ public interface AudioObserverPrx extends com.zeroc.Ice.ObjectPrx
         return f;
     }
 
+    default void callBusy(String fromUser)
+    {
+        callBusy(fromUser, com.zeroc.Ice.ObjectPrx.noExplicitContext);
+    }
+
+    default void callBusy(String fromUser, java.util.Map<String, String> context)
+    {
+        _iceI_callBusyAsync(fromUser, context, true).waitForResponse();
+    }
+
+    default java.util.concurrent.CompletableFuture<Void> callBusyAsync(String fromUser)
+    {
+        return _iceI_callBusyAsync(fromUser, com.zeroc.Ice.ObjectPrx.noExplicitContext, false);
+    }
+
+    default java.util.concurrent.CompletableFuture<Void> callBusyAsync(String fromUser, java.util.Map<String, String> context)
+    {
+        return _iceI_callBusyAsync(fromUser, context, false);
+    }
+
+    /**
+     * @hidden
+     * @param iceP_fromUser -
+     * @param context -
+     * @param sync -
+     * @return -
+     **/
+    default com.zeroc.IceInternal.OutgoingAsync<Void> _iceI_callBusyAsync(String iceP_fromUser, java.util.Map<String, String> context, boolean sync)
+    {
+        com.zeroc.IceInternal.OutgoingAsync<Void> f = new com.zeroc.IceInternal.OutgoingAsync<>(this, "callBusy", null, sync, null);
+        f.invoke(false, context, null, ostr -> {
+                     ostr.writeString(iceP_fromUser);
+                 }, null);
+        return f;
+    }
+
+    default void callNoAnswer(String fromUser)
+    {
+        callNoAnswer(fromUser, com.zeroc.Ice.ObjectPrx.noExplicitContext);
+    }
+
+    default void callNoAnswer(String fromUser, java.util.Map<String, String> context)
+    {
+        _iceI_callNoAnswerAsync(fromUser, context, true).waitForResponse();
+    }
+
+    default java.util.concurrent.CompletableFuture<Void> callNoAnswerAsync(String fromUser)
+    {
+        return _iceI_callNoAnswerAsync(fromUser, com.zeroc.Ice.ObjectPrx.noExplicitContext, false);
+    }
+
+    default java.util.concurrent.CompletableFuture<Void> callNoAnswerAsync(String fromUser, java.util.Map<String, String> context)
+    {
+        return _iceI_callNoAnswerAsync(fromUser, context, false);
+    }
+
+    /**
+     * @hidden
+     * @param iceP_fromUser -
+     * @param context -
+     * @param sync -
+     * @return -
+     **/
+    default com.zeroc.IceInternal.OutgoingAsync<Void> _iceI_callNoAnswerAsync(String iceP_fromUser, java.util.Map<String, String> context, boolean sync)
+    {
+        com.zeroc.IceInternal.OutgoingAsync<Void> f = new com.zeroc.IceInternal.OutgoingAsync<>(this, "callNoAnswer", null, sync, null);
+        f.invoke(false, context, null, ostr -> {
+                     ostr.writeString(iceP_fromUser);
+                 }, null);
+        return f;
+    }
+
     /**
      * Contacts the remote server to verify that the object implements this type.
      * Raises a local exception if a communication error occurs.
@@ -0,0 +1,154 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+//
+// Ice version 3.7.10
+//
+// <auto-generated>
+//
+// Generated from file `AudioSubject.ice'
+//
+// Warning: do not edit this file.
+//
+// </auto-generated>
+//
+
+package AudioSystem;
+
+public class AudioQuality implements java.lang.Cloneable,
+                   java.io.Serializable
+{
+    public int level;
+
+    public int sampleRate;
+
+    public AudioQuality()
+    {
+    }
+
+    public AudioQuality(int level, int sampleRate)
+    {
+        this.level = level;
+        this.sampleRate = sampleRate;
+    }
+
+    public boolean equals(java.lang.Object rhs)
+    {
+        if(this == rhs)
+        {
+            return true;
+        }
+        AudioQuality r = null;
+        if(rhs instanceof AudioQuality)
+        {
+            r = (AudioQuality)rhs;
+        }
+
+        if(r != null)
+        {
+            if(this.level != r.level)
+            {
+                return false;
+            }
+
+            if(this.sampleRate != r.sampleRate)
+            {
+                return false;
+            }
+
+            return true;
+        }
+
+        return false;
+    }
+
+    public int hashCode()
+    {
+        int h_ = 5381;
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, "::AudioSystem::AudioQuality");
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, level);
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, sampleRate);
+        return h_;
+    }
+
+    public AudioQuality clone()
+    {
+        AudioQuality c = null;
+        try
+        {
+            c = (AudioQuality)super.clone();
+        }
+        catch(CloneNotSupportedException ex)
+        {
+            assert false; // impossible
+        }
+        return c;
+    }
+
+    public void ice_writeMembers(com.zeroc.Ice.OutputStream ostr)
+    {
+        ostr.writeInt(this.level);
+        ostr.writeInt(this.sampleRate);
+    }
+
+    public void ice_readMembers(com.zeroc.Ice.InputStream istr)
+    {
+        this.level = istr.readInt();
+        this.sampleRate = istr.readInt();
+    }
+
+    static public void ice_write(com.zeroc.Ice.OutputStream ostr, AudioQuality v)
+    {
+        if(v == null)
+        {
+            _nullMarshalValue.ice_writeMembers(ostr);
+        }
+        else
+        {
+            v.ice_writeMembers(ostr);
+        }
+    }
+
+    static public AudioQuality ice_read(com.zeroc.Ice.InputStream istr)
+    {
+        AudioQuality v = new AudioQuality();
+        v.ice_readMembers(istr);
+        return v;
+    }
+
+    static public void ice_write(com.zeroc.Ice.OutputStream ostr, int tag, java.util.Optional<AudioQuality> v)
+    {
+        if(v != null && v.isPresent())
+        {
+            ice_write(ostr, tag, v.get());
+        }
+    }
+
+    static public void ice_write(com.zeroc.Ice.OutputStream ostr, int tag, AudioQuality v)
+    {
+        if(ostr.writeOptional(tag, com.zeroc.Ice.OptionalFormat.FSize))
+        {
+            int pos = ostr.startSize();
+            ice_write(ostr, v);
+            ostr.endSize(pos);
+        }
+    }
+
+    static public java.util.Optional<AudioQuality> ice_read(com.zeroc.Ice.InputStream istr, int tag)
+    {
+        if(istr.readOptional(tag, com.zeroc.Ice.OptionalFormat.FSize))
+        {
+            istr.skip(4);
+            return java.util.Optional.of(AudioQuality.ice_read(istr));
+        }
+        else
+        {
+            return java.util.Optional.empty();
+        }
+    }
+
+    private static final AudioQuality _nullMarshalValue = new AudioQuality();
+
+    /** @hidden */
+    public static final long serialVersionUID = -1001430284L;
+}
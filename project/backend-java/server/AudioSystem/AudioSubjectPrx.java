@@ -129,6 +129,250 @@ public interface AudioSubjectPrx extends com.zeroc.Ice.ObjectPrx
         return f;
     }
 
+    default void sendAudioFrame(String fromUser, AudioFrame frame)
+    {
+        sendAudioFrame(fromUser, frame, com.zeroc.Ice.ObjectPrx.noExplicitContext);
+    }
+
+    default void sendAudioFrame(String fromUser, AudioFrame frame, java.util.Map<String, String> context)
+    {
+        _iceI_sendAudioFrameAsync(fromUser, frame, context, true).waitForResponse();
+    }
+
+    default java.util.concurrent.CompletableFuture<Void> sendAudioFrameAsync(String fromUser, AudioFrame frame)
+    {
+        return _iceI_sendAudioFrameAsync(fromUser, frame, com.zeroc.Ice.ObjectPrx.noExplicitContext, false);
+    }
+
+    default java.util.concurrent.CompletableFuture<Void> sendAudioFrameAsync(String fromUser, AudioFrame frame, java.util.Map<String, String> context)
+    {
+        return _iceI_sendAudioFrameAsync(fromUser, frame, context, false);
+    }
+
+    /**
+     * @hidden
+     * @param iceP_fromUser -
+     * @param iceP_frame -
+     * @param context -
+     * @param sync -
+     * @return -
+     **/
+    default com.zeroc.IceInternal.OutgoingAsync<Void> _iceI_sendAudioFrameAsync(String iceP_fromUser, AudioFrame iceP_frame, java.util.Map<String, String> context, boolean sync)
+    {
+        com.zeroc.IceInternal.OutgoingAsync<Void> f = new com.zeroc.IceInternal.OutgoingAsync<>(this, "sendAudioFrame", null, sync, null);
+        f.invoke(false, context, null, ostr -> {
+                     ostr.writeString(iceP_fromUser);
+                     AudioFrame.ice_write(ostr, iceP_frame);
+                 }, null);
+        return f;
+    }
+
+    default StreamStats getStreamStats(String userId)
+    {
+        return getStreamStats(userId, com.zeroc.Ice.ObjectPrx.noExplicitContext);
+    }
+
+    default StreamStats getStreamStats(String userId, java.util.Map<String, String> context)
+    {
+        return _iceI_getStreamStatsAsync(userId, context, true).waitForResponse();
+    }
+
+    default java.util.concurrent.CompletableFuture<StreamStats> getStreamStatsAsync(String userId)
+    {
+        return _iceI_getStreamStatsAsync(userId, com.zeroc.Ice.ObjectPrx.noExplicitContext, false);
+    }
+
+    default java.util.concurrent.CompletableFuture<StreamStats> getStreamStatsAsync(String userId, java.util.Map<String, String> context)
+    {
+        return _iceI_getStreamStatsAsync(userId, context, false);
+    }
+
+    /**
+     * @hidden
+     * @param iceP_userId -
+     * @param context -
+     * @param sync -
+     * @return -
+     **/
+    default com.zeroc.IceInternal.OutgoingAsync<StreamStats> _iceI_getStreamStatsAsync(String iceP_userId, java.util.Map<String, String> context, boolean sync)
+    {
+        com.zeroc.IceInternal.OutgoingAsync<StreamStats> f = new com.zeroc.IceInternal.OutgoingAsync<>(this, "getStreamStats", null, sync, null);
+        f.invoke(true, context, null, ostr -> {
+                     ostr.writeString(iceP_userId);
+                 }, istr -> {
+                     StreamStats ret;
+                     ret = StreamStats.ice_read(istr);
+                     return ret;
+                 });
+        return f;
+    }
+
+    default BacklogStats getListenerBacklog(String userId)
+    {
+        return getListenerBacklog(userId, com.zeroc.Ice.ObjectPrx.noExplicitContext);
+    }
+
+    default BacklogStats getListenerBacklog(String userId, java.util.Map<String, String> context)
+    {
+        return _iceI_getListenerBacklogAsync(userId, context, true).waitForResponse();
+    }
+
+    default java.util.concurrent.CompletableFuture<BacklogStats> getListenerBacklogAsync(String userId)
+    {
+        return _iceI_getListenerBacklogAsync(userId, com.zeroc.Ice.ObjectPrx.noExplicitContext, false);
+    }
+
+    default java.util.concurrent.CompletableFuture<BacklogStats> getListenerBacklogAsync(String userId, java.util.Map<String, String> context)
+    {
+        return _iceI_getListenerBacklogAsync(userId, context, false);
+    }
+
+    /**
+     * @hidden
+     * @param iceP_userId -
+     * @param context -
+     * @param sync -
+     * @return -
+     **/
+    default com.zeroc.IceInternal.OutgoingAsync<BacklogStats> _iceI_getListenerBacklogAsync(String iceP_userId, java.util.Map<String, String> context, boolean sync)
+    {
+        com.zeroc.IceInternal.OutgoingAsync<BacklogStats> f = new com.zeroc.IceInternal.OutgoingAsync<>(this, "getListenerBacklog", null, sync, null);
+        f.invoke(true, context, null, ostr -> {
+                     ostr.writeString(iceP_userId);
+                 }, istr -> {
+                     BacklogStats ret;
+                     ret = BacklogStats.ice_read(istr);
+                     return ret;
+                 });
+        return f;
+    }
+
+    default CallStats getCallStats(String userId)
+    {
+        return getCallStats(userId, com.zeroc.Ice.ObjectPrx.noExplicitContext);
+    }
+
+    default CallStats getCallStats(String userId, java.util.Map<String, String> context)
+    {
+        return _iceI_getCallStatsAsync(userId, context, true).waitForResponse();
+    }
+
+    default java.util.concurrent.CompletableFuture<CallStats> getCallStatsAsync(String userId)
+    {
+        return _iceI_getCallStatsAsync(userId, com.zeroc.Ice.ObjectPrx.noExplicitContext, false);
+    }
+
+    default java.util.concurrent.CompletableFuture<CallStats> getCallStatsAsync(String userId, java.util.Map<String, String> context)
+    {
+        return _iceI_getCallStatsAsync(userId, context, false);
+    }
+
+    /**
+     * @hidden
+     * @param iceP_userId -
+     * @param context -
+     * @param sync -
+     * @return -
+     **/
+    default com.zeroc.IceInternal.OutgoingAsync<CallStats> _iceI_getCallStatsAsync(String iceP_userId, java.util.Map<String, String> context, boolean sync)
+    {
+        com.zeroc.IceInternal.OutgoingAsync<CallStats> f = new com.zeroc.IceInternal.OutgoingAsync<>(this, "getCallStats", null, sync, null);
+        f.invoke(true, context, null, ostr -> {
+                     ostr.writeString(iceP_userId);
+                 }, istr -> {
+                     CallStats ret;
+                     ret = CallStats.ice_read(istr);
+                     return ret;
+                 });
+        return f;
+    }
+
+    default boolean setCallCodec(String userId, String codec, int sampleRate)
+    {
+        return setCallCodec(userId, codec, sampleRate, com.zeroc.Ice.ObjectPrx.noExplicitContext);
+    }
+
+    default boolean setCallCodec(String userId, String codec, int sampleRate, java.util.Map<String, String> context)
+    {
+        return _iceI_setCallCodecAsync(userId, codec, sampleRate, context, true).waitForResponse();
+    }
+
+    default java.util.concurrent.CompletableFuture<java.lang.Boolean> setCallCodecAsync(String userId, String codec, int sampleRate)
+    {
+        return _iceI_setCallCodecAsync(userId, codec, sampleRate, com.zeroc.Ice.ObjectPrx.noExplicitContext, false);
+    }
+
+    default java.util.concurrent.CompletableFuture<java.lang.Boolean> setCallCodecAsync(String userId, String codec, int sampleRate, java.util.Map<String, String> context)
+    {
+        return _iceI_setCallCodecAsync(userId, codec, sampleRate, context, false);
+    }
+
+    /**
+     * @hidden
+     * @param iceP_userId -
+     * @param iceP_codec -
+     * @param iceP_sampleRate -
+     * @param context -
+     * @param sync -
+     * @return -
+     **/
+    default com.zeroc.IceInternal.OutgoingAsync<java.lang.Boolean> _iceI_setCallCodecAsync(String iceP_userId, String iceP_codec, int iceP_sampleRate, java.util.Map<String, String> context, boolean sync)
+    {
+        com.zeroc.IceInternal.OutgoingAsync<java.lang.Boolean> f = new com.zeroc.IceInternal.OutgoingAsync<>(this, "setCallCodec", null, sync, null);
+        f.invoke(true, context, null, ostr -> {
+                     ostr.writeString(iceP_userId);
+                     ostr.writeString(iceP_codec);
+                     ostr.writeInt(iceP_sampleRate);
+                 }, istr -> {
+                     boolean ret;
+                     ret = istr.readBool();
+                     return ret;
+                 });
+        return f;
+    }
+
+    default boolean setSendRate(String userId, int sampleRate)
+    {
+        return setSendRate(userId, sampleRate, com.zeroc.Ice.ObjectPrx.noExplicitContext);
+    }
+
+    default boolean setSendRate(String userId, int sampleRate, java.util.Map<String, String> context)
+    {
+        return _iceI_setSendRateAsync(userId, sampleRate, context, true).waitForResponse();
+    }
+
+    default java.util.concurrent.CompletableFuture<java.lang.Boolean> setSendRateAsync(String userId, int sampleRate)
+    {
+        return _iceI_setSendRateAsync(userId, sampleRate, com.zeroc.Ice.ObjectPrx.noExplicitContext, false);
+    }
+
+    default java.util.concurrent.CompletableFuture<java.lang.Boolean> setSendRateAsync(String userId, int sampleRate, java.util.Map<String, String> context)
+    {
+        return _iceI_setSendRateAsync(userId, sampleRate, context, false);
+    }
+
+    /**
+     * @hidden
+     * @param iceP_userId -
+     * @param iceP_sampleRate -
+     * @param context -
+     * @param sync -
+     * @return -
+     **/
+    default com.zeroc.IceInternal.OutgoingAsync<java.lang.Boolean> _iceI_setSendRateAsync(String iceP_userId, int iceP_sampleRate, java.util.Map<String, String> context, boolean sync)
+    {
+        com.zeroc.IceInternal.OutgoingAsync<java.lang.Boolean> f = new com.zeroc.IceInternal.OutgoingAsync<>(this, "setSendRate", null, sync, null);
+        f.invoke(true, context, null, ostr -> {
+                     ostr.writeString(iceP_userId);
+                     ostr.writeInt(iceP_sampleRate);
+                 }, istr -> {
+                     boolean ret;
+                     ret = istr.readBool();
+                     return ret;
+                 });
+        return f;
+    }
+
     default void startCall(String fromUser, String toUser)
     {
         startCall(fromUser, toUser, com.zeroc.Ice.ObjectPrx.noExplicitContext);
@@ -281,76 +525,118 @@ public interface AudioSubjectPrx extends com.zeroc.Ice.ObjectPrx
         return f;
     }
 
-    default String[] getConnectedUsers()
+    default UdpSession getUdpSession(String userId)
     {
-        return getConnectedUsers(com.zeroc.Ice.ObjectPrx.noExplicitContext);
+        return getUdpSession(userId, com.zeroc.Ice.ObjectPrx.noExplicitContext);
     }
 
-    default String[] getConnectedUsers(java.util.Map<String, String> context)
+    default UdpSession getUdpSession(String userId, java.util.Map<String, String> context)
     {
-        return _iceI_getConnectedUsersAsync(context, true).waitForResponse();
+        return _iceI_getUdpSessionAsync(userId, context, true).waitForResponse();
     }
 
-    default java.util.concurrent.CompletableFuture<String[]> getConnectedUsersAsync()
+    default java.util.concurrent.CompletableFuture<UdpSession> getUdpSessionAsync(String userId)
     {
-        return _iceI_getConnectedUsersAsync(com.zeroc.Ice.ObjectPrx.noExplicitContext, false);
+        return _iceI_getUdpSessionAsync(userId, com.zeroc.Ice.ObjectPrx.noExplicitContext, false);
     }
 
-    default java.util.concurrent.CompletableFuture<String[]> getConnectedUsersAsync(java.util.Map<String, String> context)
+    default java.util.concurrent.CompletableFuture<UdpSession> getUdpSessionAsync(String userId, java.util.Map<String, String> context)
     {
-        return _iceI_getConnectedUsersAsync(context, false);
+        return _iceI_getUdpSessionAsync(userId, context, false);
     }
 
     /**
      * @hidden
+     * @param iceP_userId -
      * @param context -
      * @param sync -
      * @return -
      **/
-    default com.zeroc.IceInternal.OutgoingAsync<String[]> _iceI_getConnectedUsersAsync(java.util.Map<String, String> context, boolean sync)
+    default com.zeroc.IceInternal.OutgoingAsync<UdpSession> _iceI_getUdpSessionAsync(String iceP_userId, java.util.Map<String, String> context, boolean sync)
     {
-        com.zeroc.IceInternal.OutgoingAsync<String[]> f = new com.zeroc.IceInternal.OutgoingAsync<>(this, "getConnectedUsers", null, sync, null);
-        f.invoke(true, context, null, null, istr -> {
-                     String[] ret;
-                     ret = istr.readStringSeq();
+        com.zeroc.IceInternal.OutgoingAsync<UdpSession> f = new com.zeroc.IceInternal.OutgoingAsync<>(this, "getUdpSession", null, sync, null);
+        f.invoke(true, context, null, ostr -> {
+                     ostr.writeString(iceP_userId);
+                 }, istr -> {
+                     UdpSession ret;
+                     ret = UdpSession.ice_read(istr);
                      return ret;
                  });
         return f;
     }
 
-    default String[] getPendingIncomingCalls(String userId)
+    default boolean setCallRecording(String userId, boolean enabled)
     {
-        return getPendingIncomingCalls(userId, com.zeroc.Ice.ObjectPrx.noExplicitContext);
+        return setCallRecording(userId, enabled, com.zeroc.Ice.ObjectPrx.noExplicitContext);
     }
 
-    default String[] getPendingIncomingCalls(String userId, java.util.Map<String, String> context)
+    default boolean setCallRecording(String userId, boolean enabled, java.util.Map<String, String> context)
     {
-        return _iceI_getPendingIncomingCallsAsync(userId, context, true).waitForResponse();
+        return _iceI_setCallRecordingAsync(userId, enabled, context, true).waitForResponse();
     }
 
-    default java.util.concurrent.CompletableFuture<String[]> getPendingIncomingCallsAsync(String userId)
+    default java.util.concurrent.CompletableFuture<java.lang.Boolean> setCallRecordingAsync(String userId, boolean enabled)
     {
-        return _iceI_getPendingIncomingCallsAsync(userId, com.zeroc.Ice.ObjectPrx.noExplicitContext, false);
+        return _iceI_setCallRecordingAsync(userId, enabled, com.zeroc.Ice.ObjectPrx.noExplicitContext, false);
     }
 
-    default java.util.concurrent.CompletableFuture<String[]> getPendingIncomingCallsAsync(String userId, java.util.Map<String, String> context)
+    default java.util.concurrent.CompletableFuture<java.lang.Boolean> setCallRecordingAsync(String userId, boolean enabled, java.util.Map<String, String> context)
     {
-        return _iceI_getPendingIncomingCallsAsync(userId, context, false);
+        return _iceI_setCallRecordingAsync(userId, enabled, context, false);
     }
 
     /**
      * @hidden
      * @param iceP_userId -
+     * @param iceP_enabled -
      * @param context -
      * @param sync -
      * @return -
      **/
-    default com.zeroc.IceInternal.OutgoingAsync<String[]> _iceI_getPendingIncomingCallsAsync(String iceP_userId, java.util.Map<String, String> context, boolean sync)
+    default com.zeroc.IceInternal.OutgoingAsync<java.lang.Boolean> _iceI_setCallRecordingAsync(String iceP_userId, boolean iceP_enabled, java.util.Map<String, String> context, boolean sync)
     {
-        com.zeroc.IceInternal.OutgoingAsync<String[]> f = new com.zeroc.IceInternal.OutgoingAsync<>(this, "getPendingIncomingCalls", null, sync, null);
+        com.zeroc.IceInternal.OutgoingAsync<java.lang.Boolean> f = new com.zeroc.IceInternal.OutgoingAsync<>(this, "setCallRecording", null, sync, null);
         f.invoke(true, context, null, ostr -> {
                      ostr.writeString(iceP_userId);
+                     ostr.writeBool(iceP_enabled);
                  }, istr -> {
+                     boolean ret;
+                     ret = istr.readBool();
+                     return ret;
+                 });
+        return f;
+    }
+
+    default String[] getCallRecordings()
+    {
+        return getCallRecordings(com.zeroc.Ice.ObjectPrx.noExplicitContext);
+    }
+
+    default String[] getCallRecordings(java.util.Map<String, String> context)
+    {
+        return _iceI_getCallRecordingsAsync(context, true).waitForResponse();
+    }
+
+    default java.util.concurrent.CompletableFuture<String[]> getCallRecordingsAsync()
+    {
+        return _iceI_getCallRecordingsAsync(com.zeroc.Ice.ObjectPrx.noExplicitContext, false);
+    }
+
+    default java.util.concurrent.CompletableFuture<String[]> getCallRecordingsAsync(java.util.Map<String, String> context)
+    {
+        return _iceI_getCallRecordingsAsync(context, false);
+    }
+
+    /**
+     * @hidden
+     * @param context -
+     * @param sync -
+     * @return -
+     **/
+    default com.zeroc.IceInternal.OutgoingAsync<String[]> _iceI_getCallRecordingsAsync(java.util.Map<String, String> context, boolean sync)
+    {
+        com.zeroc.IceInternal.OutgoingAsync<String[]> f = new com.zeroc.IceInternal.OutgoingAsync<>(this, "getCallRecordings", null, sync, null);
+        f.invoke(true, context, null, null, istr -> {
                      String[] ret;
                      ret = istr.readStringSeq();
                      return ret;
@@ -358,78 +644,118 @@ public interface AudioSubjectPrx extends com.zeroc.Ice.ObjectPrx
         return f;
     }
 
-    default String[] getPendingAcceptedCalls(String userId)
+    default boolean joinConference(String groupName, String userId)
     {
-        return getPendingAcceptedCalls(userId, com.zeroc.Ice.ObjectPrx.noExplicitContext);
+        return joinConference(groupName, userId, com.zeroc.Ice.ObjectPrx.noExplicitContext);
     }
 
-    default String[] getPendingAcceptedCalls(String userId, java.util.Map<String, String> context)
+    default boolean joinConference(String groupName, String userId, java.util.Map<String, String> context)
     {
-        return _iceI_getPendingAcceptedCallsAsync(userId, context, true).waitForResponse();
+        return _iceI_joinConferenceAsync(groupName, userId, context, true).waitForResponse();
     }
 
-    default java.util.concurrent.CompletableFuture<String[]> getPendingAcceptedCallsAsync(String userId)
+    default java.util.concurrent.CompletableFuture<java.lang.Boolean> joinConferenceAsync(String groupName, String userId)
     {
-        return _iceI_getPendingAcceptedCallsAsync(userId, com.zeroc.Ice.ObjectPrx.noExplicitContext, false);
+        return _iceI_joinConferenceAsync(groupName, userId, com.zeroc.Ice.ObjectPrx.noExplicitContext, false);
     }
 
-    default java.util.concurrent.CompletableFuture<String[]> getPendingAcceptedCallsAsync(String userId, java.util.Map<String, String> context)
+    default java.util.concurrent.CompletableFuture<java.lang.Boolean> joinConferenceAsync(String groupName, String userId, java.util.Map<String, String> context)
     {
-        return _iceI_getPendingAcceptedCallsAsync(userId, context, false);
+        return _iceI_joinConferenceAsync(groupName, userId, context, false);
     }
 
     /**
      * @hidden
+     * @param iceP_groupName -
      * @param iceP_userId -
      * @param context -
      * @param sync -
      * @return -
      **/
-    default com.zeroc.IceInternal.OutgoingAsync<String[]> _iceI_getPendingAcceptedCallsAsync(String iceP_userId, java.util.Map<String, String> context, boolean sync)
+    default com.zeroc.IceInternal.OutgoingAsync<java.lang.Boolean> _iceI_joinConferenceAsync(String iceP_groupName, String iceP_userId, java.util.Map<String, String> context, boolean sync)
     {
-        com.zeroc.IceInternal.OutgoingAsync<String[]> f = new com.zeroc.IceInternal.OutgoingAsync<>(this, "getPendingAcceptedCalls", null, sync, null);
+        com.zeroc.IceInternal.OutgoingAsync<java.lang.Boolean> f = new com.zeroc.IceInternal.OutgoingAsync<>(this, "joinConference", null, sync, null);
         f.invoke(true, context, null, ostr -> {
+                     ostr.writeString(iceP_groupName);
                      ostr.writeString(iceP_userId);
                  }, istr -> {
-                     String[] ret;
-                     ret = istr.readStringSeq();
+                     boolean ret;
+                     ret = istr.readBool();
                      return ret;
                  });
         return f;
     }
 
-    default String[] getPendingRejectedCalls(String userId)
+    default void leaveConference(String groupName, String userId)
     {
-        return getPendingRejectedCalls(userId, com.zeroc.Ice.ObjectPrx.noExplicitContext);
+        leaveConference(groupName, userId, com.zeroc.Ice.ObjectPrx.noExplicitContext);
     }
 
-    default String[] getPendingRejectedCalls(String userId, java.util.Map<String, String> context)
+    default void leaveConference(String groupName, String userId, java.util.Map<String, String> context)
     {
-        return _iceI_getPendingRejectedCallsAsync(userId, context, true).waitForResponse();
+        _iceI_leaveConferenceAsync(groupName, userId, context, true).waitForResponse();
     }
 
-    default java.util.concurrent.CompletableFuture<String[]> getPendingRejectedCallsAsync(String userId)
+    default java.util.concurrent.CompletableFuture<Void> leaveConferenceAsync(String groupName, String userId)
     {
-        return _iceI_getPendingRejectedCallsAsync(userId, com.zeroc.Ice.ObjectPrx.noExplicitContext, false);
+        return _iceI_leaveConferenceAsync(groupName, userId, com.zeroc.Ice.ObjectPrx.noExplicitContext, false);
     }
 
-    default java.util.concurrent.CompletableFuture<String[]> getPendingRejectedCallsAsync(String userId, java.util.Map<String, String> context)
+    default java.util.concurrent.CompletableFuture<Void> leaveConferenceAsync(String groupName, String userId, java.util.Map<String, String> context)
     {
-        return _iceI_getPendingRejectedCallsAsync(userId, context, false);
+        return _iceI_leaveConferenceAsync(groupName, userId, context, false);
     }
 
     /**
      * @hidden
+     * @param iceP_groupName -
      * @param iceP_userId -
      * @param context -
      * @param sync -
      * @return -
      **/
-    default com.zeroc.IceInternal.OutgoingAsync<String[]> _iceI_getPendingRejectedCallsAsync(String iceP_userId, java.util.Map<String, String> context, boolean sync)
+    default com.zeroc.IceInternal.OutgoingAsync<Void> _iceI_leaveConferenceAsync(String iceP_groupName, String iceP_userId, java.util.Map<String, String> context, boolean sync)
     {
-        com.zeroc.IceInternal.OutgoingAsync<String[]> f = new com.zeroc.IceInternal.OutgoingAsync<>(this, "getPendingRejectedCalls", null, sync, null);
-        f.invoke(true, context, null, ostr -> {
+        com.zeroc.IceInternal.OutgoingAsync<Void> f = new com.zeroc.IceInternal.OutgoingAsync<>(this, "leaveConference", null, sync, null);
+        f.invoke(false, context, null, ostr -> {
+                     ostr.writeString(iceP_groupName);
                      ostr.writeString(iceP_userId);
+                 }, null);
+        return f;
+    }
+
+    default String[] getConferenceParticipants(String groupName)
+    {
+        return getConferenceParticipants(groupName, com.zeroc.Ice.ObjectPrx.noExplicitContext);
+    }
+
+    default String[] getConferenceParticipants(String groupName, java.util.Map<String, String> context)
+    {
+        return _iceI_getConferenceParticipantsAsync(groupName, context, true).waitForResponse();
+    }
+
+    default java.util.concurrent.CompletableFuture<String[]> getConferenceParticipantsAsync(String groupName)
+    {
+        return _iceI_getConferenceParticipantsAsync(groupName, com.zeroc.Ice.ObjectPrx.noExplicitContext, false);
+    }
+
+    default java.util.concurrent.CompletableFuture<String[]> getConferenceParticipantsAsync(String groupName, java.util.Map<String, String> context)
+    {
+        return _iceI_getConferenceParticipantsAsync(groupName, context, false);
+    }
+
+    /**
+     * @hidden
+     * @param iceP_groupName -
+     * @param context -
+     * @param sync -
+     * @return -
+     **/
+    default com.zeroc.IceInternal.OutgoingAsync<String[]> _iceI_getConferenceParticipantsAsync(String iceP_groupName, java.util.Map<String, String> context, boolean sync)
+    {
+        com.zeroc.IceInternal.OutgoingAsync<String[]> f = new com.zeroc.IceInternal.OutgoingAsync<>(this, "getConferenceParticipants", null, sync, null);
+        f.invoke(true, context, null, ostr -> {
+                     ostr.writeString(iceP_groupName);
                  }, istr -> {
                      String[] ret;
                      ret = istr.readStringSeq();
@@ -438,41 +764,80 @@ public interface AudioSubjectPrx extends com.zeroc.Ice.ObjectPrx
         return f;
     }
 
-    default String[] getPendingEndedCalls(String userId)
+    default String[] getConnectedUsers()
+    {
+        return getConnectedUsers(com.zeroc.Ice.ObjectPrx.noExplicitContext);
+    }
+
+    default String[] getConnectedUsers(java.util.Map<String, String> context)
+    {
+        return _iceI_getConnectedUsersAsync(context, true).waitForResponse();
+    }
+
+    default java.util.concurrent.CompletableFuture<String[]> getConnectedUsersAsync()
+    {
+        return _iceI_getConnectedUsersAsync(com.zeroc.Ice.ObjectPrx.noExplicitContext, false);
+    }
+
+    default java.util.concurrent.CompletableFuture<String[]> getConnectedUsersAsync(java.util.Map<String, String> context)
+    {
+        return _iceI_getConnectedUsersAsync(context, false);
+    }
+
+    /**
+     * @hidden
+     * @param context -
+     * @param sync -
+     * @return -
+     **/
+    default com.zeroc.IceInternal.OutgoingAsync<String[]> _iceI_getConnectedUsersAsync(java.util.Map<String, String> context, boolean sync)
+    {
+        com.zeroc.IceInternal.OutgoingAsync<String[]> f = new com.zeroc.IceInternal.OutgoingAsync<>(this, "getConnectedUsers", null, sync, null);
+        f.invoke(true, context, null, null, istr -> {
+                     String[] ret;
+                     ret = istr.readStringSeq();
+                     return ret;
+                 });
+        return f;
+    }
+
+    default CallEvent[] pollCallEvents(String userId, int waitMs)
     {
-        return getPendingEndedCalls(userId, com.zeroc.Ice.ObjectPrx.noExplicitContext);
+        return pollCallEvents(userId, waitMs, com.zeroc.Ice.ObjectPrx.noExplicitContext);
     }
 
-    default String[] getPendingEndedCalls(String userId, java.util.Map<String, String> context)
+    default CallEvent[] pollCallEvents(String userId, int waitMs, java.util.Map<String, String> context)
     {
-        return _iceI_getPendingEndedCallsAsync(userId, context, true).waitForResponse();
+        return _iceI_pollCallEventsAsync(userId, waitMs, context, true).waitForResponse();
     }
 
-    default java.util.concurrent.CompletableFuture<String[]> getPendingEndedCallsAsync(String userId)
+    default java.util.concurrent.CompletableFuture<CallEvent[]> pollCallEventsAsync(String userId, int waitMs)
     {
-        return _iceI_getPendingEndedCallsAsync(userId, com.zeroc.Ice.ObjectPrx.noExplicitContext, false);
+        return _iceI_pollCallEventsAsync(userId, waitMs, com.zeroc.Ice.ObjectPrx.noExplicitContext, false);
     }
 
-    default java.util.concurrent.CompletableFuture<String[]> getPendingEndedCallsAsync(String userId, java.util.Map<String, String> context)
+    default java.util.concurrent.CompletableFuture<CallEvent[]> pollCallEventsAsync(String userId, int waitMs, java.util.Map<String, String> context)
     {
-        return _iceI_getPendingEndedCallsAsync(userId, context, false);
+        return _iceI_pollCallEventsAsync(userId, waitMs, context, false);
     }
 
     /**
      * @hidden
      * @param iceP_userId -
+     * @param iceP_waitMs -
      * @param context -
      * @param sync -
      * @return -
      **/
-    default com.zeroc.IceInternal.OutgoingAsync<String[]> _iceI_getPendingEndedCallsAsync(String iceP_userId, java.util.Map<String, String> context, boolean sync)
+    default com.zeroc.IceInternal.OutgoingAsync<CallEvent[]> _iceI_pollCallEventsAsync(String iceP_userId, int iceP_waitMs, java.util.Map<String, String> context, boolean sync)
     {
-        com.zeroc.IceInternal.OutgoingAsync<String[]> f = new com.zeroc.IceInternal.OutgoingAsync<>(this, "getPendingEndedCalls", null, sync, null);
+        com.zeroc.IceInternal.OutgoingAsync<CallEvent[]> f = new com.zeroc.IceInternal.OutgoingAsync<>(this, "pollCallEvents", null, sync, null);
         f.invoke(true, context, null, ostr -> {
                      ostr.writeString(iceP_userId);
+                     ostr.writeInt(iceP_waitMs);
                  }, istr -> {
-                     String[] ret;
-                     ret = istr.readStringSeq();
+                     CallEvent[] ret;
+                     ret = CallEventSeqHelper.read(istr);
                      return ret;
                  });
         return f;
@@ -0,0 +1,225 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+//
+// Ice version 3.7.10
+//
+// <auto-generated>
+//
+// Generated from file `AudioSubject.ice'
+//
+// Warning: do not edit this file.
+//
+// </auto-generated>
+//
+
+package AudioSystem;
+
+public class CallStats implements java.lang.Cloneable,
+                   java.io.Serializable
+{
+    public String caller;
+
+    public String callee;
+
+    public boolean active;
+
+    public long durationMs;
+
+    public StreamQuality fromCaller;
+
+    public StreamQuality fromCallee;
+
+    public double mos;
+
+    public CallStats()
+    {
+        this.caller = "";
+        this.callee = "";
+        this.fromCaller = new StreamQuality();
+        this.fromCallee = new StreamQuality();
+    }
+
+    public CallStats(String caller, String callee, boolean active, long durationMs, StreamQuality fromCaller, StreamQuality fromCallee, double mos)
+    {
+        this.caller = caller;
+        this.callee = callee;
+        this.active = active;
+        this.durationMs = durationMs;
+        this.fromCaller = fromCaller;
+        this.fromCallee = fromCallee;
+        this.mos = mos;
+    }
+
+    public boolean equals(java.lang.Object rhs)
+    {
+        if(this == rhs)
+        {
+            return true;
+        }
+        CallStats r = null;
+        if(rhs instanceof CallStats)
+        {
+            r = (CallStats)rhs;
+        }
+
+        if(r != null)
+        {
+            if(this.caller != r.caller)
+            {
+                if(this.caller == null || r.caller == null || !this.caller.equals(r.caller))
+                {
+                    return false;
+                }
+            }
+
+            if(this.callee != r.callee)
+            {
+                if(this.callee == null || r.callee == null || !this.callee.equals(r.callee))
+                {
+                    return false;
+                }
+            }
+
+            if(this.active != r.active)
+            {
+                return false;
+            }
+
+            if(this.durationMs != r.durationMs)
+            {
+                return false;
+            }
+
+            if(this.fromCaller != r.fromCaller)
+            {
+                if(this.fromCaller == null || r.fromCaller == null || !this.fromCaller.equals(r.fromCaller))
+                {
+                    return false;
+                }
+            }
+
+            if(this.fromCallee != r.fromCallee)
+            {
+                if(this.fromCallee == null || r.fromCallee == null || !this.fromCallee.equals(r.fromCallee))
+                {
+                    return false;
+                }
+            }
+
+            if(this.mos != r.mos)
+            {
+                return false;
+            }
+
+            return true;
+        }
+
+        return false;
+    }
+
+    public int hashCode()
+    {
+        int h_ = 5381;
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, "::AudioSystem::CallStats");
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, caller);
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, callee);
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, active);
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, durationMs);
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, fromCaller);
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, fromCallee);
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, mos);
+        return h_;
+    }
+
+    public CallStats clone()
+    {
+        CallStats c = null;
+        try
+        {
+            c = (CallStats)super.clone();
+        }
+        catch(CloneNotSupportedException ex)
+        {
+            assert false; // impossible
+        }
+        return c;
+    }
+
+    public void ice_writeMembers(com.zeroc.Ice.OutputStream ostr)
+    {
+        ostr.writeString(this.caller);
+        ostr.writeString(this.callee);
+        ostr.writeBool(this.active);
+        ostr.writeLong(this.durationMs);
+        StreamQuality.ice_write(ostr, this.fromCaller);
+        StreamQuality.ice_write(ostr, this.fromCallee);
+        ostr.writeDouble(this.mos);
+    }
+
+    public void ice_readMembers(com.zeroc.Ice.InputStream istr)
+    {
+        this.caller = istr.readString();
+        this.callee = istr.readString();
+        this.active = istr.readBool();
+        this.durationMs = istr.readLong();
+        this.fromCaller = StreamQuality.ice_read(istr);
+        this.fromCallee = StreamQuality.ice_read(istr);
+        this.mos = istr.readDouble();
+    }
+
+    static public void ice_write(com.zeroc.Ice.OutputStream ostr, CallStats v)
+    {
+        if(v == null)
+        {
+            _nullMarshalValue.ice_writeMembers(ostr);
+        }
+        else
+        {
+            v.ice_writeMembers(ostr);
+        }
+    }
+
+    static public CallStats ice_read(com.zeroc.Ice.InputStream istr)
+    {
+        CallStats v = new CallStats();
+        v.ice_readMembers(istr);
+        return v;
+    }
+
+    static public void ice_write(com.zeroc.Ice.OutputStream ostr, int tag, java.util.Optional<CallStats> v)
+    {
+        if(v != null && v.isPresent())
+        {
+            ice_write(ostr, tag, v.get());
+        }
+    }
+
+    static public void ice_write(com.zeroc.Ice.OutputStream ostr, int tag, CallStats v)
+    {
+        if(ostr.writeOptional(tag, com.zeroc.Ice.OptionalFormat.FSize))
+        {
+            int pos = ostr.startSize();
+            ice_write(ostr, v);
+            ostr.endSize(pos);
+        }
+    }
+
+    static public java.util.Optional<CallStats> ice_read(com.zeroc.Ice.InputStream istr, int tag)
+    {
+        if(istr.readOptional(tag, com.zeroc.Ice.OptionalFormat.FSize))
+        {
+            istr.skip(4);
+            return java.util.Optional.of(CallStats.ice_read(istr));
+        }
+        else
+        {
+            return java.util.Optional.empty();
+        }
+    }
+
+    private static final CallStats _nullMarshalValue = new CallStats();
+
+    /** @hidden */
+    public static final long serialVersionUID = -1472546839L;
+}
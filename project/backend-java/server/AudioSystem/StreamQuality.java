@@ -0,0 +1,264 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+//
+// Ice version 3.7.10
+//
+// <auto-generated>
+//
+// Generated from file `AudioSubject.ice'
+//
+// Warning: do not edit this file.
+//
+// </auto-generated>
+//
+
+package AudioSystem;
+
+public class StreamQuality implements java.lang.Cloneable,
+                   java.io.Serializable
+{
+    public int packets;
+
+    public long bytes;
+
+    public int lost;
+
+    public int late;
+
+    public int reordered;
+
+    public double lossPercent;
+
+    public double jitterMs;
+
+    public double latencyP50Ms;
+
+    public double latencyP95Ms;
+
+    public double latencyP99Ms;
+
+    public double latencyMaxMs;
+
+    public double mos;
+
+    public StreamQuality()
+    {
+    }
+
+    public StreamQuality(int packets, long bytes, int lost, int late, int reordered, double lossPercent, double jitterMs, double latencyP50Ms, double latencyP95Ms, double latencyP99Ms, double latencyMaxMs, double mos)
+    {
+        this.packets = packets;
+        this.bytes = bytes;
+        this.lost = lost;
+        this.late = late;
+        this.reordered = reordered;
+        this.lossPercent = lossPercent;
+        this.jitterMs = jitterMs;
+        this.latencyP50Ms = latencyP50Ms;
+        this.latencyP95Ms = latencyP95Ms;
+        this.latencyP99Ms = latencyP99Ms;
+        this.latencyMaxMs = latencyMaxMs;
+        this.mos = mos;
+    }
+
+    public boolean equals(java.lang.Object rhs)
+    {
+        if(this == rhs)
+        {
+            return true;
+        }
+        StreamQuality r = null;
+        if(rhs instanceof StreamQuality)
+        {
+            r = (StreamQuality)rhs;
+        }
+
+        if(r != null)
+        {
+            if(this.packets != r.packets)
+            {
+                return false;
+            }
+
+            if(this.bytes != r.bytes)
+            {
+                return false;
+            }
+
+            if(this.lost != r.lost)
+            {
+                return false;
+            }
+
+            if(this.late != r.late)
+            {
+                return false;
+            }
+
+            if(this.reordered != r.reordered)
+            {
+                return false;
+            }
+
+            if(this.lossPercent != r.lossPercent)
+            {
+                return false;
+            }
+
+            if(this.jitterMs != r.jitterMs)
+            {
+                return false;
+            }
+
+            if(this.latencyP50Ms != r.latencyP50Ms)
+            {
+                return false;
+            }
+
+            if(this.latencyP95Ms != r.latencyP95Ms)
+            {
+                return false;
+            }
+
+            if(this.latencyP99Ms != r.latencyP99Ms)
+            {
+                return false;
+            }
+
+            if(this.latencyMaxMs != r.latencyMaxMs)
+            {
+                return false;
+            }
+
+            if(this.mos != r.mos)
+            {
+                return false;
+            }
+
+            return true;
+        }
+
+        return false;
+    }
+
+    public int hashCode()
+    {
+        int h_ = 5381;
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, "::AudioSystem::StreamQuality");
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, packets);
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, bytes);
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, lost);
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, late);
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, reordered);
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, lossPercent);
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, jitterMs);
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, latencyP50Ms);
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, latencyP95Ms);
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, latencyP99Ms);
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, latencyMaxMs);
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, mos);
+        return h_;
+    }
+
+    public StreamQuality clone()
+    {
+        StreamQuality c = null;
+        try
+        {
+            c = (StreamQuality)super.clone();
+        }
+        catch(CloneNotSupportedException ex)
+        {
+            assert false; // impossible
+        }
+        return c;
+    }
+
+    public void ice_writeMembers(com.zeroc.Ice.OutputStream ostr)
+    {
+        ostr.writeInt(this.packets);
+        ostr.writeLong(this.bytes);
+        ostr.writeInt(this.lost);
+        ostr.writeInt(this.late);
+        ostr.writeInt(this.reordered);
+        ostr.writeDouble(this.lossPercent);
+        ostr.writeDouble(this.jitterMs);
+        ostr.writeDouble(this.latencyP50Ms);
+        ostr.writeDouble(this.latencyP95Ms);
+        ostr.writeDouble(this.latencyP99Ms);
+        ostr.writeDouble(this.latencyMaxMs);
+        ostr.writeDouble(this.mos);
+    }
+
+    public void ice_readMembers(com.zeroc.Ice.InputStream istr)
+    {
+        this.packets = istr.readInt();
+        this.bytes = istr.readLong();
+        this.lost = istr.readInt();
+        this.late = istr.readInt();
+        this.reordered = istr.readInt();
+        this.lossPercent = istr.readDouble();
+        this.jitterMs = istr.readDouble();
+        this.latencyP50Ms = istr.readDouble();
+        this.latencyP95Ms = istr.readDouble();
+        this.latencyP99Ms = istr.readDouble();
+        this.latencyMaxMs = istr.readDouble();
+        this.mos = istr.readDouble();
+    }
+
+    static public void ice_write(com.zeroc.Ice.OutputStream ostr, StreamQuality v)
+    {
+        if(v == null)
+        {
+            _nullMarshalValue.ice_writeMembers(ostr);
+        }
+        else
+        {
+            v.ice_writeMembers(ostr);
+        }
+    }
+
+    static public StreamQuality ice_read(com.zeroc.Ice.InputStream istr)
+    {
+        StreamQuality v = new StreamQuality();
+        v.ice_readMembers(istr);
+        return v;
+    }
+
+    static public void ice_write(com.zeroc.Ice.OutputStream ostr, int tag, java.util.Optional<StreamQuality> v)
+    {
+        if(v != null && v.isPresent())
+        {
+            ice_write(ostr, tag, v.get());
+        }
+    }
+
+    static public void ice_write(com.zeroc.Ice.OutputStream ostr, int tag, StreamQuality v)
+    {
+        if(ostr.writeOptional(tag, com.zeroc.Ice.OptionalFormat.FSize))
+        {
+            int pos = ostr.startSize();
+            ice_write(ostr, v);
+            ostr.endSize(pos);
+        }
+    }
+
+    static public java.util.Optional<StreamQuality> ice_read(com.zeroc.Ice.InputStream istr, int tag)
+    {
+        if(istr.readOptional(tag, com.zeroc.Ice.OptionalFormat.FSize))
+        {
+            istr.skip(4);
+            return java.util.Optional.of(StreamQuality.ice_read(istr));
+        }
+        else
+        {
+            return java.util.Optional.empty();
+        }
+    }
+
+    private static final StreamQuality _nullMarshalValue = new StreamQuality();
+
+    /** @hidden */
+    public static final long serialVersionUID = -37941259L;
+}
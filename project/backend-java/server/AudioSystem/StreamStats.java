@@ -0,0 +1,242 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+//
+// Ice version 3.7.10
+//
+// <auto-generated>
+//
+// Generated from file `AudioSubject.ice'
+//
+// Warning: do not edit this file.
+//
+// </auto-generated>
+//
+
+package AudioSystem;
+
+public class StreamStats implements java.lang.Cloneable,
+                   java.io.Serializable
+{
+    public int received;
+
+    public int played;
+
+    public int lost;
+
+    public int late;
+
+    public int duplicates;
+
+    public int discarded;
+
+    public double jitterMs;
+
+    public int targetDepth;
+
+    public int buffered;
+
+    public int suppressed;
+
+    public StreamStats()
+    {
+    }
+
+    public StreamStats(int received, int played, int lost, int late, int duplicates, int discarded, double jitterMs, int targetDepth, int buffered, int suppressed)
+    {
+        this.received = received;
+        this.played = played;
+        this.lost = lost;
+        this.late = late;
+        this.duplicates = duplicates;
+        this.discarded = discarded;
+        this.jitterMs = jitterMs;
+        this.targetDepth = targetDepth;
+        this.buffered = buffered;
+        this.suppressed = suppressed;
+    }
+
+    public boolean equals(java.lang.Object rhs)
+    {
+        if(this == rhs)
+        {
+            return true;
+        }
+        StreamStats r = null;
+        if(rhs instanceof StreamStats)
+        {
+            r = (StreamStats)rhs;
+        }
+
+        if(r != null)
+        {
+            if(this.received != r.received)
+            {
+                return false;
+            }
+
+            if(this.played != r.played)
+            {
+                return false;
+            }
+
+            if(this.lost != r.lost)
+            {
+                return false;
+            }
+
+            if(this.late != r.late)
+            {
+                return false;
+            }
+
+            if(this.duplicates != r.duplicates)
+            {
+                return false;
+            }
+
+            if(this.discarded != r.discarded)
+            {
+                return false;
+            }
+
+            if(this.jitterMs != r.jitterMs)
+            {
+                return false;
+            }
+
+            if(this.targetDepth != r.targetDepth)
+            {
+                return false;
+            }
+
+            if(this.buffered != r.buffered)
+            {
+                return false;
+            }
+
+            if(this.suppressed != r.suppressed)
+            {
+                return false;
+            }
+
+            return true;
+        }
+
+        return false;
+    }
+
+    public int hashCode()
+    {
+        int h_ = 5381;
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, "::AudioSystem::StreamStats");
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, received);
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, played);
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, lost);
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, late);
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, duplicates);
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, discarded);
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, jitterMs);
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, targetDepth);
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, buffered);
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, suppressed);
+        return h_;
+    }
+
+    public StreamStats clone()
+    {
+        StreamStats c = null;
+        try
+        {
+            c = (StreamStats)super.clone();
+        }
+        catch(CloneNotSupportedException ex)
+        {
+            assert false; // impossible
+        }
+        return c;
+    }
+
+    public void ice_writeMembers(com.zeroc.Ice.OutputStream ostr)
+    {
+        ostr.writeInt(this.received);
+        ostr.writeInt(this.played);
+        ostr.writeInt(this.lost);
+        ostr.writeInt(this.late);
+        ostr.writeInt(this.duplicates);
+        ostr.writeInt(this.discarded);
+        ostr.writeDouble(this.jitterMs);
+        ostr.writeInt(this.targetDepth);
+        ostr.writeInt(this.buffered);
+        ostr.writeInt(this.suppressed);
+    }
+
+    public void ice_readMembers(com.zeroc.Ice.InputStream istr)
+    {
+        this.received = istr.readInt();
+        this.played = istr.readInt();
+        this.lost = istr.readInt();
+        this.late = istr.readInt();
+        this.duplicates = istr.readInt();
+        this.discarded = istr.readInt();
+        this.jitterMs = istr.readDouble();
+        this.targetDepth = istr.readInt();
+        this.buffered = istr.readInt();
+        this.suppressed = istr.readInt();
+    }
+
+    static public void ice_write(com.zeroc.Ice.OutputStream ostr, StreamStats v)
+    {
+        if(v == null)
+        {
+            _nullMarshalValue.ice_writeMembers(ostr);
+        }
+        else
+        {
+            v.ice_writeMembers(ostr);
+        }
+    }
+
+    static public StreamStats ice_read(com.zeroc.Ice.InputStream istr)
+    {
+        StreamStats v = new StreamStats();
+        v.ice_readMembers(istr);
+        return v;
+    }
+
+    static public void ice_write(com.zeroc.Ice.OutputStream ostr, int tag, java.util.Optional<StreamStats> v)
+    {
+        if(v != null && v.isPresent())
+        {
+            ice_write(ostr, tag, v.get());
+        }
+    }
+
+    static public void ice_write(com.zeroc.Ice.OutputStream ostr, int tag, StreamStats v)
+    {
+        if(ostr.writeOptional(tag, com.zeroc.Ice.OptionalFormat.FSize))
+        {
+            int pos = ostr.startSize();
+            ice_write(ostr, v);
+            ostr.endSize(pos);
+        }
+    }
+
+    static public java.util.Optional<StreamStats> ice_read(com.zeroc.Ice.InputStream istr, int tag)
+    {
+        if(istr.readOptional(tag, com.zeroc.Ice.OptionalFormat.FSize))
+        {
+            istr.skip(4);
+            return java.util.Optional.of(StreamStats.ice_read(istr));
+        }
+        else
+        {
+            return java.util.Optional.empty();
+        }
+    }
+
+    private static final StreamStats _nullMarshalValue = new StreamStats();
+
+    /** @hidden */
+    public static final long serialVersionUID = 228969519L;
+}
@@ -0,0 +1,154 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+//
+// Ice version 3.7.10
+//
+// <auto-generated>
+//
+// Generated from file `AudioSubject.ice'
+//
+// Warning: do not edit this file.
+//
+// </auto-generated>
+//
+
+package AudioSystem;
+
+public class UdpSession implements java.lang.Cloneable,
+                   java.io.Serializable
+{
+    public long token;
+
+    public int port;
+
+    public UdpSession()
+    {
+    }
+
+    public UdpSession(long token, int port)
+    {
+        this.token = token;
+        this.port = port;
+    }
+
+    public boolean equals(java.lang.Object rhs)
+    {
+        if(this == rhs)
+        {
+            return true;
+        }
+        UdpSession r = null;
+        if(rhs instanceof UdpSession)
+        {
+            r = (UdpSession)rhs;
+        }
+
+        if(r != null)
+        {
+            if(this.token != r.token)
+            {
+                return false;
+            }
+
+            if(this.port != r.port)
+            {
+                return false;
+            }
+
+            return true;
+        }
+
+        return false;
+    }
+
+    public int hashCode()
+    {
+        int h_ = 5381;
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, "::AudioSystem::UdpSession");
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, token);
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, port);
+        return h_;
+    }
+
+    public UdpSession clone()
+    {
+        UdpSession c = null;
+        try
+        {
+            c = (UdpSession)super.clone();
+        }
+        catch(CloneNotSupportedException ex)
+        {
+            assert false; // impossible
+        }
+        return c;
+    }
+
+    public void ice_writeMembers(com.zeroc.Ice.OutputStream ostr)
+    {
+        ostr.writeLong(this.token);
+        ostr.writeInt(this.port);
+    }
+
+    public void ice_readMembers(com.zeroc.Ice.InputStream istr)
+    {
+        this.token = istr.readLong();
+        this.port = istr.readInt();
+    }
+
+    static public void ice_write(com.zeroc.Ice.OutputStream ostr, UdpSession v)
+    {
+        if(v == null)
+        {
+            _nullMarshalValue.ice_writeMembers(ostr);
+        }
+        else
+        {
+            v.ice_writeMembers(ostr);
+        }
+    }
+
+    static public UdpSession ice_read(com.zeroc.Ice.InputStream istr)
+    {
+        UdpSession v = new UdpSession();
+        v.ice_readMembers(istr);
+        return v;
+    }
+
+    static public void ice_write(com.zeroc.Ice.OutputStream ostr, int tag, java.util.Optional<UdpSession> v)
+    {
+        if(v != null && v.isPresent())
+        {
+            ice_write(ostr, tag, v.get());
+        }
+    }
+
+    static public void ice_write(com.zeroc.Ice.OutputStream ostr, int tag, UdpSession v)
+    {
+        if(ostr.writeOptional(tag, com.zeroc.Ice.OptionalFormat.FSize))
+        {
+            int pos = ostr.startSize();
+            ice_write(ostr, v);
+            ostr.endSize(pos);
+        }
+    }
+
+    static public java.util.Optional<UdpSession> ice_read(com.zeroc.Ice.InputStream istr, int tag)
+    {
+        if(istr.readOptional(tag, com.zeroc.Ice.OptionalFormat.FSize))
+        {
+            istr.skip(4);
+            return java.util.Optional.of(UdpSession.ice_read(istr));
+        }
+        else
+        {
+            return java.util.Optional.empty();
+        }
+    }
+
+    private static final UdpSession _nullMarshalValue = new UdpSession();
+
+    /** @hidden */
+    public static final long serialVersionUID = -1913617645L;
+}
@@ -19,6 +19,16 @@ public interface AudioObserver extends com.zeroc.Ice.Object
 {
     void receiveAudio(byte[] data, com.zeroc.Ice.Current current);
 
+    void receiveSpeakerAudio(String fromUser, byte[] data, com.zeroc.Ice.Current current);
+
+    void receiveCodedAudio(String codec, int sampleRate, byte[] data, com.zeroc.Ice.Current current);
+
+    void receiveComfortNoise(int level, com.zeroc.Ice.Current current);
+
+    void qualityChanged(AudioQuality quality, com.zeroc.Ice.Current current);
+
+    void audioLevels(String activeSpeaker, AudioLevel[] levels, com.zeroc.Ice.Current current);
+
     void incomingCall(String fromUser, com.zeroc.Ice.Current current);
 
     void callAccepted(String fromUser, com.zeroc.Ice.Current current);
@@ -27,6 +37,10 @@ public interface AudioObserver extends com.zeroc.Ice.Object
 
     void callEnded(String fromUser, com.zeroc.Ice.Current current);
 
+    void callBusy(String fromUser, com.zeroc.Ice.Current current);
+
+    void callNoAnswer(String fromUser, com.zeroc.Ice.Current current);
+
     /** @hidden */
     static final String[] _iceIds =
     {
@@ -69,6 +83,104 @@ public interface AudioObserver extends com.zeroc.Ice.Object
         return inS.setResult(inS.writeEmptyParams());
     }
 
+    /**
+     * @hidden
+     * @param obj -
+     * @param inS -
+     * @param current -
+     * @return -
+    **/
+    static java.util.concurrent.CompletionStage<com.zeroc.Ice.OutputStream> _iceD_receiveSpeakerAudio(AudioObserver obj, final com.zeroc.IceInternal.Incoming inS, com.zeroc.Ice.Current current)
+    {
+        com.zeroc.Ice.Object._iceCheckMode(null, current.mode);
+        com.zeroc.Ice.InputStream istr = inS.startReadParams();
+        String iceP_fromUser;
+        byte[] iceP_data;
+        iceP_fromUser = istr.readString();
+        iceP_data = istr.readByteSeq();
+        inS.endReadParams();
+        obj.receiveSpeakerAudio(iceP_fromUser, iceP_data, current);
+        return inS.setResult(inS.writeEmptyParams());
+    }
+
+    /**
+     * @hidden
+     * @param obj -
+     * @param inS -
+     * @param current -
+     * @return -
+    **/
+    static java.util.concurrent.CompletionStage<com.zeroc.Ice.OutputStream> _iceD_receiveCodedAudio(AudioObserver obj, final com.zeroc.IceInternal.Incoming inS, com.zeroc.Ice.Current current)
+    {
+        com.zeroc.Ice.Object._iceCheckMode(null, current.mode);
+        com.zeroc.Ice.InputStream istr = inS.startReadParams();
+        String iceP_codec;
+        int iceP_sampleRate;
+        byte[] iceP_data;
+        iceP_codec = istr.readString();
+        iceP_sampleRate = istr.readInt();
+        iceP_data = istr.readByteSeq();
+        inS.endReadParams();
+        obj.receiveCodedAudio(iceP_codec, iceP_sampleRate, iceP_data, current);
+        return inS.setResult(inS.writeEmptyParams());
+    }
+
+    /**
+     * @hidden
+     * @param obj -
+     * @param inS -
+     * @param current -
+     * @return -
+    **/
+    static java.util.concurrent.CompletionStage<com.zeroc.Ice.OutputStream> _iceD_receiveComfortNoise(AudioObserver obj, final com.zeroc.IceInternal.Incoming inS, com.zeroc.Ice.Current current)
+    {
+        com.zeroc.Ice.Object._iceCheckMode(null, current.mode);
+        com.zeroc.Ice.InputStream istr = inS.startReadParams();
+        int iceP_level;
+        iceP_level = istr.readInt();
+        inS.endReadParams();
+        obj.receiveComfortNoise(iceP_level, current);
+        return inS.setResult(inS.writeEmptyParams());
+    }
+
+    /**
+     * @hidden
+     * @param obj -
+     * @param inS -
+     * @param current -
+     * @return -
+    **/
+    static java.util.concurrent.CompletionStage<com.zeroc.Ice.OutputStream> _iceD_qualityChanged(AudioObserver obj, final com.zeroc.IceInternal.Incoming inS, com.zeroc.Ice.Current current)
+    {
+        com.zeroc.Ice.Object._iceCheckMode(null, current.mode);
+        com.zeroc.Ice.InputStream istr = inS.startReadParams();
+        AudioQuality iceP_quality;
+        iceP_quality = AudioQuality.ice_read(istr);
+        inS.endReadParams();
+        obj.qualityChanged(iceP_quality, current);
+        return inS.setResult(inS.writeEmptyParams());
+    }
+
+    /**
+     * @hidden
+     * @param obj -
+     * @param inS -
+     * @param current -
+     * @return -
+    **/
+    static java.util.concurrent.CompletionStage<com.zeroc.Ice.OutputStream> _iceD_audioLevels(AudioObserver obj, final com.zeroc.IceInternal.Incoming inS, com.zeroc.Ice.Current current)
+    {
+        com.zeroc.Ice.Object._iceCheckMode(null, current.mode);
+        com.zeroc.Ice.InputStream istr = inS.startReadParams();
+        String iceP_activeSpeaker;
+        AudioLevel[] iceP_levels;
+        iceP_activeSpeaker = istr.readString();
+        iceP_levels = AudioLevelSeqHelper.read(istr);
+        inS.endReadParams();
+        obj.audioLevels(iceP_activeSpeaker, iceP_levels, current);
+        return inS.setResult(inS.writeEmptyParams());
+    }
+
     /**
      * @hidden
      * @param obj -
@@ -141,18 +253,61 @@ public interface AudioObserver extends com.zeroc.Ice.Object
         return inS.setResult(inS.writeEmptyParams());
     }
 
+    /**
+     * @hidden
+     * @param obj -
+     * @param inS -
+     * @param current -
+     * @return -
+    **/
+    static java.util.concurrent.CompletionStage<com.zeroc.Ice.OutputStream> _iceD_callBusy(AudioObserver obj, final com.zeroc.IceInternal.Incoming inS, com.zeroc.Ice.Current current)
+    {
+        com.zeroc.Ice.Object._iceCheckMode(null, current.mode);
+        com.zeroc.Ice.InputStream istr = inS.startReadParams();
+        String iceP_fromUser;
+        iceP_fromUser = istr.readString();
+        inS.endReadParams();
+        obj.callBusy(iceP_fromUser, current);
+        return inS.setResult(inS.writeEmptyParams());
+    }
+
+    /**
+     * @hidden
+     * @param obj -
+     * @param inS -
+     * @param current -
+     * @return -
+    **/
+    static java.util.concurrent.CompletionStage<com.zeroc.Ice.OutputStream> _iceD_callNoAnswer(AudioObserver obj, final com.zeroc.IceInternal.Incoming inS, com.zeroc.Ice.Current current)
+    {
+        com.zeroc.Ice.Object._iceCheckMode(null, current.mode);
+        com.zeroc.Ice.InputStream istr = inS.startReadParams();
+        String iceP_fromUser;
+        iceP_fromUser = istr.readString();
+        inS.endReadParams();
+        obj.callNoAnswer(iceP_fromUser, current);
+        return inS.setResult(inS.writeEmptyParams());
+    }
+
     /** @hidden */
     final static String[] _iceOps =
     {
+        "audioLevels",
         "callAccepted",
+        "callBusy",
         "callEnded",
+        "callNoAnswer",
         "callRejected",
         "ice_id",
         "ice_ids",
         "ice_isA",
         "ice_ping",
         "incomingCall",
-        "receiveAudio"
+        "qualityChanged",
+        "receiveAudio",
+        "receiveCodedAudio",
+        "receiveComfortNoise",
+        "receiveSpeakerAudio"
     };
 
     /** @hidden */
@@ -170,40 +325,68 @@ public interface AudioObserver extends com.zeroc.Ice.Object
         {
             case 0:
             {
-                return _iceD_callAccepted(this, in, current);
+                return _iceD_audioLevels(this, in, current);
             }
             case 1:
             {
-                return _iceD_callEnded(this, in, current);
+                return _iceD_callAccepted(this, in, current);
             }
             case 2:
             {
-                return _iceD_callRejected(this, in, current);
+                return _iceD_callBusy(this, in, current);
             }
             case 3:
             {
-                return com.zeroc.Ice.Object._iceD_ice_id(this, in, current);
+                return _iceD_callEnded(this, in, current);
             }
             case 4:
             {
-                return com.zeroc.Ice.Object._iceD_ice_ids(this, in, current);
+                return _iceD_callNoAnswer(this, in, current);
             }
             case 5:
             {
-                return com.zeroc.Ice.Object._iceD_ice_isA(this, in, current);
+                return _iceD_callRejected(this, in, current);
             }
             case 6:
             {
-                return com.zeroc.Ice.Object._iceD_ice_ping(this, in, current);
+                return com.zeroc.Ice.Object._iceD_ice_id(this, in, current);
             }
             case 7:
             {
-                return _iceD_incomingCall(this, in, current);
+                return com.zeroc.Ice.Object._iceD_ice_ids(this, in, current);
             }
             case 8:
+            {
+                return com.zeroc.Ice.Object._iceD_ice_isA(this, in, current);
+            }
+            case 9:
+            {
+                return com.zeroc.Ice.Object._iceD_ice_ping(this, in, current);
+            }
+            case 10:
+            {
+                return _iceD_incomingCall(this, in, current);
+            }
+            case 11:
+            {
+                return _iceD_qualityChanged(this, in, current);
+            }
+            case 12:
             {
                 return _iceD_receiveAudio(this, in, current);
             }
+            case 13:
+            {
+                return _iceD_receiveCodedAudio(this, in, current);
+            }
+            case 14:
+            {
+                return _iceD_receiveComfortNoise(this, in, current);
+            }
+            case 15:
+            {
+                return _iceD_receiveSpeakerAudio(this, in, current);
+            }
         }
 
         assert(false);
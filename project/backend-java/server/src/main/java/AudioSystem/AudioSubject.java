@@ -23,6 +23,18 @@ public interface AudioSubject extends com.zeroc.Ice.Object
 
     void sendAudio(String fromUser, byte[] data, com.zeroc.Ice.Current current);
 
+    void sendAudioFrame(String fromUser, AudioFrame frame, com.zeroc.Ice.Current current);
+
+    StreamStats getStreamStats(String userId, com.zeroc.Ice.Current current);
+
+    BacklogStats getListenerBacklog(String userId, com.zeroc.Ice.Current current);
+
+    CallStats getCallStats(String userId, com.zeroc.Ice.Current current);
+
+    boolean setCallCodec(String userId, String codec, int sampleRate, com.zeroc.Ice.Current current);
+
+    boolean setSendRate(String userId, int sampleRate, com.zeroc.Ice.Current current);
+
     void startCall(String fromUser, String toUser, com.zeroc.Ice.Current current);
 
     void acceptCall(String fromUser, String toUser, com.zeroc.Ice.Current current);
@@ -31,16 +43,22 @@ public interface AudioSubject extends com.zeroc.Ice.Object
 
     void hangup(String fromUser, String toUser, com.zeroc.Ice.Current current);
 
-    String[] getPendingIncomingCalls(String userId, com.zeroc.Ice.Current current);
+    UdpSession getUdpSession(String userId, com.zeroc.Ice.Current current);
+
+    boolean setCallRecording(String userId, boolean enabled, com.zeroc.Ice.Current current);
 
-    String[] getPendingAcceptedCalls(String userId, com.zeroc.Ice.Current current);
+    String[] getCallRecordings(com.zeroc.Ice.Current current);
 
-    String[] getPendingRejectedCalls(String userId, com.zeroc.Ice.Current current);
+    boolean joinConference(String groupName, String userId, com.zeroc.Ice.Current current);
 
-    String[] getPendingEndedCalls(String userId, com.zeroc.Ice.Current current);
+    void leaveConference(String groupName, String userId, com.zeroc.Ice.Current current);
+
+    String[] getConferenceParticipants(String groupName, com.zeroc.Ice.Current current);
 
     String[] getConnectedUsers(com.zeroc.Ice.Current current);
 
+    java.util.concurrent.CompletionStage<CallEvent[]> pollCallEventsAsync(String userId, int waitMs, com.zeroc.Ice.Current current);
+
     /** @hidden */
     static final String[] _iceIds =
     {
@@ -123,6 +141,137 @@ public interface AudioSubject extends com.zeroc.Ice.Object
         return inS.setResult(inS.writeEmptyParams());
     }
 
+    /**
+     * @hidden
+     * @param obj -
+     * @param inS -
+     * @param current -
+     * @return -
+    **/
+    static java.util.concurrent.CompletionStage<com.zeroc.Ice.OutputStream> _iceD_sendAudioFrame(AudioSubject obj, final com.zeroc.IceInternal.Incoming inS, com.zeroc.Ice.Current current)
+    {
+        com.zeroc.Ice.Object._iceCheckMode(null, current.mode);
+        com.zeroc.Ice.InputStream istr = inS.startReadParams();
+        String iceP_fromUser;
+        AudioFrame iceP_frame;
+        iceP_fromUser = istr.readString();
+        iceP_frame = AudioFrame.ice_read(istr);
+        inS.endReadParams();
+        obj.sendAudioFrame(iceP_fromUser, iceP_frame, current);
+        return inS.setResult(inS.writeEmptyParams());
+    }
+
+    /**
+     * @hidden
+     * @param obj -
+     * @param inS -
+     * @param current -
+     * @return -
+    **/
+    static java.util.concurrent.CompletionStage<com.zeroc.Ice.OutputStream> _iceD_getStreamStats(AudioSubject obj, final com.zeroc.IceInternal.Incoming inS, com.zeroc.Ice.Current current)
+    {
+        com.zeroc.Ice.Object._iceCheckMode(null, current.mode);
+        com.zeroc.Ice.InputStream istr = inS.startReadParams();
+        String iceP_userId;
+        iceP_userId = istr.readString();
+        inS.endReadParams();
+        StreamStats ret = obj.getStreamStats(iceP_userId, current);
+        com.zeroc.Ice.OutputStream ostr = inS.startWriteParams();
+        StreamStats.ice_write(ostr, ret);
+        inS.endWriteParams(ostr);
+        return inS.setResult(ostr);
+    }
+
+    /**
+     * @hidden
+     * @param obj -
+     * @param inS -
+     * @param current -
+     * @return -
+    **/
+    static java.util.concurrent.CompletionStage<com.zeroc.Ice.OutputStream> _iceD_getListenerBacklog(AudioSubject obj, final com.zeroc.IceInternal.Incoming inS, com.zeroc.Ice.Current current)
+    {
+        com.zeroc.Ice.Object._iceCheckMode(null, current.mode);
+        com.zeroc.Ice.InputStream istr = inS.startReadParams();
+        String iceP_userId;
+        iceP_userId = istr.readString();
+        inS.endReadParams();
+        BacklogStats ret = obj.getListenerBacklog(iceP_userId, current);
+        com.zeroc.Ice.OutputStream ostr = inS.startWriteParams();
+        BacklogStats.ice_write(ostr, ret);
+        inS.endWriteParams(ostr);
+        return inS.setResult(ostr);
+    }
+
+    /**
+     * @hidden
+     * @param obj -
+     * @param inS -
+     * @param current -
+     * @return -
+    **/
+    static java.util.concurrent.CompletionStage<com.zeroc.Ice.OutputStream> _iceD_getCallStats(AudioSubject obj, final com.zeroc.IceInternal.Incoming inS, com.zeroc.Ice.Current current)
+    {
+        com.zeroc.Ice.Object._iceCheckMode(null, current.mode);
+        com.zeroc.Ice.InputStream istr = inS.startReadParams();
+        String iceP_userId;
+        iceP_userId = istr.readString();
+        inS.endReadParams();
+        CallStats ret = obj.getCallStats(iceP_userId, current);
+        com.zeroc.Ice.OutputStream ostr = inS.startWriteParams();
+        CallStats.ice_write(ostr, ret);
+        inS.endWriteParams(ostr);
+        return inS.setResult(ostr);
+    }
+
+    /**
+     * @hidden
+     * @param obj -
+     * @param inS -
+     * @param current -
+     * @return -
+    **/
+    static java.util.concurrent.CompletionStage<com.zeroc.Ice.OutputStream> _iceD_setCallCodec(AudioSubject obj, final com.zeroc.IceInternal.Incoming inS, com.zeroc.Ice.Current current)
+    {
+        com.zeroc.Ice.Object._iceCheckMode(null, current.mode);
+        com.zeroc.Ice.InputStream istr = inS.startReadParams();
+        String iceP_userId;
+        String iceP_codec;
+        int iceP_sampleRate;
+        iceP_userId = istr.readString();
+        iceP_codec = istr.readString();
+        iceP_sampleRate = istr.readInt();
+        inS.endReadParams();
+        boolean ret = obj.setCallCodec(iceP_userId, iceP_codec, iceP_sampleRate, current);
+        com.zeroc.Ice.OutputStream ostr = inS.startWriteParams();
+        ostr.writeBool(ret);
+        inS.endWriteParams(ostr);
+        return inS.setResult(ostr);
+    }
+
+    /**
+     * @hidden
+     * @param obj -
+     * @param inS -
+     * @param current -
+     * @return -
+    **/
+    static java.util.concurrent.CompletionStage<com.zeroc.Ice.OutputStream> _iceD_setSendRate(AudioSubject obj, final com.zeroc.IceInternal.Incoming inS, com.zeroc.Ice.Current current)
+    {
+        com.zeroc.Ice.Object._iceCheckMode(null, current.mode);
+        com.zeroc.Ice.InputStream istr = inS.startReadParams();
+        String iceP_userId;
+        int iceP_sampleRate;
+        iceP_userId = istr.readString();
+        iceP_sampleRate = istr.readInt();
+        inS.endReadParams();
+        boolean ret = obj.setSendRate(iceP_userId, iceP_sampleRate, current);
+        com.zeroc.Ice.OutputStream ostr = inS.startWriteParams();
+        ostr.writeBool(ret);
+        inS.endWriteParams(ostr);
+        return inS.setResult(ostr);
+    }
+
     /**
      * @hidden
      * @param obj -
@@ -210,16 +359,16 @@ public interface AudioSubject extends com.zeroc.Ice.Object
      * @param current -
      * @return -
     **/
-    static java.util.concurrent.CompletionStage<com.zeroc.Ice.OutputStream> _iceD_getPendingIncomingCalls(AudioSubject obj, final com.zeroc.IceInternal.Incoming inS, com.zeroc.Ice.Current current)
+    static java.util.concurrent.CompletionStage<com.zeroc.Ice.OutputStream> _iceD_getUdpSession(AudioSubject obj, final com.zeroc.IceInternal.Incoming inS, com.zeroc.Ice.Current current)
     {
         com.zeroc.Ice.Object._iceCheckMode(null, current.mode);
         com.zeroc.Ice.InputStream istr = inS.startReadParams();
         String iceP_userId;
         iceP_userId = istr.readString();
         inS.endReadParams();
-        String[] ret = obj.getPendingIncomingCalls(iceP_userId, current);
+        UdpSession ret = obj.getUdpSession(iceP_userId, current);
         com.zeroc.Ice.OutputStream ostr = inS.startWriteParams();
-        ostr.writeStringSeq(ret);
+        UdpSession.ice_write(ostr, ret);
         inS.endWriteParams(ostr);
         return inS.setResult(ostr);
     }
@@ -231,14 +380,34 @@ public interface AudioSubject extends com.zeroc.Ice.Object
      * @param current -
      * @return -
     **/
-    static java.util.concurrent.CompletionStage<com.zeroc.Ice.OutputStream> _iceD_getPendingAcceptedCalls(AudioSubject obj, final com.zeroc.IceInternal.Incoming inS, com.zeroc.Ice.Current current)
+    static java.util.concurrent.CompletionStage<com.zeroc.Ice.OutputStream> _iceD_setCallRecording(AudioSubject obj, final com.zeroc.IceInternal.Incoming inS, com.zeroc.Ice.Current current)
     {
         com.zeroc.Ice.Object._iceCheckMode(null, current.mode);
         com.zeroc.Ice.InputStream istr = inS.startReadParams();
         String iceP_userId;
+        boolean iceP_enabled;
         iceP_userId = istr.readString();
+        iceP_enabled = istr.readBool();
         inS.endReadParams();
-        String[] ret = obj.getPendingAcceptedCalls(iceP_userId, current);
+        boolean ret = obj.setCallRecording(iceP_userId, iceP_enabled, current);
+        com.zeroc.Ice.OutputStream ostr = inS.startWriteParams();
+        ostr.writeBool(ret);
+        inS.endWriteParams(ostr);
+        return inS.setResult(ostr);
+    }
+
+    /**
+     * @hidden
+     * @param obj -
+     * @param inS -
+     * @param current -
+     * @return -
+    **/
+    static java.util.concurrent.CompletionStage<com.zeroc.Ice.OutputStream> _iceD_getCallRecordings(AudioSubject obj, final com.zeroc.IceInternal.Incoming inS, com.zeroc.Ice.Current current)
+    {
+        com.zeroc.Ice.Object._iceCheckMode(null, current.mode);
+        inS.readEmptyParams();
+        String[] ret = obj.getCallRecordings(current);
         com.zeroc.Ice.OutputStream ostr = inS.startWriteParams();
         ostr.writeStringSeq(ret);
         inS.endWriteParams(ostr);
@@ -252,16 +421,18 @@ public interface AudioSubject extends com.zeroc.Ice.Object
      * @param current -
      * @return -
     **/
-    static java.util.concurrent.CompletionStage<com.zeroc.Ice.OutputStream> _iceD_getPendingRejectedCalls(AudioSubject obj, final com.zeroc.IceInternal.Incoming inS, com.zeroc.Ice.Current current)
+    static java.util.concurrent.CompletionStage<com.zeroc.Ice.OutputStream> _iceD_joinConference(AudioSubject obj, final com.zeroc.IceInternal.Incoming inS, com.zeroc.Ice.Current current)
     {
         com.zeroc.Ice.Object._iceCheckMode(null, current.mode);
         com.zeroc.Ice.InputStream istr = inS.startReadParams();
+        String iceP_groupName;
         String iceP_userId;
+        iceP_groupName = istr.readString();
         iceP_userId = istr.readString();
         inS.endReadParams();
-        String[] ret = obj.getPendingRejectedCalls(iceP_userId, current);
+        boolean ret = obj.joinConference(iceP_groupName, iceP_userId, current);
         com.zeroc.Ice.OutputStream ostr = inS.startWriteParams();
-        ostr.writeStringSeq(ret);
+        ostr.writeBool(ret);
         inS.endWriteParams(ostr);
         return inS.setResult(ostr);
     }
@@ -273,14 +444,34 @@ public interface AudioSubject extends com.zeroc.Ice.Object
      * @param current -
      * @return -
     **/
-    static java.util.concurrent.CompletionStage<com.zeroc.Ice.OutputStream> _iceD_getPendingEndedCalls(AudioSubject obj, final com.zeroc.IceInternal.Incoming inS, com.zeroc.Ice.Current current)
+    static java.util.concurrent.CompletionStage<com.zeroc.Ice.OutputStream> _iceD_leaveConference(AudioSubject obj, final com.zeroc.IceInternal.Incoming inS, com.zeroc.Ice.Current current)
     {
         com.zeroc.Ice.Object._iceCheckMode(null, current.mode);
         com.zeroc.Ice.InputStream istr = inS.startReadParams();
+        String iceP_groupName;
         String iceP_userId;
+        iceP_groupName = istr.readString();
         iceP_userId = istr.readString();
         inS.endReadParams();
-        String[] ret = obj.getPendingEndedCalls(iceP_userId, current);
+        obj.leaveConference(iceP_groupName, iceP_userId, current);
+        return inS.setResult(inS.writeEmptyParams());
+    }
+
+    /**
+     * @hidden
+     * @param obj -
+     * @param inS -
+     * @param current -
+     * @return -
+    **/
+    static java.util.concurrent.CompletionStage<com.zeroc.Ice.OutputStream> _iceD_getConferenceParticipants(AudioSubject obj, final com.zeroc.IceInternal.Incoming inS, com.zeroc.Ice.Current current)
+    {
+        com.zeroc.Ice.Object._iceCheckMode(null, current.mode);
+        com.zeroc.Ice.InputStream istr = inS.startReadParams();
+        String iceP_groupName;
+        iceP_groupName = istr.readString();
+        inS.endReadParams();
+        String[] ret = obj.getConferenceParticipants(iceP_groupName, current);
         com.zeroc.Ice.OutputStream ostr = inS.startWriteParams();
         ostr.writeStringSeq(ret);
         inS.endWriteParams(ostr);
@@ -305,24 +496,55 @@ public interface AudioSubject extends com.zeroc.Ice.Object
         return inS.setResult(ostr);
     }
 
+    /**
+     * @hidden
+     * @param obj -
+     * @param inS -
+     * @param current -
+     * @return -
+    **/
+    static java.util.concurrent.CompletionStage<com.zeroc.Ice.OutputStream> _iceD_pollCallEvents(AudioSubject obj, final com.zeroc.IceInternal.Incoming inS, com.zeroc.Ice.Current current)
+    {
+        com.zeroc.Ice.Object._iceCheckMode(null, current.mode);
+        com.zeroc.Ice.InputStream istr = inS.startReadParams();
+        String iceP_userId;
+        int iceP_waitMs;
+        iceP_userId = istr.readString();
+        iceP_waitMs = istr.readInt();
+        inS.endReadParams();
+        return inS.setResultFuture(obj.pollCallEventsAsync(iceP_userId, iceP_waitMs, current), (ostr, ret) ->
+            {
+                CallEventSeqHelper.write(ostr, ret);
+            });
+    }
+
     /** @hidden */
     final static String[] _iceOps =
     {
         "acceptCall",
         "attach",
         "detach",
+        "getCallRecordings",
+        "getCallStats",
+        "getConferenceParticipants",
         "getConnectedUsers",
-        "getPendingAcceptedCalls",
-        "getPendingEndedCalls",
-        "getPendingIncomingCalls",
-        "getPendingRejectedCalls",
+        "getListenerBacklog",
+        "getStreamStats",
+        "getUdpSession",
         "hangup",
         "ice_id",
         "ice_ids",
         "ice_isA",
         "ice_ping",
+        "joinConference",
+        "leaveConference",
+        "pollCallEvents",
         "rejectCall",
         "sendAudio",
+        "sendAudioFrame",
+        "setCallCodec",
+        "setCallRecording",
+        "setSendRate",
         "startCall"
     };
 
@@ -353,53 +575,89 @@ public interface AudioSubject extends com.zeroc.Ice.Object
             }
             case 3:
             {
-                return _iceD_getConnectedUsers(this, in, current);
+                return _iceD_getCallRecordings(this, in, current);
             }
             case 4:
             {
-                return _iceD_getPendingAcceptedCalls(this, in, current);
+                return _iceD_getCallStats(this, in, current);
             }
             case 5:
             {
-                return _iceD_getPendingEndedCalls(this, in, current);
+                return _iceD_getConferenceParticipants(this, in, current);
             }
             case 6:
             {
-                return _iceD_getPendingIncomingCalls(this, in, current);
+                return _iceD_getConnectedUsers(this, in, current);
             }
             case 7:
             {
-                return _iceD_getPendingRejectedCalls(this, in, current);
+                return _iceD_getListenerBacklog(this, in, current);
             }
             case 8:
             {
-                return _iceD_hangup(this, in, current);
+                return _iceD_getStreamStats(this, in, current);
             }
             case 9:
             {
-                return com.zeroc.Ice.Object._iceD_ice_id(this, in, current);
+                return _iceD_getUdpSession(this, in, current);
             }
             case 10:
             {
-                return com.zeroc.Ice.Object._iceD_ice_ids(this, in, current);
+                return _iceD_hangup(this, in, current);
             }
             case 11:
             {
-                return com.zeroc.Ice.Object._iceD_ice_isA(this, in, current);
+                return com.zeroc.Ice.Object._iceD_ice_id(this, in, current);
             }
             case 12:
             {
-                return com.zeroc.Ice.Object._iceD_ice_ping(this, in, current);
+                return com.zeroc.Ice.Object._iceD_ice_ids(this, in, current);
             }
             case 13:
             {
-                return _iceD_rejectCall(this, in, current);
+                return com.zeroc.Ice.Object._iceD_ice_isA(this, in, current);
             }
             case 14:
             {
-                return _iceD_sendAudio(this, in, current);
+                return com.zeroc.Ice.Object._iceD_ice_ping(this, in, current);
             }
             case 15:
+            {
+                return _iceD_joinConference(this, in, current);
+            }
+            case 16:
+            {
+                return _iceD_leaveConference(this, in, current);
+            }
+            case 17:
+            {
+                return _iceD_pollCallEvents(this, in, current);
+            }
+            case 18:
+            {
+                return _iceD_rejectCall(this, in, current);
+            }
+            case 19:
+            {
+                return _iceD_sendAudio(this, in, current);
+            }
+            case 20:
+            {
+                return _iceD_sendAudioFrame(this, in, current);
+            }
+            case 21:
+            {
+                return _iceD_setCallCodec(this, in, current);
+            }
+            case 22:
+            {
+                return _iceD_setCallRecording(this, in, current);
+            }
+            case 23:
+            {
+                return _iceD_setSendRate(this, in, current);
+            }
+            case 24:
             {
                 return _iceD_startCall(this, in, current);
             }
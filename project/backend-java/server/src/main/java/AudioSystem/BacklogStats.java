@@ -0,0 +1,176 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+//
+// Ice version 3.7.10
+//
+// <auto-generated>
+//
+// Generated from file `AudioSubject.ice'
+//
+// Warning: do not edit this file.
+//
+// </auto-generated>
+//
+
+package AudioSystem;
+
+public class BacklogStats implements java.lang.Cloneable,
+                   java.io.Serializable
+{
+    public int pending;
+
+    public int peak;
+
+    public int sent;
+
+    public int dropped;
+
+    public BacklogStats()
+    {
+    }
+
+    public BacklogStats(int pending, int peak, int sent, int dropped)
+    {
+        this.pending = pending;
+        this.peak = peak;
+        this.sent = sent;
+        this.dropped = dropped;
+    }
+
+    public boolean equals(java.lang.Object rhs)
+    {
+        if(this == rhs)
+        {
+            return true;
+        }
+        BacklogStats r = null;
+        if(rhs instanceof BacklogStats)
+        {
+            r = (BacklogStats)rhs;
+        }
+
+        if(r != null)
+        {
+            if(this.pending != r.pending)
+            {
+                return false;
+            }
+
+            if(this.peak != r.peak)
+            {
+                return false;
+            }
+
+            if(this.sent != r.sent)
+            {
+                return false;
+            }
+
+            if(this.dropped != r.dropped)
+            {
+                return false;
+            }
+
+            return true;
+        }
+
+        return false;
+    }
+
+    public int hashCode()
+    {
+        int h_ = 5381;
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, "::AudioSystem::BacklogStats");
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, pending);
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, peak);
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, sent);
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, dropped);
+        return h_;
+    }
+
+    public BacklogStats clone()
+    {
+        BacklogStats c = null;
+        try
+        {
+            c = (BacklogStats)super.clone();
+        }
+        catch(CloneNotSupportedException ex)
+        {
+            assert false; // impossible
+        }
+        return c;
+    }
+
+    public void ice_writeMembers(com.zeroc.Ice.OutputStream ostr)
+    {
+        ostr.writeInt(this.pending);
+        ostr.writeInt(this.peak);
+        ostr.writeInt(this.sent);
+        ostr.writeInt(this.dropped);
+    }
+
+    public void ice_readMembers(com.zeroc.Ice.InputStream istr)
+    {
+        this.pending = istr.readInt();
+        this.peak = istr.readInt();
+        this.sent = istr.readInt();
+        this.dropped = istr.readInt();
+    }
+
+    static public void ice_write(com.zeroc.Ice.OutputStream ostr, BacklogStats v)
+    {
+        if(v == null)
+        {
+            _nullMarshalValue.ice_writeMembers(ostr);
+        }
+        else
+        {
+            v.ice_writeMembers(ostr);
+        }
+    }
+
+    static public BacklogStats ice_read(com.zeroc.Ice.InputStream istr)
+    {
+        BacklogStats v = new BacklogStats();
+        v.ice_readMembers(istr);
+        return v;
+    }
+
+    static public void ice_write(com.zeroc.Ice.OutputStream ostr, int tag, java.util.Optional<BacklogStats> v)
+    {
+        if(v != null && v.isPresent())
+        {
+            ice_write(ostr, tag, v.get());
+        }
+    }
+
+    static public void ice_write(com.zeroc.Ice.OutputStream ostr, int tag, BacklogStats v)
+    {
+        if(ostr.writeOptional(tag, com.zeroc.Ice.OptionalFormat.FSize))
+        {
+            int pos = ostr.startSize();
+            ice_write(ostr, v);
+            ostr.endSize(pos);
+        }
+    }
+
+    static public java.util.Optional<BacklogStats> ice_read(com.zeroc.Ice.InputStream istr, int tag)
+    {
+        if(istr.readOptional(tag, com.zeroc.Ice.OptionalFormat.FSize))
+        {
+            istr.skip(4);
+            return java.util.Optional.of(BacklogStats.ice_read(istr));
+        }
+        else
+        {
+            return java.util.Optional.empty();
+        }
+    }
+
+    private static final BacklogStats _nullMarshalValue = new BacklogStats();
+
+    /** @hidden */
+    public static final long serialVersionUID = -2008433665L;
+}
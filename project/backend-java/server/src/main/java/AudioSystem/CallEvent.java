@@ -0,0 +1,173 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+//
+// Ice version 3.7.10
+//
+// <auto-generated>
+//
+// Generated from file `AudioSubject.ice'
+//
+// Warning: do not edit this file.
+//
+// </auto-generated>
+//
+
+package AudioSystem;
+
+public class CallEvent implements java.lang.Cloneable,
+                   java.io.Serializable
+{
+    public int seq;
+
+    public CallEventType type;
+
+    public String fromUser;
+
+    public CallEvent()
+    {
+        this.type = CallEventType.Incoming;
+        this.fromUser = "";
+    }
+
+    public CallEvent(int seq, CallEventType type, String fromUser)
+    {
+        this.seq = seq;
+        this.type = type;
+        this.fromUser = fromUser;
+    }
+
+    public boolean equals(java.lang.Object rhs)
+    {
+        if(this == rhs)
+        {
+            return true;
+        }
+        CallEvent r = null;
+        if(rhs instanceof CallEvent)
+        {
+            r = (CallEvent)rhs;
+        }
+
+        if(r != null)
+        {
+            if(this.seq != r.seq)
+            {
+                return false;
+            }
+
+            if(this.type != r.type)
+            {
+                if(this.type == null || r.type == null || !this.type.equals(r.type))
+                {
+                    return false;
+                }
+            }
+
+            if(this.fromUser != r.fromUser)
+            {
+                if(this.fromUser == null || r.fromUser == null || !this.fromUser.equals(r.fromUser))
+                {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        return false;
+    }
+
+    public int hashCode()
+    {
+        int h_ = 5381;
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, "::AudioSystem::CallEvent");
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, seq);
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, type);
+        h_ = com.zeroc.IceInternal.HashUtil.hashAdd(h_, fromUser);
+        return h_;
+    }
+
+    public CallEvent clone()
+    {
+        CallEvent c = null;
+        try
+        {
+            c = (CallEvent)super.clone();
+        }
+        catch(CloneNotSupportedException ex)
+        {
+            assert false; // impossible
+        }
+        return c;
+    }
+
+    public void ice_writeMembers(com.zeroc.Ice.OutputStream ostr)
+    {
+        ostr.writeInt(this.seq);
+        CallEventType.ice_write(ostr, this.type);
+        ostr.writeString(this.fromUser);
+    }
+
+    public void ice_readMembers(com.zeroc.Ice.InputStream istr)
+    {
+        this.seq = istr.readInt();
+        this.type = CallEventType.ice_read(istr);
+        this.fromUser = istr.readString();
+    }
+
+    static public void ice_write(com.zeroc.Ice.OutputStream ostr, CallEvent v)
+    {
+        if(v == null)
+        {
+            _nullMarshalValue.ice_writeMembers(ostr);
+        }
+        else
+        {
+            v.ice_writeMembers(ostr);
+        }
+    }
+
+    static public CallEvent ice_read(com.zeroc.Ice.InputStream istr)
+    {
+        CallEvent v = new CallEvent();
+        v.ice_readMembers(istr);
+        return v;
+    }
+
+    static public void ice_write(com.zeroc.Ice.OutputStream ostr, int tag, java.util.Optional<CallEvent> v)
+    {
+        if(v != null && v.isPresent())
+        {
+            ice_write(ostr, tag, v.get());
+        }
+    }
+
+    static public void ice_write(com.zeroc.Ice.OutputStream ostr, int tag, CallEvent v)
+    {
+        if(ostr.writeOptional(tag, com.zeroc.Ice.OptionalFormat.FSize))
+        {
+            int pos = ostr.startSize();
+            ice_write(ostr, v);
+            ostr.endSize(pos);
+        }
+    }
+
+    static public java.util.Optional<CallEvent> ice_read(com.zeroc.Ice.InputStream istr, int tag)
+    {
+        if(istr.readOptional(tag, com.zeroc.Ice.OptionalFormat.FSize))
+        {
+            istr.skip(4);
+            return java.util.Optional.of(CallEvent.ice_read(istr));
+        }
+        else
+        {
+            return java.util.Optional.empty();
+        }
+    }
+
+    private static final CallEvent _nullMarshalValue = new CallEvent();
+
+    /** @hidden */
+    public static final long serialVersionUID = -2129110561L;
+}
@@ -0,0 +1,119 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+//
+// Ice version 3.7.10
+//
+// <auto-generated>
+//
+// Generated from file `AudioSubject.ice'
+//
+// Warning: do not edit this file.
+//
+// </auto-generated>
+//
+
+package AudioSystem;
+
+public enum CallEventType implements java.io.Serializable
+{
+    Incoming(0),
+    Accepted(1),
+    Rejected(2),
+    Ended(3),
+    Busy(4),
+    NoAnswer(5);
+
+    public int value()
+    {
+        return _value;
+    }
+
+    public static CallEventType valueOf(int v)
+    {
+        switch(v)
+        {
+        case 0:
+            return Incoming;
+        case 1:
+            return Accepted;
+        case 2:
+            return Rejected;
+        case 3:
+            return Ended;
+        case 4:
+            return Busy;
+        case 5:
+            return NoAnswer;
+        }
+        return null;
+    }
+
+    private CallEventType(int v)
+    {
+        _value = v;
+    }
+
+    public void ice_write(com.zeroc.Ice.OutputStream ostr)
+    {
+        ostr.writeEnum(_value, 5);
+    }
+
+    public static void ice_write(com.zeroc.Ice.OutputStream ostr, CallEventType v)
+    {
+        if(v == null)
+        {
+            ostr.writeEnum(AudioSystem.CallEventType.Incoming.value(), 5);
+        }
+        else
+        {
+            ostr.writeEnum(v.value(), 5);
+        }
+    }
+
+    public static CallEventType ice_read(com.zeroc.Ice.InputStream istr)
+    {
+        int v = istr.readEnum(5);
+        return validate(v);
+    }
+
+    public static void ice_write(com.zeroc.Ice.OutputStream ostr, int tag, java.util.Optional<CallEventType> v)
+    {
+        if(v != null && v.isPresent())
+        {
+            ice_write(ostr, tag, v.get());
+        }
+    }
+
+    public static void ice_write(com.zeroc.Ice.OutputStream ostr, int tag, CallEventType v)
+    {
+        if(ostr.writeOptional(tag, com.zeroc.Ice.OptionalFormat.Size))
+        {
+            ice_write(ostr, v);
+        }
+    }
+
+    public static java.util.Optional<CallEventType> ice_read(com.zeroc.Ice.InputStream istr, int tag)
+    {
+        if(istr.readOptional(tag, com.zeroc.Ice.OptionalFormat.Size))
+        {
+            return java.util.Optional.of(CallEventType.ice_read(istr));
+        }
+        else
+        {
+            return java.util.Optional.empty();
+        }
+    }
+
+    private static CallEventType validate(int v)
+    {
+        final CallEventType e = valueOf(v);
+        if(e == null)
+        {
+            throw new com.zeroc.Ice.MarshalException("enumerator value " + v + " is out of range");
+        }
+        return e;
+    }
+
+    private final int _value;
+}
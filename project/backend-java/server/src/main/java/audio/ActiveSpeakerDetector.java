@@ -0,0 +1,191 @@
+package audio;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Niveles de audio y hablante activo de una llamada o conferencia.
+ *
+ * Cada trama que envía un participante actualiza su nivel RMS (subida
+ * inmediata, bajada suave) en el hilo de Ice que la recibe. El reloj de la
+ * sala llama a tick(): cada everyTicks ticks decide si hay algo nuevo que
+ * contar (un nivel cambió de forma apreciable o cambió el hablante) y solo
+ * entonces se publica. Para cambiar de hablante, el nuevo tiene que ser el
+ * más fuerte HOLD_EVALUATIONS veces seguidas: un golpe de tos no roba el foco.
+ */
+public class ActiveSpeakerDetector {
+
+    // Evaluaciones cada 4 ticks (~185 ms): como mucho ~5 eventos por segundo
+    public static final int DEFAULT_EVERY_TICKS = 4;
+
+    // Escala publicada: 0 = -60 dBFS o menos, 100 = escala completa
+    private static final double FLOOR_DB = -60.0;
+    // Nivel a partir del cual se considera que alguien habla (~-42 dBFS)
+    private static final int SPEAKING_LEVEL = 30;
+    // Cambio mínimo de nivel que merece un evento
+    private static final int LEVEL_STEP = 6;
+    // Evaluaciones seguidas como el más fuerte para quedarse con el foco
+    private static final int HOLD_EVALUATIONS = 2;
+    // Bajada del nivel suavizado por trama (la subida es inmediata)
+    private static final double RELEASE = 0.35;
+    // Sin tramas durante esto, el participante cuenta como silencio
+    private static final long STALE_NANOS = 3 * ConferenceMixer.FRAME_NANOS;
+
+    /**
+     * Recibe el nivel de cada participante al publicar
+     */
+    public interface LevelSink {
+        void level(String user, int level, boolean speaking);
+    }
+
+    private final int everyTicks;
+    private final Map<String, Meter> meters = new ConcurrentHashMap<>();
+
+    // Solo los toca el reloj de la sala
+    private long ticks = 0;
+    private String activeSpeaker = "";
+    private String candidate = null;
+    private int candidateCount = 0;
+
+    public ActiveSpeakerDetector() {
+        this(DEFAULT_EVERY_TICKS);
+    }
+
+    public ActiveSpeakerDetector(int everyTicks) {
+        this.everyTicks = Math.max(1, everyTicks);
+    }
+
+    public void join(String user) {
+        meters.putIfAbsent(user, new Meter());
+    }
+
+    public void leave(String user) {
+        meters.remove(user);
+    }
+
+    /**
+     * Trama PCM16 little-endian enviada por user
+     */
+    public void push(String user, byte[] pcm) {
+        Meter meter = meters.get(user);
+        if (meter != null) {
+            meter.update(rmsDb(pcm, pcm.length));
+        }
+    }
+
+    /**
+     * Tick del reloj de la sala
+     * @return true si hay niveles o hablante nuevos que publicar
+     */
+    public boolean tick() {
+        if (++ticks % everyTicks != 0) {
+            return false;
+        }
+
+        long now = System.nanoTime();
+        boolean changed = false;
+        String loudest = null;
+        int loudestLevel = SPEAKING_LEVEL - 1;
+
+        for (Map.Entry<String, Meter> entry : meters.entrySet()) {
+            Meter meter = entry.getValue();
+            int level = now - meter.lastNanos > STALE_NANOS ? 0 : scale(meter.db);
+            meter.current = level;
+            if (Math.abs(level - meter.published) >= LEVEL_STEP
+                    || (level >= SPEAKING_LEVEL) != (meter.published >= SPEAKING_LEVEL)) {
+                changed = true;
+            }
+            if (level > loudestLevel) {
+                loudestLevel = level;
+                loudest = entry.getKey();
+            }
+        }
+
+        // El foco se queda con el último que habló aunque ahora haya silencio
+        if (loudest != null && !loudest.equals(activeSpeaker)) {
+            if (loudest.equals(candidate)) {
+                candidateCount++;
+            } else {
+                candidate = loudest;
+                candidateCount = 1;
+            }
+            if (candidateCount >= HOLD_EVALUATIONS) {
+                activeSpeaker = loudest;
+                candidate = null;
+                changed = true;
+            }
+        } else {
+            candidate = null;
+        }
+        if (!activeSpeaker.isEmpty() && !meters.containsKey(activeSpeaker)) {
+            activeSpeaker = "";
+            changed = true;
+        }
+
+        if (changed) {
+            for (Meter meter : meters.values()) {
+                meter.published = meter.current;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Quién tiene el foco ("" si nadie habló todavía)
+     */
+    public String getActiveSpeaker() {
+        return activeSpeaker;
+    }
+
+    public int size() {
+        return meters.size();
+    }
+
+    /**
+     * Los niveles calculados en el último tick() que devolvió true
+     */
+    public void forEachLevel(LevelSink sink) {
+        for (Map.Entry<String, Meter> entry : meters.entrySet()) {
+            int level = entry.getValue().published;
+            sink.level(entry.getKey(), level, level >= SPEAKING_LEVEL);
+        }
+    }
+
+    /**
+     * Nivel RMS en dBFS de length bytes de PCM16 little-endian
+     */
+    static double rmsDb(byte[] pcm, int length) {
+        int samples = length / 2;
+        if (samples == 0) {
+            return FLOOR_DB;
+        }
+        double sum = 0;
+        for (int i = 0; i < samples; i++) {
+            int s = (short) ((pcm[2 * i] & 0xFF) | (pcm[2 * i + 1] << 8));
+            sum += (double) s * s;
+        }
+        double rms = Math.sqrt(sum / samples) / 32768.0;
+        return rms > 0 ? Math.max(FLOOR_DB, 20 * Math.log10(rms)) : FLOOR_DB;
+    }
+
+    private static int scale(double db) {
+        int level = (int) Math.round((db - FLOOR_DB) * 100 / -FLOOR_DB);
+        return Math.max(0, Math.min(100, level));
+    }
+
+    /**
+     * Nivel de UN participante; lo escribe solo el hilo que recibe su audio
+     */
+    private static final class Meter {
+        volatile double db = FLOOR_DB;
+        volatile long lastNanos;
+        int current;    // Solo el reloj
+        int published;  // Solo el reloj
+
+        void update(double frameDb) {
+            double smoothed = db;
+            db = frameDb >= smoothed ? frameDb : smoothed + (frameDb - smoothed) * RELEASE;
+            lastNanos = System.nanoTime();
+        }
+    }
+}
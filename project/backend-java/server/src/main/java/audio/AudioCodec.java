@@ -0,0 +1,125 @@
+package audio;
+
+/**
+ * Formato negociado para el audio que RECIBE un usuario en una llamada.
+ *
+ * Convierte cada trama PCM16 del emisor al formato pedido: L16 (PCM16),
+ * PCMU (mu-law) o PCMA (A-law), a cualquiera de las frecuencias de
+ * {@link Resampler#SUPPORTED_RATES}. El cambio de frecuencia es un
+ * Resampler con estado propio, así que un codec corresponde a UN flujo.
+ * Los buffers de salida se reutilizan: quien llama a encode() debe
+ * serializar el resultado antes de soltar el monitor del codec.
+ */
+public class AudioCodec {
+
+    public static final String L16 = "L16";
+    public static final String PCMU = "PCMU";
+    public static final String PCMA = "PCMA";
+
+    private final String name;
+    private final int sampleRate;
+    private final G711.Law law;  // null = L16
+
+    // Se crea (o rehace) cuando cambia la frecuencia del emisor
+    private Resampler resampler;
+
+    // Con remuestreo el tamaño de salida alterna entre dos valores (p. ej. 743/744):
+    // se guardan ambos buffers para no reservar memoria en cada trama
+    private byte[] out = new byte[0];
+    private byte[] outAlt = new byte[0];
+
+    private AudioCodec(String name, int sampleRate, G711.Law law) {
+        this.name = name;
+        this.sampleRate = sampleRate;
+        this.law = law;
+    }
+
+    /**
+     * Valida un formato pedido por el cliente
+     * @return el codec, o null si no se soporta
+     */
+    public static AudioCodec negotiate(String name, int sampleRate) {
+        if (name == null || !Resampler.isSupported(sampleRate)) {
+            return null;
+        }
+
+        switch (name.toUpperCase()) {
+            case L16:
+                return new AudioCodec(L16, sampleRate, null);
+            case PCMU:
+                return new AudioCodec(PCMU, sampleRate, G711.Law.MU);
+            case PCMA:
+                return new AudioCodec(PCMA, sampleRate, G711.Law.A);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * ¿Hace falta convertir el audio de un emisor a esta frecuencia?
+     */
+    public boolean isPassthrough(int inputRate) {
+        return law == null && inputRate == sampleRate;
+    }
+
+    /**
+     * Convierte una trama PCM16 little-endian muestreada a inputRate.
+     * Llamar con el monitor del codec tomado.
+     */
+    public byte[] encode(byte[] pcm16le, int inputRate) {
+        if (inputRate == sampleRate) {
+            if (law == null) {
+                return pcm16le;
+            }
+            byte[] coded = buffer(pcm16le.length / 2);
+            G711.encode(law, pcm16le, coded);
+            return coded;
+        }
+
+        if (resampler == null || resampler.getInputRate() != inputRate) {
+            resampler = new Resampler(inputRate, sampleRate);
+        }
+        int count = resampler.process(pcm16le);
+        short[] samples = resampler.getOutput();
+
+        if (law != null) {
+            byte[] coded = buffer(count);
+            G711.encode(law, samples, count, coded);
+            return coded;
+        }
+
+        byte[] pcm = buffer(count * 2);
+        for (int i = 0; i < count; i++) {
+            pcm[2 * i] = (byte) samples[i];
+            pcm[2 * i + 1] = (byte) (samples[i] >> 8);
+        }
+        return pcm;
+    }
+
+    private byte[] buffer(int size) {
+        if (out.length == size) {
+            return out;
+        }
+        if (outAlt.length != size) {
+            outAlt = new byte[size];
+        }
+        // El último usado queda en 'out'
+        byte[] t = out;
+        out = outAlt;
+        outAlt = t;
+        return out;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    @Override
+    public String toString() {
+        return name + "/" + sampleRate;
+    }
+}
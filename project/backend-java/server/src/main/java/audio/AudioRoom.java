@@ -0,0 +1,35 @@
+package audio;
+
+/**
+ * Sala de audio de una conferencia: recibe el audio de cada participante
+ * y decide qué escucha cada uno en cada tick del reloj de tramas.
+ */
+public interface AudioRoom {
+
+    String getName();
+
+    boolean join(String user);
+
+    boolean leave(String user);
+
+    boolean contains(String user);
+
+    int size();
+
+    String[] getParticipants();
+
+    /**
+     * Audio PCM16 recibido de un participante
+     */
+    boolean push(String user, byte[] data);
+
+    /**
+     * Un tick del reloj de tramas (~46 ms)
+     */
+    void tick();
+
+    /**
+     * Tramas entregadas desde que se creó la sala (estadística)
+     */
+    long getFrameCount();
+}
@@ -0,0 +1,344 @@
+package audio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Grabación de llamadas a WAV estéreo (izquierda = llamante, derecha = destinatario).
+ *
+ * El reloj de la llamada solo deja, por tick, las dos tramas retenidas en un
+ * anillo sin locks de UN productor y UN consumidor; si el anillo está lleno
+ * (disco atascado) el tick se descarta, nunca se espera. Un único hilo de
+ * escritura para todas las grabaciones remuestrea a 44.1 kHz, intercala los
+ * canales y escribe por FileChannel en lotes grandes. La cabecera se escribe
+ * con tamaños a cero y se corrige al cerrar.
+ */
+public class CallRecorder {
+
+    public static final int SAMPLE_RATE = ConferenceMixer.SAMPLE_RATE;
+    private static final int CHANNELS = 2;
+    private static final int HEADER_BYTES = 44;
+
+    // Ticks en cola por grabación (~6 s): de sobra para un disco lento
+    private static final int RING_TICKS = 128;
+    // Se escribe cuando el lote llega a esto (o cada FLUSH_INTERVAL)
+    private static final int BATCH_BYTES = 256 * 1024;
+    private static final long FLUSH_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(2);
+    private static final long WRITER_PERIOD_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    // Límite de los campos de 32 bits de la cabecera WAV (~6 h de estéreo a 44.1 kHz)
+    private static final long MAX_DATA_BYTES = 0xFFFFFFFFL - HEADER_BYTES;
+
+    private final CopyOnWriteArrayList<Recording> recordings = new CopyOnWriteArrayList<>();
+    private final Thread writer;
+
+    public CallRecorder() {
+        this.writer = new Thread(this::run, "call-recorder");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Abre el archivo y empieza a aceptar ticks
+     */
+    public Recording start(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        Recording recording = new Recording(file, channel);
+        recordings.add(recording);
+        return recording;
+    }
+
+    private void run() {
+        while (true) {
+            for (Recording recording : recordings) {
+                if (recording.drain()) {
+                    recordings.remove(recording);
+                }
+            }
+            LockSupport.parkNanos(WRITER_PERIOD_NANOS);
+        }
+    }
+
+    /**
+     * Una llamada grabándose. tick() lo llama el reloj de la llamada y stop()
+     * cualquier hilo; todo lo demás ocurre en el hilo de escritura. Al cerrar,
+     * lo que el reloj publique después lo libera quien avance head (CAS): el
+     * escritor o el propio tick, nunca los dos.
+     */
+    public final class Recording {
+        private final Path file;
+        private final FileChannel channel;
+
+        // Anillo productor/consumidor: ranura = tick % RING_TICKS
+        private final PooledFrame[] leftFrames = new PooledFrame[RING_TICKS];
+        private final PooledFrame[] rightFrames = new PooledFrame[RING_TICKS];
+        private final int[] leftRates = new int[RING_TICKS];
+        private final int[] rightRates = new int[RING_TICKS];
+        private final AtomicLong head = new AtomicLong();  // Siguiente a leer (escritor)
+        private final AtomicLong tail = new AtomicLong();  // Siguiente a escribir (reloj)
+        private volatile boolean stopping = false;
+        private volatile boolean closed = false;
+
+        private final AtomicLong droppedTicks = new AtomicLong();
+
+        // Solo los toca el hilo de escritura
+        private final ByteBuffer batch = ByteBuffer.allocateDirect(BATCH_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        private final Channel left = new Channel();
+        private final Channel right = new Channel();
+        private long dataBytes = 0;
+        private long lastFlushNanos = System.nanoTime();
+        private boolean failed = false;
+
+        private Recording(Path file, FileChannel channel) throws IOException {
+            this.file = file;
+            this.channel = channel;
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            writeHeader(header, 0);
+            header.flip();
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+        }
+
+        /**
+         * Un tick del reloj: la trama de cada sentido (null = nada que sonó) y su frecuencia.
+         * Se queda con las referencias; nunca bloquea.
+         */
+        public void tick(PooledFrame leftFrame, int leftRate, PooledFrame rightFrame, int rightRate) {
+            long t = tail.get();
+            if (stopping || closed || t - head.get() >= RING_TICKS) {
+                if (!stopping && !closed) {
+                    droppedTicks.incrementAndGet();
+                }
+                release(leftFrame);
+                release(rightFrame);
+                return;
+            }
+            int slot = (int) (t % RING_TICKS);
+            leftFrames[slot] = leftFrame;
+            rightFrames[slot] = rightFrame;
+            leftRates[slot] = leftRate;
+            rightRates[slot] = rightRate;
+            tail.set(t + 1);  // Publica la ranura (escritura volátil: ordenada con la lectura de closed)
+
+            // stop() llegó mientras tanto y el escritor ya cerró sin ver esta ranura
+            if (closed) {
+                reclaim();
+            }
+        }
+
+        /**
+         * No admite más ticks; el escritor vacía lo pendiente y cierra el archivo
+         */
+        public void stop() {
+            stopping = true;
+            LockSupport.unpark(writer);
+        }
+
+        public Path getFile() {
+            return file;
+        }
+
+        public long getDroppedTicks() {
+            return droppedTicks.get();
+        }
+
+        /**
+         * @return true si la grabación terminó y se cerró
+         */
+        private boolean drain() {
+            // Leer 'stopping' ANTES que tail: si estaba parada, no llegarán más ticks
+            boolean last = stopping;
+            long end = tail.get();
+
+            for (long h = head.get(); h < end; h++) {
+                int slot = (int) (h % RING_TICKS);
+                PooledFrame l = leftFrames[slot];
+                PooledFrame r = rightFrames[slot];
+                leftFrames[slot] = null;
+                rightFrames[slot] = null;
+                try {
+                    if (!failed) {
+                        append(l, leftRates[slot], r, rightRates[slot]);
+                    }
+                } finally {
+                    release(l);
+                    release(r);
+                }
+                head.lazySet(h + 1);  // Libera la ranura para el reloj
+            }
+
+            if (!failed && (batch.position() >= BATCH_BYTES / 2
+                    || System.nanoTime() - lastFlushNanos >= FLUSH_INTERVAL_NANOS)) {
+                flush();
+            }
+
+            if (last || failed) {
+                close();
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Tras cerrar: libera las ranuras publicadas y no leídas. Cada una la
+         * libera solo quien gana el CAS sobre head (escritor o reloj)
+         */
+        private void reclaim() {
+            long h;
+            while ((h = head.get()) < tail.get()) {
+                if (head.compareAndSet(h, h + 1)) {
+                    int slot = (int) (h % RING_TICKS);
+                    release(leftFrames[slot]);
+                    release(rightFrames[slot]);
+                    leftFrames[slot] = null;
+                    rightFrames[slot] = null;
+                }
+            }
+        }
+
+        /**
+         * Intercala un tick de cada canal; el más corto se completa con silencio
+         */
+        private void append(PooledFrame l, int leftRate, PooledFrame r, int rightRate) {
+            int nl = left.load(l, leftRate);
+            int nr = right.load(r, rightRate);
+            int n = Math.max(nl, nr);
+            if (n == 0) {
+                n = ConferenceMixer.FRAME_SAMPLES;  // Tick sin audio en ningún sentido
+            }
+
+            int bytes = n * CHANNELS * 2;
+            if (dataBytes + bytes > MAX_DATA_BYTES) {
+                System.err.println("⚠️ [GRABACIÓN] " + file.getFileName() + " llegó al máximo de WAV");
+                failed = true;
+                return;
+            }
+            if (batch.remaining() < bytes) {
+                flush();
+            }
+            for (int i = 0; i < n; i++) {
+                batch.putShort(i < nl ? left.samples[i] : 0);
+                batch.putShort(i < nr ? right.samples[i] : 0);
+            }
+            dataBytes += bytes;
+        }
+
+        private void flush() {
+            batch.flip();
+            try {
+                while (batch.hasRemaining()) {
+                    channel.write(batch);
+                }
+            } catch (IOException e) {
+                System.err.println("❌ [GRABACIÓN] Error escribiendo " + file.getFileName() + ": " + e.getMessage());
+                failed = true;
+            }
+            batch.clear();
+            lastFlushNanos = System.nanoTime();
+        }
+
+        /**
+         * Vacía el lote, corrige los tamaños de la cabecera y cierra
+         */
+        private void close() {
+            if (!failed) {
+                flush();
+            }
+            try {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                writeHeader(header, dataBytes);
+                header.flip();
+                while (header.hasRemaining()) {
+                    channel.write(header, header.position());
+                }
+                channel.close();
+            } catch (IOException e) {
+                System.err.println("❌ [GRABACIÓN] Error cerrando " + file.getFileName() + ": " + e.getMessage());
+            }
+
+            // Lo que el reloj publicara después del último drain
+            closed = true;
+            reclaim();
+
+            System.out.println("💾 [GRABACIÓN] " + file.getFileName() + " cerrada ("
+                + String.format("%.1f", dataBytes / (double) (SAMPLE_RATE * CHANNELS * 2)) + " s"
+                + (droppedTicks.get() > 0 ? ", " + droppedTicks.get() + " ticks descartados" : "") + ")");
+        }
+    }
+
+    /**
+     * Un canal de la grabación: convierte cada trama a PCM16 a 44.1 kHz
+     */
+    private static final class Channel {
+        short[] samples = new short[ConferenceMixer.FRAME_SAMPLES];
+        private Resampler resampler;
+
+        /**
+         * @return muestras cargadas en samples (0 si no hay trama)
+         */
+        int load(PooledFrame frame, int rate) {
+            if (frame == null) {
+                return 0;
+            }
+            byte[] pcm = frame.data();
+
+            if (rate == SAMPLE_RATE || !Resampler.isSupported(rate)) {
+                int n = pcm.length / 2;
+                ensure(n);
+                for (int i = 0; i < n; i++) {
+                    samples[i] = (short) ((pcm[2 * i] & 0xFF) | (pcm[2 * i + 1] << 8));
+                }
+                return n;
+            }
+
+            if (resampler == null || resampler.getInputRate() != rate) {
+                resampler = new Resampler(rate, SAMPLE_RATE);
+            }
+            int n = resampler.process(pcm);
+            ensure(n);
+            System.arraycopy(resampler.getOutput(), 0, samples, 0, n);
+            return n;
+        }
+
+        private void ensure(int n) {
+            if (samples.length < n) {
+                samples = new short[n];
+            }
+        }
+    }
+
+    private static void release(PooledFrame frame) {
+        if (frame != null) {
+            frame.release();
+        }
+    }
+
+    /**
+     * Cabecera RIFF/WAVE PCM de 16 bits
+     */
+    private static void writeHeader(ByteBuffer b, long dataBytes) {
+        int blockAlign = CHANNELS * 2;
+        b.put((byte) 'R').put((byte) 'I').put((byte) 'F').put((byte) 'F');
+        b.putInt((int) (36 + dataBytes));
+        b.put((byte) 'W').put((byte) 'A').put((byte) 'V').put((byte) 'E');
+        b.put((byte) 'f').put((byte) 'm').put((byte) 't').put((byte) ' ');
+        b.putInt(16);                           // Tamaño del bloque fmt
+        b.putShort((short) 1);                  // PCM
+        b.putShort((short) CHANNELS);
+        b.putInt(SAMPLE_RATE);
+        b.putInt(SAMPLE_RATE * blockAlign);     // Bytes por segundo
+        b.putShort((short) blockAlign);
+        b.putShort((short) 16);                 // Bits por muestra
+        b.put((byte) 'd').put((byte) 'a').put((byte) 't').put((byte) 'a');
+        b.putInt((int) dataBytes);
+    }
+}
@@ -0,0 +1,246 @@
+package audio;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mezclador de una conferencia (PCM16 little-endian, mono).
+ *
+ * En cada tick del reloj suma la trama de cada participante y a cada uno le
+ * entrega la mezcla SIN su propia voz (N-1), saturando en lugar de desbordar.
+ * Todos los buffers se reservan al unirse: mezclar una trama no crea objetos.
+ */
+public class ConferenceMixer implements AudioRoom {
+
+    public static final int SAMPLE_RATE = 44100;
+    public static final int FRAME_SAMPLES = 2048;  // Igual que el cliente web (~46 ms)
+    public static final int FRAME_BYTES = FRAME_SAMPLES * 2;
+    public static final long FRAME_NANOS = FRAME_SAMPLES * 1_000_000_000L / SAMPLE_RATE;
+
+    // Tramas a acumular antes de empezar a mezclar a alguien (absorbe jitter)
+    private static final int PREFILL_FRAMES = 2;
+    // Máximo acumulado por participante: lo más viejo se descarta (acota la latencia)
+    private static final int MAX_BUFFERED_FRAMES = 6;
+
+    /**
+     * Destino de las tramas mezcladas. El buffer se reutiliza en el siguiente
+     * tick: el receptor debe copiarlo o serializarlo antes de retornar.
+     */
+    public interface FrameSink {
+        void deliver(String participant, byte[] frame);
+    }
+
+    private final String name;
+    private final FrameSink sink;
+
+    private final Map<String, Participant> byName = new ConcurrentHashMap<>();
+    private volatile Participant[] participants = new Participant[0];
+
+    // Acumulador de la mezcla (solo lo toca el hilo del reloj)
+    private final int[] mix = new int[FRAME_SAMPLES];
+
+    private volatile long mixedFrames = 0;
+
+    public ConferenceMixer(String name, FrameSink sink) {
+        this.name = name;
+        this.sink = sink;
+    }
+
+    // ========== PARTICIPANTES ==========
+
+    @Override
+    public synchronized boolean join(String user) {
+        if (byName.containsKey(user)) {
+            return false;
+        }
+        Participant p = new Participant(user);
+        byName.put(user, p);
+
+        Participant[] next = new Participant[participants.length + 1];
+        System.arraycopy(participants, 0, next, 0, participants.length);
+        next[participants.length] = p;
+        participants = next;
+        return true;
+    }
+
+    @Override
+    public synchronized boolean leave(String user) {
+        Participant p = byName.remove(user);
+        if (p == null) {
+            return false;
+        }
+
+        List<Participant> next = new ArrayList<>(participants.length);
+        for (Participant other : participants) {
+            if (other != p) {
+                next.add(other);
+            }
+        }
+        participants = next.toArray(new Participant[0]);
+        return true;
+    }
+
+    @Override
+    public boolean contains(String user) {
+        return byName.containsKey(user);
+    }
+
+    @Override
+    public int size() {
+        return participants.length;
+    }
+
+    @Override
+    public String[] getParticipants() {
+        Participant[] current = participants;
+        String[] names = new String[current.length];
+        for (int i = 0; i < current.length; i++) {
+            names[i] = current[i].name;
+        }
+        return names;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getFrameCount() {
+        return mixedFrames;
+    }
+
+    // ========== ENTRADA ==========
+
+    /**
+     * Audio recibido de un participante (cualquier tamaño de paquete)
+     */
+    @Override
+    public boolean push(String user, byte[] data) {
+        Participant p = byName.get(user);
+        if (p == null || data == null) {
+            return false;
+        }
+        p.write(data);
+        return true;
+    }
+
+    // ========== RELOJ ==========
+
+    /**
+     * Un tick del reloj de tramas: mezcla y entrega una trama por participante
+     */
+    @Override
+    public void tick() {
+        Participant[] current = participants;
+        int[] acc = mix;
+
+        // PASO 1: Sumar la trama de cada participante que tenga audio
+        int speakers = 0;
+        for (int i = 0; i < FRAME_SAMPLES; i++) {
+            acc[i] = 0;
+        }
+        for (Participant p : current) {
+            p.active = p.read();
+            if (p.active) {
+                speakers++;
+                short[] frame = p.frame;
+                for (int i = 0; i < FRAME_SAMPLES; i++) {
+                    acc[i] += frame[i];
+                }
+            }
+        }
+
+        if (speakers == 0) {
+            return;
+        }
+
+        // PASO 2: A cada uno, la mezcla menos su propia voz
+        for (Participant p : current) {
+            if (p.active && speakers == 1) {
+                continue; // Solo habla él: no hay nada que escuchar
+            }
+
+            short[] own = p.frame;
+            byte[] out = p.out;
+            for (int i = 0, j = 0; i < FRAME_SAMPLES; i++, j += 2) {
+                int s = p.active ? acc[i] - own[i] : acc[i];
+                if (s > Short.MAX_VALUE) {
+                    s = Short.MAX_VALUE;
+                } else if (s < Short.MIN_VALUE) {
+                    s = Short.MIN_VALUE;
+                }
+                out[j] = (byte) s;
+                out[j + 1] = (byte) (s >> 8);
+            }
+
+            try {
+                sink.deliver(p.name, out);
+            } catch (Exception e) {
+                System.err.println("⚠️ [CONFERENCIA " + name + "] Error entregando a " + p.name + ": " + e);
+            }
+        }
+
+        mixedFrames++;
+    }
+
+    // ========== PARTICIPANTE ==========
+
+    private static final class Participant {
+        final String name;
+
+        // Búfer circular de muestras recibidas
+        private final short[] ring = new short[FRAME_SAMPLES * MAX_BUFFERED_FRAMES];
+        private int head = 0;
+        private int count = 0;
+        private boolean primed = false;
+
+        // Buffers de trabajo del reloj (reutilizados en cada tick)
+        final short[] frame = new short[FRAME_SAMPLES];
+        final byte[] out = new byte[FRAME_BYTES];
+        boolean active;
+
+        Participant(String name) {
+            this.name = name;
+        }
+
+        synchronized void write(byte[] data) {
+            int samples = data.length / 2;
+            for (int i = 0; i < samples; i++) {
+                short s = (short) ((data[2 * i] & 0xFF) | (data[2 * i + 1] << 8));
+                if (count == ring.length) {
+                    // Lleno: descartar la muestra más vieja
+                    head = (head + 1) % ring.length;
+                    count--;
+                }
+                ring[(head + count) % ring.length] = s;
+                count++;
+            }
+        }
+
+        /**
+         * Toma una trama completa; false si aún no hay suficiente audio
+         */
+        synchronized boolean read() {
+            if (!primed) {
+                if (count < FRAME_SAMPLES * PREFILL_FRAMES) {
+                    return false;
+                }
+                primed = true;
+            }
+            if (count < FRAME_SAMPLES) {
+                primed = false; // Se vació: volver a acumular
+                return false;
+            }
+
+            int first = Math.min(FRAME_SAMPLES, ring.length - head);
+            System.arraycopy(ring, head, frame, 0, first);
+            System.arraycopy(ring, 0, frame, first, FRAME_SAMPLES - first);
+            head = (head + FRAME_SAMPLES) % ring.length;
+            count -= FRAME_SAMPLES;
+            return true;
+        }
+    }
+}
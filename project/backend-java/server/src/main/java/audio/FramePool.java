@@ -0,0 +1,159 @@
+package audio;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool de tramas de audio reutilizables ({@link PooledFrame}).
+ *
+ * Las tramas se guardan por tamaño EXACTO: Ice serializa el byte[] entero,
+ * así que un array más grande que la trama no sirve. En la práctica hay muy
+ * pocos tamaños (uno por frecuencia de captura), por eso la búsqueda es lineal
+ * sobre un array pequeño y no un mapa (que crearía un Integer por consulta).
+ * En régimen estable, recibir, retener y reenviar tramas no reserva memoria.
+ */
+public class FramePool {
+
+    // Tramas libres guardadas por tamaño (~1 MB con tramas de 4 KB)
+    public static final int DEFAULT_MAX_PER_SIZE = 256;
+
+    // Tamaños distintos que se agrupan; el resto se reserva sin pool
+    private static final int MAX_SIZES = 16;
+
+    private final int maxPerSize;
+
+    // Copy-on-write: se lee sin lock, se amplía bajo synchronized(this)
+    private volatile Shelf[] shelves = new Shelf[0];
+
+    private final AtomicLong allocated = new AtomicLong();
+    private final AtomicLong reused = new AtomicLong();
+
+    public FramePool() {
+        this(DEFAULT_MAX_PER_SIZE);
+    }
+
+    public FramePool(int maxPerSize) {
+        this.maxPerSize = Math.max(1, maxPerSize);
+    }
+
+    /**
+     * Una trama de length bytes con una referencia (contenido sin inicializar)
+     */
+    public PooledFrame acquire(int length) {
+        Shelf shelf = shelfFor(length);
+        PooledFrame frame = shelf != null ? shelf.pop() : null;
+        if (frame != null) {
+            reused.incrementAndGet();
+        } else {
+            allocated.incrementAndGet();
+            frame = new PooledFrame(new byte[length], this);
+        }
+        frame.reset();
+        return frame;
+    }
+
+    /**
+     * Copia los bytes restantes de src (lo consume) a una trama del pool
+     */
+    public PooledFrame copyOf(ByteBuffer src) {
+        PooledFrame frame = acquire(src.remaining());
+        src.get(frame.data());
+        return frame;
+    }
+
+    void recycle(PooledFrame frame) {
+        Shelf shelf = shelfFor(frame.length());
+        if (shelf != null) {
+            shelf.push(frame);
+        }
+    }
+
+    private Shelf shelfFor(int length) {
+        for (Shelf shelf : shelves) {
+            if (shelf.length == length) {
+                return shelf;
+            }
+        }
+        return addShelf(length);
+    }
+
+    private synchronized Shelf addShelf(int length) {
+        Shelf[] current = shelves;
+        for (Shelf shelf : current) {
+            if (shelf.length == length) {
+                return shelf;
+            }
+        }
+        if (current.length >= MAX_SIZES) {
+            return null;
+        }
+        Shelf shelf = new Shelf(length, maxPerSize);
+        Shelf[] bigger = Arrays.copyOf(current, current.length + 1);
+        bigger[current.length] = shelf;
+        shelves = bigger;
+        return shelf;
+    }
+
+    // ========== ESTADÍSTICAS ==========
+
+    public long getAllocated() {
+        return allocated.get();
+    }
+
+    public long getReused() {
+        return reused.get();
+    }
+
+    public int getIdle() {
+        int idle = 0;
+        for (Shelf shelf : shelves) {
+            idle += shelf.size();
+        }
+        return idle;
+    }
+
+    @Override
+    public String toString() {
+        long a = allocated.get();
+        long r = reused.get();
+        return String.format("reservadas=%d, reutilizadas=%d (%.1f%%), libres=%d",
+            a, r, a + r == 0 ? 0.0 : 100.0 * r / (a + r), getIdle());
+    }
+
+    /**
+     * Pila de tramas libres de un tamaño (sin nodos: no genera basura)
+     */
+    private static final class Shelf {
+        final int length;
+        private final PooledFrame[] items;
+        private int size = 0;
+
+        Shelf(int length, int capacity) {
+            this.length = length;
+            this.items = new PooledFrame[capacity];
+        }
+
+        synchronized PooledFrame pop() {
+            if (size == 0) {
+                return null;
+            }
+            PooledFrame frame = items[--size];
+            items[size] = null;
+            return frame;
+        }
+
+        /**
+         * Si la pila está llena, la trama se deja al GC
+         */
+        synchronized void push(PooledFrame frame) {
+            if (size < items.length) {
+                items[size++] = frame;
+            }
+        }
+
+        synchronized int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package audio;
+
+/**
+ * Codificación G.711 (mu-law y A-law) por tablas.
+ *
+ * Las tablas se calculan una vez al cargar la clase con los algoritmos de
+ * referencia: codificar es una búsqueda por muestra PCM16 (tabla de 64K) y
+ * decodificar una búsqueda por byte (tabla de 256). Ningún método reserva
+ * memoria: el llamador pasa los buffers de salida.
+ */
+public final class G711 {
+
+    public enum Law { MU, A }
+
+    private static final int ULAW_BIAS = 0x84;
+    private static final int ULAW_CLIP = 8159;
+    private static final int[] SEG_UEND = {0x3F, 0x7F, 0xFF, 0x1FF, 0x3FF, 0x7FF, 0xFFF, 0x1FFF};
+    private static final int[] SEG_AEND = {0x1F, 0x3F, 0x7F, 0xFF, 0x1FF, 0x3FF, 0x7FF, 0xFFF};
+
+    // Índice: muestra PCM16 como 0..65535 (s & 0xFFFF)
+    private static final byte[] LINEAR_TO_ULAW = new byte[65536];
+    private static final byte[] LINEAR_TO_ALAW = new byte[65536];
+
+    // Índice: byte codificado como 0..255
+    private static final short[] ULAW_TO_LINEAR = new short[256];
+    private static final short[] ALAW_TO_LINEAR = new short[256];
+
+    static {
+        for (int i = 0; i < 65536; i++) {
+            short s = (short) i;
+            LINEAR_TO_ULAW[i] = (byte) linearToUlaw(s);
+            LINEAR_TO_ALAW[i] = (byte) linearToAlaw(s);
+        }
+        for (int i = 0; i < 256; i++) {
+            ULAW_TO_LINEAR[i] = (short) ulawToLinear(i);
+            ALAW_TO_LINEAR[i] = (short) alawToLinear(i);
+        }
+    }
+
+    private G711() {
+    }
+
+    // ========== BLOQUES ==========
+
+    /**
+     * PCM16 little-endian → G.711
+     * @return bytes escritos en out
+     */
+    public static int encode(Law law, byte[] pcm16le, byte[] out) {
+        byte[] table = law == Law.MU ? LINEAR_TO_ULAW : LINEAR_TO_ALAW;
+        int samples = pcm16le.length / 2;
+        for (int i = 0, j = 0; i < samples; i++, j += 2) {
+            out[i] = table[((pcm16le[j] & 0xFF) | (pcm16le[j + 1] << 8)) & 0xFFFF];
+        }
+        return samples;
+    }
+
+    /**
+     * Muestras lineales → G.711
+     * @return bytes escritos en out
+     */
+    public static int encode(Law law, short[] samples, int count, byte[] out) {
+        byte[] table = law == Law.MU ? LINEAR_TO_ULAW : LINEAR_TO_ALAW;
+        for (int i = 0; i < count; i++) {
+            out[i] = table[samples[i] & 0xFFFF];
+        }
+        return count;
+    }
+
+    /**
+     * G.711 → PCM16 little-endian
+     * @return bytes escritos en pcm16le
+     */
+    public static int decode(Law law, byte[] coded, int length, byte[] pcm16le) {
+        short[] table = law == Law.MU ? ULAW_TO_LINEAR : ALAW_TO_LINEAR;
+        for (int i = 0, j = 0; i < length; i++, j += 2) {
+            short s = table[coded[i] & 0xFF];
+            pcm16le[j] = (byte) s;
+            pcm16le[j + 1] = (byte) (s >> 8);
+        }
+        return length * 2;
+    }
+
+    // ========== MUESTRAS (una por llamada) ==========
+
+    public static byte encodeSample(Law law, short sample) {
+        return (law == Law.MU ? LINEAR_TO_ULAW : LINEAR_TO_ALAW)[sample & 0xFFFF];
+    }
+
+    public static short decodeSample(Law law, byte coded) {
+        return (law == Law.MU ? ULAW_TO_LINEAR : ALAW_TO_LINEAR)[coded & 0xFF];
+    }
+
+    // ========== ALGORITMOS DE REFERENCIA (solo para llenar las tablas) ==========
+
+    private static int segment(int value, int[] ends) {
+        for (int i = 0; i < ends.length; i++) {
+            if (value <= ends[i]) {
+                return i;
+            }
+        }
+        return ends.length;
+    }
+
+    private static int linearToUlaw(short sample) {
+        int pcm = sample >> 2;
+        int mask;
+        if (pcm < 0) {
+            pcm = -pcm;
+            mask = 0x7F;
+        } else {
+            mask = 0xFF;
+        }
+        if (pcm > ULAW_CLIP) {
+            pcm = ULAW_CLIP;
+        }
+        pcm += ULAW_BIAS >> 2;
+
+        int seg = segment(pcm, SEG_UEND);
+        if (seg >= 8) {
+            return 0x7F ^ mask;
+        }
+        return ((seg << 4) | ((pcm >> (seg + 1)) & 0x0F)) ^ mask;
+    }
+
+    private static int ulawToLinear(int ulaw) {
+        ulaw = ~ulaw;
+        int t = ((ulaw & 0x0F) << 3) + ULAW_BIAS;
+        t <<= (ulaw & 0x70) >> 4;
+        return (ulaw & 0x80) != 0 ? ULAW_BIAS - t : t - ULAW_BIAS;
+    }
+
+    private static int linearToAlaw(short sample) {
+        int pcm = sample >> 3;
+        int mask;
+        if (pcm >= 0) {
+            mask = 0xD5;
+        } else {
+            mask = 0x55;
+            pcm = -pcm - 1;
+        }
+
+        int seg = segment(pcm, SEG_AEND);
+        if (seg >= 8) {
+            return 0x7F ^ mask;
+        }
+        int aval = seg << 4;
+        aval |= seg < 2 ? (pcm >> 1) & 0x0F : (pcm >> seg) & 0x0F;
+        return aval ^ mask;
+    }
+
+    private static int alawToLinear(int alaw) {
+        alaw ^= 0x55;
+        int t = (alaw & 0x0F) << 4;
+        int seg = (alaw & 0x70) >> 4;
+        switch (seg) {
+            case 0:
+                t += 8;
+                break;
+            case 1:
+                t += 0x108;
+                break;
+            default:
+                t += 0x108;
+                t <<= seg - 1;
+        }
+        return (alaw & 0x80) != 0 ? t : -t;
+    }
+}
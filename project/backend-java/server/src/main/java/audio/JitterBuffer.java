@@ -0,0 +1,273 @@
+package audio;
+
+/**
+ * Búfer de jitter adaptativo para UN flujo de audio (un sentido de una llamada).
+ *
+ * Recibe tramas numeradas en cualquier orden y las entrega en orden, una por
+ * tick del reloj. La profundidad objetivo se adapta al jitter medido con el
+ * estimador de RFC 3550: con red estable retiene ~1 trama, con red irregular
+ * hasta MAX_DEPTH. Una trama que llega después de su turno se descarta; una
+ * que llega muy por detrás (más de CAPACITY) indica que el emisor reinició
+ * su contador y se vuelve a cebar.
+ * Las tramas son del {@link FramePool}: el búfer es su dueño mientras las
+ * guarda y libera las que descarta; poll() pasa la propiedad a quien llama.
+ */
+public class JitterBuffer {
+
+    private static final int CAPACITY = 32;  // Ranuras (potencia de 2)
+    private static final int MIN_DEPTH = 1;
+    private static final int MAX_DEPTH = 8;
+    // Tramas por encima del objetivo toleradas antes de saltar hacia adelante
+    private static final int MAX_EXCESS = 3;
+
+    private final double frameMillis;
+
+    // Ranura = seq % CAPACITY; guarda la referencia recibida (sin copiar)
+    private final PooledFrame[] slots = new PooledFrame[CAPACITY];
+    private final int[] slotSeq = new int[CAPACITY];
+    private int buffered = 0;
+
+    private boolean started = false;
+    private boolean everStarted = false;  // playoutSeq válido (se conserva al volver a cebar)
+    private int playoutSeq;
+    private int highestSeq;
+    private boolean anyReceived = false;
+    private boolean lastLost = false;  // El último poll() dio null por un hueco
+    private boolean closed = false;    // Flujo terminado: lo que llegue vuelve al pool
+
+    // Jitter entre llegadas (RFC 3550), en ms
+    private double jitterMs = 0;
+    private long lastArrivalNanos;
+    private int lastTimestamp;
+
+    // Contadores
+    private int received = 0;
+    private int played = 0;
+    private int lost = 0;
+    private int late = 0;
+    private int duplicates = 0;
+    private int discarded = 0;
+
+    public JitterBuffer(double frameMillis) {
+        this.frameMillis = frameMillis;
+    }
+
+    /**
+     * Llega una trama del emisor (el búfer se queda con la referencia)
+     * @param timestamp ms de captura según el reloj del emisor
+     */
+    public synchronized void push(int seq, int timestamp, PooledFrame data) {
+        received++;
+
+        long now = System.nanoTime();
+        if (anyReceived) {
+            double d = (now - lastArrivalNanos) / 1_000_000.0 - (timestamp - lastTimestamp);
+            jitterMs += (Math.abs(d) - jitterMs) / 16;
+        }
+        lastArrivalNanos = now;
+        lastTimestamp = timestamp;
+
+        // Un sendAudioFrame que leyó la ruta antes de colgar puede llegar después de close()
+        if (closed) {
+            data.release();
+            return;
+        }
+
+        if (everStarted && seq - playoutSeq < 0) {
+            if (playoutSeq - seq <= CAPACITY) {
+                late++;
+                data.release();
+                return;
+            }
+            // Muy por detrás de lo ya reproducido: el emisor reinició su contador
+            restart();
+        }
+        if (!anyReceived || seq - highestSeq > 0) {
+            highestSeq = seq;
+        }
+        anyReceived = true;
+
+        int idx = seq & (CAPACITY - 1);
+        if (slots[idx] != null) {
+            if (slotSeq[idx] == seq) {
+                duplicates++;
+                data.release();
+                return;
+            }
+            // Ranura ocupada por una trama muy vieja: gana la nueva
+            slots[idx].release();
+            discarded++;
+            buffered--;
+        }
+        slots[idx] = data;
+        slotSeq[idx] = seq;
+        buffered++;
+    }
+
+    /**
+     * Tick del reloj: la siguiente trama en orden, o null (cebando, hueco o sin audio).
+     * Quien la recibe debe liberarla.
+     */
+    public synchronized PooledFrame poll() {
+        lastLost = false;
+        int target = getTargetDepth();
+
+        if (!started) {
+            if (buffered < target) {
+                return null; // Cebando
+            }
+            int first = lowestBufferedSeq();
+            if (everStarted && first - playoutSeq > 0) {
+                lost += first - playoutSeq; // Nunca llegaron mientras se volvía a cebar
+            }
+            started = true;
+            everStarted = true;
+            playoutSeq = first;
+        }
+
+        // Sin nada pendiente: la trama de este turno falta (pérdida suelta con poca
+        // profundidad, o el emisor calló) y se vuelve a cebar. Se informa como perdida
+        // para que el reloj la oculte; los ticks siguientes, cebando, ya no
+        if (buffered == 0) {
+            started = false;
+            lost++;
+            lastLost = true;
+            playoutSeq++;
+            return null;
+        }
+
+        // Demasiado retardo acumulado (ráfaga, emisor más rápido o salto de secuencia):
+        // saltar lo más viejo de una vez, liberando solo las ranuras ocupadas
+        if (highestSeq - playoutSeq + 1 > target + MAX_EXCESS) {
+            playoutSeq = highestSeq - (target + MAX_EXCESS) + 1;
+            for (int i = 0; i < CAPACITY; i++) {
+                if (slots[i] != null && slotSeq[i] - playoutSeq < 0) {
+                    slots[i].release();
+                    slots[i] = null;
+                    buffered--;
+                    discarded++;
+                }
+            }
+        }
+
+        PooledFrame frame = take(playoutSeq);
+        if (frame != null) {
+            played++;
+        } else {
+            lost++;
+            lastLost = true;
+        }
+        playoutSeq++;
+        return frame;
+    }
+
+    /**
+     * true si el último poll() devolvió null porque faltaba esa trama
+     * (no mientras se vuelve a cebar)
+     */
+    public synchronized boolean wasLost() {
+        return lastLost;
+    }
+
+    private PooledFrame take(int seq) {
+        int idx = seq & (CAPACITY - 1);
+        PooledFrame frame = slots[idx];
+        if (frame == null || slotSeq[idx] != seq) {
+            return null;
+        }
+        slots[idx] = null;
+        buffered--;
+        return frame;
+    }
+
+    /**
+     * Fin del flujo: devuelve al pool lo que quedaba sin reproducir
+     * y lo que se empuje a partir de ahora
+     */
+    public synchronized void close() {
+        closed = true;
+        for (int i = 0; i < CAPACITY; i++) {
+            if (slots[i] != null) {
+                slots[i].release();
+                slots[i] = null;
+            }
+        }
+        buffered = 0;
+        started = false;
+    }
+
+    /**
+     * Descarta lo guardado y vuelve a cebar como si el flujo empezara de cero
+     */
+    private void restart() {
+        for (int i = 0; i < CAPACITY; i++) {
+            if (slots[i] != null) {
+                slots[i].release();
+                slots[i] = null;
+                discarded++;
+            }
+        }
+        buffered = 0;
+        started = false;
+        everStarted = false;
+        anyReceived = false;
+    }
+
+    private int lowestBufferedSeq() {
+        int lowest = highestSeq;
+        for (int i = 0; i < CAPACITY; i++) {
+            if (slots[i] != null && slotSeq[i] - lowest < 0) {
+                lowest = slotSeq[i];
+            }
+        }
+        return lowest;
+    }
+
+    // ========== ESTADÍSTICAS ==========
+
+    /**
+     * Tramas a retener según el jitter actual
+     */
+    public synchronized int getTargetDepth() {
+        int depth = (int) Math.ceil(2 * jitterMs / frameMillis) + 1;
+        return Math.max(MIN_DEPTH, Math.min(MAX_DEPTH, depth));
+    }
+
+    public synchronized double getJitterMillis() {
+        return jitterMs;
+    }
+
+    public synchronized int getBuffered() {
+        return buffered;
+    }
+
+    public synchronized int getReceived() {
+        return received;
+    }
+
+    public synchronized int getPlayed() {
+        return played;
+    }
+
+    public synchronized int getLost() {
+        return lost;
+    }
+
+    public synchronized int getLate() {
+        return late;
+    }
+
+    public synchronized int getDuplicates() {
+        return duplicates;
+    }
+
+    public synchronized int getDiscarded() {
+        return discarded;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("recibidas=%d, reproducidas=%d, perdidas=%d, tardías=%d, duplicadas=%d, descartadas=%d, jitter=%.1f ms",
+            received, played, lost, late, duplicates, discarded, jitterMs);
+    }
+}
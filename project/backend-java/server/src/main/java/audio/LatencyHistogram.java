@@ -0,0 +1,93 @@
+package audio;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de tamaño fijo y sin locks para latencias (en microsegundos).
+ *
+ * Cubetas log-lineales: 8 por cada potencia de 2, así que el error relativo
+ * de un percentil es menor del 12.5% con solo 256 contadores (de 1 µs a
+ * ~4.7 h). record() es un incremento atómico: se puede llamar desde
+ * cualquier hilo del camino de audio sin contención ni reservas.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int MAGNITUDES = 32;
+    private static final int BUCKETS = SUB_BUCKETS * MAGNITUDES;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long micros) {
+        long value = Math.max(0, micros);
+        counts.incrementAndGet(indexOf(value));
+        total.incrementAndGet();
+        sum.addAndGet(value);
+        long m;
+        while (value > (m = max.get()) && !max.compareAndSet(m, value)) {
+            // Otro hilo subió el máximo: reintentar
+        }
+    }
+
+    public long getCount() {
+        return total.get();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getMean() {
+        long n = total.get();
+        return n == 0 ? 0 : sum.get() / (double) n;
+    }
+
+    /**
+     * Valor (µs) por debajo del cual queda el p% de las muestras; 0 si no hay
+     */
+    public long percentile(double p) {
+        long n = total.get();
+        if (n == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(p / 100.0 * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                // Punto medio de la cubeta, sin pasar del máximo visto
+                long mid = (lowerBound(i) + lowerBound(i + 1) - 1) / 2;
+                return Math.min(mid, max.get());
+            }
+        }
+        return max.get();
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        int index = (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+        return Math.min(index, BUCKETS - 1);
+    }
+
+    static long lowerBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        return (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("p50=%.1f ms, p95=%.1f ms, p99=%.1f ms, máx=%.1f ms",
+            percentile(50) / 1000.0, percentile(95) / 1000.0, percentile(99) / 1000.0, max.get() / 1000.0);
+    }
+}
@@ -0,0 +1,197 @@
+package audio;
+
+/**
+ * Ocultación de pérdidas para UN flujo PCM16 (un sentido de una llamada).
+ *
+ * Guarda las últimas muestras que se entregaron. Cuando falta una trama,
+ * estima el periodo de la voz por autocorrelación normalizada y repite el
+ * último periodo con una atenuación creciente (como G.711 Apéndice I): entero
+ * los primeros 10 ms y hasta silencio a los MAX_CONCEAL_MS. Con la primera
+ * trama buena, un fundido cruzado de 1/4 de periodo evita el chasquido.
+ * Todo trabaja sobre arrays fijos: no reserva memoria por trama.
+ * No es seguro entre hilos: lo usa solo el reloj de la llamada.
+ */
+public class PacketLossConcealer {
+
+    // Muestras de historia (cubre periodo máximo + ventana hasta 48 kHz)
+    private static final int HISTORY = 2048;
+    // Rango de tonos buscados (voz humana)
+    private static final int MIN_PITCH_HZ = 66;
+    private static final int MAX_PITCH_HZ = 400;
+    // Ventana de comparación para estimar el periodo
+    private static final int WINDOW_MS = 10;
+    // Tiempo sin atenuar y tiempo máximo ocultado
+    private static final int FULL_GAIN_MS = 10;
+    public static final int MAX_CONCEAL_MS = 90;
+
+    private final short[] history = new short[HISTORY];  // La más reciente al final
+    private int historyLen = 0;
+    private int sampleRate = 0;
+    private int frameBytes = 0;
+
+    // Estado de la ocultación en curso
+    private final short[] period = new short[HISTORY];
+    private int pitch = 0;
+    private int phase = 0;
+    private int concealedRun = 0;  // Muestras ocultadas seguidas
+
+    private long concealedFrames = 0;
+
+    /**
+     * Trama buena (se entrega tal cual). Si venía de ocultar, su comienzo se funde
+     * con la señal sintetizada: se modifica en el sitio.
+     */
+    public void update(byte[] pcm, int rate) {
+        if (rate != sampleRate) {
+            reset(rate);
+        }
+        frameBytes = pcm.length;
+
+        if (concealedRun > 0) {
+            int n = pcm.length / 2;
+            int fade = Math.min(pitch / 4, n);
+            for (int i = 0; i < fade; i++) {
+                double w = (i + 1) / (double) (fade + 1);
+                double synth = period[(phase + i) % pitch] * gain(concealedRun + i);
+                double real = (short) ((pcm[2 * i] & 0xFF) | (pcm[2 * i + 1] << 8));
+                writeSample(pcm, i, synth * (1 - w) + real * w);
+            }
+            concealedRun = 0;
+        }
+        append(pcm);
+    }
+
+    /**
+     * Falta una trama: rellena out (del tamaño de la última) con la repetición atenuada
+     * @return false si no hay historia suficiente o ya se ocultó el máximo (dejar el hueco)
+     */
+    public boolean conceal(byte[] out, int rate) {
+        if (rate != sampleRate) {
+            reset(rate);
+            return false;
+        }
+        int maxConceal = rate * MAX_CONCEAL_MS / 1000;
+        if (concealedRun >= maxConceal) {
+            return false;
+        }
+
+        if (concealedRun == 0) {
+            pitch = estimatePitch();
+            if (pitch == 0) {
+                return false;
+            }
+            System.arraycopy(history, HISTORY - pitch, period, 0, pitch);
+            phase = 0;
+        }
+
+        int n = out.length / 2;
+        for (int i = 0; i < n; i++) {
+            double s = concealedRun < maxConceal ? period[phase] * gain(concealedRun) : 0;
+            writeSample(out, i, s);
+            phase = (phase + 1) % pitch;
+            concealedRun++;
+        }
+        append(out);  // Lo sintetizado también es lo que escuchó el oyente
+        concealedFrames++;
+        return true;
+    }
+
+    /**
+     * Bytes de la última trama vista (0 si aún no hubo ninguna)
+     */
+    public int getFrameBytes() {
+        return frameBytes;
+    }
+
+    public long getConcealedFrames() {
+        return concealedFrames;
+    }
+
+    @Override
+    public String toString() {
+        return "ocultadas=" + concealedFrames;
+    }
+
+    private void reset(int rate) {
+        sampleRate = rate;
+        historyLen = 0;
+        concealedRun = 0;
+        pitch = 0;
+    }
+
+    private double gain(int k) {
+        int full = sampleRate * FULL_GAIN_MS / 1000;
+        int max = sampleRate * MAX_CONCEAL_MS / 1000;
+        if (k < full) {
+            return 1.0;
+        }
+        return Math.max(0.0, 1.0 - (k - full) / (double) (max - full));
+    }
+
+    /**
+     * Periodo (en muestras) que mejor alinea los últimos WINDOW_MS con el pasado; 0 si no hay historia
+     */
+    private int estimatePitch() {
+        int window = sampleRate * WINDOW_MS / 1000;
+        int minLag = sampleRate / MAX_PITCH_HZ;
+        int maxLag = Math.min(sampleRate / MIN_PITCH_HZ, historyLen - window);
+        if (maxLag < minLag) {
+            return 0;
+        }
+
+        int ref = HISTORY - window;
+        // Energía del segmento retrasado; se actualiza al mover el retardo una muestra
+        double energy = 0;
+        for (int i = 0; i < window; i++) {
+            double y = history[ref - minLag + i];
+            energy += y * y;
+        }
+
+        int best = minLag;
+        double bestScore = -1;
+        for (int lag = minLag; lag <= maxLag; lag++) {
+            int start = ref - lag;
+            if (lag > minLag) {
+                double entering = history[start];
+                double leaving = history[start + window];
+                energy += entering * entering - leaving * leaving;
+            }
+            if (energy <= 0) {
+                continue;
+            }
+            double corr = 0;
+            for (int i = 0; i < window; i++) {
+                corr += (double) history[ref + i] * history[start + i];
+            }
+            double score = corr / Math.sqrt(energy);
+            if (score > bestScore) {
+                bestScore = score;
+                best = lag;
+            }
+        }
+        return best;
+    }
+
+    private void append(byte[] pcm) {
+        int n = pcm.length / 2;
+        int skip = Math.max(0, n - HISTORY);
+        int keep = Math.min(n, HISTORY);
+        System.arraycopy(history, keep, history, 0, HISTORY - keep);
+        for (int i = 0; i < keep; i++) {
+            int j = skip + i;
+            history[HISTORY - keep + i] = (short) ((pcm[2 * j] & 0xFF) | (pcm[2 * j + 1] << 8));
+        }
+        historyLen = Math.min(HISTORY, historyLen + n);
+    }
+
+    private static void writeSample(byte[] pcm, int i, double value) {
+        int s = (int) Math.round(value);
+        if (s > Short.MAX_VALUE) {
+            s = Short.MAX_VALUE;
+        } else if (s < Short.MIN_VALUE) {
+            s = Short.MIN_VALUE;
+        }
+        pcm[2 * i] = (byte) s;
+        pcm[2 * i + 1] = (byte) (s >> 8);
+    }
+}
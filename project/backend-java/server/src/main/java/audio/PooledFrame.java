@@ -0,0 +1,77 @@
+package audio;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Trama de audio de un {@link FramePool}, con cuenta de referencias.
+ *
+ * Quien la recibe es su dueño y debe llamar a release() al terminar; quien
+ * quiera conservarla más allá (otra cola, otro hilo) hace retain() antes de
+ * pasarla. Con la última release() el array vuelve al pool. Una trama que
+ * nunca se libera no rompe nada: simplemente la recoge el GC.
+ */
+public final class PooledFrame {
+
+    private final byte[] data;
+    private final FramePool pool;
+    private final AtomicInteger refs = new AtomicInteger();
+    private long arrivalNanos;  // Cuándo llegó al servidor (0 = sintetizada)
+
+    PooledFrame(byte[] data, FramePool pool) {
+        this.data = data;
+        this.pool = pool;
+    }
+
+    /**
+     * El array completo (su longitud es la de la trama)
+     */
+    public byte[] data() {
+        return data;
+    }
+
+    public int length() {
+        return data.length;
+    }
+
+    /**
+     * System.nanoTime() de llegada, para medir la latencia de reenvío (0 si no vino de la red)
+     */
+    public long arrivalNanos() {
+        return arrivalNanos;
+    }
+
+    public void setArrivalNanos(long arrivalNanos) {
+        this.arrivalNanos = arrivalNanos;
+    }
+
+    /**
+     * Una referencia más; devuelve la misma trama para encadenar
+     */
+    public PooledFrame retain() {
+        int r;
+        do {
+            r = refs.get();
+            if (r <= 0) {
+                throw new IllegalStateException("Trama ya devuelta al pool");
+            }
+        } while (!refs.compareAndSet(r, r + 1));
+        return this;
+    }
+
+    public void release() {
+        int r = refs.decrementAndGet();
+        if (r == 0) {
+            pool.recycle(this);
+        } else if (r < 0) {
+            throw new IllegalStateException("Trama liberada más veces que retenida");
+        }
+    }
+
+    /**
+     * Al salir del pool: una sola referencia, la de quien la pidió
+     */
+    void reset() {
+        refs.set(1);
+        arrivalNanos = 0;
+    }
+}
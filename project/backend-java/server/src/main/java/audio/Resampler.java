@@ -0,0 +1,157 @@
+package audio;
+
+/**
+ * Cambio de frecuencia de muestreo en streaming (polifásico, razón L/M).
+ *
+ * Equivale a interpolar por L, filtrar paso bajo y diezmar por M, pero solo
+ * calcula las muestras de salida: cada una es un producto de los coeficientes
+ * de la fase que le toca por las últimas muestras de entrada.
+ * Guarda entre tramas la cola de entrada y la fase, así que trocear el audio
+ * en paquetes no produce clics. Los buffers se reutilizan entre tramas.
+ */
+public class Resampler {
+
+    // Frecuencias admitidas (mantienen L y M pequeños: la tabla de coeficientes es L × TAPS)
+    public static final int[] SUPPORTED_RATES = {8000, 11025, 12000, 16000, 22050, 24000, 32000, 44100, 48000};
+
+    // Coeficientes por fase al subir la frecuencia; al bajarla se multiplica por M/L
+    // para que la banda de transición sea igual de estrecha a la frecuencia de salida
+    private static final int BASE_TAPS = 16;
+    // Frecuencia de corte respecto a la Nyquist menor (margen para la banda de transición)
+    private static final double CUTOFF = 0.9;
+
+    private final int inRate;
+    private final int outRate;
+    private final int up;    // L
+    private final int down;  // M
+    private final int taps;  // Coeficientes por fase
+
+    // phases[p][k] = h[p + k·L]
+    private final float[][] phases;
+
+    // HISTORIA (taps - 1 muestras) + trama actual
+    private float[] input;
+    private short[] output = new short[0];
+
+    // Instante de la próxima salida en unidades de la tasa interpolada,
+    // relativo a la primera muestra de la trama que se está procesando
+    private long time = 0;
+
+    public Resampler(int inRate, int outRate) {
+        if (!isSupported(inRate) || !isSupported(outRate)) {
+            throw new IllegalArgumentException("Frecuencia no soportada: " + inRate + " → " + outRate);
+        }
+        this.inRate = inRate;
+        this.outRate = outRate;
+
+        int g = gcd(inRate, outRate);
+        this.up = outRate / g;
+        this.down = inRate / g;
+        this.taps = BASE_TAPS * Math.max(1, (down + up - 1) / up);
+        this.input = new float[taps - 1];
+        this.phases = designFilter();
+    }
+
+    public static boolean isSupported(int rate) {
+        for (int r : SUPPORTED_RATES) {
+            if (r == rate) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sinc con ventana de Blackman, repartido en L fases
+     */
+    private float[][] designFilter() {
+        int total = up * taps;
+        double center = (total - 1) / 2.0;
+        double fc = CUTOFF * 0.5 * Math.min(inRate, outRate) / ((double) inRate * up);
+
+        float[][] h = new float[up][taps];
+        for (int j = 0; j < total; j++) {
+            double m = j - center;
+            double sinc = m == 0 ? 2 * fc : Math.sin(2 * Math.PI * fc * m) / (Math.PI * m);
+            double w = 0.42 - 0.5 * Math.cos(2 * Math.PI * j / (total - 1))
+                + 0.08 * Math.cos(4 * Math.PI * j / (total - 1));
+            // × L: la interpolación con ceros divide la ganancia entre L
+            h[j % up][j / up] = (float) (up * sinc * w);
+        }
+        return h;
+    }
+
+    /**
+     * Procesa una trama PCM16 little-endian
+     * @return muestras escritas en getOutput()
+     */
+    public int process(byte[] pcm16le) {
+        int n = pcm16le.length / 2;
+        int history = taps - 1;
+
+        if (input.length < history + n) {
+            float[] bigger = new float[history + n];
+            System.arraycopy(input, 0, bigger, 0, history);
+            input = bigger;
+        }
+        int maxOut = (int) ((long) n * up / down) + 2;
+        if (output.length < maxOut) {
+            output = new short[maxOut];
+        }
+
+        float[] x = input;
+        for (int i = 0; i < n; i++) {
+            x[history + i] = (short) ((pcm16le[2 * i] & 0xFF) | (pcm16le[2 * i + 1] << 8));
+        }
+
+        int count = 0;
+        long end = (long) n * up;
+        while (time < end) {
+            int newest = (int) (time / up) + history;
+            float[] h = phases[(int) (time % up)];
+
+            float acc = 0;
+            for (int k = 0; k < taps; k++) {
+                acc += h[k] * x[newest - k];
+            }
+
+            int s = Math.round(acc);
+            if (s > Short.MAX_VALUE) {
+                s = Short.MAX_VALUE;
+            } else if (s < Short.MIN_VALUE) {
+                s = Short.MIN_VALUE;
+            }
+            output[count++] = (short) s;
+            time += down;
+        }
+        time -= end;
+
+        // Las últimas muestras quedan como historia de la próxima trama
+        System.arraycopy(x, n, x, 0, history);
+        return count;
+    }
+
+    /**
+     * Buffer de salida (válido hasta la siguiente llamada a process)
+     */
+    public short[] getOutput() {
+        return output;
+    }
+
+    public int getInputRate() {
+        return inRate;
+    }
+
+    public int getOutputRate() {
+        return outRate;
+    }
+
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+}
@@ -0,0 +1,247 @@
+package audio;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sala en modo SFU para conferencias grandes: no mezcla, reenvía tal cual
+ * las tramas de los K participantes que más fuerte hablan.
+ *
+ * Cada paquete actualiza una estimación barata de energía (media de |muestra|
+ * sobre una de cada ENERGY_STRIDE muestras). En cada tick se recalcula el
+ * ranking; los paquetes de los seleccionados se reenvían al llegar, así que
+ * cada oyente recibe como máximo K flujos sin importar el tamaño de la sala.
+ */
+public class SelectiveForwarder implements AudioRoom {
+
+    public static final int DEFAULT_MAX_SPEAKERS = 3;
+
+    // Nivel medio por debajo del cual se considera silencio
+    private static final int SILENCE_LEVEL = 200;
+    // Muestras que se saltan al medir energía
+    private static final int ENERGY_STRIDE = 4;
+    // Ticks que un hablante conserva su lugar tras callarse (no corta finales de frase)
+    private static final int HANGOVER_TICKS = 8;
+    // Ventaja del que ya está seleccionado (evita que el ranking oscile)
+    private static final float INCUMBENT_BONUS = 1.25f;
+    // Sin paquetes en este tiempo, su nivel cae a cero (micrófono silenciado)
+    private static final long STALE_NANOS = 3 * ConferenceMixer.FRAME_NANOS;
+
+    /**
+     * Destino de las tramas reenviadas (el buffer es el recibido, no se copia)
+     */
+    public interface SpeakerSink {
+        void deliver(String listener, String speaker, byte[] frame);
+    }
+
+    private final String name;
+    private final int maxSpeakers;
+    private final SpeakerSink sink;
+
+    private final Map<String, Participant> byName = new ConcurrentHashMap<>();
+    private volatile Participant[] participants = new Participant[0];
+
+    private final LongAdder forwardedFrames = new LongAdder();
+
+    public SelectiveForwarder(String name, int maxSpeakers, SpeakerSink sink) {
+        this.name = name;
+        this.maxSpeakers = Math.max(1, maxSpeakers);
+        this.sink = sink;
+    }
+
+    // ========== PARTICIPANTES ==========
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public synchronized boolean join(String user) {
+        if (byName.containsKey(user)) {
+            return false;
+        }
+        Participant p = new Participant(user);
+        byName.put(user, p);
+
+        Participant[] next = new Participant[participants.length + 1];
+        System.arraycopy(participants, 0, next, 0, participants.length);
+        next[participants.length] = p;
+        participants = next;
+        return true;
+    }
+
+    @Override
+    public synchronized boolean leave(String user) {
+        Participant p = byName.remove(user);
+        if (p == null) {
+            return false;
+        }
+        p.selected = false;
+
+        List<Participant> next = new ArrayList<>(participants.length);
+        for (Participant other : participants) {
+            if (other != p) {
+                next.add(other);
+            }
+        }
+        participants = next.toArray(new Participant[0]);
+        return true;
+    }
+
+    @Override
+    public boolean contains(String user) {
+        return byName.containsKey(user);
+    }
+
+    @Override
+    public int size() {
+        return participants.length;
+    }
+
+    @Override
+    public String[] getParticipants() {
+        Participant[] current = participants;
+        String[] names = new String[current.length];
+        for (int i = 0; i < current.length; i++) {
+            names[i] = current[i].name;
+        }
+        return names;
+    }
+
+    /**
+     * Hablantes que se están reenviando ahora
+     */
+    public String[] getActiveSpeakers() {
+        List<String> speakers = new ArrayList<>(maxSpeakers);
+        for (Participant p : participants) {
+            if (p.selected) {
+                speakers.add(p.name);
+            }
+        }
+        return speakers.toArray(new String[0]);
+    }
+
+    @Override
+    public long getFrameCount() {
+        return forwardedFrames.sum();
+    }
+
+    // ========== REENVÍO ==========
+
+    @Override
+    public boolean push(String user, byte[] data) {
+        Participant p = byName.get(user);
+        if (p == null || data == null) {
+            return false;
+        }
+
+        p.level = (int) (p.level + (frameLevel(data) - p.level) * 0.3f);
+        p.lastPacketNanos = System.nanoTime();
+
+        if (!p.selected) {
+            return true;
+        }
+
+        for (Participant listener : participants) {
+            if (listener != p) {
+                try {
+                    sink.deliver(listener.name, p.name, data);
+                } catch (Exception e) {
+                    System.err.println("⚠️ [SFU " + name + "] Error reenviando a " + listener.name + ": " + e);
+                }
+            }
+        }
+        forwardedFrames.increment();
+        return true;
+    }
+
+    /**
+     * Media de |muestra| PCM16 little-endian, muestreando una de cada ENERGY_STRIDE
+     */
+    static int frameLevel(byte[] data) {
+        int samples = data.length / 2;
+        if (samples == 0) {
+            return 0;
+        }
+
+        long sum = 0;
+        int measured = 0;
+        for (int i = 0; i < samples; i += ENERGY_STRIDE) {
+            int s = (short) ((data[2 * i] & 0xFF) | (data[2 * i + 1] << 8));
+            sum += s < 0 ? -s : s;
+            measured++;
+        }
+        return (int) (sum / measured);
+    }
+
+    // ========== RANKING ==========
+
+    /**
+     * Recalcula los K hablantes (O(N·K), sin crear objetos)
+     */
+    @Override
+    public void tick() {
+        Participant[] current = participants;
+        long now = System.nanoTime();
+
+        for (Participant p : current) {
+            if (now - p.lastPacketNanos > STALE_NANOS) {
+                p.level = 0;
+            }
+            if (p.level > SILENCE_LEVEL) {
+                p.hangover = HANGOVER_TICKS;
+            } else if (p.hangover > 0) {
+                p.hangover--;
+            }
+            p.picked = false;
+        }
+
+        for (int k = 0; k < maxSpeakers; k++) {
+            Participant best = null;
+            float bestScore = -1;
+            for (Participant p : current) {
+                if (p.picked || p.hangover == 0) {
+                    continue;
+                }
+                float score = p.selected ? p.level * INCUMBENT_BONUS : p.level;
+                if (score > bestScore) {
+                    best = p;
+                    bestScore = score;
+                }
+            }
+            if (best == null) {
+                break;
+            }
+            best.picked = true;
+        }
+
+        for (Participant p : current) {
+            p.selected = p.picked;
+        }
+    }
+
+    // ========== PARTICIPANTE ==========
+
+    private static final class Participant {
+        final String name;
+
+        // Escritos al recibir audio, leídos por el reloj
+        volatile int level;
+        volatile long lastPacketNanos;
+
+        // Decisión del reloj, leída al recibir audio
+        volatile boolean selected;
+
+        // Solo los toca el hilo del reloj
+        int hangover;
+        boolean picked;
+
+        Participant(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package audio;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Métricas de calidad de UN sentido de una llamada.
+ *
+ * Paquetes y bytes, jitter entre llegadas (RFC 3550), pérdidas y
+ * desorden según los números de secuencia (solo audio numerado), y dos
+ * histogramas sin locks: separación entre llegadas y latencia de reenvío
+ * (desde que llega la trama hasta que sale hacia el oyente). Con eso se
+ * estima un MOS con el modelo E simplificado (ITU-T G.107) para G.711 con PLC.
+ */
+public class StreamMetrics {
+
+    // Modelo E: factor R por defecto y robustez de G.711 con ocultación de pérdidas
+    private static final double R0 = 93.2;
+    private static final double BPL_G711_PLC = 25.1;
+
+    private final AtomicLong packets = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+    private final LatencyHistogram interArrival = new LatencyHistogram();
+    private final LatencyHistogram forwardLatency = new LatencyHistogram();
+
+    // Protegidos por synchronized(this): un emisor puede despacharse en varios hilos de Ice
+    private long lastArrivalNanos = 0;
+    private double lastTransitMs;
+    private double jitterMs = 0;
+    private boolean anySeq = false;
+    private int baseSeq;
+    private int highestSeq;
+    private long sequenced = 0;
+    private long reordered = 0;
+
+    /**
+     * Trama sin numerar: el jitter se mide contra su duración nominal
+     * @return paquetes recibidos en este sentido (incluida ésta)
+     */
+    public long arrived(int length, double durationMs) {
+        long now = System.nanoTime();
+        synchronized (this) {
+            if (lastArrivalNanos != 0) {
+                double gapMs = (now - lastArrivalNanos) / 1_000_000.0;
+                interArrival.record((now - lastArrivalNanos) / 1000);
+                jitterMs += (Math.abs(gapMs - durationMs) - jitterMs) / 16;
+            }
+            lastArrivalNanos = now;
+        }
+        bytes.addAndGet(length);
+        return packets.incrementAndGet();
+    }
+
+    /**
+     * Trama numerada: jitter por tránsito relativo (RFC 3550), pérdidas y desorden por secuencia
+     * @param timestamp ms de captura según el reloj del emisor
+     * @return paquetes recibidos en este sentido (incluida ésta)
+     */
+    public long arrived(int seq, int timestamp, int length) {
+        long now = System.nanoTime();
+        synchronized (this) {
+            double transitMs = now / 1_000_000.0 - timestamp;
+            if (lastArrivalNanos != 0) {
+                interArrival.record((now - lastArrivalNanos) / 1000);
+                jitterMs += (Math.abs(transitMs - lastTransitMs) - jitterMs) / 16;
+            }
+            lastArrivalNanos = now;
+            lastTransitMs = transitMs;
+
+            if (!anySeq) {
+                anySeq = true;
+                baseSeq = seq;
+                highestSeq = seq;
+            } else if (seq - highestSeq > 0) {
+                highestSeq = seq;
+            } else {
+                reordered++;
+            }
+            sequenced++;
+        }
+        bytes.addAndGet(length);
+        return packets.incrementAndGet();
+    }
+
+    /**
+     * La trama salió hacia el oyente arrivalNanos después de llegar
+     */
+    public void forwarded(long arrivalNanos) {
+        forwardLatency.record((System.nanoTime() - arrivalNanos) / 1000);
+    }
+
+    // ========== ESTADÍSTICAS ==========
+
+    public long getPackets() {
+        return packets.get();
+    }
+
+    public long getBytes() {
+        return bytes.get();
+    }
+
+    public synchronized double getJitterMillis() {
+        return jitterMs;
+    }
+
+    /**
+     * Números de secuencia que nunca llegaron (esperados - recibidos)
+     */
+    public synchronized long getLost() {
+        if (!anySeq) {
+            return 0;
+        }
+        long expected = (highestSeq - baseSeq) + 1L;
+        return Math.max(0, expected - sequenced);
+    }
+
+    public synchronized long getExpected() {
+        return anySeq ? (highestSeq - baseSeq) + 1L : packets.get();
+    }
+
+    public synchronized long getReordered() {
+        return reordered;
+    }
+
+    public LatencyHistogram getInterArrival() {
+        return interArrival;
+    }
+
+    public LatencyHistogram getForwardLatency() {
+        return forwardLatency;
+    }
+
+    /**
+     * MOS estimado (1 a 4.5) con el modelo E simplificado
+     * @param delayMs retardo en un sentido (boca a oído)
+     * @param lossPercent tramas perdidas, en %
+     */
+    public static double estimateMos(double delayMs, double lossPercent) {
+        double id = 0.024 * delayMs + (delayMs > 177.3 ? 0.11 * (delayMs - 177.3) : 0);
+        double ppl = Math.max(0, lossPercent);
+        double ieEff = 95 * ppl / (ppl + BPL_G711_PLC);  // Ie = 0 para G.711
+        double r = Math.max(0, Math.min(100, R0 - id - ieEff));
+        return 1 + 0.035 * r + 7e-6 * r * (r - 60) * (100 - r);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d paquetes, %d KB, perdidas=%d, desordenadas=%d, jitter=%.1f ms, reenvío %s",
+            getPackets(), getBytes() / 1024, getLost(), getReordered(), getJitterMillis(), forwardLatency);
+    }
+}
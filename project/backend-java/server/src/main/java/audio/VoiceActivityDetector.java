@@ -0,0 +1,112 @@
+package audio;
+
+/**
+ * Detector de voz de UN flujo (PCM16 little-endian).
+ *
+ * Decide por trama con dos medidas baratas: el nivel medio |muestra| frente a
+ * un piso de ruido que se adapta solo en silencio, y la tasa de cruces por
+ * cero (las consonantes sordas como "s" o "f" tienen poca energía pero muchos
+ * cruces). Tras la última trama con voz se siguen dejando pasar HANGOVER_FRAMES
+ * para no cortar finales de palabra. Mientras dura el silencio se pide enviar
+ * un descriptor (nivel del ruido) al empezar y cada SID_INTERVAL_FRAMES.
+ */
+public class VoiceActivityDetector {
+
+    public enum Decision {
+        SPEECH,              // Reenviar la trama
+        SILENCE_DESCRIPTOR,  // Silencio: enviar solo el nivel de ruido de confort
+        SILENCE              // Silencio: no enviar nada
+    }
+
+    // Por debajo de este nivel medio siempre es silencio (~ -50 dBFS)
+    private static final float MIN_SPEECH_LEVEL = 100;
+    // Voz = nivel sobre el piso de ruido por este factor
+    private static final float SPEECH_RATIO = 3.0f;
+    // Consonantes sordas: basta menos nivel si hay muchos cruces por cero
+    private static final float FRICATIVE_RATIO = 1.8f;
+    private static final float FRICATIVE_ZCR = 0.3f;
+    // Tramas (~46 ms) que se mantiene abierto tras la última voz
+    private static final int HANGOVER_FRAMES = 6;
+    // Refresco del descriptor de silencio (~1 s)
+    private static final int SID_INTERVAL_FRAMES = 22;
+
+    private static final float FLOOR_ATTACK = 0.1f;     // Adaptación del piso en silencio
+    private static final float FLOOR_DRIFT = 0.0005f;   // Deriva muy lenta durante voz (ruido que sube)
+    private static final float MIN_FLOOR = 10;
+
+    private float noiseFloor = MIN_SPEECH_LEVEL / 2;
+    private int hangover = 0;
+    private int silentRun = 0;
+
+    private long speechFrames = 0;
+    private long suppressedFrames = 0;
+
+    public synchronized Decision process(byte[] pcm16le) {
+        int samples = pcm16le.length / 2;
+        if (samples == 0) {
+            return Decision.SILENCE;
+        }
+
+        // UNA pasada: nivel medio y cruces por cero
+        long sum = 0;
+        int crossings = 0;
+        int previous = 0;
+        for (int i = 0, j = 0; i < samples; i++, j += 2) {
+            int s = (short) ((pcm16le[j] & 0xFF) | (pcm16le[j + 1] << 8));
+            sum += s < 0 ? -s : s;
+            if ((s ^ previous) < 0) {
+                crossings++;
+            }
+            previous = s;
+        }
+        float level = (float) sum / samples;
+        float zcr = (float) crossings / samples;
+
+        boolean voiced = level > MIN_SPEECH_LEVEL
+            && (level > noiseFloor * SPEECH_RATIO
+                || (zcr > FRICATIVE_ZCR && level > noiseFloor * FRICATIVE_RATIO));
+
+        noiseFloor += (level - noiseFloor) * (voiced ? FLOOR_DRIFT : FLOOR_ATTACK);
+        if (noiseFloor < MIN_FLOOR) {
+            noiseFloor = MIN_FLOOR;
+        }
+
+        if (voiced) {
+            hangover = HANGOVER_FRAMES;
+        } else if (hangover > 0) {
+            hangover--;
+            voiced = true;
+        }
+
+        if (voiced) {
+            silentRun = 0;
+            speechFrames++;
+            return Decision.SPEECH;
+        }
+
+        suppressedFrames++;
+        return silentRun++ % SID_INTERVAL_FRAMES == 0 ? Decision.SILENCE_DESCRIPTOR : Decision.SILENCE;
+    }
+
+    /**
+     * Nivel medio del ruido de fondo (para generar ruido de confort)
+     */
+    public synchronized int getNoiseLevel() {
+        return Math.round(noiseFloor);
+    }
+
+    public synchronized long getSpeechFrames() {
+        return speechFrames;
+    }
+
+    public synchronized long getSuppressedFrames() {
+        return suppressedFrames;
+    }
+
+    @Override
+    public synchronized String toString() {
+        long total = speechFrames + suppressedFrames;
+        return String.format("voz=%d, suprimidas=%d (%.0f%%)",
+            speechFrames, suppressedFrames, total == 0 ? 0.0 : 100.0 * suppressedFrames / total);
+    }
+}
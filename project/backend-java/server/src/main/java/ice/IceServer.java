@@ -1,13 +1,18 @@
 package ice;
 
+import audio.SelectiveForwarder;
 import com.zeroc.Ice.*;
 import ice.services.*;
 import main.java.ice.services.AudioSubjectImpl;
 import tcp.*;
+import udp.UDPVoiceServer;
+import utils.HashedWheelTimer;
 import utils.HistoryManager;
+import utils.OfflineQueue;
 
 import java.io.PrintWriter;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 public class IceServer {
     
@@ -31,6 +36,9 @@ public class IceServer {
             tcp.HistoryService historyService = new tcp.HistoryService(historyManager);
             tcp.UserService userService = new tcp.UserService(clients);
             
+            // Temporizador compartido (rueda de 100 ms x 512 casilleros) para expiraciones
+            HashedWheelTimer timer = new HashedWheelTimer("chat-timer", 100, TimeUnit.MILLISECONDS, 512);
+            
             System.out.println("   ✓ HistoryManager inicializado");
             System.out.println("   ✓ Servicios de negocio listos");
             
@@ -58,7 +66,17 @@ public class IceServer {
             System.out.println("   ✓ GroupService registrado");
             
             System.out.println("\n🔔 Inicializando NotificationService...");
-NotificationServiceI notificationServiceImpl = new NotificationServiceI(); // ✅ SIN PARÁMETROS
+            // Límites de las colas offline (configurables con --Notification.*)
+            Properties props = communicator.getProperties();
+            NotificationServiceI notificationServiceImpl = new NotificationServiceI(
+                historyManager,
+                props.getPropertyAsIntWithDefault("Notification.MaxQueueSize",
+                    NotificationServiceI.DEFAULT_MAX_QUEUE_SIZE),
+                overflowPolicy(props.getPropertyWithDefault("Notification.OverflowPolicy", "SPILL_TO_DISK")),
+                props.getPropertyAsIntWithDefault("Notification.IdleTtlMinutes", 24 * 60) * 60_000L,
+                props.getPropertyAsIntWithDefault("Notification.DeviceIdleTtlMinutes",
+                    (int) (OfflineQueue.DEFAULT_DEVICE_IDLE_TTL_MS / 60_000L)) * 60_000L
+            );
 System.out.println("   ✅ NotificationService creado");
 
             adapter.add(notificationServiceImpl, Util.stringToIdentity("NotificationService"));
@@ -71,14 +89,56 @@ System.out.println("   ✅ NotificationService creado");
             adapter.add(voiceServiceImpl, Util.stringToIdentity("VoiceService"));
             System.out.println("   ✓ VoiceService registrado");
             
+            PresenceServiceI presenceServiceImpl = new PresenceServiceI(historyManager, timer);
+            adapter.add(presenceServiceImpl, Util.stringToIdentity("PresenceService"));
+            System.out.println("   ✓ PresenceService registrado");
+            
+            // Llamadas que nadie contesta: --Call.RingTimeoutSeconds (ambos servicios, misma rueda)
+            long ringTimeoutMillis = props.getPropertyAsIntWithDefault("Call.RingTimeoutSeconds",
+                (int) (CallServiceI.DEFAULT_RING_TIMEOUT_MS / 1000)) * 1000L;
+            
+            CallServiceI callServiceImpl = new CallServiceI(timer, ringTimeoutMillis);
+            adapter.add(callServiceImpl, Util.stringToIdentity("CallService"));
+            System.out.println("   ✓ CallService registrado");
+            
             // ========================================
             // SERVICIO DE LLAMADAS VoIP (Patrón Observer/Subject)
             // ========================================
             
-            AudioSubjectImpl audioSubjectImpl = new AudioSubjectImpl();
+            // Conferencias: umbral de miembros para modo SFU y hablantes reenviados
+            // Llamadas: --Audio.SilenceSuppression=0 reenvía también los silencios
+            // Oyentes lentos: tramas sin enviar antes de descartar la más vieja
+            // --Audio.RecordCalls=1 graba todas las llamadas en audio_files/calls
+            AudioSubjectImpl audioSubjectImpl = new AudioSubjectImpl(
+                historyManager,
+                timer,
+                ringTimeoutMillis,
+                props.getPropertyAsIntWithDefault("Audio.SfuThreshold", AudioSubjectImpl.DEFAULT_SFU_THRESHOLD),
+                props.getPropertyAsIntWithDefault("Audio.SfuMaxSpeakers", SelectiveForwarder.DEFAULT_MAX_SPEAKERS),
+                props.getPropertyAsIntWithDefault("Audio.SilenceSuppression", 1) != 0,
+                props.getPropertyAsIntWithDefault("Audio.MaxPendingFrames", AudioSubjectImpl.DEFAULT_MAX_PENDING_FRAMES),
+                props.getPropertyAsIntWithDefault("Audio.RecordCalls", 0) != 0
+            );
             adapter.add(audioSubjectImpl, Util.stringToIdentity("AudioService"));
             System.out.println("   ✓ AudioService registrado (llamadas VoIP)");
             
+            // Relé UDP para clientes nativos: --Audio.UdpPort (0 lo desactiva)
+            int udpPort = props.getPropertyAsIntWithDefault("Audio.UdpPort", UDPVoiceServer.DEFAULT_PORT);
+            UDPVoiceServer udpRelay = null;
+            if (udpPort > 0) {
+                // Es opcional: si el puerto está ocupado, el resto del servidor arranca igual
+                try {
+                    udpRelay = new UDPVoiceServer(udpPort);
+                    udpRelay.start();
+                    audioSubjectImpl.setUdpRelay(udpRelay);
+                    System.out.println("   ✓ Relé UDP de audio en el puerto " + udpRelay.getPort());
+                } catch (java.io.IOException e) {
+                    System.err.println("   ❌ No se pudo abrir el relé UDP en el puerto " + udpPort
+                        + ": " + e.getMessage() + " (se continúa sin él)");
+                    udpRelay = null;
+                }
+            }
+            
             System.out.println("\n[4/4] Activando servidor...");
             
             adapter.activate();
@@ -88,11 +148,16 @@ System.out.println("   ✅ NotificationService creado");
             System.out.println("╚════════════════════════════════════════════╝");
             System.out.println();
             System.out.println("📡 WebSocket: ws://localhost:10000");
+            if (udpRelay != null) {
+                System.out.println("🎧 Relé UDP: udp://localhost:" + udpRelay.getPort());
+            }
             System.out.println("📋 Servicios disponibles:");
             System.out.println("   • ChatService          (mensajes de texto)");
             System.out.println("   • GroupService         (gestión de grupos)");
             System.out.println("   • NotificationService  (notificaciones push)");
             System.out.println("   • VoiceService         (notas de voz)");
+            System.out.println("   • PresenceService      (en línea / desconectado)");
+            System.out.println("   • CallService          (señalización WebRTC)");
             System.out.println("   • AudioService         (llamadas VoIP P2P) 📞");
             System.out.println();
             System.out.println("🌐 Cliente web: http://localhost:3000");
@@ -101,6 +166,9 @@ System.out.println("   ✅ NotificationService creado");
             System.out.println();
             
             communicator.waitForShutdown();
+            if (udpRelay != null) {
+                udpRelay.stop();
+            }
             
         } catch (java.lang.Exception e) {
             System.err.println("\n❌ Error fatal en el servidor:");
@@ -111,4 +179,17 @@ System.out.println("   ✅ NotificationService creado");
         System.out.println("\n👋 Servidor ICE detenido");
         System.exit(returnValue);
     }
+
+    /**
+     * Política de desborde sin distinguir mayúsculas; si no existe, SPILL_TO_DISK con un aviso
+     */
+    private static OfflineQueue.OverflowPolicy overflowPolicy(String value) {
+        try {
+            return OfflineQueue.OverflowPolicy.valueOf(value.trim().toUpperCase(java.util.Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            System.err.println("⚠️  Notification.OverflowPolicy desconocida: '" + value
+                + "' (se usa SPILL_TO_DISK; válidas: SPILL_TO_DISK, DROP_OLDEST, SUMMARY, RESYNC)");
+            return OfflineQueue.OverflowPolicy.SPILL_TO_DISK;
+        }
+    }
 }
\ No newline at end of file
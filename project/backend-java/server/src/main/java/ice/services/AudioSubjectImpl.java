@@ -1,53 +1,185 @@
 package main.java.ice.services;
 
 import AudioSystem.*;
+import audio.ActiveSpeakerDetector;
+import audio.AudioCodec;
+import audio.AudioRoom;
+import audio.CallRecorder;
+import audio.ConferenceMixer;
+import audio.FramePool;
+import audio.JitterBuffer;
+import audio.PacketLossConcealer;
+import audio.PooledFrame;
+import audio.Resampler;
+import audio.SelectiveForwarder;
+import audio.StreamMetrics;
+import audio.VoiceActivityDetector;
 import com.zeroc.Ice.Current;
+import udp.UDPVoiceServer;
+import utils.AudioFileManager;
+import utils.HashedWheelTimer;
+import utils.HistoryManager;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Implementación EXACTA del profesor
- * Sistema de llamadas VoIP punto a punto
+ * Sistema de llamadas VoIP punto a punto y conferencias por grupo
+ * ✅ Audio numerado: búfer de jitter por sentido y salida a ritmo de reloj
+ * ✅ Tramas de un pool con cuenta de referencias, sin locks en el camino del audio
  */
 public class AudioSubjectImpl implements AudioSubject {
-    
+
+    // Grupos con más miembros que esto usan reenvío selectivo en vez de mezcla
+    public static final int DEFAULT_SFU_THRESHOLD = 8;
+
+    // Tramas sin enviar por oyente antes de descartar la más vieja
+    public static final int DEFAULT_MAX_PENDING_FRAMES = ListenerBacklog.DEFAULT_MAX_PENDING;
+
+    // Tiempo que suena una llamada antes de darla por no contestada
+    public static final long DEFAULT_RING_TIMEOUT_MS = 30_000;
+
+    private static final double FRAME_MILLIS = ConferenceMixer.FRAME_NANOS / 1_000_000.0;
+
+    private final HistoryManager historyManager;
+    private final HashedWheelTimer timer;
+    private final long ringTimeoutMillis;
+    private final int sfuThreshold;
+    private final int sfuMaxSpeakers;
+    private final boolean silenceSuppression;
+    private final int maxPendingFrames;
+    private final boolean recordCalls;
+    private final AudioFileManager audioFiles;
+
+    // Relé UDP para clientes nativos (null = desactivado)
+    private volatile UDPVoiceServer udpRelay;
+
     // ============================================
     // ESTRUCTURAS DE DATOS (como el profesor)
     // ============================================
-    
+
     // Mapea userId → AudioObserverPrx
     private final Map<String, AudioObserverPrx> observers = new ConcurrentHashMap<>();
-    
-    // Mapea userId → userId (llamada activa BIDIRECCIONAL)
-    private final Map<String, String> activeCalls = new ConcurrentHashMap<>();
-    
-    // Contador de paquetes para estadísticas
-    private final Map<String, Long> audioPacketCount = new ConcurrentHashMap<>();
-    
-    // Colas para polling (fallback cuando callbacks no funcionan)
-    private final Map<String, List<String>> pendingIncomingCalls = new ConcurrentHashMap<>();
-    private final Map<String, List<String>> pendingAcceptedCalls = new ConcurrentHashMap<>();
-    private final Map<String, List<String>> pendingRejectedCalls = new ConcurrentHashMap<>();
-    private final Map<String, List<String>> pendingEndedCalls = new ConcurrentHashMap<>();
-    
+
+    // Mapea userId → el mismo proxy en oneway (audio que sale en cuanto llega: SFU)
+    private final Map<String, AudioObserverPrx> onewayObservers = new ConcurrentHashMap<>();
+
+    // Mapea userId → el mismo proxy en batch-oneway (audio con reloj: un flush por tick)
+    private final Map<String, AudioObserverPrx> batchObservers = new ConcurrentHashMap<>();
+
+    // Mapea userId → audio pendiente de salir hacia él (uno por conexión)
+    private final Map<String, ListenerBacklog> backlogs = new ConcurrentHashMap<>();
+
+    // Mapea "llamante→destinatario" → llamada que está sonando (con su timeout en la rueda)
+    private final Map<String, Ring> ringing = new ConcurrentHashMap<>();
+
+    // Mapea userId → llamada activa (la misma instancia para ambos extremos)
+    private final Map<String, Call> activeCalls = new ConcurrentHashMap<>();
+
+    // Mapea userId → ruta de SU audio (inmutable; se reemplaza entera al cambiar)
+    private final Map<String, CallRoute> routes = new ConcurrentHashMap<>();
+
+    // Mapea userId → calidad de su última llamada terminada (para getCallStats)
+    private final Map<String, CallStats> lastCallStats = new ConcurrentHashMap<>();
+
+    // Mapea userId → avisos de llamada para polling (fallback cuando callbacks no funcionan)
+    private final Map<String, CallEventQueue> callEvents = new ConcurrentHashMap<>();
+
+    // Mapea grupo → conferencia activa
+    private final Map<String, Conference> conferences = new ConcurrentHashMap<>();
+
+    // Mapea userId → su conferencia (una lectura en sendAudio)
+    private final Map<String, Conference> conferenceOf = new ConcurrentHashMap<>();
+
+    // Tramas reutilizables del camino de audio numerado (sendAudioFrame → jitter → oyente)
+    private final FramePool framePool = new FramePool();
+
+    // Hilo único que escribe las grabaciones de llamadas a disco
+    private final CallRecorder recorder = new CallRecorder();
+
+    // Reloj de tramas compartido por mezcladores y búferes de jitter
+    private final ScheduledExecutorService audioClock = Executors.newScheduledThreadPool(
+        Math.max(1, Runtime.getRuntime().availableProcessors() / 2), r -> {
+            Thread t = new Thread(r, "audio-clock");
+            t.setDaemon(true);
+            return t;
+        });
+
+    public AudioSubjectImpl(HistoryManager historyManager, HashedWheelTimer timer) {
+        this(historyManager, timer, DEFAULT_RING_TIMEOUT_MS, DEFAULT_SFU_THRESHOLD,
+            SelectiveForwarder.DEFAULT_MAX_SPEAKERS, true, DEFAULT_MAX_PENDING_FRAMES, false);
+    }
+
+    public AudioSubjectImpl(HistoryManager historyManager, HashedWheelTimer timer, long ringTimeoutMillis,
+                            int sfuThreshold, int sfuMaxSpeakers, boolean silenceSuppression,
+                            int maxPendingFrames, boolean recordCalls) {
+        this.historyManager = historyManager;
+        this.timer = timer;
+        this.ringTimeoutMillis = ringTimeoutMillis;
+        this.sfuThreshold = sfuThreshold;
+        this.sfuMaxSpeakers = sfuMaxSpeakers;
+        this.silenceSuppression = silenceSuppression;
+        this.maxPendingFrames = maxPendingFrames;
+        this.recordCalls = recordCalls;
+        this.audioFiles = historyManager.getAudioManager();
+        System.out.println("✅ AudioSubjectImpl inicializado (SFU desde " + sfuThreshold
+            + " miembros, " + sfuMaxSpeakers + " hablantes, supresión de silencios "
+            + (silenceSuppression ? "activa" : "desactivada") + ", máx. " + maxPendingFrames
+            + " tramas pendientes por oyente, timbre " + ringTimeoutMillis / 1000 + " s"
+            + (recordCalls ? ", grabando llamadas" : "") + ")");
+    }
+
+    /**
+     * Activa el relé UDP: cada llamada aceptada abre allí una sesión
+     */
+    public void setUdpRelay(UDPVoiceServer udpRelay) {
+        this.udpRelay = udpRelay;
+    }
+
     // ============================================
     // GESTIÓN DE CONEXIONES (como el profesor)
     // ============================================
-    
+
     @Override
-    public synchronized void attach(String userId, AudioObserverPrx obs, Current current) {
+    public void attach(String userId, AudioObserverPrx obs, Current current) {
         System.out.println("[AUDIO] Usuario conectado: " + userId);
-        
+
         // CRÍTICO: Fijar el proxy a la conexión actual (para WebSocket)
         AudioObserverPrx proxy = obs.ice_fixed(current.con);
-        
+
         // Registrar el usuario
         observers.put(userId, proxy);
+        onewayObservers.put(userId, proxy.ice_oneway());
+        batchObservers.put(userId, proxy.ice_batchOneway());
+        ListenerBacklog previousBacklog = backlogs.put(userId, new ListenerBacklog(userId, maxPendingFrames));
+        if (previousBacklog != null) {
+            previousBacklog.discard();
+        }
+        callEvents.computeIfAbsent(userId, k -> new CallEventQueue());
         System.out.println("   ✅ Total conectados: " + observers.size());
-        
+
+        // Si estaba en llamada (reconexión), el audio del otro extremo va al proxy nuevo
+        Call call = activeCalls.get(userId);
+        if (call != null) {
+            synchronized (call) {
+                if (!call.ended) {
+                    String peer = call.peerOf(userId);
+                    routes.computeIfPresent(peer, (k, route) -> route.call == call ? route.withTarget(proxy) : route);
+                }
+            }
+        }
+
         // Configurar callback de desconexión
         if (current.con != null) {
             current.con.setCloseCallback(con -> {
@@ -56,24 +188,28 @@ public class AudioSubjectImpl implements AudioSubject {
             });
         }
     }
-    
+
     @Override
-    public synchronized void detach(String userId, Current current) {
+    public void detach(String userId, Current current) {
         System.out.println("[AUDIO] Desconexión manual: " + userId);
         handleDisconnection(userId);
     }
-    
+
     private void handleDisconnection(String userId) {
         observers.remove(userId);
-        
+        onewayObservers.remove(userId);
+        batchObservers.remove(userId);
+        ListenerBacklog backlog = backlogs.remove(userId);
+        if (backlog != null) {
+            backlog.discard();
+        }
+
         // Si estaba en llamada, notificar al otro usuario
-        String target = activeCalls.get(userId);
-        if (target != null) {
+        Call call = activeCalls.get(userId);
+        if (call != null && endCall(call)) {
+            String target = call.peerOf(userId);
             System.out.println("   📞 Había llamada activa con: " + target);
-            
-            activeCalls.remove(userId);
-            activeCalls.remove(target);
-            
+
             // Notificar al otro usuario
             AudioObserverPrx targetPrx = observers.get(target);
             if (targetPrx != null) {
@@ -84,238 +220,1098 @@ public class AudioSubjectImpl implements AudioSubject {
                 }
             }
         }
-        
-        // Limpiar colas
-        pendingIncomingCalls.remove(userId);
-        pendingAcceptedCalls.remove(userId);
-        pendingRejectedCalls.remove(userId);
-        pendingEndedCalls.remove(userId);
-        audioPacketCount.remove(userId);
-        
+
+        // Si estaba llamando o le estaban llamando, deja de sonar
+        for (Ring ring : ringing.values()) {
+            if (ring.involves(userId) && stopRinging(ring)) {
+                if (ring.caller.equals(userId)) {
+                    notifyEnded(ring.callee, userId);
+                } else {
+                    notifyNoAnswer(ring.caller, userId);
+                }
+            }
+        }
+
+        // Si estaba en una conferencia, sale de ella
+        Conference conference = conferenceOf.get(userId);
+        if (conference != null) {
+            leaveConference(conference.room.getName(), userId, null);
+        }
+
+        // Limpiar la cola de avisos (y soltar un long-poll en espera)
+        CallEventQueue events = callEvents.remove(userId);
+        if (events != null) {
+            events.close();
+        }
+
         System.out.println("   ✅ Recursos liberados");
     }
-    
+
     // ============================================
     // ENRUTAMIENTO DE AUDIO (como el profesor)
     // ============================================
+
     @Override
-public synchronized void sendAudio(String fromUser, byte[] data, Current current) {
-    // PASO 1: Buscar con quién está hablando
-    String target = activeCalls.get(fromUser);
-    
-    // Incrementar contador (para debug)
-    long count = audioPacketCount.merge(fromUser, 1L, Long::sum);
-    
-    // Log cada 100 paquetes
-    if (count % 100 == 0) {
-        System.out.println("[AUDIO] sendAudio #" + count + ": " + fromUser + " → " + target 
-            + " | " + (data != null ? data.length : 0) + " bytes");
-    }
-    
-    // PASO 2: Validar que haya llamada activa
-    if (target == null) {
-        if (count <= 5) {
-            System.out.println("   ⚠️ No hay llamada activa para " + fromUser);
-            System.out.println("   📋 activeCalls actual: " + activeCalls);
-        }
-        return;
-    }
-    
-    // PASO 3: Obtener el proxy del destinatario
-    AudioObserverPrx prx = observers.get(target);
-    
-    if (prx != null) {
-        try {
-            // PASO 4: Enviar el audio de forma asíncrona
-            prx.receiveAudioAsync(data);
-            
-            if (count % 100 == 0) {
-                System.out.println("   ✅ Audio enviado correctamente");
-            }
-        } catch (Exception e) {
-            System.err.println("   ❌ Error enviando audio: " + e);
-        }
-    } else {
-        if (count <= 5) {
-            System.out.println("   ❌ No se encontró proxy para " + target);
+    public void sendAudio(String fromUser, byte[] data, Current current) {
+        // PASO 1: Buscar la ruta (una sola lectura, sin locks)
+        CallRoute route = routes.get(fromUser);
+
+        // PASO 2: Validar que haya llamada activa (si no, puede estar en conferencia)
+        if (route == null) {
+            Conference conference = conferenceOf.get(fromUser);
+            if (conference != null) {
+                conference.levels.push(fromUser, data);
+                conference.room.push(fromUser, data);
+            }
+            return;
+        }
+
+        // Contador y métricas del sentido (duración nominal de la trama para el jitter)
+        long arrival = System.nanoTime();
+        int inputRate = route.call.rateFrom(fromUser);
+        long count = route.metrics.arrived(data.length, data.length / 2 * 1000.0 / inputRate);
+
+        // Log cada 100 paquetes
+        if (count % 100 == 0) {
+            System.out.println("[AUDIO] sendAudio #" + count + ": " + fromUser + " → " + route.peer
+                + " | " + (data != null ? data.length : 0) + " bytes");
+        }
+
+        // Nivel del emisor (para el indicador de quién habla)
+        route.call.levels.push(fromUser, data);
+
+        // PASO 3: El proxy del destinatario ya viene en la ruta
+        AudioObserverPrx prx = route.target;
+
+        if (prx != null) {
+            try {
+                // PASO 4: Enviar el audio (oneway: sin esperar respuesta)
+                deliver(route, data, arrival, false);
+            } catch (Exception e) {
+                System.err.println("   ❌ Error enviando audio: " + e);
+            }
+        } else if (count <= 5) {
+            System.out.println("   ❌ No se encontró proxy para " + route.peer);
         }
     }
-}
-    
+
+    @Override
+    public void sendAudioFrame(String fromUser, AudioFrame frame, Current current) {
+        if (frame.data == null) {
+            return;
+        }
+        CallRoute route = routes.get(fromUser);
+
+        if (route == null) {
+            // Conferencias: el mezclador y el SFU consumen la trama dentro de push()
+            Conference conference = conferenceOf.get(fromUser);
+            if (conference != null) {
+                PooledFrame pooled = framePool.copyOf(frame.data);
+                try {
+                    conference.levels.push(fromUser, pooled.data());
+                    conference.room.push(fromUser, pooled.data());
+                } finally {
+                    pooled.release();
+                }
+            }
+            return;
+        }
+
+        long arrival = System.nanoTime();
+        route.metrics.arrived(frame.seq, frame.timestamp, frame.data.remaining());
+
+        // frame.data apunta al mensaje de Ice (solo vale durante esta llamada): se copia
+        // a una trama del pool. No se reenvía aquí: lo entrega el reloj de la llamada, en orden
+        PooledFrame pooled = framePool.copyOf(frame.data);
+        pooled.setArrivalNanos(arrival);
+        route.call.levels.push(fromUser, pooled.data());
+        route.jitter.push(frame.seq, frame.timestamp, pooled);
+    }
+
+    @Override
+    public StreamStats getStreamStats(String userId, Current current) {
+        CallRoute route = routes.get(userId);
+        if (route == null) {
+            return new StreamStats();
+        }
+
+        JitterBuffer jb = route.jitter;
+        return new StreamStats(jb.getReceived(), jb.getPlayed(), jb.getLost(), jb.getLate(),
+            jb.getDuplicates(), jb.getDiscarded(), jb.getJitterMillis(), jb.getTargetDepth(), jb.getBuffered(),
+            (int) route.call.vadFrom(userId).getSuppressedFrames());
+    }
+
+    @Override
+    public CallStats getCallStats(String userId, Current current) {
+        Call call = activeCalls.get(userId);
+        if (call != null) {
+            return callStats(call);
+        }
+        CallStats last = lastCallStats.get(userId);
+        return last != null ? last : new CallStats();
+    }
+
+    /**
+     * Foto de la calidad de una llamada (en curso o recién terminada)
+     */
+    private CallStats callStats(Call call) {
+        StreamQuality fromCaller = streamQuality(call, call.caller);
+        StreamQuality fromCallee = streamQuality(call, call.callee);
+        long end = call.ended ? call.endNanos : System.nanoTime();
+        return new CallStats(call.caller, call.callee, !call.ended,
+            TimeUnit.NANOSECONDS.toMillis(end - call.startNanos),
+            fromCaller, fromCallee, Math.min(fromCaller.mos, fromCallee.mos));
+    }
+
+    private StreamQuality streamQuality(Call call, String sender) {
+        StreamMetrics m = call.metricsFrom(sender);
+        JitterBuffer jb = call.jitterFrom(sender);
+
+        // Para el oyente, una trama que llegó tarde al búfer es tan perdida como la que no llegó
+        long expected = m.getExpected();
+        long lost = m.getLost() + jb.getLate();
+        double lossPercent = expected > 0 ? Math.min(100.0, 100.0 * lost / expected) : 0;
+
+        // Boca a oído: empaquetado + espera en el búfer + reenvío (p95)
+        double latencyP95Ms = m.getForwardLatency().percentile(95) / 1000.0;
+        double delayMs = FRAME_MILLIS + latencyP95Ms + 2 * m.getJitterMillis();
+        double mos = m.getPackets() > 0 ? StreamMetrics.estimateMos(delayMs, lossPercent) : 0;
+
+        return new StreamQuality((int) m.getPackets(), m.getBytes(), (int) m.getLost(), jb.getLate(),
+            (int) m.getReordered(), lossPercent, m.getJitterMillis(),
+            m.getForwardLatency().percentile(50) / 1000.0, latencyP95Ms,
+            m.getForwardLatency().percentile(99) / 1000.0, m.getForwardLatency().getMax() / 1000.0, mos);
+    }
+
+    /**
+     * Entrega una trama al destino de la ruta, convertida al formato que éste negoció
+     * @param arrivalNanos cuándo llegó la trama (0 = sintetizada, no se mide su latencia)
+     * @param batched true: solo se encola en el lote de la conexión (quien llama hace el flush);
+     *                false: sale ya como oneway y se sigue en el backlog del oyente
+     * @return true si se encoló o envió algo
+     */
+    private boolean deliver(CallRoute route, byte[] frame, long arrivalNanos, boolean batched) {
+        AudioObserverPrx out = batched ? route.batch : route.oneway;
+        String sender = route.call.peerOf(route.peer);
+        StreamMetrics metrics = route.call.metricsFrom(sender);
+
+        // Silencio: no se reenvía; de vez en cuando, solo el nivel del ruido de fondo
+        if (silenceSuppression) {
+            VoiceActivityDetector vad = route.call.vadFrom(sender);
+            switch (vad.process(frame)) {
+                case SILENCE_DESCRIPTOR:
+                    sent(route, out.receiveComfortNoiseAsync(vad.getNoiseLevel()), null, 0, batched);
+                    return true;
+                case SILENCE:
+                    return false;
+                default:
+                    break;
+            }
+        }
+
+        int inputRate = route.call.rateFrom(sender);
+        AudioCodec codec = route.call.codecFor(route.peer);
+
+        // Sin formato negociado: PCM16 a la frecuencia del emisor, sin convertir
+        if (codec == null && inputRate != ConferenceMixer.SAMPLE_RATE) {
+            sent(route, out.receiveCodedAudioAsync(AudioCodec.L16, inputRate, frame),
+                metrics, arrivalNanos, batched);
+            return true;
+        }
+
+        // PCM16 a 44.1 kHz: va tal cual por receiveAudio
+        if (codec == null || (codec.isPassthrough(inputRate) && inputRate == ConferenceMixer.SAMPLE_RATE)) {
+            sent(route, out.receiveAudioAsync(frame), metrics, arrivalNanos, batched);
+            return true;
+        }
+
+        // Los buffers del codec se reutilizan: se serializa antes de soltar el monitor
+        synchronized (codec) {
+            sent(route, out.receiveCodedAudioAsync(
+                codec.getName(), codec.getSampleRate(), codec.encode(frame, inputRate)), metrics, arrivalNanos, batched);
+        }
+        return true;
+    }
+
+    /**
+     * Un envío oneway se sigue en el backlog; uno en lote ya está completo al encolarse
+     * (lo que se sigue es el flush)
+     */
+    private void sent(CallRoute route, CompletableFuture<?> invocation, StreamMetrics metrics,
+                      long arrivalNanos, boolean batched) {
+        if (!batched) {
+            track(route.peer, invocation, metrics, arrivalNanos);
+        }
+    }
+
+    /**
+     * Lleva la cuenta de lo que aún no salió hacia el oyente (y descarta lo viejo si se atasca)
+     */
+    private void track(String listener, CompletableFuture<?> invocation) {
+        track(listener, invocation, null, 0);
+    }
+
+    /**
+     * Igual, midiendo la latencia de reenvío del sentido cuando la trama sale
+     */
+    private void track(String listener, CompletableFuture<?> invocation, StreamMetrics metrics, long arrivalNanos) {
+        ListenerBacklog backlog = backlogs.get(listener);
+        if (backlog != null) {
+            backlog.track(invocation, metrics, arrivalNanos);
+        }
+    }
+
+    @Override
+    public BacklogStats getListenerBacklog(String userId, Current current) {
+        ListenerBacklog backlog = backlogs.get(userId);
+        if (backlog == null) {
+            return new BacklogStats();
+        }
+        return new BacklogStats(backlog.getPending(), backlog.getPeak(),
+            (int) backlog.getSent(), (int) backlog.getDropped());
+    }
+
+    @Override
+    public boolean setCallCodec(String userId, String codec, int sampleRate, Current current) {
+        Call call = activeCalls.get(userId);
+        if (call == null) {
+            System.out.println("[AUDIO] setCallCodec: " + userId + " no está en llamada");
+            return false;
+        }
+
+        AudioCodec negotiated = AudioCodec.negotiate(codec, sampleRate);
+        if (negotiated == null) {
+            System.out.println("[AUDIO] setCallCodec: formato no soportado " + codec + "/" + sampleRate);
+            return false;
+        }
+
+        call.setCodecFor(userId, negotiated);
+        System.out.println("[AUDIO] " + userId + " recibirá " + negotiated);
+        return true;
+    }
+
+    @Override
+    public boolean setSendRate(String userId, int sampleRate, Current current) {
+        Call call = activeCalls.get(userId);
+        if (call == null || !Resampler.isSupported(sampleRate)) {
+            System.out.println("[AUDIO] setSendRate rechazado: " + userId + " a " + sampleRate + " Hz");
+            return false;
+        }
+
+        call.setRateFrom(userId, sampleRate);
+        System.out.println("[AUDIO] " + userId + " envía a " + sampleRate + " Hz");
+        return true;
+    }
+
+    /**
+     * Tick del reloj de UNA llamada: saca una trama de cada sentido y la entrega
+     */
+    private void playout(Call call) {
+        if (++call.ticks % QualityLadder.EVALUATION_TICKS == 0) {
+            adaptQuality(call);
+        }
+        if (call.levels.tick()) {
+            publishLevels(call.levels, call.parties);
+        }
+
+        PooledFrame[] played = call.tickFrames;
+        CallRoute[] queued = call.tickRoutes;
+        for (int i = 0; i < call.parties.length; i++) {
+            // La ruta se relee en cada tick: una reconexión cambia el proxy destino
+            CallRoute route = routes.get(call.parties[i]);
+            if (route == null || route.call != call) {
+                continue;
+            }
+
+            PacketLossConcealer plc = call.plcFrom(call.parties[i]);
+            int rate = call.rateFrom(call.parties[i]);
+            PooledFrame frame = route.jitter.poll();
+            if (frame != null) {
+                plc.update(frame.data(), rate);
+            } else if (route.jitter.wasLost()) {
+                // Hueco: en lugar de un corte seco, una trama sintetizada con la historia
+                frame = conceal(plc, rate);
+            }
+            if (frame == null) {
+                continue;
+            }
+            played[i] = frame;
+            try {
+                if (route.batch != null && deliver(route, frame.data(), frame.arrivalNanos(), true)) {
+                    queued[i] = route;
+                }
+            } catch (Exception e) {
+                System.err.println("   ❌ Error enviando audio: " + e);
+            }
+        }
+
+        // Un flush por oyente y tick: lo encolado sale en un solo mensaje del protocolo
+        for (int i = 0; i < queued.length; i++) {
+            CallRoute route = queued[i];
+            if (route != null) {
+                queued[i] = null;
+                try {
+                    track(route.peer, route.batch.ice_flushBatchRequestsAsync(), route.metrics,
+                        played[i].arrivalNanos());
+                } catch (Exception e) {
+                    System.err.println("   ❌ Error enviando audio: " + e);
+                }
+            }
+        }
+
+        // Ice ya serializó las tramas al invocar: o se ceden a la grabación o vuelven al pool
+        CallRecorder.Recording recording = call.recording;
+        if (recording != null) {
+            recording.tick(played[0], call.callerRate, played[1], call.calleeRate);
+        } else {
+            for (PooledFrame frame : played) {
+                if (frame != null) {
+                    frame.release();
+                }
+            }
+        }
+        played[0] = null;
+        played[1] = null;
+    }
+
+    /**
+     * Niveles y hablante activo a todos los participantes (solo cuando cambiaron)
+     */
+    private void publishLevels(ActiveSpeakerDetector levels, String[] listeners) {
+        List<AudioLevel> snapshot = new ArrayList<>(levels.size());
+        levels.forEachLevel((user, level, speaking) -> snapshot.add(new AudioLevel(user, level, speaking)));
+        AudioLevel[] payload = snapshot.toArray(new AudioLevel[0]);
+        String activeSpeaker = levels.getActiveSpeaker();
+
+        for (String listener : listeners) {
+            AudioObserverPrx prx = observers.get(listener);
+            if (prx != null) {
+                try {
+                    prx.audioLevelsAsync(activeSpeaker, payload);
+                } catch (Exception e) {
+                    System.err.println("   ❌ Error enviando niveles a " + listener + ": " + e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Trama sustituta para una que se perdió (del pool); null si no se puede ocultar
+     */
+    private PooledFrame conceal(PacketLossConcealer plc, int rate) {
+        int bytes = plc.getFrameBytes();
+        if (bytes == 0) {
+            return null;
+        }
+        PooledFrame frame = framePool.acquire(bytes);
+        if (!plc.conceal(frame.data(), rate)) {
+            frame.release();
+            return null;
+        }
+        return frame;
+    }
+
+    /**
+     * Una vez por segundo: si el oyente se atrasa, se pide al emisor bajar la calidad;
+     * si lleva un rato al día, subirla
+     */
+    private void adaptQuality(Call call) {
+        for (String sender : call.parties) {
+            ListenerBacklog backlog = backlogs.get(call.peerOf(sender));
+            if (backlog == null) {
+                continue;
+            }
+
+            int level = call.ladderFor(sender).evaluate(backlog, maxPendingFrames);
+            if (level < 0) {
+                continue;
+            }
+
+            int sampleRate = QualityLadder.sampleRateOf(level);
+            System.out.println("[AUDIO] Calidad de " + sender + " → nivel " + level + " (" + sampleRate
+                + " Hz, " + call.peerOf(sender) + " con " + backlog.getPending() + " pendientes, "
+                + backlog.getDropped() + " descartadas)");
+
+            AudioObserverPrx prx = observers.get(sender);
+            if (prx != null) {
+                try {
+                    prx.qualityChangedAsync(new AudioQuality(level, sampleRate));
+                } catch (Exception e) {
+                    System.err.println("   ❌ Error avisando cambio de calidad: " + e);
+                }
+            }
+        }
+    }
+
     // ============================================
     // GESTIÓN DE LLAMADAS (EXACTO como el profesor)
     // ============================================
-    
+
     @Override
-    public synchronized void startCall(String fromUser, String toUser, Current current) {
+    public void startCall(String fromUser, String toUser, Current current) {
         System.out.println("[AUDIO] startCall: " + fromUser + " → " + toUser);
-        
+
         // Buscar el Observer del destinatario
         AudioObserverPrx dest = observers.get(toUser);
-        
-        if (dest != null) {
-            // Notificar al destinatario de la llamada entrante
-            dest.incomingCallAsync(fromUser);
-            System.out.println("   ✅ Notificación enviada a " + toUser);
-            
-            // También agregar a cola de polling (fallback)
-            addPendingIncomingCall(toUser, fromUser);
-        } else {
+
+        if (dest == null) {
             System.out.println("   ❌ Usuario no encontrado: " + toUser);
+            return;
+        }
+
+        // Ya está hablando con alguien: ocupado, sin hacerle sonar
+        if (activeCalls.containsKey(toUser)) {
+            System.out.println("   📵 " + toUser + " está ocupado");
+            AudioObserverPrx caller = observers.get(fromUser);
+            if (caller != null) {
+                caller.callBusyAsync(toUser);
+            }
+            publishCallEvent(fromUser, CallEventType.Busy, toUser);
+            return;
         }
+
+        // Suena hasta que conteste o venza el timeout (una entrada en la rueda, sin hilo propio)
+        // (el timeout se fija antes de publicar la entrada: stopRinging siempre lo encuentra)
+        Ring ring = new Ring(fromUser, toUser);
+        ring.timeout = timer.schedule(() -> ringTimedOut(ring), ringTimeoutMillis, TimeUnit.MILLISECONDS);
+        Ring previous = ringing.put(ring.key, ring);
+        if (previous != null) {
+            previous.timeout.cancel();
+        }
+
+        // Notificar al destinatario de la llamada entrante
+        dest.incomingCallAsync(fromUser);
+        System.out.println("   ✅ Notificación enviada a " + toUser);
+
+        // También agregar a cola de polling (fallback)
+        publishCallEvent(toUser, CallEventType.Incoming, fromUser);
     }
-    
-   @Override
-public synchronized void acceptCall(String fromUser, String toUser, Current current) {
-    System.out.println("[AUDIO] acceptCall: " + fromUser + " → " + toUser);
-    System.out.println("   fromUser (caller): " + fromUser);
-    System.out.println("   toUser (acceptor): " + toUser);
-    
-    // ✅ EXACTO DEL PROFESOR:
-    // fromUser = quien LLAMÓ originalmente (Maria)
-    // toUser = quien está ACEPTANDO ahora (Luis)
-    
-    // Buscar el Observer del LLAMANTE original
-    AudioObserverPrx caller = observers.get(fromUser);
-    
-    if (caller != null) {
+
+    /**
+     * Tarea de la rueda: nadie contestó a tiempo
+     */
+    private void ringTimedOut(Ring ring) {
+        if (!ringing.remove(ring.key, ring)) {
+            return;
+        }
+        System.out.println("[AUDIO] ⏰ " + ring.callee + " no contestó a " + ring.caller);
+        notifyNoAnswer(ring.caller, ring.callee);
+        notifyEnded(ring.callee, ring.caller);
+    }
+
+    /**
+     * Quita la llamada de las que suenan y cancela su timeout
+     * @return false si ya no sonaba (contestada, rechazada o vencida)
+     */
+    private boolean stopRinging(Ring ring) {
+        if (!ringing.remove(ring.key, ring)) {
+            return false;
+        }
+        ring.timeout.cancel();
+        return true;
+    }
+
+    private boolean stopRinging(String caller, String callee) {
+        Ring ring = ringing.get(Ring.key(caller, callee));
+        return ring != null && stopRinging(ring);
+    }
+
+    private void notifyNoAnswer(String userId, String callee) {
+        AudioObserverPrx prx = observers.get(userId);
+        if (prx != null) {
+            prx.callNoAnswerAsync(callee);
+        }
+        publishCallEvent(userId, CallEventType.NoAnswer, callee);
+    }
+
+    private void notifyEnded(String userId, String fromUser) {
+        AudioObserverPrx prx = observers.get(userId);
+        if (prx != null) {
+            prx.callEndedAsync(fromUser);
+        }
+        publishCallEvent(userId, CallEventType.Ended, fromUser);
+    }
+
+    @Override
+    public void acceptCall(String fromUser, String toUser, Current current) {
+        System.out.println("[AUDIO] acceptCall: " + fromUser + " → " + toUser);
+        System.out.println("   fromUser (caller): " + fromUser);
+        System.out.println("   toUser (acceptor): " + toUser);
+
+        // ✅ EXACTO DEL PROFESOR:
+        // fromUser = quien LLAMÓ originalmente (Maria)
+        // toUser = quien está ACEPTANDO ahora (Luis)
+
+        // Buscar el Observer del LLAMANTE original
+        AudioObserverPrx caller = observers.get(fromUser);
+
+        if (caller == null) {
+            System.out.println("   ❌ No se encontró al llamante: " + fromUser);
+            stopRinging(fromUser, toUser);
+            return;
+        }
+
+        // Solo se acepta lo que sigue sonando: si ya venció, el llamante se enteró del NoAnswer
+        if (!stopRinging(fromUser, toUser)) {
+            System.out.println("   ⚠️ La llamada de " + fromUser + " ya no estaba sonando");
+            notifyEnded(toUser, fromUser);
+            return;
+        }
+
+        // Una llamada anterior de cualquiera de los dos queda reemplazada
+        endPreviousCall(fromUser);
+        endPreviousCall(toUser);
+
+        Call call = new Call(fromUser, toUser);
+
+        // Clientes nativos: el audio puede ir por UDP con un token por extremo
+        UDPVoiceServer relay = udpRelay;
+        if (relay != null) {
+            call.udpSession = relay.openSession(fromUser, toUser);
+        }
+
+        // Reloj de la llamada: vacía los búferes de jitter a ritmo constante.
+        // Se arranca antes de publicar la llamada para que endCall siempre lo encuentre
+        call.clock = audioClock.scheduleAtFixedRate(() -> playout(call),
+            ConferenceMixer.FRAME_NANOS, ConferenceMixer.FRAME_NANOS, TimeUnit.NANOSECONDS);
+
+        // CRÍTICO: Marca la llamada como activa (BIDIRECCIONAL)
+        activeCalls.put(fromUser, call);
+        activeCalls.put(toUser, call);
+        routes.put(fromUser, new CallRoute(call, toUser, observers.get(toUser)));  // Maria → Luis
+        routes.put(toUser, new CallRoute(call, fromUser, caller));                 // Luis → Maria
+
+        if (recordCalls) {
+            startRecording(call);
+        }
+
         // Notificar al llamante que la llamada fue aceptada
         // Le pasamos el nombre de quien aceptó (toUser)
         caller.callAcceptedAsync(toUser);
         System.out.println("   ✅ Notificación 'callAccepted' enviada a " + fromUser + " (llamante)");
-        
-        // CRÍTICO: Marca la llamada como activa (BIDIRECCIONAL)
-        activeCalls.put(fromUser, toUser);  // Maria → Luis
-        activeCalls.put(toUser, fromUser);  // Luis → Maria
-        
+
         System.out.println("   📞 Llamada BIDIRECCIONAL activa:");
         System.out.println("      " + fromUser + " ↔ " + toUser);
         System.out.println("   🔊 Enrutamiento de audio configurado:");
         System.out.println("      Audio de " + fromUser + " → " + toUser);
         System.out.println("      Audio de " + toUser + " → " + fromUser);
-        
-        // Inicializar contadores
-        audioPacketCount.put(fromUser, 0L);
-        audioPacketCount.put(toUser, 0L);
-        
+
         // También agregar a cola de polling (fallback)
-        addPendingAcceptedCall(fromUser, toUser);
-    } else {
-        System.out.println("   ❌ No se encontró al llamante: " + fromUser);
+        publishCallEvent(fromUser, CallEventType.Accepted, toUser);
     }
-}
-    
+
     @Override
-    public synchronized void rejectCall(String fromUser, String toUser, Current current) {
+    public void rejectCall(String fromUser, String toUser, Current current) {
         System.out.println("[AUDIO] rejectCall: " + fromUser + " → " + toUser);
-        
+
+        if (!stopRinging(fromUser, toUser)) {
+            System.out.println("   ⚠️ La llamada ya no estaba sonando");
+            return;
+        }
+
         AudioObserverPrx caller = observers.get(fromUser);
-        
+
         if (caller != null) {
             caller.callRejectedAsync(toUser);
             System.out.println("   ✅ Rechazo enviado a " + fromUser);
-            
+
             // También agregar a cola de polling (fallback)
-            addPendingRejectedCall(fromUser, toUser);
+            publishCallEvent(fromUser, CallEventType.Rejected, toUser);
         }
     }
-    
+
     @Override
-    public synchronized void hangup(String fromUser, String toUser, Current current) {
+    public void hangup(String fromUser, String toUser, Current current) {
         System.out.println("[AUDIO] hangup: " + fromUser + " → " + toUser);
-        
+
+        // Colgar mientras suena la cancela (la haya hecho cualquiera de los dos)
+        stopRinging(fromUser, toUser);
+        stopRinging(toUser, fromUser);
+
         // PASO 1: Notificar al que colgó (para UI local)
         AudioObserverPrx caller = observers.get(fromUser);
         if (caller != null) {
             caller.callEndedAsync(fromUser);
         }
-        
+
         // PASO 2: Notificar al receptor que el otro colgó
         AudioObserverPrx receiver = observers.get(toUser);
         if (receiver != null) {
             receiver.callEndedAsync(fromUser);
         }
-        
+
         // PASO 3: Limpiar el estado de la llamada
-        activeCalls.remove(fromUser);
-        activeCalls.remove(toUser);
-        
-        // Mostrar estadísticas
-        Long packetsFrom = audioPacketCount.remove(fromUser);
-        Long packetsTo = audioPacketCount.remove(toUser);
-        
-        System.out.println("   📊 Estadísticas:");
-        System.out.println("      " + fromUser + ": " + (packetsFrom != null ? packetsFrom : 0) + " paquetes");
-        System.out.println("      " + toUser + ": " + (packetsTo != null ? packetsTo : 0) + " paquetes");
+        Call call = activeCalls.get(fromUser);
+        if (call != null && endCall(call)) {
+            // Mostrar estadísticas
+            System.out.println("   📊 Estadísticas:");
+            CallStats stats = lastCallStats.get(call.caller);
+            System.out.println("      " + call.caller + ": " + call.metricsFrom(call.caller));
+            System.out.println("      " + call.callee + ": " + call.metricsFrom(call.callee));
+            if (stats != null) {
+                System.out.println("      MOS estimado: " + String.format("%.2f", stats.mos) + " ("
+                    + call.caller + " → " + String.format("%.2f", stats.fromCaller.mos) + ", "
+                    + call.callee + " → " + String.format("%.2f", stats.fromCallee.mos) + ")");
+            }
+            System.out.println("      Jitter " + call.caller + ": " + call.jitterFrom(call.caller));
+            System.out.println("      Jitter " + call.callee + ": " + call.jitterFrom(call.callee));
+            System.out.println("      Ocultación " + call.caller + ": " + call.plcFrom(call.caller));
+            System.out.println("      Ocultación " + call.callee + ": " + call.plcFrom(call.callee));
+            if (silenceSuppression) {
+                System.out.println("      Silencios " + call.caller + ": " + call.vadFrom(call.caller));
+                System.out.println("      Silencios " + call.callee + ": " + call.vadFrom(call.callee));
+            }
+            System.out.println("      Pool de tramas: " + framePool);
+        }
         System.out.println("   ✅ Llamada terminada");
-        
+
         // También agregar a colas de polling (fallback)
-        addPendingEndedCall(fromUser, toUser);
-        addPendingEndedCall(toUser, fromUser);
+        publishCallEvent(fromUser, CallEventType.Ended, toUser);
+        publishCallEvent(toUser, CallEventType.Ended, fromUser);
+    }
+
+    private void endPreviousCall(String userId) {
+        Call previous = activeCalls.get(userId);
+        if (previous != null && endCall(previous)) {
+            System.out.println("   ⚠️ Llamada previa " + previous.caller + " ↔ " + previous.callee + " reemplazada");
+        }
+    }
+
+    /**
+     * Transición ACTIVA → TERMINADA bajo el lock de ESA llamada.
+     * Solo quita las entradas que siguen apuntando a ella (no pisa una llamada nueva).
+     * @return true si esta invocación fue la que terminó la llamada
+     */
+    private boolean endCall(Call call) {
+        synchronized (call) {
+            if (call.ended) {
+                return false;
+            }
+            call.ended = true;
+            if (call.clock != null) {
+                call.clock.cancel(false);
+            }
+            stopRecording(call);
+            if (call.udpSession != null) {
+                udpRelay.closeSession(call.udpSession);
+            }
+
+            for (String user : call.parties) {
+                activeCalls.remove(user, call);
+                routes.computeIfPresent(user, (k, route) -> route.call == call ? null : route);
+            }
+
+            // Lo que quedaba por reproducir vuelve al pool (y lo que llegue tarde, también)
+            call.callerJitter.close();
+            call.calleeJitter.close();
+
+            // La calidad final queda consultable con getCallStats
+            call.endNanos = System.nanoTime();
+            CallStats stats = callStats(call);
+            lastCallStats.put(call.caller, stats);
+            lastCallStats.put(call.callee, stats);
+            return true;
+        }
     }
-    
+
     // ============================================
-    // MÉTODOS DE POLLING (fallback)
+    // RELÉ UDP
     // ============================================
-    
+
     @Override
-    public synchronized String[] getPendingIncomingCalls(String userId, Current current) {
-        List<String> calls = pendingIncomingCalls.remove(userId);
-        if (calls == null || calls.isEmpty()) {
-            return new String[0];
+    public UdpSession getUdpSession(String userId, Current current) {
+        Call call = activeCalls.get(userId);
+        UDPVoiceServer relay = udpRelay;
+        if (call == null || relay == null || call.udpSession == null) {
+            return new UdpSession();
         }
-        return calls.toArray(new String[0]);
+        return new UdpSession(call.udpSession.tokenFor(userId), relay.getPort());
     }
-    
+
+    // ============================================
+    // GRABACIÓN DE LLAMADAS
+    // ============================================
+
     @Override
-    public synchronized String[] getPendingAcceptedCalls(String userId, Current current) {
-        List<String> calls = pendingAcceptedCalls.remove(userId);
-        if (calls == null || calls.isEmpty()) {
-            return new String[0];
+    public boolean setCallRecording(String userId, boolean enabled, Current current) {
+        Call call = activeCalls.get(userId);
+        if (call == null) {
+            System.out.println("[AUDIO] setCallRecording: " + userId + " no está en llamada");
+            return false;
+        }
+        if (!enabled) {
+            stopRecording(call);
+            return true;
+        }
+        return startRecording(call);
+    }
+
+    @Override
+    public String[] getCallRecordings(Current current) {
+        return audioFiles.getCallRecordings();
+    }
+
+    /**
+     * Abre el WAV de la llamada; a partir del siguiente tick el reloj le cede sus tramas
+     */
+    private boolean startRecording(Call call) {
+        synchronized (call) {
+            if (call.ended) {
+                return false;
+            }
+            if (call.recording != null) {
+                return true;
+            }
+            Path file = audioFiles.newCallRecording(call.caller, call.callee);
+            try {
+                call.recording = recorder.start(file);
+            } catch (IOException e) {
+                System.err.println("❌ [GRABACIÓN] No se pudo abrir " + file + ": " + e.getMessage());
+                return false;
+            }
+        }
+        System.out.println("[AUDIO] 🔴 Grabando " + call.caller + " ↔ " + call.callee);
+        return true;
+    }
+
+    /**
+     * El escritor vacía lo pendiente y corrige la cabecera en su hilo
+     */
+    private void stopRecording(Call call) {
+        synchronized (call) {
+            if (call.recording != null) {
+                call.recording.stop();
+                call.recording = null;
+            }
+        }
+    }
+
+    // ============================================
+    // CONFERENCIAS (llamadas grupales)
+    // ============================================
+
+    @Override
+    public boolean joinConference(String groupName, String userId, Current current) {
+        System.out.println("[AUDIO] joinConference: " + userId + " → " + groupName);
+
+        if (!historyManager.getGroupMembers(groupName).contains(userId)) {
+            System.out.println("   ❌ " + userId + " no es miembro de " + groupName);
+            return false;
+        }
+        if (!observers.containsKey(userId)) {
+            System.out.println("   ❌ " + userId + " no está conectado al AudioService");
+            return false;
         }
-        return calls.toArray(new String[0]);
+
+        // Solo una conferencia a la vez
+        Conference previous = conferenceOf.get(userId);
+        if (previous != null && !previous.room.getName().equals(groupName)) {
+            leaveConference(previous.room.getName(), userId, current);
+        }
+
+        Conference conference = conferences.compute(groupName, (k, conf) -> {
+            if (conf == null) {
+                conf = startConference(k);
+            }
+            conf.room.join(userId);
+            conf.levels.join(userId);
+            return conf;
+        });
+        conferenceOf.put(userId, conference);
+
+        System.out.println("   ✅ En conferencia " + groupName + ": " + conference.room.size() + " participante(s)");
+        return true;
     }
-    
+
     @Override
-    public synchronized String[] getPendingRejectedCalls(String userId, Current current) {
-        List<String> calls = pendingRejectedCalls.remove(userId);
-        if (calls == null || calls.isEmpty()) {
-            return new String[0];
+    public void leaveConference(String groupName, String userId, Current current) {
+        Conference conference = conferences.get(groupName);
+        if (conference != null) {
+            conferenceOf.remove(userId, conference);
         }
-        return calls.toArray(new String[0]);
+
+        conferences.computeIfPresent(groupName, (k, conf) -> {
+            if (!conf.room.leave(userId)) {
+                return conf;
+            }
+            conf.levels.leave(userId);
+            System.out.println("[AUDIO] " + userId + " salió de la conferencia " + k
+                + " (" + conf.room.size() + " restantes)");
+
+            if (conf.room.size() == 0) {
+                conf.clock.cancel(false);
+                System.out.println("   🔇 Conferencia " + k + " cerrada (" + conf.room.getFrameCount() + " tramas)");
+                return null;
+            }
+            return conf;
+        });
     }
-    
+
     @Override
-    public synchronized String[] getPendingEndedCalls(String userId, Current current) {
-        List<String> calls = pendingEndedCalls.remove(userId);
-        if (calls == null || calls.isEmpty()) {
-            return new String[0];
+    public String[] getConferenceParticipants(String groupName, Current current) {
+        Conference conference = conferences.get(groupName);
+        return conference != null ? conference.room.getParticipants() : new String[0];
+    }
+
+    private Conference startConference(String groupName) {
+        AudioRoom room;
+        int members = historyManager.getGroupMembers(groupName).size();
+
+        // Oyentes con mezcla encolada en este tick (solo el reloj: el mezclador entrega dentro de tick())
+        List<String> queued = new ArrayList<>();
+
+        if (members > sfuThreshold) {
+            // Sala grande: reenviar solo los K hablantes más fuertes (sin mezclar).
+            // Se reenvía en el hilo que recibe, sin reloj: oneway, sin lote
+            room = new SelectiveForwarder(groupName, sfuMaxSpeakers, (listener, speaker, frame) -> {
+                AudioObserverPrx prx = onewayObservers.get(listener);
+                if (prx != null) {
+                    track(listener, prx.receiveSpeakerAudioAsync(speaker, frame));
+                }
+            });
+        } else {
+            // El buffer mezclado se reutiliza: receiveAudioAsync lo serializa en el lote antes de retornar
+            room = new ConferenceMixer(groupName, (participant, frame) -> {
+                AudioObserverPrx prx = batchObservers.get(participant);
+                if (prx != null) {
+                    prx.receiveAudioAsync(frame);
+                    queued.add(participant);
+                }
+            });
         }
-        return calls.toArray(new String[0]);
+
+        // El mismo reloj publica niveles y hablante activo (cada pocos ticks, si cambiaron)
+        ActiveSpeakerDetector levels = new ActiveSpeakerDetector();
+        ScheduledFuture<?> clock = audioClock.scheduleAtFixedRate(() -> {
+            room.tick();
+            flushQueued(queued);
+            if (levels.tick()) {
+                publishLevels(levels, room.getParticipants());
+            }
+        }, ConferenceMixer.FRAME_NANOS, ConferenceMixer.FRAME_NANOS, TimeUnit.NANOSECONDS);
+
+        System.out.println("   🎙️ Conferencia " + groupName + " iniciada en modo "
+            + (room instanceof SelectiveForwarder ? "SFU (" + sfuMaxSpeakers + " hablantes)" : "mezcla")
+            + " (trama de " + TimeUnit.NANOSECONDS.toMillis(ConferenceMixer.FRAME_NANOS) + " ms)");
+        return new Conference(room, levels, clock);
     }
-    
+
+    /**
+     * Fin del tick de una conferencia: un flush por oyente con audio encolado
+     */
+    private void flushQueued(List<String> queued) {
+        for (String listener : queued) {
+            AudioObserverPrx prx = batchObservers.get(listener);
+            if (prx != null) {
+                try {
+                    track(listener, prx.ice_flushBatchRequestsAsync());
+                } catch (Exception e) {
+                    System.err.println("   ❌ Error enviando audio a " + listener + ": " + e);
+                }
+            }
+        }
+        queued.clear();
+    }
+
+    // ============================================
+    // MÉTODOS DE POLLING (fallback)
+    // ============================================
+
+    @Override
+    public CompletionStage<CallEvent[]> pollCallEventsAsync(String userId, int waitMs, Current current) {
+        return callEvents.computeIfAbsent(userId, k -> new CallEventQueue()).poll(waitMs, audioClock);
+    }
+
     // ============================================
     // UTILIDADES
     // ============================================
-    
+
     @Override
     public String[] getConnectedUsers(Current current) {
         return observers.keySet().toArray(new String[0]);
     }
-    
-    private void addPendingIncomingCall(String userId, String fromUser) {
-        pendingIncomingCalls.computeIfAbsent(userId, k -> new ArrayList<>()).add(fromUser);
+
+    /**
+     * Solo para usuarios conectados o que ya consultan por polling: crear una cola
+     * por cualquier destinatario la dejaría viva para siempre (solo se quita al desconectar)
+     */
+    private void publishCallEvent(String userId, CallEventType type, String fromUser) {
+        CallEventQueue events = callEvents.get(userId);
+        if (events != null) {
+            events.publish(type, fromUser);
+        }
+    }
+
+    // ============================================
+    // CLASES INTERNAS
+    // ============================================
+
+    /**
+     * Llamada que está sonando; la rueda la da por no contestada al vencer
+     */
+    private static final class Ring {
+        final String caller;
+        final String callee;
+        final String key;
+        HashedWheelTimer.Timeout timeout;
+
+        Ring(String caller, String callee) {
+            this.caller = caller;
+            this.callee = callee;
+            this.key = key(caller, callee);
+        }
+
+        static String key(String caller, String callee) {
+            return caller + "→" + callee;
+        }
+
+        boolean involves(String userId) {
+            return caller.equals(userId) || callee.equals(userId);
+        }
     }
-    
-    private void addPendingAcceptedCall(String userId, String fromUser) {
-        pendingAcceptedCalls.computeIfAbsent(userId, k -> new ArrayList<>()).add(fromUser);
+
+    private static final class Conference {
+        final AudioRoom room;
+        final ActiveSpeakerDetector levels;
+        final ScheduledFuture<?> clock;
+
+        Conference(AudioRoom room, ActiveSpeakerDetector levels, ScheduledFuture<?> clock) {
+            this.room = room;
+            this.levels = levels;
+            this.clock = clock;
+        }
     }
-    
-    private void addPendingRejectedCall(String userId, String fromUser) {
-        pendingRejectedCalls.computeIfAbsent(userId, k -> new ArrayList<>()).add(fromUser);
+
+    /**
+     * Llamada 1 a 1; su monitor serializa los cambios de estado de ESTA llamada
+     */
+    private static class Call {
+        final String caller;
+        final String callee;
+        final String[] parties;  // {caller, callee}: se recorre en cada tick sin crear arrays
+        boolean ended;  // protegido por synchronized(this)
+        ScheduledFuture<?> clock;  // protegido por synchronized(this)
+        long ticks;                // solo lo toca el reloj de la llamada
+        final PooledFrame[] tickFrames = new PooledFrame[2];  // tramas del tick en curso (reloj)
+        final CallRoute[] tickRoutes = new CallRoute[2];      // rutas con audio en el lote del tick (reloj)
+        volatile CallRecorder.Recording recording;  // se cambia bajo synchronized(this)
+        UDPVoiceServer.Session udpSession;          // protegido por synchronized(this)
+
+        // Paquetes, jitter, pérdidas y latencia de reenvío por emisor
+        final StreamMetrics callerMetrics = new StreamMetrics();
+        final StreamMetrics calleeMetrics = new StreamMetrics();
+        final long startNanos = System.nanoTime();
+        long endNanos;             // protegido por synchronized(this)
+
+        // Formato en que RECIBE cada extremo (null = PCM16 tal cual)
+        volatile AudioCodec callerCodec;
+        volatile AudioCodec calleeCodec;
+
+        // Detector de voz por emisor
+        final VoiceActivityDetector callerVad = new VoiceActivityDetector();
+        final VoiceActivityDetector calleeVad = new VoiceActivityDetector();
+
+        // Calidad pedida a cada emisor según cómo va su oyente
+        final QualityLadder callerLadder = new QualityLadder();
+        final QualityLadder calleeLadder = new QualityLadder();
+
+        // Frecuencia del PCM16 que ENVÍA cada extremo
+        volatile int callerRate = ConferenceMixer.SAMPLE_RATE;
+        volatile int calleeRate = ConferenceMixer.SAMPLE_RATE;
+
+        // Búfer de jitter por emisor (tramas numeradas de sendAudioFrame)
+        final JitterBuffer callerJitter = new JitterBuffer(FRAME_MILLIS);
+        final JitterBuffer calleeJitter = new JitterBuffer(FRAME_MILLIS);
+
+        // Ocultación de pérdidas por emisor (solo la toca el reloj de la llamada)
+        final PacketLossConcealer callerPlc = new PacketLossConcealer();
+        final PacketLossConcealer calleePlc = new PacketLossConcealer();
+
+        // Niveles de ambos extremos y quién habla (se publican desde el reloj)
+        final ActiveSpeakerDetector levels = new ActiveSpeakerDetector();
+
+        Call(String caller, String callee) {
+            this.caller = caller;
+            this.callee = callee;
+            this.parties = new String[]{caller, callee};
+            levels.join(caller);
+            levels.join(callee);
+        }
+
+        String peerOf(String user) {
+            return user.equals(caller) ? callee : caller;
+        }
+
+        StreamMetrics metricsFrom(String sender) {
+            return sender.equals(caller) ? callerMetrics : calleeMetrics;
+        }
+
+        JitterBuffer jitterFrom(String sender) {
+            return sender.equals(caller) ? callerJitter : calleeJitter;
+        }
+
+        PacketLossConcealer plcFrom(String sender) {
+            return sender.equals(caller) ? callerPlc : calleePlc;
+        }
+
+        AudioCodec codecFor(String receiver) {
+            return receiver.equals(caller) ? callerCodec : calleeCodec;
+        }
+
+        void setCodecFor(String receiver, AudioCodec codec) {
+            if (receiver.equals(caller)) {
+                callerCodec = codec;
+            } else {
+                calleeCodec = codec;
+            }
+        }
+
+        VoiceActivityDetector vadFrom(String sender) {
+            return sender.equals(caller) ? callerVad : calleeVad;
+        }
+
+        QualityLadder ladderFor(String sender) {
+            return sender.equals(caller) ? callerLadder : calleeLadder;
+        }
+
+        int rateFrom(String sender) {
+            return sender.equals(caller) ? callerRate : calleeRate;
+        }
+
+        void setRateFrom(String sender, int rate) {
+            if (sender.equals(caller)) {
+                callerRate = rate;
+            } else {
+                calleeRate = rate;
+            }
+        }
     }
-    
-    private void addPendingEndedCall(String userId, String fromUser) {
-        pendingEndedCalls.computeIfAbsent(userId, k -> new ArrayList<>()).add(fromUser);
+
+    /**
+     * Ruta inmutable del audio de un usuario: a quién va y por qué proxy
+     */
+    private static final class CallRoute {
+        final Call call;
+        final String peer;
+        final AudioObserverPrx target;
+        // El mismo destino en oneway (envío inmediato) y batch-oneway (salida con reloj)
+        final AudioObserverPrx oneway;
+        final AudioObserverPrx batch;
+        final StreamMetrics metrics;
+        final JitterBuffer jitter;
+
+        CallRoute(Call call, String peer, AudioObserverPrx target) {
+            this.call = call;
+            this.peer = peer;
+            this.target = target;
+            this.oneway = target != null ? target.ice_oneway() : null;
+            this.batch = target != null ? target.ice_batchOneway() : null;
+            this.metrics = call.metricsFrom(call.peerOf(peer));
+            this.jitter = call.jitterFrom(call.peerOf(peer));
+        }
+
+        CallRoute withTarget(AudioObserverPrx newTarget) {
+            return new CallRoute(call, peer, newTarget);
+        }
     }
-}
\ No newline at end of file
+}
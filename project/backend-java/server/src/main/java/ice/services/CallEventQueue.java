@@ -0,0 +1,98 @@
+package main.java.ice.services;
+
+import AudioSystem.CallEvent;
+import AudioSystem.CallEventType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Avisos de llamada pendientes de UN usuario, en orden de llegada.
+ *
+ * Sustituye a las cuatro colas por tipo: el cliente recoge todo con una sola
+ * petición. Sin locks: los avisos van a una cola concurrente y, si hay un
+ * long-poll esperando, quien publica se queda con él (getAndSet) y lo responde.
+ * Solo hay un poll en espera por usuario; uno nuevo libera al anterior vacío.
+ */
+class CallEventQueue {
+
+    // Espera máxima de un long-poll (por debajo de los timeouts de Ice/ACM)
+    static final int MAX_WAIT_MS = 25_000;
+
+    private static final CallEvent[] EMPTY = new CallEvent[0];
+
+    private final ConcurrentLinkedQueue<CallEvent> events = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger lastSeq = new AtomicInteger();
+    private final AtomicReference<CompletableFuture<CallEvent[]>> waiter = new AtomicReference<>();
+
+    void publish(CallEventType type, String fromUser) {
+        events.add(new CallEvent(lastSeq.incrementAndGet(), type, fromUser));
+
+        CompletableFuture<CallEvent[]> waiting = waiter.getAndSet(null);
+        if (waiting != null) {
+            waiting.complete(drain());
+        }
+    }
+
+    /**
+     * Devuelve lo pendiente; si no hay nada, espera hasta waitMs a que llegue algo
+     */
+    CompletableFuture<CallEvent[]> poll(int waitMs, ScheduledExecutorService scheduler) {
+        CallEvent[] ready = drain();
+        if (ready.length > 0 || waitMs <= 0) {
+            return CompletableFuture.completedFuture(ready);
+        }
+
+        CompletableFuture<CallEvent[]> future = new CompletableFuture<>();
+        CompletableFuture<CallEvent[]> previous = waiter.getAndSet(future);
+        if (previous != null) {
+            previous.complete(EMPTY);
+        }
+
+        // Un aviso publicado entre drain() y getAndSet no vio este future
+        if (!events.isEmpty() && waiter.compareAndSet(future, null)) {
+            future.complete(drain());
+            return future;
+        }
+
+        scheduler.schedule(() -> {
+            if (waiter.compareAndSet(future, null)) {
+                future.complete(EMPTY);
+            }
+        }, Math.min(waitMs, MAX_WAIT_MS), TimeUnit.MILLISECONDS);
+        return future;
+    }
+
+    /**
+     * El usuario se desconectó: responder el poll que estuviera esperando
+     */
+    void close() {
+        CompletableFuture<CallEvent[]> waiting = waiter.getAndSet(null);
+        if (waiting != null) {
+            waiting.complete(EMPTY);
+        }
+    }
+
+    /**
+     * Vacía con poll() en lugar de quitar la cola del mapa:
+     * así no se pierde un aviso que llegue mientras se lee
+     */
+    private CallEvent[] drain() {
+        if (events.isEmpty()) {
+            return EMPTY;
+        }
+
+        List<CallEvent> batch = new ArrayList<>();
+        CallEvent event;
+        while ((event = events.poll()) != null) {
+            batch.add(event);
+        }
+        return batch.toArray(EMPTY);
+    }
+}
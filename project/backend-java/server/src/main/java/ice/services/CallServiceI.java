@@ -0,0 +1,613 @@
+package ice.services;
+
+import ChatSystem.*;
+import com.zeroc.Ice.Current;
+import com.zeroc.Ice.OperationNotExistException;
+import utils.HashedWheelTimer;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Servicio de señalización de llamadas (ofertas/respuestas SDP y candidatos ICE)
+ * ✅ Cada llamada es una máquina de estados explícita:
+ *    Ringing → Accepted / Rejected / Busy / NoAnswer, y Ringing o Accepted → Ended
+ * ✅ Sesiones en una tabla concurrente; cada sesión serializa SUS transiciones
+ * ✅ Busy inmediato si el destinatario ya está en una llamada; NoAnswer al vencer
+ *    el timbre (un timeout por sesión en la rueda compartida)
+ * ✅ Avisos por CallCallback; si el callback falla, el usuario pasa a polling
+ * ✅ Los candidatos ICE que llegan seguidos viajan en UN lote por callback
+ */
+public class CallServiceI implements CallService {
+
+    // Tiempo que suena una llamada antes de pasar a NoAnswer
+    public static final long DEFAULT_RING_TIMEOUT_MS = 30_000;
+
+    // Ventana para juntar candidatos ICE (el trickle manda varios en ráfaga)
+    private static final long CANDIDATE_FLUSH_MS = 40;
+
+    private final HashedWheelTimer timer;
+    private final long ringTimeoutMillis;
+
+    // Mapa: callId → sesión (solo llamadas sonando o en curso)
+    private final Map<String, CallSession> sessions = new ConcurrentHashMap<>();
+
+    // Mapa: usuario → llamada aceptada en la que está (ruta de sendAudioChunk)
+    private final Map<String, CallSession> activeCallOf = new ConcurrentHashMap<>();
+
+    // Mapa: usuario → buzón de señalización (callback o polling)
+    private final Map<String, Subscriber> subscribers = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "call-signaling");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public CallServiceI(HashedWheelTimer timer) {
+        this(timer, DEFAULT_RING_TIMEOUT_MS);
+    }
+
+    public CallServiceI(HashedWheelTimer timer, long ringTimeoutMillis) {
+        this.timer = timer;
+        this.ringTimeoutMillis = ringTimeoutMillis;
+        System.out.println("✅ CallServiceI inicializado (timbre " + ringTimeoutMillis / 1000
+            + " s, lotes de candidatos cada " + CANDIDATE_FLUSH_MS + " ms)");
+    }
+
+    // ========================================
+    // SEÑALIZACIÓN
+    // ========================================
+
+    /**
+     * @return el callId de la nueva llamada, o "" si no es válida
+     */
+    @Override
+    public String initiateCall(String caller, String callee, CallType type, String sdp, Current current) {
+        if (caller == null || callee == null || caller.isEmpty() || caller.equals(callee)) {
+            System.out.println("❌ [CALL] Llamada inválida: " + caller + " → " + callee);
+            return "";
+        }
+
+        CallSession session = new CallSession(UUID.randomUUID().toString(), caller, callee, type);
+        sessions.put(session.callId, session);
+
+        // Ya está hablando con alguien: Busy sin hacerle sonar
+        if (activeCallOf.containsKey(callee)) {
+            if (transition(session, CallStatus.Busy)) {
+                pushAnswer(caller, outcome(session.callId, CallStatus.Busy));
+            }
+            return session.callId;
+        }
+
+        // Si acaba sin respuesta antes, transition() cancela el timeout
+        session.ringTimeout = timer.schedule(() -> ringTimedOut(session), ringTimeoutMillis, TimeUnit.MILLISECONDS);
+        System.out.println("📞 [CALL] " + session + " sonando");
+
+        CallOffer offer = new CallOffer();
+        offer.callId = session.callId;
+        offer.caller = caller;
+        offer.callee = callee;
+        offer.callType = type;
+        offer.sdp = sdp;
+        offer.timestamp = session.createdAt;
+        Subscriber subscriber = subscribers.get(callee);
+        if (subscriber != null) {
+            subscriber.pushOffer(offer);
+        } else {
+            System.out.println("⚠️ [CALL] " + callee + " no está suscrito: sonará hasta el timeout");
+        }
+
+        return session.callId;
+    }
+
+    /**
+     * El destinatario contesta: Accepted, Rejected, Busy o NoAnswer
+     * @return el estado de la llamada tras la respuesta ("" si no existe)
+     */
+    @Override
+    public String answerCall(String callId, String callee, CallStatus status, String sdp, Current current) {
+        CallSession session = sessions.get(callId);
+        if (session == null) {
+            return "";
+        }
+        if (!session.callee.equals(callee) || status == CallStatus.Ringing || status == CallStatus.Ended) {
+            System.out.println("⚠️ [CALL] Respuesta inválida de " + callee + " (" + status + ") a " + session);
+            return session.getState().name();
+        }
+        if (!transition(session, status)) {
+            return session.getState().name();
+        }
+
+        CallAnswer answer = outcome(callId, status);
+        answer.sdp = sdp;
+        pushAnswer(session.caller, answer);
+
+        return status.name();
+    }
+
+    /**
+     * Tarea de la rueda: el destinatario no contestó a tiempo
+     */
+    private void ringTimedOut(CallSession session) {
+        if (transition(session, CallStatus.NoAnswer)) {
+            pushAnswer(session.caller, outcome(session.callId, CallStatus.NoAnswer));
+            pushEnded(session.callee, session.callId, "no-answer");
+        }
+    }
+
+    private static CallAnswer outcome(String callId, CallStatus status) {
+        CallAnswer answer = new CallAnswer();
+        answer.callId = callId;
+        answer.sdp = "";
+        answer.status = status;
+        return answer;
+    }
+
+    @Override
+    public void endCall(String callId, String username, Current current) {
+        CallSession session = sessions.get(callId);
+        if (session == null || !session.involves(username)) {
+            return;
+        }
+
+        CallStatus before = session.getState();
+        if (transition(session, CallStatus.Ended)) {
+            String reason = before == CallStatus.Ringing ? "cancelled" : "hangup";
+            pushEnded(session.peerOf(username), callId, reason);
+        }
+    }
+
+    @Override
+    public void sendRtcCandidate(String callId, String username, String candidate, String sdpMid,
+                                 int sdpMLineIndex, Current current) {
+        CallSession session = sessions.get(callId);
+        if (session == null || !session.involves(username)) {
+            return;
+        }
+
+        RtcCandidate c = new RtcCandidate();
+        c.callId = callId;
+        c.candidate = candidate;
+        c.sdpMid = sdpMid;
+        c.sdpMLineIndex = sdpMLineIndex;
+
+        String target = session.peerOf(username);
+        Subscriber subscriber = subscribers.get(target);
+        if (subscriber != null && subscriber.addCandidate(c)) {
+            flusher.schedule(() -> flushCandidates(subscriber), CANDIDATE_FLUSH_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Aplica una transición bajo el lock de la sesión y actualiza las tablas
+     * @return false si la transición no está permitida desde el estado actual
+     */
+    private boolean transition(CallSession session, CallStatus to) {
+        CallStatus from;
+        synchronized (session) {
+            from = session.state;
+            if (!CallSession.allowed(from, to)) {
+                return false;
+            }
+            session.state = to;
+
+            // Dejó de sonar: su timeout ya no hace falta
+            HashedWheelTimer.Timeout ringTimeout = session.ringTimeout;
+            if (from == CallStatus.Ringing && ringTimeout != null) {
+                ringTimeout.cancel();
+            }
+
+            if (to == CallStatus.Accepted) {
+                activeCallOf.put(session.caller, session);
+                activeCallOf.put(session.callee, session);
+            } else {
+                // Cualquier otro destino cierra la sesión
+                sessions.remove(session.callId, session);
+                activeCallOf.remove(session.caller, session);
+                activeCallOf.remove(session.callee, session);
+            }
+        }
+
+        System.out.println("📞 [CALL] " + session + ": " + from + " → " + to);
+        return true;
+    }
+
+    // ========================================
+    // SUSCRIPCIÓN
+    // ========================================
+
+    @Override
+    public void subscribe(String username, CallCallbackPrx callback, Current current) {
+        CallCallbackPrx proxy = callback;
+        if (proxy != null && current.con != null) {
+            // Bidireccional: responder por la misma conexión WebSocket
+            proxy = proxy.ice_fixed(current.con);
+        }
+
+        Subscriber subscriber = subscribers.computeIfAbsent(username, Subscriber::new);
+        subscriber.callback = proxy;
+        subscriber.batchCandidates = true;
+
+        // Lo que se acumuló mientras hacía polling sale ahora por el callback
+        if (proxy != null) {
+            redeliver(subscriber);
+            flushCandidates(subscriber);
+        }
+
+        System.out.println("👀 [CALL] " + username + " suscrito (" + (proxy != null ? "callback" : "polling") + ")");
+    }
+
+    /**
+     * Salir del servicio cuelga lo que tuviera sonando o en curso
+     */
+    @Override
+    public void unsubscribe(String username, Current current) {
+        subscribers.remove(username);
+
+        for (CallSession session : sessions.values()) {
+            if (session.involves(username)) {
+                CallStatus before = session.getState();
+                if (transition(session, CallStatus.Ended)) {
+                    String reason = before == CallStatus.Ringing ? "cancelled" : "disconnected";
+                    pushEnded(session.peerOf(username), session.callId, reason);
+                }
+            }
+        }
+        System.out.println("👋 [CALL] " + username + " desuscrito");
+    }
+
+    // ========================================
+    // POLLING
+    // ========================================
+
+    @Override
+    public CallOffer[] getPendingIncomingCalls(String username, Current current) {
+        Subscriber subscriber = subscribers.get(username);
+        if (subscriber == null) {
+            return new CallOffer[0];
+        }
+
+        return stillRinging(subscriber.drainOffers());
+    }
+
+    /**
+     * Las ofertas de llamadas que ya dejaron de sonar no se entregan
+     */
+    private CallOffer[] stillRinging(CallOffer[] offers) {
+        List<CallOffer> ringing = new ArrayList<>();
+        for (CallOffer offer : offers) {
+            CallSession session = sessions.get(offer.callId);
+            if (session != null && session.getState() == CallStatus.Ringing) {
+                ringing.add(offer);
+            }
+        }
+        return ringing.toArray(new CallOffer[0]);
+    }
+
+    @Override
+    public CallAnswer[] getPendingCallAnswers(String username, Current current) {
+        Subscriber subscriber = subscribers.get(username);
+        return subscriber == null ? new CallAnswer[0] : subscriber.drainAnswers();
+    }
+
+    @Override
+    public RtcCandidate[] getPendingRtcCandidates(String username, Current current) {
+        Subscriber subscriber = subscribers.get(username);
+        return subscriber == null ? new RtcCandidate[0] : subscriber.drainCandidates();
+    }
+
+    // ========================================
+    // AUDIO
+    // ========================================
+
+    @Override
+    public void sendAudioChunk(String username, byte[] audioData, Current current) {
+        CallSession session = activeCallOf.get(username);
+        if (session == null) {
+            return;
+        }
+
+        Subscriber peer = subscribers.get(session.peerOf(username));
+        CallCallbackPrx callback = peer != null ? peer.callback : null;
+        if (callback == null) {
+            return;
+        }
+
+        AudioChunk chunk = new AudioChunk();
+        chunk.data = audioData;
+        chunk.timestamp = System.currentTimeMillis();
+        try {
+            callback.onAudioChunkAsync(chunk);
+        } catch (Exception e) {
+            // El audio en tiempo real no se reintenta
+        }
+    }
+
+    // ========================================
+    // ENTREGA
+    // ========================================
+
+    /**
+     * Solo hay buzón para quien se suscribió: uno creado para cualquier
+     * destinatario nunca se vaciaría ni se borraría
+     */
+    private void pushAnswer(String username, CallAnswer answer) {
+        Subscriber subscriber = subscribers.get(username);
+        if (subscriber != null) {
+            subscriber.pushAnswer(answer);
+        }
+    }
+
+    private void pushEnded(String username, String callId, String reason) {
+        Subscriber subscriber = subscribers.get(username);
+        if (subscriber != null) {
+            subscriber.pushEnded(callId, reason);
+        }
+    }
+
+    /**
+     * Reenvía por el callback lo que esperaba al polling
+     */
+    private void redeliver(Subscriber subscriber) {
+        for (CallOffer offer : stillRinging(subscriber.drainOffers())) {
+            subscriber.pushOffer(offer);
+        }
+        for (CallAnswer answer : subscriber.drainAnswers()) {
+            if (answer.status == CallStatus.Ended) {
+                subscriber.pushEnded(answer.callId, "ended");
+            } else {
+                subscriber.pushAnswer(answer);
+            }
+        }
+    }
+
+    /**
+     * Envía en UN lote los candidatos acumulados para el usuario
+     */
+    private void flushCandidates(Subscriber subscriber) {
+        CallCallbackPrx callback = subscriber.callback;
+        if (callback == null) {
+            subscriber.flushDone();
+            return;
+        }
+
+        RtcCandidate[] batch = subscriber.drainCandidates();
+        if (batch.length == 0) {
+            return;
+        }
+
+        try {
+            if (subscriber.batchCandidates) {
+                callback.onRtcCandidatesAsync(batch).whenComplete((r, ex) -> {
+                    if (ex instanceof OperationNotExistException) {
+                        // Cliente antiguo sin onRtcCandidates: uno por uno
+                        subscriber.batchCandidates = false;
+                        sendOneByOne(subscriber, callback, batch);
+                    } else if (ex != null) {
+                        subscriber.fallBackToPolling(ex);
+                        subscriber.requeueCandidates(batch);
+                    }
+                });
+            } else {
+                sendOneByOne(subscriber, callback, batch);
+            }
+        } catch (Exception e) {
+            subscriber.fallBackToPolling(e);
+            subscriber.requeueCandidates(batch);
+        }
+    }
+
+    private static void sendOneByOne(Subscriber subscriber, CallCallbackPrx callback, RtcCandidate[] batch) {
+        for (RtcCandidate c : batch) {
+            callback.onRtcCandidateAsync(c).whenComplete((r, ex) -> {
+                if (ex != null) {
+                    subscriber.fallBackToPolling(ex);
+                    subscriber.requeueCandidates(new RtcCandidate[]{c});
+                }
+            });
+        }
+    }
+
+    // ========================================
+    // CLASES INTERNAS
+    // ========================================
+
+    /**
+     * Una llamada; su monitor serializa las transiciones de estado
+     */
+    private static class CallSession {
+        final String callId;
+        final String caller;
+        final String callee;
+        final CallType type;
+        final long createdAt = System.currentTimeMillis();
+
+        CallStatus state = CallStatus.Ringing;  // protegido por synchronized(this)
+        volatile HashedWheelTimer.Timeout ringTimeout;
+
+        CallSession(String callId, String caller, String callee, CallType type) {
+            this.callId = callId;
+            this.caller = caller;
+            this.callee = callee;
+            this.type = type;
+        }
+
+        static boolean allowed(CallStatus from, CallStatus to) {
+            switch (from) {
+                case Ringing:
+                    return to != CallStatus.Ringing;
+                case Accepted:
+                    return to == CallStatus.Ended;
+                default:
+                    // Rejected, Busy, NoAnswer y Ended son finales
+                    return false;
+            }
+        }
+
+        synchronized CallStatus getState() {
+            return state;
+        }
+
+        boolean involves(String username) {
+            return caller.equals(username) || callee.equals(username);
+        }
+
+        String peerOf(String username) {
+            return caller.equals(username) ? callee : caller;
+        }
+
+        @Override
+        public String toString() {
+            return caller + " → " + callee + " [" + callId.substring(0, 8) + "]";
+        }
+    }
+
+    /**
+     * Buzón de señalización de un usuario. Con callback se empuja todo al
+     * momento (los candidatos en lotes); sin él, se acumula para el polling.
+     */
+    private static class Subscriber {
+        final String username;
+        volatile CallCallbackPrx callback;
+        volatile boolean batchCandidates = true;
+
+        private final Deque<CallOffer> offers = new ArrayDeque<>();
+        private final Deque<CallAnswer> answers = new ArrayDeque<>();
+        private final List<RtcCandidate> candidates = new ArrayList<>();
+        private boolean flushScheduled = false;
+
+        Subscriber(String username) {
+            this.username = username;
+        }
+
+        void pushOffer(CallOffer offer) {
+            CallCallbackPrx cb = callback;
+            if (cb == null) {
+                synchronized (this) {
+                    offers.add(offer);
+                }
+                return;
+            }
+            try {
+                cb.onIncomingCallAsync(offer).whenComplete((r, ex) -> {
+                    if (ex != null) {
+                        fallBackToPolling(ex);
+                        synchronized (this) {
+                            offers.add(offer);
+                        }
+                    }
+                });
+            } catch (Exception e) {
+                fallBackToPolling(e);
+                synchronized (this) {
+                    offers.add(offer);
+                }
+            }
+        }
+
+        void pushAnswer(CallAnswer answer) {
+            CallCallbackPrx cb = callback;
+            if (cb == null) {
+                synchronized (this) {
+                    answers.add(answer);
+                }
+                return;
+            }
+            try {
+                cb.onCallAnswerAsync(answer).whenComplete((r, ex) -> {
+                    if (ex != null) {
+                        fallBackToPolling(ex);
+                        synchronized (this) {
+                            answers.add(answer);
+                        }
+                    }
+                });
+            } catch (Exception e) {
+                fallBackToPolling(e);
+                synchronized (this) {
+                    answers.add(answer);
+                }
+            }
+        }
+
+        /**
+         * Por polling el fin de llamada llega como una respuesta con estado Ended
+         */
+        void pushEnded(String callId, String reason) {
+            CallAnswer ended = outcome(callId, CallStatus.Ended);
+
+            CallCallbackPrx cb = callback;
+            if (cb == null) {
+                synchronized (this) {
+                    answers.add(ended);
+                }
+                return;
+            }
+            try {
+                cb.onCallEndedAsync(callId, reason).whenComplete((r, ex) -> {
+                    if (ex != null) {
+                        fallBackToPolling(ex);
+                        synchronized (this) {
+                            answers.add(ended);
+                        }
+                    }
+                });
+            } catch (Exception e) {
+                fallBackToPolling(e);
+                synchronized (this) {
+                    answers.add(ended);
+                }
+            }
+        }
+
+        /**
+         * @return true si hay que programar un envío (primer candidato del lote)
+         */
+        synchronized boolean addCandidate(RtcCandidate c) {
+            candidates.add(c);
+            if (callback == null || flushScheduled) {
+                return false;
+            }
+            flushScheduled = true;
+            return true;
+        }
+
+        synchronized void requeueCandidates(RtcCandidate[] batch) {
+            candidates.addAll(0, Arrays.asList(batch));
+        }
+
+        synchronized RtcCandidate[] drainCandidates() {
+            RtcCandidate[] batch = candidates.toArray(new RtcCandidate[0]);
+            candidates.clear();
+            flushScheduled = false;
+            return batch;
+        }
+
+        synchronized void flushDone() {
+            flushScheduled = false;
+        }
+
+        synchronized CallOffer[] drainOffers() {
+            CallOffer[] batch = offers.toArray(new CallOffer[0]);
+            offers.clear();
+            return batch;
+        }
+
+        synchronized CallAnswer[] drainAnswers() {
+            CallAnswer[] batch = answers.toArray(new CallAnswer[0]);
+            answers.clear();
+            return batch;
+        }
+
+        void fallBackToPolling(Throwable error) {
+            if (callback != null) {
+                System.err.println("⚠️ [CALL] Callback de " + username + " falló, pasa a polling: " + error);
+                callback = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package main.java.ice.services;
+
+import audio.StreamMetrics;
+import com.zeroc.Ice.InvocationFuture;
+import com.zeroc.Ice.Util;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Envíos de audio a UN oyente que todavía no salieron por su conexión.
+ *
+ * receiveAudioAsync no bloquea: si el WebSocket del oyente va lento, Ice
+ * encola las peticiones sin límite y la latencia crece sin parar. Aquí se
+ * guardan las invocaciones sin enviar; al pasar de maxPending se cancela la
+ * más vieja (Ice la saca de la cola de la conexión). Así un oyente lento solo
+ * pierde SU audio y nunca acumula más de maxPending tramas de retraso.
+ */
+class ListenerBacklog {
+
+    // ~370 ms de audio con tramas de 46 ms
+    public static final int DEFAULT_MAX_PENDING = 8;
+
+    // Cada cuántos descartes se vuelve a avisar en el log
+    private static final int LOG_EVERY_DROPS = 50;
+
+    private final String listener;
+    private final int maxPending;
+
+    private final ArrayDeque<InvocationFuture<?>> pending = new ArrayDeque<>();
+    private int peak = 0;
+    private long sent = 0;
+    private long dropped = 0;
+
+    ListenerBacklog(String listener, int maxPending) {
+        this.listener = listener;
+        this.maxPending = Math.max(1, maxPending);
+    }
+
+    /**
+     * Registra una invocación recién hecha hacia este oyente
+     */
+    void track(CompletableFuture<?> future) {
+        track(future, null, 0);
+    }
+
+    /**
+     * Igual, y al salir la trama anota en metrics cuánto tardó desde arrivalNanos
+     * (metrics null o arrivalNanos 0: no se mide)
+     */
+    void track(CompletableFuture<?> future, StreamMetrics metrics, long arrivalNanos) {
+        InvocationFuture<?> invocation = Util.getInvocationFuture(future);
+        boolean measure = metrics != null && arrivalNanos != 0;
+
+        // Caso normal: se escribió en el socket sin esperar
+        if (invocation.sentSynchronously()) {
+            synchronized (this) {
+                sent++;
+            }
+            if (measure) {
+                metrics.forwarded(arrivalNanos);
+            }
+            return;
+        }
+
+        InvocationFuture<?> oldest = null;
+        synchronized (this) {
+            if (pending.size() >= maxPending) {
+                oldest = pending.pollFirst();
+                dropped++;
+                if (dropped == 1 || dropped % LOG_EVERY_DROPS == 0) {
+                    System.out.println("⚠️ [AUDIO] Oyente lento " + listener + ": " + maxPending
+                        + " tramas sin enviar, " + dropped + " descartadas");
+                }
+            }
+            pending.addLast(invocation);
+            peak = Math.max(peak, pending.size());
+        }
+
+        // Fuera del lock: cancelar completa el future y dispara su whenSent
+        if (oldest != null) {
+            oldest.cancel();
+        }
+
+        invocation.whenSent((sentSynchronously, error) -> {
+            onSent(invocation, error == null);
+            if (measure && error == null) {
+                metrics.forwarded(arrivalNanos);
+            }
+        });
+    }
+
+    private synchronized void onSent(InvocationFuture<?> invocation, boolean ok) {
+        if (pending.remove(invocation) && ok) {
+            sent++;
+        }
+    }
+
+    synchronized int getPending() {
+        return pending.size();
+    }
+
+    synchronized int getPeak() {
+        return peak;
+    }
+
+    synchronized long getSent() {
+        return sent;
+    }
+
+    synchronized long getDropped() {
+        return dropped;
+    }
+
+    /**
+     * La conexión se cerró: lo pendiente ya no saldrá
+     */
+    void discard() {
+        InvocationFuture<?>[] left;
+        synchronized (this) {
+            left = pending.toArray(new InvocationFuture<?>[0]);
+            pending.clear();
+        }
+        for (InvocationFuture<?> invocation : left) {
+            invocation.cancel();
+        }
+    }
+}
@@ -2,23 +2,82 @@ package ice.services;
 
 import ChatSystem.*;
 import com.zeroc.Ice.Current;
+import utils.HistoryManager;
+import utils.OfflineQueue;
+import utils.OfflineQueue.OverflowPolicy;
+import utils.UnreadCounters;
+
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Servicio de notificaciones con POLLING
  * ✅ getNewMessages() devuelve mensajes pendientes
+ * ✅ Varios dispositivos por usuario, cada uno con su propio cursor
  */
 public class NotificationServiceI implements NotificationService {
     
-    // Mapa: usuario → cola de mensajes pendientes
-    private final Map<String, Queue<Message>> pendingMessages = new ConcurrentHashMap<>();
+    // Valores por defecto de las colas offline
+    public static final int DEFAULT_MAX_QUEUE_SIZE = 500;
+    public static final long DEFAULT_IDLE_TTL_MS = TimeUnit.HOURS.toMillis(24);
+    
+    // Tamaño de página de getMessagesSince
+    private static final int DEFAULT_SYNC_LIMIT = 100;
+    private static final int MAX_SYNC_LIMIT = 500;
+    
+    // Mapa: usuario → cola de mensajes pendientes (acotada)
+    private final Map<String, OfflineQueue> pendingMessages = new ConcurrentHashMap<>();
     
     // Mapa: usuario → callbacks (opcional, para future use)
     private final Map<String, NotificationCallbackPrx> subscribers = new ConcurrentHashMap<>();
     
-    public NotificationServiceI() {
+    private final HistoryManager historyManager;
+    private final UnreadCounters unreadCounters = new UnreadCounters();
+    private final int maxQueueSize;
+    private final OverflowPolicy overflowPolicy;
+    private final long idleTtlMillis;
+    private final long deviceIdleTtlMillis;
+    
+    // Hilo que expulsa las colas de usuarios inactivos
+    private final ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "offline-queue-evictor");
+        t.setDaemon(true);
+        return t;
+    });
+    
+    public NotificationServiceI(HistoryManager historyManager) {
+        this(historyManager, DEFAULT_MAX_QUEUE_SIZE, OverflowPolicy.SPILL_TO_DISK, DEFAULT_IDLE_TTL_MS);
+    }
+    
+    public NotificationServiceI(HistoryManager historyManager, int maxQueueSize,
+                                OverflowPolicy overflowPolicy, long idleTtlMillis) {
+        this(historyManager, maxQueueSize, overflowPolicy, idleTtlMillis,
+            OfflineQueue.DEFAULT_DEVICE_IDLE_TTL_MS);
+    }
+    
+    /**
+     * @param deviceIdleTtlMillis un dispositivo que no consulta en este tiempo deja de retener
+     *                            mensajes (si vuelve, sigue desde su cursor o recibe un RESYNC)
+     */
+    public NotificationServiceI(HistoryManager historyManager, int maxQueueSize,
+                                OverflowPolicy overflowPolicy, long idleTtlMillis, long deviceIdleTtlMillis) {
+        this.historyManager = historyManager;
+        this.maxQueueSize = maxQueueSize;
+        this.overflowPolicy = overflowPolicy;
+        this.idleTtlMillis = idleTtlMillis;
+        this.deviceIdleTtlMillis = deviceIdleTtlMillis;
+        
+        long sweepEvery = Math.max(1000, Math.min(Math.min(idleTtlMillis, deviceIdleTtlMillis) / 4,
+            TimeUnit.MINUTES.toMillis(1)));
+        evictor.scheduleWithFixedDelay(this::evictIdleQueues, sweepEvery, sweepEvery, TimeUnit.MILLISECONDS);
+        
         System.out.println("✅ NotificationServiceI inicializado");
+        System.out.println("   📦 Cola offline: " + maxQueueSize + " msg/usuario, política " + overflowPolicy
+            + ", TTL " + TimeUnit.MILLISECONDS.toMinutes(idleTtlMillis) + " min (dispositivos "
+            + TimeUnit.MILLISECONDS.toMinutes(deviceIdleTtlMillis) + " min)");
     }
     
     // ========================================
@@ -56,25 +115,116 @@ public class NotificationServiceI implements NotificationService {
     
     @Override
     public Message[] getNewMessages(String username, Current current) {
-        // System.out.println("📬 [POLLING] " + username + " consultando mensajes...");
+        // Clientes sin deviceId comparten el dispositivo por defecto
+        return getNewMessagesForDevice(username, OfflineQueue.DEFAULT_DEVICE, current);
+    }
+    
+    /**
+     * Polling por dispositivo: cada pestaña/navegador avanza su propio cursor
+     * sobre la cola compartida del usuario, así que ninguno le "roba" mensajes a otro
+     */
+    @Override
+    public Message[] getNewMessagesForDevice(String username, String deviceId, Current current) {
+        // System.out.println("📬 [POLLING] " + username + "@" + deviceId + " consultando mensajes...");
+        
+        // Crear la cola si no existe: así el dispositivo queda registrado desde su primera consulta
+        OfflineQueue queue = queueFor(username);
         
-        Queue<Message> messages = pendingMessages.getOrDefault(username, new LinkedList<>());
+        // Obtener lo pendiente para ESTE dispositivo (memoria + disco)
+        Message[] result = queue.drain(deviceId).toArray(new Message[0]);
         
-        if (messages.isEmpty()) {
-            return new Message[0];
+        if (result.length > 0) {
+            System.out.println("📬 [POLLING] " + username + "@" + deviceId + " recibe " + result.length + " mensaje(s)");
         }
         
-        // Obtener todos los mensajes pendientes
-        Message[] result = messages.toArray(new Message[0]);
+        return result;
+    }
+    
+    @Override
+    public void registerDevice(String username, String deviceId, Current current) {
+        OfflineQueue queue = queueFor(username);
+        queue.registerDevice(deviceId);
+        System.out.println("📱 Dispositivo registrado: " + username + "@" + deviceId
+            + " (" + queue.getDeviceCount() + " activo(s))");
+    }
+    
+    @Override
+    public void unregisterDevice(String username, String deviceId, Current current) {
+        OfflineQueue queue = pendingMessages.get(username);
+        if (queue != null) {
+            queue.unregisterDevice(deviceId);
+            System.out.println("📴 Dispositivo desconectado: " + username + "@" + deviceId);
+        }
+    }
+    
+    private OfflineQueue queueFor(String username) {
+        return pendingMessages.computeIfAbsent(username, k -> new OfflineQueue(k, maxQueueSize, overflowPolicy,
+            deviceIdleTtlMillis));
+    }
+    
+    // ========================================
+    // SINCRONIZACIÓN INCREMENTAL (cursor)
+    // ========================================
+    
+    /**
+     * Devuelve lo que el usuario no ha confirmado, en páginas acotadas.
+     * No consume nada: si la respuesta se pierde, basta con repetir la llamada.
+     */
+    @Override
+    public SyncPage getMessagesSince(String username, long cursor, int limit, Current current) {
+        if (cursor < 0) {
+            cursor = historyManager.getSyncCursor(username);
+        }
+        if (limit <= 0) {
+            limit = DEFAULT_SYNC_LIMIT;
+        }
+        limit = Math.min(limit, MAX_SYNC_LIMIT);
         
-        // Limpiar cola
-        messages.clear();
+        // Leer el final ANTES de escanear: lo que llegue después queda para la próxima página
+        long latest = historyManager.getLatestSeq();
+        List<HistoryManager.ChatMessage> found = historyManager.getMessagesSince(username, cursor, limit);
         
-        if (result.length > 0) {
-            System.out.println("📬 [POLLING] " + username + " recibe " + result.length + " mensaje(s)");
+        SyncPage page = new SyncPage();
+        page.hasMore = found.size() > limit;
+        if (page.hasMore) {
+            found = found.subList(0, limit);
         }
         
-        return result;
+        page.messages = new Message[found.size()];
+        for (int i = 0; i < found.size(); i++) {
+            page.messages[i] = toMessage(found.get(i));
+        }
+        
+        // Sin más páginas el cursor salta al final del historial (evita re-escanear)
+        long lastSeen = found.isEmpty() ? cursor : found.get(found.size() - 1).seq;
+        page.nextCursor = page.hasMore ? lastSeen : Math.max(lastSeen, Math.max(cursor, latest));
+        
+        if (page.messages.length > 0) {
+            System.out.println("🔄 [SYNC] " + username + " desde #" + cursor + ": "
+                + page.messages.length + " mensaje(s)" + (page.hasMore ? " (hay más)" : ""));
+        }
+        return page;
+    }
+    
+    /**
+     * El cliente confirma lo recibido hasta cursor
+     */
+    @Override
+    public void ackMessages(String username, long cursor, Current current) {
+        if (historyManager.advanceSyncCursor(username, cursor)) {
+            System.out.println("🔄 [SYNC] " + username + " confirmó hasta #" + cursor);
+        }
+    }
+    
+    private static Message toMessage(HistoryManager.ChatMessage chatMsg) {
+        Message msg = new Message();
+        msg.sender = chatMsg.sender;
+        msg.recipient = chatMsg.recipient;
+        msg.content = chatMsg.content;
+        msg.type = chatMsg.type;
+        msg.timestamp = chatMsg.timestamp;
+        msg.isGroup = chatMsg.isGroup;
+        return msg;
     }
     
     // ========================================
@@ -85,6 +235,9 @@ public class NotificationServiceI implements NotificationService {
      * Llamado por ChatServiceI para encolar un mensaje
      */
     public void notifyNewMessage(String targetUser, Message msg) {
+        // Badge: +1 en la conversación (el remitente en privados, el grupo en grupales)
+        unreadCounters.increment(targetUser, msg.isGroup ? msg.recipient : msg.sender, msg.isGroup);
+        
         System.out.println("\n🔔 ════════════════════════════════════");
         System.out.println("📢 ENCOLANDO MENSAJE");
         System.out.println("════════════════════════════════════");
@@ -93,24 +246,73 @@ public class NotificationServiceI implements NotificationService {
         System.out.println("   📝 Msg: " + msg.content.substring(0, Math.min(msg.content.length(), 40)));
         System.out.println("════════════════════════════════════");
         
-        // Crear o obtener la cola del usuario
-        Queue<Message> queue = pendingMessages.computeIfAbsent(targetUser, k -> new LinkedList<>());
-        
-        // Agregar el mensaje
-        queue.add(msg);
+        // Crear u obtener la cola del usuario y agregar el mensaje una sola vez:
+        // todos sus dispositivos lo leen de ahí. Se encola fuera del lock del mapa
+        // (el desborde escribe en disco); si la expulsión la descartó entretanto,
+        // offer lo dice y se reintenta con la cola nueva
+        OfflineQueue queue;
+        do {
+            queue = queueFor(targetUser);
+        } while (!queue.offer(msg));
         
         System.out.println("   ✅ Mensaje encolado");
-        System.out.println("   📊 Cola de " + targetUser + ": " + queue.size() + " mensaje(s)");
+        System.out.println("   📊 Cola de " + targetUser + ": " + queue.size() + " mensaje(s)"
+            + (queue.getSpilledCount() > 0 ? " (" + queue.getSpilledCount() + " en disco)" : ""));
         System.out.println("🔔 ════════════════════════════════════\n");
     }
     
     // ========================================
-    // MÉTODOS NO USADOS (placeholder)
+    // EXPULSIÓN DE COLAS INACTIVAS
     // ========================================
     
+    private void evictIdleQueues() {
+        long now = System.currentTimeMillis();
+        
+        for (String username : pendingMessages.keySet()) {
+            pendingMessages.computeIfPresent(username, (k, queue) -> {
+                // Los dispositivos que dejaron de consultar ya no retienen mensajes
+                queue.evictIdleDevices(now);
+                if (!queue.isIdle(now, idleTtlMillis)) {
+                    return queue;
+                }
+                System.out.println("🧹 Cola offline expulsada: " + k + " (" + queue.size() + " msg)");
+                queue.discard();
+                return null;
+            });
+        }
+    }
+    
+    // ========================================
+    // NO LEÍDOS
+    // ========================================
+    
+    /**
+     * Todos los badges del usuario en una sola llamada (sin recorrer mensajes)
+     */
+    @Override
+    public UnreadCount[] getUnreadCounts(String username, Current current) {
+        Map<String, Integer> snapshot = unreadCounters.snapshot(username);
+        
+        List<UnreadCount> result = new ArrayList<>(snapshot.size());
+        for (Map.Entry<String, Integer> entry : snapshot.entrySet()) {
+            UnreadCount count = new UnreadCount();
+            count.conversation = UnreadCounters.conversationOf(entry.getKey());
+            count.isGroup = UnreadCounters.isGroupKey(entry.getKey());
+            count.count = entry.getValue();
+            result.add(count);
+        }
+        return result.toArray(new UnreadCount[0]);
+    }
+    
+    @Override
+    public void markConversationRead(String username, String conversation, boolean isGroup, Current current) {
+        unreadCounters.markRead(username, conversation, isGroup);
+    }
+    
     @Override
     public void markAsRead(String username, Current current) {
-        // No implementado
+        unreadCounters.markAllRead(username);
+        System.out.println("[✓] " + username + " marcó todo como leído");
     }
     
     // ========================================
@@ -120,8 +322,10 @@ public class NotificationServiceI implements NotificationService {
     public void printStats() {
         System.out.println("\n📊 ════════ ESTADÍSTICAS ════════");
         System.out.println("   Usuarios con mensajes pendientes: " + pendingMessages.size());
-        for (Map.Entry<String, Queue<Message>> entry : pendingMessages.entrySet()) {
-            System.out.println("   • " + entry.getKey() + ": " + entry.getValue().size() + " msg");
+        for (Map.Entry<String, OfflineQueue> entry : pendingMessages.entrySet()) {
+            OfflineQueue queue = entry.getValue();
+            System.out.println("   • " + entry.getKey() + ": " + queue.size() + " msg, "
+                + queue.getDeviceCount() + " dispositivo(s) (disco: " + queue.getSpilledCount() + ", descartados: " + queue.getDroppedCount() + ")");
         }
         System.out.println("════════════════════════════════\n");
     }
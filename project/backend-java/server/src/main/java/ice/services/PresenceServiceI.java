@@ -0,0 +1,361 @@
+package ice.services;
+
+import ChatSystem.*;
+import com.zeroc.Ice.Current;
+import utils.HashedWheelTimer;
+import utils.HistoryManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Servicio de presencia basado en latidos (heartbeats)
+ * ✅ Cada sesión tiene UN timeout en la rueda compartida (sin barridos)
+ * ✅ Los cambios se envían a los contactos interesados en lotes
+ */
+public class PresenceServiceI implements PresenceService {
+
+    public static final long DEFAULT_SESSION_TTL_MS = 30_000;
+    // Tras expirar por falta de latidos, la suscripción se conserva este tiempo
+    // (pestañas en segundo plano que retrasan sus timers vuelven sin resuscribirse)
+    public static final long SUBSCRIPTION_GRACE_MS = 10 * 60_000;
+    private static final long FLUSH_INTERVAL_MS = 500;
+
+    private final HistoryManager historyManager;
+    private final HashedWheelTimer timer;
+    private final long sessionTtlMillis;
+
+    // Mapa: usuario → sesión en línea
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+
+    // Mapa: usuario → suscriptor (callback o polling)
+    private final Map<String, Subscriber> subscribers = new ConcurrentHashMap<>();
+
+    // Mapa: usuario observado → suscriptores interesados en él
+    private final Map<String, Set<String>> watchers = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "presence-flusher");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public PresenceServiceI(HistoryManager historyManager, HashedWheelTimer timer) {
+        this(historyManager, timer, DEFAULT_SESSION_TTL_MS);
+    }
+
+    public PresenceServiceI(HistoryManager historyManager, HashedWheelTimer timer, long sessionTtlMillis) {
+        this.historyManager = historyManager;
+        this.timer = timer;
+        this.sessionTtlMillis = sessionTtlMillis;
+
+        flusher.scheduleWithFixedDelay(this::flushBatches, FLUSH_INTERVAL_MS, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        System.out.println("✅ PresenceServiceI inicializado (TTL sesión: " + sessionTtlMillis + " ms)");
+    }
+
+    // ========================================
+    // LATIDOS
+    // ========================================
+
+    @Override
+    public void heartbeat(String username, Current current) {
+        touch(username);
+    }
+
+    @Override
+    public void goOffline(String username, Current current) {
+        Session session = sessions.remove(username);
+        if (session != null) {
+            session.timeout.cancel();
+            publish(username, false);
+        }
+        // Salida explícita: la suscripción termina ya
+        removeSubscriber(username);
+    }
+
+    @Override
+    public String[] getOnlineUsers(Current current) {
+        return sessions.keySet().toArray(new String[0]);
+    }
+
+    /**
+     * Registra actividad del usuario; si no estaba en línea, publica el cambio
+     */
+    private void touch(String username) {
+        long now = System.currentTimeMillis();
+        boolean[] cameOnline = {false};
+
+        sessions.compute(username, (k, session) -> {
+            if (session == null) {
+                session = new Session(k);
+                session.timeout = timer.schedule(checkExpiry(session), sessionTtlMillis, TimeUnit.MILLISECONDS);
+                cameOnline[0] = true;
+            }
+            session.lastHeartbeat = now;
+            return session;
+        });
+
+        if (cameOnline[0]) {
+            System.out.println("🟢 [PRESENCIA] " + username + " en línea");
+            // Volvió dentro del periodo de gracia: su suscripción sigue
+            Subscriber subscriber = subscribers.get(username);
+            if (subscriber != null) {
+                subscriber.cancelGrace();
+            }
+            publish(username, true);
+        }
+    }
+
+    /**
+     * Tarea de la rueda: si hubo latidos desde que se programó, se reprograma
+     * por el tiempo restante (un solo timeout por sesión, sin cancelar en cada latido)
+     */
+    private Runnable checkExpiry(Session session) {
+        return () -> {
+            boolean[] expired = {false};
+
+            sessions.computeIfPresent(session.username, (k, current) -> {
+                if (current != session) {
+                    return current;
+                }
+                long idle = System.currentTimeMillis() - session.lastHeartbeat;
+                if (idle < sessionTtlMillis) {
+                    session.timeout = timer.schedule(checkExpiry(session), sessionTtlMillis - idle, TimeUnit.MILLISECONDS);
+                    return session;
+                }
+                expired[0] = true;
+                return null;
+            });
+
+            if (expired[0]) {
+                System.out.println("⚪ [PRESENCIA] " + session.username + " expiró (sin latidos)");
+                publish(session.username, false);
+                keepSubscriptionForGrace(session.username);
+            }
+        };
+    }
+
+    /**
+     * Un latido perdido no debe dejar al cliente sin eventos para siempre: la suscripción
+     * se conserva SUBSCRIPTION_GRACE_MS y solo se elimina si en ese tiempo no volvió
+     */
+    private void keepSubscriptionForGrace(String username) {
+        Subscriber subscriber = subscribers.get(username);
+        if (subscriber == null) {
+            return;
+        }
+        subscriber.cancelGrace();
+        subscriber.grace = timer.schedule(() -> {
+            if (!sessions.containsKey(username) && subscribers.remove(username, subscriber)) {
+                unwatch(username, subscriber.contacts);
+                System.out.println("⚪ [PRESENCIA] Suscripción de " + username + " eliminada (no volvió)");
+            }
+        }, SUBSCRIPTION_GRACE_MS, TimeUnit.MILLISECONDS);
+    }
+
+    // ========================================
+    // SUSCRIPCIÓN
+    // ========================================
+
+    @Override
+    public void subscribe(String username, PresenceCallbackPrx callback, Current current) {
+        PresenceCallbackPrx proxy = callback;
+        if (proxy != null && current.con != null) {
+            // Bidireccional: responder por la misma conexión WebSocket
+            proxy = proxy.ice_fixed(current.con);
+        }
+
+        Set<String> contacts = findContacts(username);
+        Subscriber subscriber = new Subscriber(proxy, contacts);
+
+        Subscriber previous = subscribers.put(username, subscriber);
+        if (previous != null) {
+            previous.cancelGrace();
+            unwatch(username, previous.contacts);
+        }
+        for (String contact : contacts) {
+            watchers.computeIfAbsent(contact, k -> ConcurrentHashMap.newKeySet()).add(username);
+        }
+
+        // Estado inicial: contactos que ya están en línea
+        long now = System.currentTimeMillis();
+        for (String contact : contacts) {
+            if (sessions.containsKey(contact)) {
+                subscriber.enqueue(event(contact, true, now));
+            }
+        }
+
+        touch(username);
+
+        System.out.println("👀 [PRESENCIA] " + username + " suscrito (" + contacts.size() + " contactos, "
+            + (proxy != null ? "callback" : "polling") + ")");
+    }
+
+    @Override
+    public void unsubscribe(String username, Current current) {
+        removeSubscriber(username);
+    }
+
+    @Override
+    public PresenceEvent[] getPresenceChanges(String username, Current current) {
+        Subscriber subscriber = subscribers.get(username);
+        if (subscriber == null) {
+            return new PresenceEvent[0];
+        }
+        return subscriber.drain();
+    }
+
+    private void removeSubscriber(String username) {
+        Subscriber subscriber = subscribers.remove(username);
+        if (subscriber != null) {
+            subscriber.cancelGrace();
+            unwatch(username, subscriber.contacts);
+        }
+    }
+
+    private void unwatch(String username, Set<String> contacts) {
+        for (String contact : contacts) {
+            watchers.computeIfPresent(contact, (k, set) -> {
+                set.remove(username);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+
+    /**
+     * Contactos = usuarios con conversación privada + miembros de sus grupos
+     */
+    private Set<String> findContacts(String username) {
+        Set<String> contacts = new HashSet<>();
+
+        for (HistoryManager.ChatMessage msg : historyManager.getUserMessages(username)) {
+            if (!msg.isGroup) {
+                contacts.add(msg.sender.equals(username) ? msg.recipient : msg.sender);
+            }
+        }
+
+        for (String group : new ArrayList<>(historyManager.getAllGroups())) {
+            List<String> members = historyManager.getGroupMembers(group);
+            if (members.contains(username)) {
+                contacts.addAll(members);
+            }
+        }
+
+        contacts.remove(username);
+        return contacts;
+    }
+
+    // ========================================
+    // PUBLICACIÓN EN LOTES
+    // ========================================
+
+    private void publish(String username, boolean online) {
+        Set<String> interested = watchers.get(username);
+        if (interested == null) {
+            return;
+        }
+
+        PresenceEvent event = event(username, online, System.currentTimeMillis());
+        for (String watcher : interested) {
+            Subscriber subscriber = subscribers.get(watcher);
+            if (subscriber != null) {
+                subscriber.enqueue(event);
+            }
+        }
+    }
+
+    /**
+     * Envía un único lote por suscriptor con callback
+     */
+    private void flushBatches() {
+        for (Map.Entry<String, Subscriber> entry : subscribers.entrySet()) {
+            Subscriber subscriber = entry.getValue();
+            if (subscriber.callback == null || !subscriber.hasPending()) {
+                continue;
+            }
+
+            PresenceEvent[] batch = subscriber.drain();
+            try {
+                subscriber.callback.onPresenceChangedAsync(batch).whenComplete((r, ex) -> {
+                    if (ex != null) {
+                        System.err.println("⚠️ [PRESENCIA] Callback de " + entry.getKey() + " falló: " + ex);
+                        subscriber.requeue(batch);
+                        subscriber.callback = null; // Pasa a polling
+                    }
+                });
+            } catch (Exception e) {
+                System.err.println("⚠️ [PRESENCIA] Error enviando lote a " + entry.getKey() + ": " + e);
+                subscriber.requeue(batch);
+                subscriber.callback = null;
+            }
+        }
+    }
+
+    private static PresenceEvent event(String username, boolean online, long timestamp) {
+        PresenceEvent event = new PresenceEvent();
+        event.username = username;
+        event.online = online;
+        event.timestamp = timestamp;
+        return event;
+    }
+
+    // ========================================
+    // CLASES INTERNAS
+    // ========================================
+
+    private static class Session {
+        final String username;
+        volatile long lastHeartbeat;
+        volatile HashedWheelTimer.Timeout timeout;
+
+        Session(String username) {
+            this.username = username;
+        }
+    }
+
+    private static class Subscriber {
+        volatile PresenceCallbackPrx callback;
+        final Set<String> contacts;
+        volatile HashedWheelTimer.Timeout grace;  // Eliminación pendiente tras expirar la sesión
+
+        // Eventos pendientes: uno por contacto (el último gana)
+        private final Map<String, PresenceEvent> pending = new LinkedHashMap<>();
+
+        Subscriber(PresenceCallbackPrx callback, Set<String> contacts) {
+            this.callback = callback;
+            this.contacts = contacts;
+        }
+
+        void cancelGrace() {
+            HashedWheelTimer.Timeout pendingRemoval = grace;
+            if (pendingRemoval != null) {
+                pendingRemoval.cancel();
+                grace = null;
+            }
+        }
+
+        synchronized void enqueue(PresenceEvent event) {
+            pending.remove(event.username);
+            pending.put(event.username, event);
+        }
+
+        synchronized void requeue(PresenceEvent[] events) {
+            for (PresenceEvent event : events) {
+                pending.putIfAbsent(event.username, event);
+            }
+        }
+
+        synchronized boolean hasPending() {
+            return !pending.isEmpty();
+        }
+
+        synchronized PresenceEvent[] drain() {
+            PresenceEvent[] batch = pending.values().toArray(new PresenceEvent[0]);
+            pending.clear();
+            return batch;
+        }
+    }
+}
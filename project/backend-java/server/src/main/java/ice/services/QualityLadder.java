@@ -0,0 +1,56 @@
+package main.java.ice.services;
+
+/**
+ * Escalera de calidad de captura para UN emisor de una llamada.
+ *
+ * Una vez por segundo se mira el backlog del oyente: si descartó tramas o
+ * tiene la mitad de la ventana ocupada, el emisor baja un escalón en el acto;
+ * si pasa RECOVERY_EVALUATIONS seguidas sin problemas, sube uno. Bajar rápido
+ * y subir despacio evita oscilar en enlaces que van justos.
+ */
+class QualityLadder {
+
+    // Escalón → frecuencia de captura (0 = calidad completa)
+    static final int[] SAMPLE_RATES = {44100, 22050, 16000, 8000};
+
+    // Ticks del reloj de la llamada (~46 ms) entre evaluaciones (~1 s)
+    static final int EVALUATION_TICKS = 22;
+
+    // Evaluaciones limpias seguidas para subir un escalón (~5 s)
+    private static final int RECOVERY_EVALUATIONS = 5;
+
+    private int level = 0;
+    private int cleanStreak = 0;
+    private long lastDropped = 0;
+
+    /**
+     * @return el nuevo escalón, o -1 si no cambia
+     */
+    synchronized int evaluate(ListenerBacklog backlog, int maxPending) {
+        long dropped = backlog.getDropped();
+        boolean congested = dropped > lastDropped || backlog.getPending() * 2 >= maxPending;
+        lastDropped = dropped;
+
+        if (congested) {
+            cleanStreak = 0;
+            if (level < SAMPLE_RATES.length - 1) {
+                return ++level;
+            }
+            return -1;
+        }
+
+        if (level > 0 && ++cleanStreak >= RECOVERY_EVALUATIONS) {
+            cleanStreak = 0;
+            return --level;
+        }
+        return -1;
+    }
+
+    synchronized int getLevel() {
+        return level;
+    }
+
+    static int sampleRateOf(int level) {
+        return SAMPLE_RATES[level];
+    }
+}
@@ -0,0 +1,552 @@
+package loadtest;
+
+import AudioSystem.*;
+import audio.ConferenceMixer;
+import audio.LatencyHistogram;
+import audio.SelectiveForwarder;
+import com.zeroc.Ice.Communicator;
+import com.zeroc.Ice.Current;
+import com.zeroc.Ice.Identity;
+import com.zeroc.Ice.InitializationData;
+import com.zeroc.Ice.ObjectAdapter;
+import com.zeroc.Ice.Properties;
+import com.zeroc.Ice.Util;
+import main.java.ice.services.AudioSubjectImpl;
+import utils.HashedWheelTimer;
+import utils.HistoryManager;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Prueba de carga del relé de audio (gradle runAudioLoadTest).
+ *
+ * Conecta N clientes sintéticos a AudioService por WebSocket, cada uno con
+ * su propia conexión y su AudioObserver (bidireccional, como el cliente
+ * web). Los empareja en llamadas y cada uno envía tramas PCM16 de ~46 ms a
+ * ritmo de reloj, escalonadas para no llegar todas a la vez. Cada trama
+ * lleva en su cola quién la envió, su número y el System.nanoTime() del
+ * envío: el oyente, en el mismo proceso, mide la latencia extremo a extremo
+ * (cliente → servidor → cliente, con el búfer de jitter incluido).
+ *
+ * Sin --Load.Endpoint arranca aquí mismo un AudioSubjectImpl en su propio
+ * communicator (puerto 10010) y mide la CPU de sus hilos; contra un servidor
+ * externo solo se puede medir el cliente.
+ *
+ * Propiedades (--Load.X=valor):
+ * <pre>
+ *   Calls            llamadas simultáneas (2 clientes cada una)   50
+ *   Seconds          duración medida                               30
+ *   WarmupSeconds    tiempo de calentamiento sin medir             3
+ *   Numbered         1 = sendAudioFrame (búfer de jitter), 0 = sendAudio   1
+ *   Endpoint         servidor externo, p. ej. "ws -h 10.0.0.5 -p 10000"
+ *   Port             puerto del servidor embebido                  10010
+ * </pre>
+ * Las propiedades Audio.* e Ice.* se aplican igual que en IceServer (el
+ * servidor embebido no suprime silencios salvo --Audio.SilenceSuppression=1).
+ */
+public class AudioLoadTest {
+
+    public static final int DEFAULT_PORT = 10010;
+
+    private static final int FRAME_SAMPLES = ConferenceMixer.FRAME_SAMPLES;
+    private static final long FRAME_NANOS = ConferenceMixer.FRAME_NANOS;
+    private static final int FRAME_BYTES = FRAME_SAMPLES * 2;
+
+    // Cola dentro del PCM (últimos bytes): "LOAD", emisor, secuencia, nanoTime del envío.
+    // Va al final porque la ocultación de pérdidas funde en el sitio el COMIENZO
+    // de la primera trama buena tras un hueco
+    private static final int MAGIC = 0x44414F4C;
+    private static final int TRAILER_BYTES = 20;
+
+    // Tiempo para que llegue lo que aún está en vuelo al parar de enviar
+    private static final long DRAIN_MILLIS = 1500;
+
+    private static final String SERVER_PROGRAM = "loadtest-server";
+    private static final String CLIENT_PROGRAM = "loadtest-client";
+
+    public static void main(String[] args) {
+        int returnValue = 0;
+        try {
+            new AudioLoadTest().run(args);
+        } catch (Exception e) {
+            System.err.println("\n❌ Error en la prueba de carga:");
+            e.printStackTrace();
+            returnValue = 1;
+        }
+        System.exit(returnValue);
+    }
+
+    // ============================================
+    // PRUEBA
+    // ============================================
+
+    private void run(String[] args) throws Exception {
+        Properties load = properties(args);
+        int calls = Math.max(1, load.getPropertyAsIntWithDefault("Load.Calls", 50));
+        int seconds = Math.max(1, load.getPropertyAsIntWithDefault("Load.Seconds", 30));
+        int warmupSeconds = Math.max(0, load.getPropertyAsIntWithDefault("Load.WarmupSeconds", 3));
+        boolean numbered = load.getPropertyAsIntWithDefault("Load.Numbered", 1) != 0;
+        String endpoint = load.getProperty("Load.Endpoint");
+        boolean embedded = endpoint.isEmpty();
+
+        System.out.println("╔════════════════════════════════════════════╗");
+        System.out.println("║    PRUEBA DE CARGA - RELÉ DE AUDIO        ║");
+        System.out.println("╚════════════════════════════════════════════╝");
+        System.out.println("   " + calls + " llamadas (" + calls * 2 + " clientes), " + seconds + " s medidos + "
+            + warmupSeconds + " s de calentamiento, " + (numbered ? "sendAudioFrame" : "sendAudio")
+            + ", tramas de " + FRAME_BYTES + " bytes cada " + String.format("%.1f", FRAME_NANOS / 1e6) + " ms");
+
+        Communicator server = null;
+        HashedWheelTimer timer = null;
+        if (embedded) {
+            int port = load.getPropertyAsIntWithDefault("Load.Port", DEFAULT_PORT);
+            server = initialize(args, SERVER_PROGRAM);
+            timer = new HashedWheelTimer("chat-timer", 100, TimeUnit.MILLISECONDS, 512);
+            startServer(server, timer, port);
+            endpoint = "ws -h 127.0.0.1 -p " + port;
+        }
+
+        Communicator client = initialize(args, CLIENT_PROGRAM);
+        ScheduledExecutorService senders = Executors.newScheduledThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors() / 2), r -> {
+                Thread t = new Thread(r, "load-sender");
+                t.setDaemon(true);
+                return t;
+            });
+
+        try {
+            // PASO 1: Conectar los clientes (una conexión WebSocket cada uno)
+            AudioSubjectPrx base = AudioSubjectPrx.checkedCast(client.stringToProxy("AudioService:" + endpoint));
+            if (base == null) {
+                throw new IllegalStateException("AudioService no encontrado en " + endpoint);
+            }
+            ObjectAdapter adapter = client.createObjectAdapter("");
+            adapter.activate();
+
+            SyntheticClient[] clients = new SyntheticClient[calls * 2];
+            for (int i = 0; i < clients.length; i++) {
+                clients[i] = new SyntheticClient(i, base, adapter, numbered);
+            }
+            System.out.println("\n[1/4] ✓ " + clients.length + " clientes conectados a " + endpoint);
+
+            // PASO 2: Emparejar en llamadas (el par acepta al impar)
+            for (int i = 0; i < clients.length; i += 2) {
+                SyntheticClient caller = clients[i];
+                SyntheticClient callee = clients[i + 1];
+                caller.peer = callee;
+                callee.peer = caller;
+                caller.subject.startCall(caller.user, callee.user);
+                callee.subject.acceptCall(caller.user, callee.user);
+            }
+            System.out.println("[2/4] ✓ " + calls + " llamadas establecidas");
+
+            // PASO 3: Transmitir: calentamiento y después la ventana medida
+            Measurement window = new Measurement();
+            for (SyntheticClient c : clients) {
+                c.window = window;
+            }
+            List<ScheduledFuture<?>> streams = new ArrayList<>(clients.length);
+            for (int i = 0; i < clients.length; i++) {
+                long offset = FRAME_NANOS * i / clients.length;
+                streams.add(senders.scheduleAtFixedRate(clients[i]::sendFrame, offset, FRAME_NANOS,
+                    TimeUnit.NANOSECONDS));
+            }
+            System.out.println("[3/4] 🎙️ Transmitiendo...");
+            Thread.sleep(TimeUnit.SECONDS.toMillis(warmupSeconds));
+
+            Map<Long, Long> cpuBefore = serverCpu();
+            long wallBefore = System.nanoTime();
+            window.startNanos = wallBefore;
+            Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+            window.endNanos = System.nanoTime();
+            long cpuNanos = cpuDelta(cpuBefore, serverCpu());
+            long wallNanos = window.endNanos - wallBefore;
+
+            // Se sigue enviando (sin contar) para que lo medido salga también del búfer de jitter
+            Thread.sleep(DRAIN_MILLIS);
+            for (ScheduledFuture<?> stream : streams) {
+                stream.cancel(false);
+            }
+
+            // PASO 4: Lo que vio el servidor (antes de colgar) y limpieza
+            ServerView view = new ServerView();
+            for (int i = 0; i < clients.length; i++) {
+                SyntheticClient c = clients[i];
+                view.backlogDropped += c.subject.getListenerBacklog(c.user).dropped;
+                if (i % 2 == 0) {
+                    CallStats stats = c.subject.getCallStats(c.user);
+                    view.add(stats.fromCaller);
+                    view.add(stats.fromCallee);
+                }
+            }
+            for (int i = 0; i < clients.length; i += 2) {
+                clients[i].subject.hangup(clients[i].user, clients[i + 1].user);
+            }
+            for (SyntheticClient c : clients) {
+                c.subject.detach(c.user);
+            }
+            System.out.println("[4/4] ✓ Llamadas colgadas");
+
+            report(clients, window, view, embedded, cpuNanos, wallNanos);
+        } finally {
+            senders.shutdownNow();
+            client.destroy();
+            if (server != null) {
+                server.destroy();
+                timer.stop();
+            }
+        }
+    }
+
+    /**
+     * Propiedades Ice.*, Load.* y Audio.* de la línea de comandos
+     */
+    private static Properties properties(String[] args) {
+        Properties properties = Util.createProperties(args);
+        properties.parseCommandLineOptions("Load", args);
+        properties.parseCommandLineOptions("Audio", args);
+        return properties;
+    }
+
+    /**
+     * Communicator con los argumentos de la línea de comandos; el nombre del
+     * programa prefija sus hilos (así se separa la CPU del servidor embebido)
+     */
+    private static Communicator initialize(String[] args, String program) {
+        InitializationData initData = new InitializationData();
+        initData.properties = properties(args);
+        initData.properties.setProperty("Ice.ProgramName", program);
+        if (program.equals(CLIENT_PROGRAM) && initData.properties.getProperty("Ice.ThreadPool.Client.Size").isEmpty()) {
+            // Los callbacks de todos los clientes llegan por este pool: que no sea el cuello de botella
+            initData.properties.setProperty("Ice.ThreadPool.Client.Size",
+                String.valueOf(Runtime.getRuntime().availableProcessors()));
+        }
+        return Util.initialize(initData);
+    }
+
+    /**
+     * AudioService solo, configurado como en IceServer
+     */
+    private static void startServer(Communicator communicator, HashedWheelTimer timer, int port) {
+        Properties props = communicator.getProperties();
+        AudioSubjectImpl audioSubjectImpl = new AudioSubjectImpl(
+            new HistoryManager(),
+            timer,
+            AudioSubjectImpl.DEFAULT_RING_TIMEOUT_MS,
+            props.getPropertyAsIntWithDefault("Audio.SfuThreshold", AudioSubjectImpl.DEFAULT_SFU_THRESHOLD),
+            props.getPropertyAsIntWithDefault("Audio.SfuMaxSpeakers", SelectiveForwarder.DEFAULT_MAX_SPEAKERS),
+            props.getPropertyAsIntWithDefault("Audio.SilenceSuppression", 0) != 0,
+            props.getPropertyAsIntWithDefault("Audio.MaxPendingFrames", AudioSubjectImpl.DEFAULT_MAX_PENDING_FRAMES),
+            props.getPropertyAsIntWithDefault("Audio.RecordCalls", 0) != 0
+        );
+        ObjectAdapter adapter = communicator.createObjectAdapterWithEndpoints(
+            "LoadTestAdapter", "ws -h 127.0.0.1 -p " + port);
+        adapter.add(audioSubjectImpl, Util.stringToIdentity("AudioService"));
+        adapter.activate();
+        System.out.println("   ✓ AudioService embebido en ws://127.0.0.1:" + port);
+    }
+
+    // ============================================
+    // CPU DEL SERVIDOR
+    // ============================================
+
+    /**
+     * CPU consumida hasta ahora por cada hilo del servidor embebido (id → ns)
+     */
+    private static Map<Long, Long> serverCpu() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        Map<Long, Long> cpu = new HashMap<>();
+        if (!threads.isThreadCpuTimeSupported()) {
+            return cpu;
+        }
+        for (ThreadInfo info : threads.getThreadInfo(threads.getAllThreadIds())) {
+            if (info != null && isServerThread(info.getThreadName())) {
+                long nanos = threads.getThreadCpuTime(info.getThreadId());
+                if (nanos >= 0) {
+                    cpu.put(info.getThreadId(), nanos);
+                }
+            }
+        }
+        return cpu;
+    }
+
+    private static boolean isServerThread(String name) {
+        return name.startsWith(SERVER_PROGRAM) || name.startsWith("audio-clock")
+            || name.startsWith("call-recorder") || name.startsWith("chat-timer");
+    }
+
+    private static long cpuDelta(Map<Long, Long> before, Map<Long, Long> after) {
+        long total = 0;
+        for (Map.Entry<Long, Long> entry : after.entrySet()) {
+            total += entry.getValue() - before.getOrDefault(entry.getKey(), 0L);
+        }
+        return total;
+    }
+
+    // ============================================
+    // INFORME
+    // ============================================
+
+    private static void report(SyntheticClient[] clients, Measurement window, ServerView view,
+                               boolean embedded, long cpuNanos, long wallNanos) {
+        long sent = 0;
+        long received = 0;
+        long reordered = 0;
+        long foreign = 0;
+        long comfortNoise = 0;
+        long failed = 0;
+        for (SyntheticClient c : clients) {
+            sent += c.sent.get();
+            received += c.received.get();
+            reordered += c.reordered.get();
+            foreign += c.foreign.get();
+            comfortNoise += c.comfortNoise.get();
+            failed += c.failed.get();
+        }
+        double secs = (window.endNanos - window.startNanos) / 1e9;
+        long lost = Math.max(0, sent - received);
+        LatencyHistogram latency = window.latency;
+
+        System.out.println("\n📊 RESULTADOS (" + clients.length / 2 + " llamadas, "
+            + String.format("%.1f", secs) + " s medidos)");
+        System.out.println(String.format("   Enviadas:    %d tramas (%.0f/s, %.2f Mbit/s)",
+            sent, sent / secs, sent * FRAME_BYTES * 8 / secs / 1e6));
+        System.out.println(String.format("   Recibidas:   %d tramas (%.0f/s, %.2f Mbit/s)",
+            received, received / secs, received * FRAME_BYTES * 8 / secs / 1e6));
+        System.out.println(String.format("   Perdidas:    %d (%.2f%%), descartadas por oyente lento en el servidor: %d",
+            lost, sent == 0 ? 0 : lost * 100.0 / sent, view.backlogDropped));
+        System.out.println("   Desordenadas: " + reordered + ", sintetizadas por el servidor (PLC): " + foreign
+            + ", avisos de ruido de confort: " + comfortNoise + ", envíos fallidos: " + failed);
+        System.out.println("   Latencia extremo a extremo: " + latency
+            + String.format(", media=%.1f ms", latency.getMean() / 1000.0));
+        if (view.streams > 0) {
+            System.out.println(String.format("   Según el servidor: reenvío p95 medio=%.1f ms, MOS medio=%.2f, peor MOS=%.2f",
+                view.latencyP95Ms / view.streams, view.mos / view.streams, view.worstMos));
+        }
+        if (embedded) {
+            int cores = Runtime.getRuntime().availableProcessors();
+            double core = cpuNanos * 100.0 / wallNanos;
+            System.out.println(String.format("   CPU del servidor: %.1f%% de un núcleo (%.1f%% de %d núcleos), %.1f µs por trama",
+                core, core / cores, cores, received == 0 ? 0 : cpuNanos / 1000.0 / received));
+        } else {
+            System.out.println("   CPU del servidor: no disponible (servidor externo)");
+        }
+    }
+
+    // ============================================
+    // CLASES INTERNAS
+    // ============================================
+
+    /**
+     * Ventana medida: solo cuentan las tramas enviadas dentro de ella
+     */
+    private static final class Measurement {
+        final LatencyHistogram latency = new LatencyHistogram();
+        volatile long startNanos = Long.MAX_VALUE;
+        volatile long endNanos = Long.MAX_VALUE;
+
+        boolean contains(long sendNanos) {
+            return sendNanos >= startNanos && sendNanos < endNanos;
+        }
+    }
+
+    /**
+     * Calidad de los sentidos según getCallStats, sumada para promediar
+     */
+    private static final class ServerView {
+        long backlogDropped = 0;
+        int streams = 0;
+        double latencyP95Ms = 0;
+        double mos = 0;
+        double worstMos = 4.5;
+
+        void add(StreamQuality quality) {
+            if (quality == null || quality.packets == 0) {
+                return;
+            }
+            streams++;
+            latencyP95Ms += quality.latencyP95Ms;
+            mos += quality.mos;
+            worstMos = Math.min(worstMos, quality.mos);
+        }
+    }
+
+    /**
+     * Un cliente: su conexión, su observer y su flujo de tramas
+     */
+    private static final class SyntheticClient implements AudioObserver {
+        final int index;
+        final String user;
+        final AudioSubjectPrx subject;
+        final boolean numbered;
+        SyntheticClient peer;
+        Measurement window;
+
+        // Solo el hilo que envía (scheduleAtFixedRate no solapa ejecuciones)
+        private final byte[] pcm = new byte[FRAME_BYTES];
+        private final ByteBuffer trailer = ByteBuffer.wrap(pcm).order(ByteOrder.LITTLE_ENDIAN);
+        private int seq = 0;
+        private long streamStartNanos = 0;
+
+        final AtomicLong sent = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+        final AtomicLong received = new AtomicLong();
+        final AtomicLong reordered = new AtomicLong();
+        final AtomicLong foreign = new AtomicLong();
+        final AtomicLong comfortNoise = new AtomicLong();
+        private int highestSeq = -1;  // protegido por synchronized(this)
+
+        SyntheticClient(int index, AudioSubjectPrx base, ObjectAdapter adapter, boolean numbered) {
+            this.index = index;
+            this.user = "load-" + index;
+            this.numbered = numbered;
+
+            // Conexión propia (como un navegador) con el adapter para los callbacks
+            this.subject = base.ice_connectionId(user);
+            this.subject.ice_getConnection().setAdapter(adapter);
+            Identity id = new Identity(user, "");
+            adapter.add(this, id);
+            subject.attach(user, AudioObserverPrx.uncheckedCast(adapter.createProxy(id)));
+
+            // Tono de 220 Hz + 10 Hz por cliente: audible para el detector de voz
+            double freq = 220 + 10 * (index % 32);
+            for (int i = 0; i < FRAME_SAMPLES; i++) {
+                int s = (int) (8000 * Math.sin(2 * Math.PI * freq * i / ConferenceMixer.SAMPLE_RATE));
+                pcm[2 * i] = (byte) s;
+                pcm[2 * i + 1] = (byte) (s >> 8);
+            }
+        }
+
+        /**
+         * Tick del emisor: la siguiente trama, con su cola, de forma asíncrona
+         */
+        void sendFrame() {
+            long now = System.nanoTime();
+            if (streamStartNanos == 0) {
+                streamStartNanos = now;
+            }
+            int frameSeq = seq++;
+            int at = FRAME_BYTES - TRAILER_BYTES;
+            trailer.putInt(at, MAGIC);
+            trailer.putInt(at + 4, index);
+            trailer.putInt(at + 8, frameSeq);
+            trailer.putLong(at + 12, now);
+
+            try {
+                // Ice serializa la trama al invocar: el mismo array sirve para la siguiente
+                if (numbered) {
+                    int timestamp = (int) TimeUnit.NANOSECONDS.toMillis(now - streamStartNanos);
+                    subject.sendAudioFrameAsync(user, new AudioFrame(frameSeq, timestamp, ByteBuffer.wrap(pcm)))
+                        .whenComplete((r, e) -> failedIf(e));
+                } else {
+                    subject.sendAudioAsync(user, pcm).whenComplete((r, e) -> failedIf(e));
+                }
+                if (window.contains(now)) {
+                    sent.incrementAndGet();
+                }
+            } catch (Exception e) {
+                failed.incrementAndGet();
+            }
+        }
+
+        private void failedIf(Throwable e) {
+            if (e != null) {
+                failed.incrementAndGet();
+            }
+        }
+
+        /**
+         * Trama recibida del otro extremo: latencia desde que la envió
+         */
+        private void arrived(byte[] data) {
+            long now = System.nanoTime();
+            ByteBuffer in = ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+            int at = data.length - TRAILER_BYTES;
+            if (at < 0 || in.getInt(at) != MAGIC || in.getInt(at + 4) != peer.index) {
+                foreign.incrementAndGet();  // Sintetizada por el servidor (ocultación de pérdidas)
+                return;
+            }
+            int frameSeq = in.getInt(at + 8);
+            long sendNanos = in.getLong(at + 12);
+            synchronized (this) {
+                if (frameSeq < highestSeq) {
+                    reordered.incrementAndGet();
+                } else {
+                    highestSeq = frameSeq;
+                }
+            }
+            if (window.contains(sendNanos)) {
+                received.incrementAndGet();
+                window.latency.record((now - sendNanos) / 1000);
+            }
+        }
+
+        // ========== AudioObserver ==========
+
+        @Override
+        public void receiveAudio(byte[] data, Current current) {
+            arrived(data);
+        }
+
+        @Override
+        public void receiveCodedAudio(String codec, int sampleRate, byte[] data, Current current) {
+            arrived(data);
+        }
+
+        @Override
+        public void receiveSpeakerAudio(String fromUser, byte[] data, Current current) {
+            arrived(data);
+        }
+
+        @Override
+        public void receiveComfortNoise(int level, Current current) {
+            comfortNoise.incrementAndGet();
+        }
+
+        @Override
+        public void qualityChanged(AudioQuality quality, Current current) {
+            System.out.println("⚠️ [" + user + "] El servidor pide bajar a " + quality.sampleRate + " Hz");
+        }
+
+        @Override
+        public void audioLevels(String activeSpeaker, AudioLevel[] levels, Current current) {
+        }
+
+        @Override
+        public void incomingCall(String fromUser, Current current) {
+        }
+
+        @Override
+        public void callAccepted(String fromUser, Current current) {
+        }
+
+        @Override
+        public void callRejected(String fromUser, Current current) {
+        }
+
+        @Override
+        public void callEnded(String fromUser, Current current) {
+        }
+
+        @Override
+        public void callBusy(String fromUser, Current current) {
+        }
+
+        @Override
+        public void callNoAnswer(String fromUser, Current current) {
+        }
+    }
+}
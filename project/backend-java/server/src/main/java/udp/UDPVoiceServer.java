@@ -0,0 +1,375 @@
+package udp;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.security.SecureRandom;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Relé de audio por UDP para clientes nativos.
+ *
+ * Por WebSocket (TCP) una trama perdida bloquea a las siguientes hasta que
+ * se retransmite; por UDP cada datagrama llega o no llega, sin arrastrar
+ * retraso. Cuando AudioService acepta una llamada, abre aquí una sesión con
+ * un token aleatorio por extremo; cada cliente lo pide con getUdpSession y
+ * lo pone en sus datagramas. Un único hilo con un DatagramChannel no
+ * bloqueante recibe, valida el token y reenvía el mismo búfer a la dirección
+ * del otro extremo: sin copias y sin colas. Si el socket no admite más, el
+ * datagrama se descarta (nunca se espera).
+ *
+ * Datagrama (big-endian salvo el audio):
+ * <pre>
+ *  0  byte   'V'
+ *  1  byte   tipo: 1 = HELLO, 2 = AUDIO, 3 = BYE
+ *  2  short  reservado (0)
+ *  4  long   token (el relé lo pone a 0 al reenviar)
+ * 12  int    número de secuencia
+ * 16  int    timestamp (ms del emisor)
+ * 20  ...    PCM16 little-endian (solo AUDIO; mejor &lt;= 1400 bytes para no fragmentar)
+ * </pre>
+ * HELLO registra la dirección del cliente (y mantiene abierto el NAT); el
+ * relé lo contesta con otro HELLO. Si la dirección cambia, gana la última.
+ */
+public class UDPVoiceServer {
+
+    public static final int DEFAULT_PORT = 10002;
+    public static final int HEADER_BYTES = 20;
+
+    static final byte MAGIC = 'V';
+    static final byte TYPE_HELLO = 1;
+    static final byte TYPE_AUDIO = 2;
+    static final byte TYPE_BYE = 3;
+
+    private static final int MAX_DATAGRAM = 65_507;
+    private static final int SOCKET_BUFFER_BYTES = 4 * 1024 * 1024;
+    // Sin datagramas durante esto, se olvida la dirección del extremo
+    private static final long IDLE_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private static final long SWEEP_MILLIS = 1000;
+
+    private final int requestedPort;
+    private final Map<Long, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+
+    private DatagramChannel channel;
+    private Selector selector;
+    private Thread loop;
+    private volatile boolean running = false;
+    private volatile int port;
+
+    // Solo los toca el hilo del bucle
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(MAX_DATAGRAM).order(ByteOrder.BIG_ENDIAN);
+    private long invalid = 0;
+    private long lastSweepNanos = System.nanoTime();
+
+    public UDPVoiceServer(int port) {
+        this.requestedPort = port;
+    }
+
+    /**
+     * Abre el socket y arranca el hilo del relé
+     */
+    public synchronized void start() throws IOException {
+        if (running) {
+            return;
+        }
+        channel = DatagramChannel.open();
+        try {
+            channel.setOption(StandardSocketOptions.SO_RCVBUF, SOCKET_BUFFER_BYTES);
+            channel.setOption(StandardSocketOptions.SO_SNDBUF, SOCKET_BUFFER_BYTES);
+            channel.bind(new InetSocketAddress(requestedPort));
+            channel.configureBlocking(false);
+            selector = Selector.open();
+            channel.register(selector, SelectionKey.OP_READ);
+            port = ((InetSocketAddress) channel.getLocalAddress()).getPort();
+        } catch (IOException e) {
+            // Puerto ocupado o sin permisos: no dejar el socket abierto
+            channel.close();
+            if (selector != null) {
+                selector.close();
+            }
+            throw e;
+        }
+
+        running = true;
+        loop = new Thread(this::run, "udp-voice");
+        loop.setDaemon(true);
+        loop.start();
+        System.out.println("🎧 [UDP] Relé de audio escuchando en el puerto " + port);
+    }
+
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        selector.wakeup();
+        try {
+            loop.join(TimeUnit.SECONDS.toMillis(2));
+            selector.close();
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("❌ [UDP] Error cerrando el relé: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        System.out.println("🔇 [UDP] Relé detenido");
+    }
+
+    /**
+     * Puerto real (útil si se pidió el 0)
+     */
+    public int getPort() {
+        return port;
+    }
+
+    // ============================================
+    // SESIONES (las abre y cierra AudioService)
+    // ============================================
+
+    /**
+     * Una llamada aceptada: un token por extremo, cada uno reenvía al otro
+     */
+    public Session openSession(String caller, String callee) {
+        Endpoint a = newEndpoint(caller);
+        Endpoint b = newEndpoint(callee);
+        a.peer = b;
+        b.peer = a;
+        return new Session(a, b);
+    }
+
+    public void closeSession(Session session) {
+        endpoints.remove(session.caller.token, session.caller);
+        endpoints.remove(session.callee.token, session.callee);
+        System.out.println("[UDP] Sesión " + session.caller.user + " ↔ " + session.callee.user + " cerrada");
+        System.out.println("      " + session.caller);
+        System.out.println("      " + session.callee);
+    }
+
+    private Endpoint newEndpoint(String user) {
+        while (true) {
+            long token = random.nextLong();
+            if (token == 0) {
+                continue;
+            }
+            Endpoint endpoint = new Endpoint(user, token);
+            if (endpoints.putIfAbsent(token, endpoint) == null) {
+                return endpoint;
+            }
+        }
+    }
+
+    // ============================================
+    // BUCLE DEL RELÉ
+    // ============================================
+
+    private void run() {
+        while (running) {
+            try {
+                if (selector.select(SWEEP_MILLIS) > 0) {
+                    selector.selectedKeys().clear();
+                    drain();
+                }
+                long now = System.nanoTime();
+                if (now - lastSweepNanos >= TimeUnit.MILLISECONDS.toNanos(SWEEP_MILLIS)) {
+                    sweep(now);
+                    lastSweepNanos = now;
+                }
+            } catch (IOException e) {
+                if (running) {
+                    System.err.println("❌ [UDP] Error en el relé: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Todo lo que haya en el socket, de una vez
+     */
+    private void drain() throws IOException {
+        SocketAddress from;
+        while (true) {
+            buffer.clear();
+            from = channel.receive(buffer);
+            if (from == null) {
+                return;
+            }
+            buffer.flip();
+            handle(from);
+        }
+    }
+
+    private void handle(SocketAddress from) throws IOException {
+        if (buffer.remaining() < HEADER_BYTES || buffer.get(0) != MAGIC) {
+            invalid++;
+            return;
+        }
+        Endpoint endpoint = endpoints.get(buffer.getLong(4));
+        if (endpoint == null) {
+            invalid++;
+            return;
+        }
+
+        byte type = buffer.get(1);
+        if (type == TYPE_BYE) {
+            endpoint.address = null;
+            return;
+        }
+
+        endpoint.lastSeenNanos = System.nanoTime();
+        if (!from.equals(endpoint.address)) {
+            System.out.println("[UDP] " + endpoint.user + " en " + from);
+            endpoint.address = from;
+        }
+
+        // El token no viaja de vuelta: quien lo viera podría hacerse pasar por el emisor
+        buffer.putLong(4, 0L);
+
+        if (type == TYPE_HELLO) {
+            buffer.limit(HEADER_BYTES);
+            channel.send(buffer, from);
+            return;
+        }
+        if (type != TYPE_AUDIO) {
+            invalid++;
+            return;
+        }
+
+        endpoint.received(buffer.getInt(12));
+        SocketAddress target = endpoint.peer.address;
+        if (target == null) {
+            endpoint.noPeer++;
+            return;
+        }
+        // No bloqueante: 0 bytes enviados = buffer del socket lleno, se descarta
+        if (channel.send(buffer, target) == 0) {
+            endpoint.dropped++;
+        } else {
+            endpoint.forwarded++;
+        }
+    }
+
+    /**
+     * Extremos que dejaron de enviar: se olvida su dirección
+     */
+    private void sweep(long now) {
+        for (Endpoint endpoint : endpoints.values()) {
+            if (endpoint.address != null && now - endpoint.lastSeenNanos > IDLE_NANOS) {
+                System.out.println("[UDP] " + endpoint.user + " sin datagramas, dirección olvidada");
+                endpoint.address = null;
+            }
+        }
+    }
+
+    public long getInvalid() {
+        return invalid;
+    }
+
+    // ============================================
+    // CLASES INTERNAS
+    // ============================================
+
+    /**
+     * Los dos extremos de una llamada en el relé
+     */
+    public static final class Session {
+        final Endpoint caller;
+        final Endpoint callee;
+
+        Session(Endpoint caller, Endpoint callee) {
+            this.caller = caller;
+            this.callee = callee;
+        }
+
+        /**
+         * Token que debe usar user en sus datagramas (0 si no es de esta llamada)
+         */
+        public long tokenFor(String user) {
+            if (caller.user.equals(user)) {
+                return caller.token;
+            }
+            return callee.user.equals(user) ? callee.token : 0;
+        }
+    }
+
+    /**
+     * Un extremo: su token, su dirección actual y contadores (los escribe solo el bucle)
+     */
+    static final class Endpoint {
+        final String user;
+        final long token;
+        Endpoint peer;
+        volatile SocketAddress address;
+        volatile long lastSeenNanos;
+
+        long received = 0;
+        long forwarded = 0;
+        long dropped = 0;
+        long noPeer = 0;
+        long lost = 0;
+        long reordered = 0;
+        private boolean anySeq = false;
+        private int highestSeq;
+
+        Endpoint(String user, long token) {
+            this.user = user;
+            this.token = token;
+        }
+
+        void received(int seq) {
+            received++;
+            if (!anySeq) {
+                anySeq = true;
+                highestSeq = seq;
+                return;
+            }
+            int gap = seq - highestSeq;
+            if (gap > 0) {
+                lost += gap - 1;
+                highestSeq = seq;
+            } else {
+                reordered++;
+                if (lost > 0) {
+                    lost--;  // Llegó tarde una que se había contado como perdida
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return user + ": recibidos=" + received + ", reenviados=" + forwarded + ", perdidos=" + lost
+                + ", desordenados=" + reordered + ", descartados=" + dropped + ", sin destino=" + noPeer;
+        }
+    }
+
+    // ============================================
+    // EJECUCIÓN INDEPENDIENTE (gradle runUdpServer)
+    // ============================================
+
+    /**
+     * Relé solo, sin Ice: abre una sesión de prueba y muestra sus tokens
+     * para probar clientes nativos sin pasar por AudioService
+     */
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        UDPVoiceServer server = new UDPVoiceServer(port);
+        server.start();
+
+        Session test = server.openSession("prueba-a", "prueba-b");
+        System.out.println("🔑 Sesión de prueba:");
+        System.out.println("   prueba-a → token " + Long.toUnsignedString(test.caller.token, 16));
+        System.out.println("   prueba-b → token " + Long.toUnsignedString(test.callee.token, 16));
+        System.out.println("⚠️  Presiona Ctrl+C para detener el relé");
+
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+        Thread.currentThread().join();
+    }
+}
@@ -4,14 +4,17 @@ import java.io.*;
 import java.nio.file.*;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
 
 public class AudioFileManager {
     private static final String AUDIO_DIR = "audio_files";
+    private static final String CALLS_DIR = "calls";
     
     public AudioFileManager() {
         // Crear directorio de audios si no existe
         try {
             Files.createDirectories(Paths.get(AUDIO_DIR));
+            Files.createDirectories(Paths.get(AUDIO_DIR, CALLS_DIR));
             System.out.println("✓ Directorio de audios disponible: " + AUDIO_DIR);
         } catch (IOException e) {
             System.err.println(" Error creando directorio de audios: " + e.getMessage());
@@ -76,4 +79,29 @@ public class AudioFileManager {
         File dir = new File(AUDIO_DIR);
         return dir.listFiles((d, name) -> name.endsWith(".wav"));
     }
+    
+    /**
+     * Ruta para una nueva grabación de llamada (el archivo lo escribe CallRecorder)
+     */
+    public Path newCallRecording(String caller, String callee) {
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss_SSS"));
+        String filename = String.format("call_%s_%s_%s.wav", caller, callee, timestamp);
+        return Paths.get(AUDIO_DIR, CALLS_DIR, filename);
+    }
+    
+    /**
+     * Lista las grabaciones de llamadas (nombres relativos a audio_files, ordenados)
+     */
+    public String[] getCallRecordings() {
+        File dir = Paths.get(AUDIO_DIR, CALLS_DIR).toFile();
+        String[] names = dir.list((d, name) -> name.endsWith(".wav"));
+        if (names == null) {
+            return new String[0];
+        }
+        Arrays.sort(names);
+        for (int i = 0; i < names.length; i++) {
+            names[i] = CALLS_DIR + "/" + names[i];
+        }
+        return names;
+    }
 }
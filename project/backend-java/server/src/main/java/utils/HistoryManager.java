@@ -14,9 +14,12 @@ import java.util.stream.Collectors;
 public class HistoryManager {
     private static final String HISTORY_FILE = "chat_history.json";
     private static final String GROUPS_FILE = "groups.json";
+    private static final String CURSORS_FILE = "sync_cursors.json";
     
     private List<ChatMessage> messages;
     private Map<String, Group> groups;
+    private Map<String, Long> syncCursors;
+    private long nextSeq;
     private AudioFileManager audioManager;
     private Gson gson;
 
@@ -27,7 +30,9 @@ public class HistoryManager {
         this.audioManager = new AudioFileManager();
         
         this.messages = loadMessages();
+        this.nextSeq = assignSequenceNumbers();
         this.groups = loadGroups();
+        this.syncCursors = loadCursors();
         
         System.out.println("✓ Historial cargado: " + messages.size() + " mensajes");
         System.out.println("✓ Grupos cargados: " + groups.size() + " grupos\n");
@@ -35,8 +40,9 @@ public class HistoryManager {
 
     // ========== MENSAJES DE TEXTO ==========
     
-    public void saveMessage(String sender, String recipient, String type, String content, boolean isGroup) {
+    public synchronized void saveMessage(String sender, String recipient, String type, String content, boolean isGroup) {
         ChatMessage msg = new ChatMessage(sender, recipient, type, content, isGroup);
+        msg.seq = nextSeq++;
         messages.add(msg);
         persistMessages();
         
@@ -48,7 +54,7 @@ public class HistoryManager {
     /**
      * Guarda un mensaje de voz con persistencia de archivo de audio
      */
-    public void saveVoiceMessage(String sender, String recipient, byte[] audioData, boolean isGroup) {
+    public synchronized void saveVoiceMessage(String sender, String recipient, byte[] audioData, boolean isGroup) {
         try {
             // Guardar archivo de audio
             String audioFilename = audioManager.saveAudio(audioData, sender, recipient);
@@ -57,6 +63,7 @@ public class HistoryManager {
                 // Crear mensaje con referencia al archivo
                 String content = "[AUDIO_FILE:" + audioFilename + "]";
                 ChatMessage msg = new ChatMessage(sender, recipient, "VOICE", content, isGroup);
+                msg.seq = nextSeq++;
                 messages.add(msg);
                 persistMessages();
                 
@@ -83,9 +90,16 @@ public class HistoryManager {
         return null;
     }
 
+    /**
+     * Gestor de archivos de audio (compartido con las grabaciones de llamadas)
+     */
+    public AudioFileManager getAudioManager() {
+        return audioManager;
+    }
+
     // ========== HISTORIAL GENERAL ==========
     
-    public List<ChatMessage> getConversationHistory(String user1, String user2) {
+    public synchronized List<ChatMessage> getConversationHistory(String user1, String user2) {
         return messages.stream()
                 .filter(msg -> !msg.isGroup && (
                     (msg.sender.equals(user1) && msg.recipient.equals(user2)) ||
@@ -94,20 +108,20 @@ public class HistoryManager {
                 .collect(Collectors.toList());
     }
 
-    public List<ChatMessage> getGroupHistory(String groupName) {
+    public synchronized List<ChatMessage> getGroupHistory(String groupName) {
         return messages.stream()
                 .filter(msg -> msg.isGroup && msg.recipient.equals(groupName))
                 .collect(Collectors.toList());
     }
 
-    public List<ChatMessage> getAllMessages() {
+    public synchronized List<ChatMessage> getAllMessages() {
         return new ArrayList<>(messages);
     }
     
     /**
      * Obtiene todos los mensajes de un usuario (enviados y recibidos)
      */
-    public List<ChatMessage> getUserMessages(String username) {
+    public synchronized List<ChatMessage> getUserMessages(String username) {
         return messages.stream()
                 .filter(msg -> msg.sender.equals(username) || msg.recipient.equals(username))
                 .collect(Collectors.toList());
@@ -116,12 +130,122 @@ public class HistoryManager {
     /**
      * Obtiene solo mensajes de voz
      */
-    public List<ChatMessage> getVoiceMessages() {
+    public synchronized List<ChatMessage> getVoiceMessages() {
         return messages.stream()
                 .filter(msg -> msg.type.equals("VOICE"))
                 .collect(Collectors.toList());
     }
 
+    // ========== SINCRONIZACIÓN INCREMENTAL ==========
+    
+    /**
+     * Mensajes dirigidos a un usuario con seq > cursor (sin consumirlos).
+     * Incluye privados recibidos y mensajes de sus grupos, excepto los propios.
+     * Devuelve como máximo limit + 1 mensajes: el extra indica que hay más.
+     */
+    public synchronized List<ChatMessage> getMessagesSince(String username, long cursor, int limit) {
+        List<ChatMessage> result = new ArrayList<>();
+        Map<String, Boolean> membership = new HashMap<>();
+        
+        for (int i = firstIndexAfter(cursor); i < messages.size() && result.size() <= limit; i++) {
+            ChatMessage msg = messages.get(i);
+            if (msg.sender.equals(username)) {
+                continue;
+            }
+            
+            boolean forUser = msg.isGroup
+                ? membership.computeIfAbsent(msg.recipient, g -> getGroupMembers(g).contains(username))
+                : msg.recipient.equals(username);
+            
+            if (forUser) {
+                result.add(msg);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Último número de secuencia asignado
+     */
+    public synchronized long getLatestSeq() {
+        return nextSeq - 1;
+    }
+    
+    /**
+     * Cursor confirmado por el usuario (0 si nunca sincronizó)
+     */
+    public synchronized long getSyncCursor(String username) {
+        return syncCursors.getOrDefault(username, 0L);
+    }
+    
+    /**
+     * Avanza el cursor del usuario (nunca retrocede)
+     */
+    public synchronized boolean advanceSyncCursor(String username, long cursor) {
+        long current = syncCursors.getOrDefault(username, 0L);
+        if (cursor <= current) {
+            return false;
+        }
+        syncCursors.put(username, Math.min(cursor, nextSeq - 1));
+        persistCursors();
+        return true;
+    }
+    
+    /**
+     * Búsqueda binaria: los mensajes están ordenados por seq
+     */
+    private int firstIndexAfter(long cursor) {
+        int lo = 0;
+        int hi = messages.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (messages.get(mid).seq <= cursor) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+    
+    /**
+     * Numera los mensajes cargados (el historial antiguo no tiene seq)
+     */
+    private long assignSequenceNumbers() {
+        long last = 0;
+        for (ChatMessage msg : messages) {
+            if (msg.seq <= last) {
+                msg.seq = last + 1;
+            }
+            last = msg.seq;
+        }
+        return last + 1;
+    }
+    
+    private void persistCursors() {
+        try (Writer writer = new FileWriter(CURSORS_FILE)) {
+            gson.toJson(syncCursors, writer);
+        } catch (IOException e) {
+            System.err.println("❌ Error guardando cursores: " + e.getMessage());
+        }
+    }
+    
+    private Map<String, Long> loadCursors() {
+        File file = new File(CURSORS_FILE);
+        if (!file.exists()) {
+            return new HashMap<>();
+        }
+        
+        try (Reader reader = new FileReader(CURSORS_FILE)) {
+            Type mapType = new TypeToken<HashMap<String, Long>>(){}.getType();
+            Map<String, Long> loaded = gson.fromJson(reader, mapType);
+            return loaded != null ? loaded : new HashMap<>();
+        } catch (IOException e) {
+            System.err.println("⚠️  Error cargando cursores: " + e.getMessage());
+            return new HashMap<>();
+        }
+    }
+
     private void persistMessages() {
         try (Writer writer = new FileWriter(HISTORY_FILE)) {
             gson.toJson(messages, writer);
@@ -228,6 +352,7 @@ public class HistoryManager {
     // ========== CLASES INTERNAS ==========
     
     public static class ChatMessage {
+        public long seq; // Orden global, usado como cursor de sincronización
         public String sender;
         public String recipient;
         public String type; // "TEXT", "VOICE"
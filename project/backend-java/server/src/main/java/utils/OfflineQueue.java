@@ -0,0 +1,580 @@
+package utils;
+
+import ChatSystem.Message;
+import com.google.gson.Gson;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * Cola de mensajes pendientes de UN usuario, compartida por todos sus dispositivos.
+ *
+ * Los mensajes se guardan una sola vez en un log con offsets; cada dispositivo
+ * (pestaña, navegador...) tiene su propio cursor. Un mensaje se libera cuando
+ * todos los dispositivos activos lo leyeron. El log tiene límite en memoria:
+ * cuando se llena aplica la política de desborde configurada.
+ *
+ * El desborde a disco es un archivo de solo anexar con el inicio de cada
+ * línea indexado: escribir es un anexo y leer va directo a la primera línea
+ * pendiente, sin recorrer lo ya entregado.
+ */
+public class OfflineQueue {
+
+    /**
+     * Qué hacer con los mensajes que no caben en memoria
+     */
+    public enum OverflowPolicy {
+        SPILL_TO_DISK,  // Los excedentes van a un archivo en disco
+        DROP_OLDEST,    // Se descarta el mensaje más antiguo
+        SUMMARY,        // Se colapsan en "N mensajes nuevos en X"
+        RESYNC          // Se descartan y el cliente recarga el historial
+    }
+
+    // Dispositivo usado por getNewMessages(username) (clientes sin deviceId)
+    public static final String DEFAULT_DEVICE = "default";
+
+    // Un dispositivo que no consulta en este tiempo deja de retener mensajes
+    // (corto: una pestaña cerrada no debe frenar la liberación del resto)
+    public static final long DEFAULT_DEVICE_IDLE_TTL_MS = 10 * 60_000L;
+
+    // Cursores de dispositivos expulsados que se recuerdan por usuario
+    private static final int MAX_RETIRED_DEVICES = 32;
+
+    private static final String QUEUE_DIR = "offline_queues";
+    // Líneas ya subidas a memoria a partir de las cuales se compacta el archivo
+    private static final int COMPACT_SPILL_LINES = 4096;
+    private static final Gson GSON = new Gson();
+
+    private final String owner;
+    private final int capacity;
+    private final OverflowPolicy policy;
+    private final long deviceIdleTtlMillis;
+
+    // Log: memoria = offsets [baseOffset, baseOffset + memory.size()),
+    // disco = el resto hasta nextOffset
+    private final ArrayDeque<Message> memory = new ArrayDeque<>();
+    private long baseOffset = 0;
+    private long nextOffset = 0;
+
+    // Estado de desborde: líneas [spillHead, spillHead + spilledCount) del archivo
+    private final Path spillFile;
+    private FileChannel spillChannel;          // Abierto mientras haya algo en disco
+    private long[] spillLines = new long[64];  // Byte donde empieza cada línea
+    private int spillHead = 0;                 // Primera línea aún no subida a memoria
+    private long spillEnd = 0;                 // Bytes escritos
+    private int spilledCount = 0;
+    private int droppedCount = 0;
+
+    // Resúmenes / avisos de resync que ningún dispositivo leyó todavía (se actualizan en sitio)
+    private final Map<String, Coalesced> coalescing = new HashMap<>();
+
+    // Mapa: deviceId → cursor del dispositivo
+    private final Map<String, Device> devices = new LinkedHashMap<>();
+
+    // Mapa: deviceId → cursor que tenía al ser expulsado (ya no retiene mensajes;
+    // si vuelve, sigue desde ahí o recibe un RESYNC si lo suyo ya se liberó)
+    private final Map<String, Long> retiredCursors = new LinkedHashMap<String, Long>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > MAX_RETIRED_DEVICES;
+        }
+    };
+
+    private volatile long lastAccess = System.currentTimeMillis();
+    private boolean discarded = false;
+
+    public OfflineQueue(String owner, int capacity, OverflowPolicy policy) {
+        this(owner, capacity, policy, DEFAULT_DEVICE_IDLE_TTL_MS);
+    }
+
+    public OfflineQueue(String owner, int capacity, OverflowPolicy policy, long deviceIdleTtlMillis) {
+        this.owner = owner;
+        this.capacity = capacity;
+        this.policy = policy;
+        this.deviceIdleTtlMillis = deviceIdleTtlMillis;
+        this.spillFile = Paths.get(QUEUE_DIR, fileNameFor(owner));
+
+        // Un archivo de una ejecución anterior no corresponde a estos offsets (la memoria se perdió);
+        // lo que contenía se recupera con getMessagesSince
+        try {
+            if (Files.deleteIfExists(spillFile)) {
+                System.out.println("🧹 Cola en disco anterior de " + owner + " descartada");
+            }
+        } catch (IOException e) {
+            System.err.println("⚠️  Error eliminando cola en disco de " + owner + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Nombre de archivo sin colisiones: el usuario en hexadecimal (UTF-8)
+     */
+    static String fileNameFor(String owner) {
+        StringBuilder name = new StringBuilder();
+        for (byte b : owner.getBytes(StandardCharsets.UTF_8)) {
+            name.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return name.append(".jsonl").toString();
+    }
+
+    // ========== DISPOSITIVOS ==========
+
+    /**
+     * Registra un dispositivo; desde ese momento recibe todo lo que llegue
+     */
+    public synchronized void registerDevice(String deviceId) {
+        lastAccess = System.currentTimeMillis();
+        deviceFor(deviceId).lastPoll = lastAccess;
+    }
+
+    public synchronized void unregisterDevice(String deviceId) {
+        retiredCursors.remove(deviceId);
+        if (devices.remove(deviceId) != null) {
+            compact();
+        }
+    }
+
+    /**
+     * Los dispositivos que dejaron de consultar dejan de retener mensajes,
+     * pero se recuerda su cursor por si vuelven
+     */
+    public synchronized void evictIdleDevices(long now) {
+        boolean evicted = false;
+        Iterator<Map.Entry<String, Device>> it = devices.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Device> entry = it.next();
+            if (now - entry.getValue().lastPoll > deviceIdleTtlMillis) {
+                retiredCursors.put(entry.getKey(), entry.getValue().cursor);
+                it.remove();
+                evicted = true;
+            }
+        }
+        if (evicted) {
+            compact();
+        }
+    }
+
+    public synchronized int getDeviceCount() {
+        return devices.size();
+    }
+
+    private Device deviceFor(String deviceId) {
+        Device device = devices.get(deviceId);
+        if (device != null) {
+            return device;
+        }
+
+        Long retired = retiredCursors.remove(deviceId);
+        if (retired != null) {
+            // Vuelve un dispositivo expulsado: sigue donde iba; si eso ya se liberó, que resincronice
+            device = new Device(Math.max(retired, baseOffset));
+            device.resync = retired < baseOffset;
+        } else {
+            // Nuevo: sin otros dispositivos hereda el backlog; si no, solo recibe lo nuevo
+            // (los demás ya lo entregaron)
+            device = new Device(devices.isEmpty() ? baseOffset : nextOffset);
+        }
+        devices.put(deviceId, device);
+        return device;
+    }
+
+    // ========== ESCRITURA ==========
+
+    /**
+     * Encola un mensaje para todos los dispositivos respetando el límite en memoria
+     * @return false si la cola ya fue expulsada (hay que pedir la nueva y reintentar)
+     */
+    public synchronized boolean offer(Message msg) {
+        if (discarded) {
+            return false;
+        }
+
+        // Mientras haya desborde en disco, todo va al disco para mantener el orden
+        if (memory.size() < capacity && spilledCount == 0) {
+            append(msg);
+            return true;
+        }
+
+        switch (policy) {
+            case SPILL_TO_DISK:
+                if (spill(msg)) {
+                    spilledCount++;
+                    nextOffset++;
+                } else {
+                    droppedCount++;
+                }
+                break;
+            case DROP_OLDEST:
+                memory.poll();
+                baseOffset++;
+                droppedCount++;
+                append(msg);
+                break;
+            case SUMMARY:
+                coalesce(conversationOf(msg), msg);
+                break;
+            case RESYNC:
+                droppedCount++;
+                coalesce("RESYNC", msg);
+                break;
+        }
+        return true;
+    }
+
+    private void append(Message msg) {
+        memory.add(msg);
+        nextOffset++;
+    }
+
+    /**
+     * Suma el mensaje a la entrada sintética de su clave mientras nadie la haya leído;
+     * si ya se entregó, abre una entrada nueva al final del log
+     */
+    private void coalesce(String key, Message msg) {
+        Coalesced entry = coalescing.get(key);
+        if (entry == null || entry.offset < maxDeviceCursor()) {
+            boolean resync = key.equals("RESYNC");
+            entry = new Coalesced(nextOffset, resync ? resyncMessage() : summaryMessage(msg));
+            coalescing.put(key, entry);
+            append(entry.msg);
+        }
+
+        entry.count++;
+        if (key.equals("RESYNC")) {
+            entry.msg.content = entry.count + " mensajes omitidos, recarga el historial";
+        } else {
+            entry.msg.content = entry.count + " mensajes nuevos en " + (msg.isGroup ? msg.recipient : msg.sender);
+        }
+        entry.msg.timestamp = now();
+    }
+
+    // ========== LECTURA ==========
+
+    /**
+     * Devuelve lo pendiente para el dispositivo (como mucho una página de
+     * {@code capacity} mensajes) y avanza SU cursor solo hasta lo devuelto;
+     * el resto llega en las siguientes consultas. Los demás dispositivos
+     * conservan sus mensajes.
+     */
+    public synchronized List<Message> drain(String deviceId) {
+        lastAccess = System.currentTimeMillis();
+
+        Device device = deviceFor(deviceId);
+        device.lastPoll = lastAccess;
+
+        long from = Math.max(device.cursor, baseOffset);
+        long memEnd = baseOffset + memory.size();
+        List<Message> result = new ArrayList<>();
+
+        // Se perdió mensajes mientras estuvo expulsado: primero el aviso de recargar el historial
+        if (device.resync) {
+            Message resync = resyncMessage();
+            resync.content = "Mensajes omitidos mientras este dispositivo estaba inactivo, recarga el historial";
+            result.add(resync);
+            device.resync = false;
+        }
+
+        // Página acotada: una respuesta enorme superaría Ice.MessageSizeMax
+        int page = 0;
+        if (from < memEnd) {
+            long offset = baseOffset;
+            for (Message msg : memory) {
+                if (page >= capacity) {
+                    break;
+                }
+                if (offset++ >= from) {
+                    result.add(msg);
+                    page++;
+                }
+            }
+        }
+
+        int skip = (int) Math.max(0, from - memEnd);
+        if (page < capacity && skip < spilledCount) {
+            int count = Math.min(capacity - page, spilledCount - skip);
+            result.addAll(readSpilled(skip, count));
+            page += count;  // Si la lectura falla (ya registrado) no se reintenta para siempre
+        }
+
+        device.cursor = from + page;
+
+        // Lo que este dispositivo ya vio no puede modificarse
+        coalescing.values().removeIf(entry -> entry.offset < device.cursor);
+
+        compact();
+        return result;
+    }
+
+    /**
+     * Libera lo que ya leyeron todos los dispositivos
+     */
+    private void compact() {
+        if (devices.isEmpty()) {
+            return; // Sin dispositivos se conserva todo (dentro del límite)
+        }
+
+        long min = Long.MAX_VALUE;
+        for (Device device : devices.values()) {
+            min = Math.min(min, device.cursor);
+        }
+
+        while (baseOffset < min && !memory.isEmpty()) {
+            memory.poll();
+            baseOffset++;
+        }
+
+        if (memory.isEmpty() && spilledCount > 0) {
+            reloadSpilled(min);
+        }
+    }
+
+    private long maxDeviceCursor() {
+        long max = Long.MIN_VALUE;
+        for (Device device : devices.values()) {
+            max = Math.max(max, device.cursor);
+        }
+        return max;
+    }
+
+    // ========== ESTADÍSTICAS ==========
+
+    /**
+     * Mensajes retenidos (no leídos por al menos un dispositivo)
+     */
+    public synchronized int size() {
+        return (int) (nextOffset - baseOffset);
+    }
+
+    public synchronized int getSpilledCount() {
+        return spilledCount;
+    }
+
+    public synchronized int getDroppedCount() {
+        return droppedCount;
+    }
+
+    /**
+     * true si ningún dispositivo consulta la cola desde hace más de ttlMillis
+     */
+    public boolean isIdle(long now, long ttlMillis) {
+        return now - lastAccess > ttlMillis;
+    }
+
+    /**
+     * Libera la cola (incluido el archivo de desborde)
+     */
+    public synchronized void discard() {
+        discarded = true;
+        memory.clear();
+        coalescing.clear();
+        devices.clear();
+        retiredCursors.clear();
+        baseOffset = nextOffset;
+        droppedCount = 0;
+        closeSpill();
+    }
+
+    // ========== DISCO ==========
+
+    /**
+     * Anexa el mensaje al archivo de desborde (el llamante cuenta la línea)
+     */
+    private boolean spill(Message msg) {
+        try {
+            if (spillChannel == null) {
+                Files.createDirectories(spillFile.getParent());
+                spillChannel = FileChannel.open(spillFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                spillHead = 0;
+                spillEnd = 0;
+            }
+
+            ByteBuffer line = ByteBuffer.wrap((GSON.toJson(msg) + "\n").getBytes(StandardCharsets.UTF_8));
+            long position = spillEnd;
+            while (line.hasRemaining()) {
+                position += spillChannel.write(line, position);
+            }
+
+            int tail = spillHead + spilledCount;
+            if (tail == spillLines.length) {
+                spillLines = Arrays.copyOf(spillLines, tail * 2);
+            }
+            spillLines[tail] = spillEnd;
+            spillEnd = position;
+            return true;
+        } catch (IOException e) {
+            System.err.println("❌ Error desbordando cola de " + owner + " a disco: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * count líneas pendientes a partir de la número from (0 = la primera aún en disco),
+     * con una sola lectura posicional
+     */
+    private List<Message> readSpilled(int from, int count) {
+        List<Message> spilled = new ArrayList<>(count);
+        if (count <= 0 || spillChannel == null) {
+            return spilled;
+        }
+
+        int first = spillHead + from;
+        int last = first + count;
+        long start = spillLines[first];
+        long end = last < spillHead + spilledCount ? spillLines[last] : spillEnd;
+
+        try {
+            ByteBuffer bytes = ByteBuffer.allocate((int) (end - start));
+            while (bytes.hasRemaining()) {
+                if (spillChannel.read(bytes, start + bytes.position()) < 0) {
+                    break;
+                }
+            }
+            byte[] data = bytes.array();
+            for (int i = first; i < last; i++) {
+                int lineStart = (int) (spillLines[i] - start);
+                int lineEnd = (int) ((i + 1 < last ? spillLines[i + 1] : end) - start) - 1;  // sin '\n'
+                spilled.add(GSON.fromJson(new String(data, lineStart, lineEnd - lineStart,
+                    StandardCharsets.UTF_8), Message.class));
+            }
+        } catch (IOException e) {
+            System.err.println("❌ Error leyendo cola en disco de " + owner + ": " + e.getMessage());
+        }
+        return spilled;
+    }
+
+    /**
+     * La memoria quedó vacía: descarta lo ya leído por todos y sube a memoria
+     * lo siguiente (solo esas líneas se leen del disco)
+     */
+    private void reloadSpilled(long minCursor) {
+        int consumed = (int) Math.min(spilledCount, Math.max(0, minCursor - baseOffset));
+        baseOffset += consumed;
+        spillHead += consumed;
+        spilledCount -= consumed;
+
+        int toMemory = Math.min(capacity, spilledCount);
+        memory.addAll(readSpilled(0, toMemory));
+        spillHead += toMemory;
+        spilledCount -= toMemory;
+
+        if (spilledCount == 0) {
+            closeSpill();
+        } else if (spillHead > COMPACT_SPILL_LINES && spillHead > spilledCount) {
+            compactSpill();
+        }
+    }
+
+    /**
+     * Desborde que nunca se vacía del todo: mueve las líneas vivas al principio
+     * del archivo (solo cuando lo muerto ya supera a lo vivo, así el coste se amortiza)
+     */
+    private void compactSpill() {
+        long start = spillLines[spillHead];
+        try {
+            ByteBuffer live = ByteBuffer.allocate((int) (spillEnd - start));
+            while (live.hasRemaining()) {
+                if (spillChannel.read(live, start + live.position()) < 0) {
+                    break;
+                }
+            }
+            live.flip();
+            long position = 0;
+            while (live.hasRemaining()) {
+                position += spillChannel.write(live, position);
+            }
+            spillChannel.truncate(position);
+        } catch (IOException e) {
+            System.err.println("❌ Error compactando cola en disco de " + owner + ": " + e.getMessage());
+            return;
+        }
+
+        for (int i = 0; i < spilledCount; i++) {
+            spillLines[i] = spillLines[spillHead + i] - start;
+        }
+        spillHead = 0;
+        spillEnd -= start;
+    }
+
+    /**
+     * Ya no queda nada en disco: cierra y borra el archivo
+     */
+    private void closeSpill() {
+        spilledCount = 0;
+        spillHead = 0;
+        spillEnd = 0;
+        try {
+            if (spillChannel != null) {
+                spillChannel.close();
+                spillChannel = null;
+            }
+            Files.deleteIfExists(spillFile);
+        } catch (IOException e) {
+            System.err.println("⚠️  Error eliminando cola en disco de " + owner + ": " + e.getMessage());
+        }
+    }
+
+    // ========== MENSAJES SINTÉTICOS ==========
+
+    /**
+     * Clave de conversación: el grupo, o el remitente en chats privados
+     */
+    private static String conversationOf(Message msg) {
+        return (msg.isGroup ? "G:" : "U:") + (msg.isGroup ? msg.recipient : msg.sender);
+    }
+
+    private Message summaryMessage(Message original) {
+        Message msg = new Message();
+        msg.sender = original.isGroup ? "" : original.sender;
+        msg.recipient = original.isGroup ? original.recipient : owner;
+        msg.content = "";
+        msg.type = "SUMMARY";
+        msg.timestamp = now();
+        msg.isGroup = original.isGroup;
+        return msg;
+    }
+
+    private Message resyncMessage() {
+        Message msg = new Message();
+        msg.sender = "";
+        msg.recipient = owner;
+        msg.content = "";
+        msg.type = "RESYNC";
+        msg.timestamp = now();
+        msg.isGroup = false;
+        return msg;
+    }
+
+    private static String now() {
+        return LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+    }
+
+    // ========== CLASES INTERNAS ==========
+
+    private static class Device {
+        long cursor;    // Próximo offset a entregar
+        long lastPoll;
+        boolean resync; // Volvió tras ser expulsado y se perdió mensajes
+
+        Device(long cursor) {
+            this.cursor = cursor;
+            this.lastPoll = System.currentTimeMillis();
+        }
+    }
+
+    private static class Coalesced {
+        final long offset;
+        final Message msg;
+        int count;
+
+        Coalesced(long offset, Message msg) {
+            this.offset = offset;
+            this.msg = msg;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package utils;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import java.io.*;
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Contadores de mensajes no leídos materializados por usuario y conversación.
+ * Se actualizan de forma incremental (al llegar un mensaje y al marcar leído),
+ * así que consultar los badges nunca recorre el historial.
+ */
+public class UnreadCounters {
+    private static final String COUNTERS_FILE = "unread_counts.json";
+    private static final long FLUSH_INTERVAL_MS = 2000;
+
+    // Prefijos de la clave de conversación
+    private static final String USER_PREFIX = "U:";
+    private static final String GROUP_PREFIX = "G:";
+
+    // Mapa: usuario → (conversación → no leídos)
+    private final Map<String, Map<String, Integer>> counters = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean dirty = new AtomicBoolean(false);
+    private final Gson gson = new Gson();
+
+    // Persistencia diferida: agrupa muchos cambios en una sola escritura
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "unread-flusher");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public UnreadCounters() {
+        load();
+        flusher.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL_MS, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "unread-flush-on-exit"));
+    }
+
+    /**
+     * Un mensaje nuevo para username en la conversación indicada
+     */
+    public void increment(String username, String conversation, boolean isGroup) {
+        counters.computeIfAbsent(username, k -> new ConcurrentHashMap<>())
+                .merge(key(conversation, isGroup), 1, Integer::sum);
+        dirty.set(true);
+    }
+
+    /**
+     * El usuario leyó la conversación
+     */
+    public void markRead(String username, String conversation, boolean isGroup) {
+        Map<String, Integer> userCounters = counters.get(username);
+        if (userCounters != null && userCounters.remove(key(conversation, isGroup)) != null) {
+            dirty.set(true);
+        }
+    }
+
+    /**
+     * El usuario leyó todo
+     */
+    public void markAllRead(String username) {
+        // Se vacía (no se elimina) para no perder incrementos concurrentes
+        Map<String, Integer> userCounters = counters.get(username);
+        if (userCounters != null && !userCounters.isEmpty()) {
+            userCounters.clear();
+            dirty.set(true);
+        }
+    }
+
+    /**
+     * Copia de los contadores del usuario: conversación → no leídos
+     */
+    public Map<String, Integer> snapshot(String username) {
+        Map<String, Integer> userCounters = counters.get(username);
+        return userCounters != null ? new HashMap<>(userCounters) : new HashMap<>();
+    }
+
+    public static boolean isGroupKey(String key) {
+        return key.startsWith(GROUP_PREFIX);
+    }
+
+    public static String conversationOf(String key) {
+        return key.substring(2);
+    }
+
+    private static String key(String conversation, boolean isGroup) {
+        return (isGroup ? GROUP_PREFIX : USER_PREFIX) + conversation;
+    }
+
+    // ========== PERSISTENCIA ==========
+
+    public synchronized void flush() {
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+
+        try (Writer writer = new FileWriter(COUNTERS_FILE)) {
+            gson.toJson(counters, writer);
+        } catch (IOException e) {
+            dirty.set(true);
+            System.err.println("❌ Error guardando contadores de no leídos: " + e.getMessage());
+        }
+    }
+
+    private void load() {
+        File file = new File(COUNTERS_FILE);
+        if (!file.exists()) {
+            return;
+        }
+
+        try (Reader reader = new FileReader(COUNTERS_FILE)) {
+            Type mapType = new TypeToken<HashMap<String, HashMap<String, Integer>>>(){}.getType();
+            Map<String, Map<String, Integer>> loaded = gson.fromJson(reader, mapType);
+            if (loaded != null) {
+                loaded.forEach((user, map) -> counters.put(user, new ConcurrentHashMap<>(map)));
+            }
+            System.out.println("✓ Contadores de no leídos cargados: " + counters.size() + " usuarios");
+        } catch (IOException e) {
+            System.err.println("⚠️  Error cargando contadores de no leídos: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package audio;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Saltos de secuencia en el búfer de jitter
+ */
+class JitterBufferTest {
+
+    private static final double FRAME_MILLIS = 46.4;
+
+    private final FramePool pool = new FramePool(1_000_000);
+
+    /**
+     * Trama con su número de secuencia en los primeros 4 bytes
+     */
+    private PooledFrame frame(int seq) {
+        PooledFrame frame = pool.acquire(4);
+        byte[] data = frame.data();
+        data[0] = (byte) (seq >>> 24);
+        data[1] = (byte) (seq >>> 16);
+        data[2] = (byte) (seq >>> 8);
+        data[3] = (byte) seq;
+        return frame;
+    }
+
+    private static int seqOf(PooledFrame frame) {
+        byte[] data = frame.data();
+        return (data[0] & 0xFF) << 24 | (data[1] & 0xFF) << 16 | (data[2] & 0xFF) << 8 | (data[3] & 0xFF);
+    }
+
+    private int playNext(JitterBuffer jitter) {
+        PooledFrame frame = jitter.poll();
+        assertNotNull(frame);
+        int seq = seqOf(frame);
+        frame.release();
+        return seq;
+    }
+
+    private long outstanding() {
+        return pool.getAllocated() - pool.getIdle();
+    }
+
+    @Test
+    void forwardJumpSkipsInOneStep() {
+        JitterBuffer jitter = new JitterBuffer(FRAME_MILLIS);
+        for (int seq = 0; seq < 4; seq++) {
+            jitter.push(seq, 0, frame(seq));
+        }
+        assertEquals(0, playNext(jitter));
+
+        // Un salto de ~2^30 no puede recorrerse de a una secuencia en el hilo del reloj
+        int jump = 1 << 30;
+        for (int seq = jump; seq < jump + 4; seq++) {
+            jitter.push(seq, 0, frame(seq));
+        }
+        PooledFrame played = assertTimeoutPreemptively(Duration.ofSeconds(1), () -> {
+            // Como mucho unos ticks de hueco hasta la primera trama del flujo nuevo
+            PooledFrame next = null;
+            for (int tick = 0; tick < 8 && next == null; tick++) {
+                next = jitter.poll();
+            }
+            return next;
+        });
+        assertNotNull(played);
+        assertTrue(seqOf(played) - jump >= 0, "debe reproducir el flujo nuevo, no " + seqOf(played));
+        played.release();
+
+        jitter.close();
+        assertEquals(0, outstanding());
+    }
+
+    @Test
+    void backwardJumpRestartsTheStream() {
+        JitterBuffer jitter = new JitterBuffer(FRAME_MILLIS);
+        for (int seq = 1000; seq < 1004; seq++) {
+            jitter.push(seq, 0, frame(seq));
+        }
+        for (int seq = 1000; seq < 1004; seq++) {
+            assertEquals(seq, playNext(jitter));
+        }
+
+        // El emisor reinicia su contador: no son tramas tardías
+        for (int seq = 0; seq < 3; seq++) {
+            jitter.push(seq, 0, frame(seq));
+        }
+        assertEquals(0, jitter.getLate());
+        assertEquals(0, playNext(jitter));
+        assertEquals(1, playNext(jitter));
+
+        jitter.close();
+        assertEquals(0, outstanding());
+    }
+
+    @Test
+    void slightlyOldFrameIsLate() {
+        JitterBuffer jitter = new JitterBuffer(FRAME_MILLIS);
+        for (int seq = 10; seq < 14; seq++) {
+            jitter.push(seq, 0, frame(seq));
+        }
+        assertEquals(10, playNext(jitter));
+        assertEquals(11, playNext(jitter));
+
+        jitter.push(10, 0, frame(10));
+        assertEquals(1, jitter.getLate());
+        assertEquals(12, playNext(jitter));
+
+        jitter.close();
+        assertEquals(0, outstanding());
+    }
+
+    @Test
+    void singleLostFrameAtShallowDepthIsReported() {
+        JitterBuffer jitter = new JitterBuffer(FRAME_MILLIS);
+        jitter.push(0, 0, frame(0));
+        assertEquals(0, playNext(jitter));
+
+        // Falta la 1 y no hay nada más guardado: el reloj debe poder ocultarla
+        assertNull(jitter.poll());
+        assertTrue(jitter.wasLost(), "la trama que falta debe informarse como perdida");
+        assertEquals(1, jitter.getLost());
+
+        // Al volver a cebar no se cuenta otra vez
+        jitter.push(2, 0, frame(2));
+        jitter.push(3, 0, frame(3));
+        assertEquals(2, playNext(jitter));
+        assertEquals(1, jitter.getLost());
+
+        jitter.close();
+        assertEquals(0, outstanding());
+    }
+}
@@ -108,6 +108,22 @@ export async function login() {
         console.log('🔊 [AUTH] Audio recibido:', audioData.length, 'bytes');
         simpleAudioStream.receiveAudio(audioData);
       },
+      receiveSpeakerAudio: (fromUser, audioData) => {
+        simpleAudioStream.receiveSpeakerAudio(fromUser, audioData);
+      },
+      receiveCodedAudio: (codec, sampleRate, audioData) => {
+        simpleAudioStream.receiveCodedAudio(codec, sampleRate, audioData);
+      },
+      receiveComfortNoise: (level) => {
+        simpleAudioStream.receiveComfortNoise(level);
+      },
+      qualityChanged: (quality) => {
+        simpleAudioStream.setSendQuality(quality);
+      },
+      audioLevels: async (activeSpeaker, levels) => {
+        const { updateAudioLevels } = await import('./callUI.js');
+        updateAudioLevels(activeSpeaker, levels);
+      },
       incomingCall: async (fromUser) => {
         console.log('📞 [AUTH] ¡LLAMADA ENTRANTE!', fromUser);
         
@@ -148,6 +164,24 @@ export async function login() {
         simpleCallManager.cleanup();
       },
       
+      callBusy: async (fromUser) => {
+        console.log('📵 [AUTH] Llamada OCUPADA:', fromUser);
+        
+        const { hideCallUI } = await import('./callUI.js');
+        hideCallUI();
+        showError(`${fromUser} está en otra llamada`);
+        simpleCallManager.cleanup();
+      },
+      
+      callNoAnswer: async (fromUser) => {
+        console.log('⏰ [AUTH] Llamada SIN RESPUESTA:', fromUser);
+        
+        const { hideCallUI } = await import('./callUI.js');
+        hideCallUI();
+        showError(`${fromUser} no contestó`);
+        simpleCallManager.cleanup();
+      },
+      
       callEnded: async (fromUser) => {
         console.log('🔴 [AUTH] Llamada FINALIZADA por:', fromUser);
         
@@ -175,6 +175,8 @@ export function showActiveCallUI(otherUser) {
         <p class="call-timer" id="callTimer">00:00</p>
       </div>
       
+      <div class="call-levels" id="callLevels"></div>
+      
       <div class="call-controls">
         <button class="btn-call-control" id="muteBtn" title="Silenciar">
           🎤 Micrófono
@@ -208,6 +210,30 @@ export function showActiveCallUI(otherUser) {
   };
 }
 
+// Barras de nivel por participante; el servidor solo avisa cuando algo cambió
+export function updateAudioLevels(activeSpeaker, levels) {
+  const container = document.getElementById('callLevels');
+  if (!container) return;
+  
+  levels.forEach(({ user, level, speaking }) => {
+    let row = container.querySelector(`[data-user="${CSS.escape(user)}"]`);
+    if (!row) {
+      row = document.createElement('div');
+      row.className = 'call-level-row';
+      row.dataset.user = user;
+      row.innerHTML = `
+        <span class="call-level-name"></span>
+        <div class="call-level-bar"><div class="call-level-fill"></div></div>
+      `;
+      row.querySelector('.call-level-name').textContent = user;
+      container.appendChild(row);
+    }
+    row.querySelector('.call-level-fill').style.width = `${level}%`;
+    row.classList.toggle('speaking', speaking);
+    row.classList.toggle('active-speaker', user === activeSpeaker);
+  });
+}
+
 // ✅ NUEVA FUNCIÓN: Eliminar TODOS los modales de llamadas
 function hideAllCallModals() {
   console.log('🧹 [UI] Limpiando todas las UIs de llamadas');
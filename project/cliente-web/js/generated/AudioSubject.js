@@ -32,6 +32,316 @@ const initAudioSystem = () => {
     Slice.defineSequence(AudioSystem, "AudioDataHelper", "Ice.ByteHelper", true);
     Slice.defineSequence(AudioSystem, "StringSeqHelper", "Ice.StringHelper", false);
 
+    // ========================================
+    // ESTRUCTURAS
+    // ========================================
+
+    AudioSystem.AudioFrame = class {
+        constructor(seq = 0, timestamp = 0, data = null) {
+            this.seq = seq;
+            this.timestamp = timestamp;
+            this.data = data;
+        }
+
+        _write(ostr) {
+            ostr.writeInt(this.seq);
+            ostr.writeInt(this.timestamp);
+            AudioSystem.AudioDataHelper.write(ostr, this.data);
+        }
+
+        _read(istr) {
+            this.seq = istr.readInt();
+            this.timestamp = istr.readInt();
+            this.data = AudioSystem.AudioDataHelper.read(istr);
+        }
+
+        static get minWireSize() {
+            return 9;
+        }
+    };
+
+    Slice.defineStruct(AudioSystem.AudioFrame, true, true);
+
+    AudioSystem.StreamStats = class {
+        constructor(received = 0, played = 0, lost = 0, late = 0, duplicates = 0, discarded = 0, jitterMs = 0.0, targetDepth = 0, buffered = 0, suppressed = 0) {
+            this.received = received;
+            this.played = played;
+            this.lost = lost;
+            this.late = late;
+            this.duplicates = duplicates;
+            this.discarded = discarded;
+            this.jitterMs = jitterMs;
+            this.targetDepth = targetDepth;
+            this.buffered = buffered;
+            this.suppressed = suppressed;
+        }
+
+        _write(ostr) {
+            ostr.writeInt(this.received);
+            ostr.writeInt(this.played);
+            ostr.writeInt(this.lost);
+            ostr.writeInt(this.late);
+            ostr.writeInt(this.duplicates);
+            ostr.writeInt(this.discarded);
+            ostr.writeDouble(this.jitterMs);
+            ostr.writeInt(this.targetDepth);
+            ostr.writeInt(this.buffered);
+            ostr.writeInt(this.suppressed);
+        }
+
+        _read(istr) {
+            this.received = istr.readInt();
+            this.played = istr.readInt();
+            this.lost = istr.readInt();
+            this.late = istr.readInt();
+            this.duplicates = istr.readInt();
+            this.discarded = istr.readInt();
+            this.jitterMs = istr.readDouble();
+            this.targetDepth = istr.readInt();
+            this.buffered = istr.readInt();
+            this.suppressed = istr.readInt();
+        }
+
+        static get minWireSize() {
+            return 44;
+        }
+    };
+
+    Slice.defineStruct(AudioSystem.StreamStats, true, false);
+
+    AudioSystem.AudioQuality = class {
+        constructor(level = 0, sampleRate = 0) {
+            this.level = level;
+            this.sampleRate = sampleRate;
+        }
+
+        _write(ostr) {
+            ostr.writeInt(this.level);
+            ostr.writeInt(this.sampleRate);
+        }
+
+        _read(istr) {
+            this.level = istr.readInt();
+            this.sampleRate = istr.readInt();
+        }
+
+        static get minWireSize() {
+            return 8;
+        }
+    };
+
+    Slice.defineStruct(AudioSystem.AudioQuality, true, false);
+
+    AudioSystem.StreamQuality = class {
+        constructor(packets = 0, bytes = new Ice.Long(0, 0), lost = 0, late = 0, reordered = 0, lossPercent = 0.0,
+                    jitterMs = 0.0, latencyP50Ms = 0.0, latencyP95Ms = 0.0, latencyP99Ms = 0.0, latencyMaxMs = 0.0, mos = 0.0) {
+            this.packets = packets;
+            this.bytes = bytes;
+            this.lost = lost;
+            this.late = late;
+            this.reordered = reordered;
+            this.lossPercent = lossPercent;
+            this.jitterMs = jitterMs;
+            this.latencyP50Ms = latencyP50Ms;
+            this.latencyP95Ms = latencyP95Ms;
+            this.latencyP99Ms = latencyP99Ms;
+            this.latencyMaxMs = latencyMaxMs;
+            this.mos = mos;
+        }
+
+        _write(ostr) {
+            ostr.writeInt(this.packets);
+            ostr.writeLong(this.bytes);
+            ostr.writeInt(this.lost);
+            ostr.writeInt(this.late);
+            ostr.writeInt(this.reordered);
+            ostr.writeDouble(this.lossPercent);
+            ostr.writeDouble(this.jitterMs);
+            ostr.writeDouble(this.latencyP50Ms);
+            ostr.writeDouble(this.latencyP95Ms);
+            ostr.writeDouble(this.latencyP99Ms);
+            ostr.writeDouble(this.latencyMaxMs);
+            ostr.writeDouble(this.mos);
+        }
+
+        _read(istr) {
+            this.packets = istr.readInt();
+            this.bytes = istr.readLong();
+            this.lost = istr.readInt();
+            this.late = istr.readInt();
+            this.reordered = istr.readInt();
+            this.lossPercent = istr.readDouble();
+            this.jitterMs = istr.readDouble();
+            this.latencyP50Ms = istr.readDouble();
+            this.latencyP95Ms = istr.readDouble();
+            this.latencyP99Ms = istr.readDouble();
+            this.latencyMaxMs = istr.readDouble();
+            this.mos = istr.readDouble();
+        }
+
+        static get minWireSize() {
+            return 80;
+        }
+    };
+
+    Slice.defineStruct(AudioSystem.StreamQuality, true, false);
+
+    AudioSystem.CallStats = class {
+        constructor(caller = "", callee = "", active = false, durationMs = new Ice.Long(0, 0),
+                    fromCaller = new AudioSystem.StreamQuality(), fromCallee = new AudioSystem.StreamQuality(), mos = 0.0) {
+            this.caller = caller;
+            this.callee = callee;
+            this.active = active;
+            this.durationMs = durationMs;
+            this.fromCaller = fromCaller;
+            this.fromCallee = fromCallee;
+            this.mos = mos;
+        }
+
+        _write(ostr) {
+            ostr.writeString(this.caller);
+            ostr.writeString(this.callee);
+            ostr.writeBool(this.active);
+            ostr.writeLong(this.durationMs);
+            AudioSystem.StreamQuality.write(ostr, this.fromCaller);
+            AudioSystem.StreamQuality.write(ostr, this.fromCallee);
+            ostr.writeDouble(this.mos);
+        }
+
+        _read(istr) {
+            this.caller = istr.readString();
+            this.callee = istr.readString();
+            this.active = istr.readBool();
+            this.durationMs = istr.readLong();
+            this.fromCaller = AudioSystem.StreamQuality.read(istr, this.fromCaller);
+            this.fromCallee = AudioSystem.StreamQuality.read(istr, this.fromCallee);
+            this.mos = istr.readDouble();
+        }
+
+        static get minWireSize() {
+            return 179;
+        }
+    };
+
+    Slice.defineStruct(AudioSystem.CallStats, true, true);
+
+    AudioSystem.UdpSession = class {
+        constructor(token = new Ice.Long(0, 0), port = 0) {
+            this.token = token;
+            this.port = port;
+        }
+
+        _write(ostr) {
+            ostr.writeLong(this.token);
+            ostr.writeInt(this.port);
+        }
+
+        _read(istr) {
+            this.token = istr.readLong();
+            this.port = istr.readInt();
+        }
+
+        static get minWireSize() {
+            return 12;
+        }
+    };
+
+    Slice.defineStruct(AudioSystem.UdpSession, true, false);
+
+    AudioSystem.AudioLevel = class {
+        constructor(user = "", level = 0, speaking = false) {
+            this.user = user;
+            this.level = level;
+            this.speaking = speaking;
+        }
+
+        _write(ostr) {
+            ostr.writeString(this.user);
+            ostr.writeInt(this.level);
+            ostr.writeBool(this.speaking);
+        }
+
+        _read(istr) {
+            this.user = istr.readString();
+            this.level = istr.readInt();
+            this.speaking = istr.readBool();
+        }
+
+        static get minWireSize() {
+            return 6;
+        }
+    };
+
+    Slice.defineStruct(AudioSystem.AudioLevel, true, true);
+
+    Slice.defineSequence(AudioSystem, "AudioLevelSeqHelper", "AudioSystem.AudioLevel", false);
+
+    AudioSystem.BacklogStats = class {
+        constructor(pending = 0, peak = 0, sent = 0, dropped = 0) {
+            this.pending = pending;
+            this.peak = peak;
+            this.sent = sent;
+            this.dropped = dropped;
+        }
+
+        _write(ostr) {
+            ostr.writeInt(this.pending);
+            ostr.writeInt(this.peak);
+            ostr.writeInt(this.sent);
+            ostr.writeInt(this.dropped);
+        }
+
+        _read(istr) {
+            this.pending = istr.readInt();
+            this.peak = istr.readInt();
+            this.sent = istr.readInt();
+            this.dropped = istr.readInt();
+        }
+
+        static get minWireSize() {
+            return 16;
+        }
+    };
+
+    Slice.defineStruct(AudioSystem.BacklogStats, true, false);
+
+    AudioSystem.CallEventType = Slice.defineEnum([
+        ['Incoming', 0],
+        ['Accepted', 1],
+        ['Rejected', 2],
+        ['Ended', 3],
+        ['Busy', 4],
+        ['NoAnswer', 5]
+    ]);
+
+    AudioSystem.CallEvent = class {
+        constructor(seq = 0, type = AudioSystem.CallEventType.Incoming, fromUser = "") {
+            this.seq = seq;
+            this.type = type;
+            this.fromUser = fromUser;
+        }
+
+        _write(ostr) {
+            ostr.writeInt(this.seq);
+            AudioSystem.CallEventType._write(ostr, this.type);
+            ostr.writeString(this.fromUser);
+        }
+
+        _read(istr) {
+            this.seq = istr.readInt();
+            this.type = AudioSystem.CallEventType._read(istr);
+            this.fromUser = istr.readString();
+        }
+
+        static get minWireSize() {
+            return 6;
+        }
+    };
+
+    Slice.defineStruct(AudioSystem.CallEvent, true, true);
+
+    Slice.defineSequence(AudioSystem, "CallEventSeqHelper", "AudioSystem.CallEvent", false);
+
     // ========================================
     // AUDIO OBSERVER (Cliente)
     // ========================================
@@ -46,10 +356,17 @@ const initAudioSystem = () => {
 
     Slice.defineOperations(AudioSystem.AudioObserver, AudioSystem.AudioObserverPrx, iceC_AudioSystem_AudioObserver_ids, 0, {
         "receiveAudio": [, , , , , [["AudioSystem.AudioDataHelper"]], , , , ],
+        "receiveSpeakerAudio": [, , , , , [[7], ["AudioSystem.AudioDataHelper"]], , , , ],
+        "receiveCodedAudio": [, , , , , [[7], [3], ["AudioSystem.AudioDataHelper"]], , , , ],
+        "receiveComfortNoise": [, , , , , [[3]], , , , ],
+        "qualityChanged": [, , , , , [[AudioSystem.AudioQuality]], , , , ],
+        "audioLevels": [, , , , , [[7], ["AudioSystem.AudioLevelSeqHelper"]], , , , ],
         "incomingCall": [, , , , , [[7]], , , , ],
         "callAccepted": [, , , , , [[7]], , , , ],
         "callRejected": [, , , , , [[7]], , , , ],
-        "callEnded": [, , , , , [[7]], , , , ]
+        "callEnded": [, , , , , [[7]], , , , ],
+        "callBusy": [, , , , , [[7]], , , , ],
+        "callNoAnswer": [, , , , , [[7]], , , , ]
     });
 
     // ========================================
@@ -68,15 +385,24 @@ const initAudioSystem = () => {
         "attach": [, , , , , [[7], ["AudioSystem.AudioObserverPrx"]], , , , ],
         "detach": [, , , , , [[7]], , , , ],
         "sendAudio": [, , , , , [[7], ["AudioSystem.AudioDataHelper"]], , , , ],
+        "sendAudioFrame": [, , , , , [[7], [AudioSystem.AudioFrame]], , , , ],
+        "getStreamStats": [, , , , [AudioSystem.StreamStats], [[7]], , , , ],
+        "getListenerBacklog": [, , , , [AudioSystem.BacklogStats], [[7]], , , , ],
+        "getCallStats": [, , , , [AudioSystem.CallStats], [[7]], , , , ],
+        "setCallCodec": [, , , , [1], [[7], [7], [3]], , , , ],
+        "setSendRate": [, , , , [1], [[7], [3]], , , , ],
         "startCall": [, , , , , [[7], [7]], , , , ],
         "acceptCall": [, , , , , [[7], [7]], , , , ],
         "rejectCall": [, , , , , [[7], [7]], , , , ],
         "hangup": [, , , , , [[7], [7]], , , , ],
+        "getUdpSession": [, , , , [AudioSystem.UdpSession], [[7]], , , , ],
+        "setCallRecording": [, , , , [1], [[7], [1]], , , , ],
+        "getCallRecordings": [, , , , ["AudioSystem.StringSeqHelper"], , , , , ],
+        "joinConference": [, , , , [1], [[7], [7]], , , , ],
+        "leaveConference": [, , , , , [[7], [7]], , , , ],
+        "getConferenceParticipants": [, , , , ["AudioSystem.StringSeqHelper"], [[7]], , , , ],
         "getConnectedUsers": [, , , , ["AudioSystem.StringSeqHelper"], , , , , ],
-        "getPendingIncomingCalls": [, , , , ["AudioSystem.StringSeqHelper"], [[7]], , , , ],
-        "getPendingAcceptedCalls": [, , , , ["AudioSystem.StringSeqHelper"], [[7]], , , , ],
-        "getPendingRejectedCalls": [, , , , ["AudioSystem.StringSeqHelper"], [[7]], , , , ],
-        "getPendingEndedCalls": [, , , , ["AudioSystem.StringSeqHelper"], [[7]], , , , ]
+        "pollCallEvents": [, , , , ["AudioSystem.CallEventSeqHelper"], [[7], [3]], , , , ]
     });
 
     // ========================================
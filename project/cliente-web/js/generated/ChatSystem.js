@@ -66,6 +66,62 @@ const initChatSystem = () => {
         Slice.defineSequence(ChatSystem, "MessageSeqHelper", "ChatSystem.Message", false);
     }
 
+    ChatSystem.UnreadCount = class {
+        constructor(conversation = "", isGroup = false, count = 0) {
+            this.conversation = conversation;
+            this.isGroup = isGroup;
+            this.count = count;
+        }
+
+        _write(ostr) {
+            ostr.writeString(this.conversation);
+            ostr.writeBool(this.isGroup);
+            ostr.writeInt(this.count);
+        }
+
+        _read(istr) {
+            this.conversation = istr.readString();
+            this.isGroup = istr.readBool();
+            this.count = istr.readInt();
+        }
+
+        static get minWireSize() {
+            return 6;
+        }
+    };
+
+    Slice.defineStruct(ChatSystem.UnreadCount, true, true);
+
+    if (!ChatSystem.UnreadCountSeqHelper) {
+        Slice.defineSequence(ChatSystem, "UnreadCountSeqHelper", "ChatSystem.UnreadCount", false);
+    }
+
+    ChatSystem.SyncPage = class {
+        constructor(messages = null, nextCursor = new Ice.Long(0, 0), hasMore = false) {
+            this.messages = messages;
+            this.nextCursor = nextCursor;
+            this.hasMore = hasMore;
+        }
+
+        _write(ostr) {
+            ChatSystem.MessageSeqHelper.write(ostr, this.messages);
+            ostr.writeLong(this.nextCursor);
+            ostr.writeBool(this.hasMore);
+        }
+
+        _read(istr) {
+            this.messages = ChatSystem.MessageSeqHelper.read(istr);
+            this.nextCursor = istr.readLong();
+            this.hasMore = istr.readBool();
+        }
+
+        static get minWireSize() {
+            return 10;
+        }
+    };
+
+    Slice.defineStruct(ChatSystem.SyncPage, true, true);
+
     ChatSystem.GroupInfo = class {
         constructor(name = "", creator = "", members = null, memberCount = 0, createdAt = "") {
             this.name = name;
@@ -283,6 +339,36 @@ const initChatSystem = () => {
 
     Slice.defineStruct(ChatSystem.AudioChunk, true, true);
 
+    ChatSystem.PresenceEvent = class {
+        constructor(username = "", online = false, timestamp = new Ice.Long(0, 0)) {
+            this.username = username;
+            this.online = online;
+            this.timestamp = timestamp;
+        }
+
+        _write(ostr) {
+            ostr.writeString(this.username);
+            ostr.writeBool(this.online);
+            ostr.writeLong(this.timestamp);
+        }
+
+        _read(istr) {
+            this.username = istr.readString();
+            this.online = istr.readBool();
+            this.timestamp = istr.readLong();
+        }
+
+        static get minWireSize() {
+            return 10;
+        }
+    };
+
+    Slice.defineStruct(ChatSystem.PresenceEvent, true, true);
+
+    if (!ChatSystem.PresenceEventSeqHelper) {
+        Slice.defineSequence(ChatSystem, "PresenceEventSeqHelper", "ChatSystem.PresenceEvent", false);
+    }
+
     // ========================================
     // INTERFACES Y CALLBACKS
     // ========================================
@@ -313,10 +399,23 @@ const initChatSystem = () => {
         "onIncomingCall": [, , , , , [[ChatSystem.CallOffer]], , , ,],
         "onCallAnswer": [, , , , , [[ChatSystem.CallAnswer]], , , ,],
         "onRtcCandidate": [, , , , , [[ChatSystem.RtcCandidate]], , , ,],
+        "onRtcCandidates": [, , , , , [["ChatSystem.RtcCandidateSeqHelper"]], , , ,],
         "onCallEnded": [, , , , , [[7], [7]], , , ,],
         "onAudioChunk": [, , , , , [[ChatSystem.AudioChunk]], , , ,]
     });
 
+    const iceC_ChatSystem_PresenceCallback_ids = [
+        "::ChatSystem::PresenceCallback",
+        "::Ice::Object"
+    ];
+
+    ChatSystem.PresenceCallback = class extends Ice.Object {};
+    ChatSystem.PresenceCallbackPrx = class extends Ice.ObjectPrx {};
+
+    Slice.defineOperations(ChatSystem.PresenceCallback, ChatSystem.PresenceCallbackPrx, iceC_ChatSystem_PresenceCallback_ids, 0, {
+        "onPresenceChanged": [, , , , , [["ChatSystem.PresenceEventSeqHelper"]], , , ,]
+    });
+
     const iceC_ChatSystem_ChatService_ids = [
         "::ChatSystem::ChatService",
         "::Ice::Object"
@@ -361,7 +460,14 @@ const initChatSystem = () => {
         "subscribe": [, , , , , [[7], ["ChatSystem.NotificationCallbackPrx"]], , , ,],
         "unsubscribe": [, , , , , [[7]], , , ,],
         "getNewMessages": [, , , , ["ChatSystem.MessageSeqHelper"], [[7]], , , ,],
-        "markAsRead": [, , , , , [[7]], , , ,]
+        "markAsRead": [, , , , , [[7]], , , ,],
+        "registerDevice": [, , , , , [[7], [7]], , , ,],
+        "unregisterDevice": [, , , , , [[7], [7]], , , ,],
+        "getNewMessagesForDevice": [, , , , ["ChatSystem.MessageSeqHelper"], [[7], [7]], , , ,],
+        "getMessagesSince": [, , , , [ChatSystem.SyncPage], [[7], [4], [3]], , , ,],
+        "ackMessages": [, , , , , [[7], [4]], , , ,],
+        "getUnreadCounts": [, , , , ["ChatSystem.UnreadCountSeqHelper"], [[7]], , , ,],
+        "markConversationRead": [, , , , , [[7], [7], [1]], , , ,]
     });
 
     const iceC_ChatSystem_VoiceService_ids = [
@@ -379,6 +485,23 @@ const initChatSystem = () => {
         "getGroupVoiceNotes": [, , , , ["ChatSystem.VoiceNoteSeqHelper"], [[7]], , , ,]
     });
 
+    const iceC_ChatSystem_PresenceService_ids = [
+        "::ChatSystem::PresenceService",
+        "::Ice::Object"
+    ];
+
+    ChatSystem.PresenceService = class extends Ice.Object {};
+    ChatSystem.PresenceServicePrx = class extends Ice.ObjectPrx {};
+
+    Slice.defineOperations(ChatSystem.PresenceService, ChatSystem.PresenceServicePrx, iceC_ChatSystem_PresenceService_ids, 0, {
+        "heartbeat": [, , , , , [[7]], , , ,],
+        "goOffline": [, , , , , [[7]], , , ,],
+        "getOnlineUsers": [, , , , ["ChatSystem.StringSeqHelper"], , , , ,],
+        "subscribe": [, , , , , [[7], ["ChatSystem.PresenceCallbackPrx"]], , , ,],
+        "unsubscribe": [, , , , , [[7]], , , ,],
+        "getPresenceChanges": [, , , , ["ChatSystem.PresenceEventSeqHelper"], [[7]], , , ,]
+    });
+
     const iceC_ChatSystem_CallService_ids = [
         "::ChatSystem::CallService",
         "::Ice::Object"
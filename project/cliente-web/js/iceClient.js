@@ -2,6 +2,12 @@
 // js/iceClient.js - CORREGIDO: Observer recibe audio
 // ============================================
 
+// Long-poll de avisos de llamada (el servidor corta a los 25 s)
+const CALL_EVENTS_WAIT_MS = 20000;
+const CALL_EVENTS_RETRY_MS = 2000;
+// Un aviso que el observer entregó hace menos de esto no se repite
+const CALL_NOTIFICATION_DEDUP_MS = 10000;
+
 class IceClientManager {
   constructor() {
     this.communicator = null;
@@ -10,6 +16,8 @@ class IceClientManager {
     this.notificationService = null;
     this.voiceService = null;
     this.callService = null;
+    this.presenceService = null;
+    this.presenceInterval = null;
     this.isConnected = false;
     this.notificationAdapter = null;
     this.callAdapter = null;
@@ -19,8 +27,9 @@ class IceClientManager {
 
     this.audioSubject = null;
     this.audioAdapter = null;
-    this.audioPollingInterval = null;
+    this.audioPolling = null;
     this.audioCallbacks = null;
+    this.callNotifications = new Map();
   }
 
   getServerConfig() {
@@ -163,6 +172,17 @@ class IceClientManager {
         this.voiceService = null;
       }
       
+      // PresenceService (OPCIONAL)
+      try {
+        console.log('  🔗 Conectando PresenceService...');
+        const presenceProxy = this.communicator.stringToProxy(`PresenceService:ws -h ${host} -p ${port}`);
+        this.presenceService = await Ice.ChatSystem.PresenceServicePrx.checkedCast(presenceProxy);
+        console.log('  ✅ PresenceService conectado');
+      } catch (err) {
+        console.warn('  ⚠️ PresenceService no disponible');
+        this.presenceService = null;
+      }
+      
       // CallService (OPCIONAL)
       try {
         console.log('  🔗 Conectando CallService...');
@@ -237,7 +257,8 @@ class IceClientManager {
       
       // Crear instancia del subscriber
       const subscriber = new AudioSubscriber({
-        audioCallbacks: observerCallbacks
+        audioCallbacks: observerCallbacks,
+      noteCallNotification: (type, fromUser) => this.noteCallNotification(type, fromUser)
       });
       
       console.log('   ✅ AudioSubscriber creado');
@@ -277,57 +298,90 @@ class IceClientManager {
     }
   }
 
-  // Polling para llamadas (fallback)
+  // Polling para llamadas (fallback): UNA petición de long-poll trae todos
+  // los avisos en orden; el servidor la responde en cuanto hay alguno
   startAudioPolling(username) {
-  if (this.audioPollingInterval) {
-    clearInterval(this.audioPollingInterval);
-  }
-  
-  console.log('🔄 [AUDIO POLLING] Iniciando para:', username);
-  
-  // ✅ Contador de callbacks recibidos
-  let callbacksReceived = 0;
-  
-  this.audioPollingInterval = setInterval(async () => {
-    try {
-      // Consultar llamadas aceptadas
-      const acceptedCalls = await this.audioSubject.getPendingAcceptedCalls(username);
-      if (acceptedCalls && acceptedCalls.length > 0) {
-        console.log('✅ [AUDIO POLLING] Llamadas aceptadas:', acceptedCalls);
-        
-        // 🔥 SI YA SE RECIBIÓ POR CALLBACK, NO PROCESAR
-        for (const fromUser of acceptedCalls) {
-          callbacksReceived++;
-          
-          // Solo procesar si callbacks NO funcionaron (< 2 segundos)
-          if (callbacksReceived === 1) {
-            if (this.audioCallbacks.callAccepted) {
-              this.audioCallbacks.callAccepted(fromUser);
+    this.stopAudioPolling();
+    
+    console.log('🔄 [AUDIO POLLING] Iniciando para:', username);
+    
+    const polling = { active: true };
+    this.audioPolling = polling;
+    
+    const loop = async () => {
+      while (polling.active && this.audioSubject) {
+        try {
+          const events = await this.audioSubject.pollCallEvents(username, CALL_EVENTS_WAIT_MS);
+          if (polling.active) {
+            for (const event of events) {
+              this.dispatchCallEvent(event);
             }
           }
+        } catch (error) {
+          if (!polling.active) {
+            break;
+          }
+          if (!error.message?.includes('timeout')) {
+            console.error('❌ [AUDIO POLLING] Error:', error);
+          }
+          // No martillar al servidor si está caído
+          await new Promise(resolve => setTimeout(resolve, CALL_EVENTS_RETRY_MS));
         }
       }
-      
-      // ... resto del código igual
-      
-    } catch (error) {
-      if (!error.message.includes('timeout')) {
-        console.error('❌ [AUDIO POLLING] Error:', error);
-      }
+    };
+    loop();
+    
+    console.log('✅ [AUDIO POLLING] Polling activo');
+  }
+  
+  stopAudioPolling() {
+    if (this.audioPolling) {
+      this.audioPolling.active = false;
+      this.audioPolling = null;
+      console.log('🔄 Audio polling detenido');
     }
-  }, 1000);
+    this.callNotifications.clear();
+  }
   
-  console.log('✅ [AUDIO POLLING] Polling activo');
-}
+  // El observer ya entregó un aviso de este tipo: el polling saltará el suyo.
+  // Se cuenta por tipo y no por usuario porque al colgar el observer recibe
+  // callEnded con quien colgó y la cola guarda al otro extremo
+  noteCallNotification(type, fromUser) {
+    const times = this.callNotifications.get(type) || [];
+    times.push(Date.now());
+    this.callNotifications.set(type, times);
+  }
+  
+  dispatchCallEvent(event) {
+    const type = event.type.name;
+    const times = this.callNotifications.get(type);
+    const now = Date.now();
+    while (times && times.length > 0) {
+      if (now - times.shift() < CALL_NOTIFICATION_DEDUP_MS) {
+        return;
+      }
+    }
+    
+    console.log(`📬 [AUDIO POLLING] #${event.seq} ${type} de ${event.fromUser} (sin callback)`);
+    
+    const callback = {
+      Incoming: 'incomingCall',
+      Accepted: 'callAccepted',
+      Rejected: 'callRejected',
+      Ended: 'callEnded',
+      Busy: 'callBusy',
+      NoAnswer: 'callNoAnswer'
+    }[type];
+    
+    if (callback && this.audioCallbacks?.[callback]) {
+      this.audioCallbacks[callback](event.fromUser);
+    }
+  }
 
   async disconnectFromAudioSubject(username) {
     try {
       // Detener polling
-      if (this.audioPollingInterval) {
-        clearInterval(this.audioPollingInterval);
-        this.audioPollingInterval = null;
-        console.log('🔄 Audio polling detenido');
-      }
+      this.stopAudioPolling();
       
       if (this.audioSubject && username) {
         await this.audioSubject.detach(username);
@@ -619,12 +673,95 @@ async subscribeToNotifications(username, callbacks) {
     throw error;
   }
 }
+  // ========================================================================
+  // DISPOSITIVOS (cada pestaña tiene su propio cursor de entrega)
+  // ========================================================================
+
+  getDeviceId() {
+    // sessionStorage es por pestaña: dos pestañas = dos dispositivos
+    let deviceId = sessionStorage.getItem('deviceId');
+    if (!deviceId) {
+      deviceId = 'web-' + Date.now().toString(36) + '-' + Math.random().toString(36).slice(2, 8);
+      sessionStorage.setItem('deviceId', deviceId);
+    }
+    return deviceId;
+  }
+
+  async registerDevice(username) {
+    if (!this.notificationService) return;
+    await this.notificationService.registerDevice(username, this.getDeviceId());
+    console.log('📱 Dispositivo registrado:', this.getDeviceId());
+  }
+
+  async getNewMessages(username) {
+    return await this.notificationService.getNewMessagesForDevice(username, this.getDeviceId());
+  }
+
+  // ========================================================================
+  // NO LEÍDOS
+  // ========================================================================
+
+  async getUnreadCounts(username) {
+    if (!this.notificationService) return [];
+    return await this.notificationService.getUnreadCounts(username);
+  }
+
+  async markConversationRead(username, conversation, isGroup) {
+    if (!this.notificationService) return;
+    try {
+      await this.notificationService.markConversationRead(username, conversation, isGroup);
+    } catch (error) {
+      console.warn('⚠️ Error marcando conversación como leída:', error);
+    }
+  }
+
+  // ========================================================================
+  // PRESENCIA
+  // ========================================================================
+
+  startPresenceHeartbeat(username, intervalMs = 10000) {
+    if (!this.presenceService) return;
+    
+    this.stopPresenceHeartbeat();
+    
+    const beat = () => this.presenceService.heartbeat(username).catch(() => {});
+    beat();
+    this.presenceInterval = setInterval(beat, intervalMs);
+    console.log('💓 Latido de presencia activo cada', intervalMs / 1000, 's');
+  }
+
+  stopPresenceHeartbeat() {
+    if (this.presenceInterval) {
+      clearInterval(this.presenceInterval);
+      this.presenceInterval = null;
+    }
+  }
+
+  async getOnlineUsers() {
+    if (!this.presenceService) return [];
+    return await this.presenceService.getOnlineUsers();
+  }
+
   // ========================================================================
   // CLEANUP
   // ========================================================================
 
   async disconnect() {
+    this.stopPresenceHeartbeat();
+    if (this.username && this.presenceService) {
+      try {
+        await this.presenceService.goOffline(this.username);
+      } catch (error) {
+        console.warn('⚠️ Error notificando desconexión de presencia:', error);
+      }
+    }
+    
     if (this.username && this.notificationService) {
+      try {
+        await this.notificationService.unregisterDevice(this.username, this.getDeviceId());
+      } catch (error) {
+        console.warn('⚠️ Error desregistrando dispositivo:', error);
+      }
       await this.unsubscribeFromNotifications(this.username);
     }
     
@@ -651,6 +788,7 @@ async subscribeToNotifications(username, callbacks) {
     this.notificationService = null;
     this.voiceService = null;
     this.callService = null;
+    this.presenceService = null;
     this.isConnected = false;
     
     if (window.updateConnectionStatus) {
@@ -781,7 +919,8 @@ async connectToAudioSubject(host, port, username, observerCallbacks) {
     
     // Crear instancia (pasando self como delegate)
     const subscriber = new AudioSubscriber({
-      audioCallbacks: observerCallbacks
+      audioCallbacks: observerCallbacks,
+      noteCallNotification: (type, fromUser) => this.noteCallNotification(type, fromUser)
     });
     
     console.log('   ✅ AudioSubscriber creado');
@@ -198,6 +198,9 @@ export async function loadHistory(target, isGroup, showLoading = false) {
       historyText = await iceClient.getConversationHistory(state.currentUsername, target);
     }
     
+    // El chat está abierto: su contador de no leídos vuelve a cero
+    iceClient.markConversationRead(state.currentUsername, target, isGroup);
+    
     // Manejar errores
     if (historyText.startsWith('ERROR:')) {
       const errorMsg = historyText.replace('ERROR:', '').trim();
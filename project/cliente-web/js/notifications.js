@@ -30,13 +30,16 @@ export async function subscribeToRealTimeNotifications(username) {
       clearInterval(notificationPollingInterval);
     }
     
+    // Registrar esta pestaña como dispositivo (cursor propio en el servidor)
+    await iceClient.registerDevice(username);
+    
     // ========================================
-    // POLLING: Llamar a getNewMessages() cada 1s
+    // POLLING: Llamar a getNewMessagesForDevice() cada 1s
     // ========================================
     notificationPollingInterval = setInterval(async () => {
       try {
-        // Llamar a getNewMessages() del servidor
-        const newMessages = await iceClient.notificationService.getNewMessages(username);
+        // Solo lo pendiente para ESTE dispositivo
+        const newMessages = await iceClient.getNewMessages(username);
         
         if (newMessages && newMessages.length > 0) {
           console.log('📬 ' + newMessages.length + ' mensaje(s) nuevo(s)');
@@ -57,6 +60,9 @@ export async function subscribeToRealTimeNotifications(username) {
     
     console.log('✅ Polling ACTIVO - Escuchando mensajes cada 1 segundo\n');
     
+    // Presencia: latido periódico mientras la sesión esté abierta
+    iceClient.startPresenceHeartbeat(username);
+    
   } catch (error) {
     console.error('❌ Error en subscribeToRealTimeNotifications:', error);
     throw error;
@@ -72,6 +78,7 @@ export function stopNotificationPolling() {
     notificationPollingInterval = null;
     console.log('🛑 Polling detenido');
   }
+  iceClient.stopPresenceHeartbeat();
 }
 
 /**
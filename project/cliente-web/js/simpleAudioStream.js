@@ -5,6 +5,25 @@
 // ✅ Reproducción directa con Web Audio API
 // ============================================
 
+// Tablas G.711 → muestra lineal (se calculan una vez)
+const ULAW_TABLE = new Float32Array(256);
+const ALAW_TABLE = new Float32Array(256);
+
+for (let i = 0; i < 256; i++) {
+  // mu-law
+  let u = ~i & 0xFF;
+  let t = (((u & 0x0F) << 3) + 0x84) << ((u & 0x70) >> 4);
+  ULAW_TABLE[i] = ((u & 0x80) ? (0x84 - t) : (t - 0x84)) / 32768.0;
+
+  // A-law
+  let a = i ^ 0x55;
+  let seg = (a & 0x70) >> 4;
+  let v = (a & 0x0F) << 4;
+  v += seg === 0 ? 8 : 0x108;
+  if (seg > 1) v <<= seg - 1;
+  ALAW_TABLE[i] = ((a & 0x80) ? v : -v) / 32768.0;
+}
+
 class SimpleAudioStream {
   constructor() {
     this.audioSubject = null;
@@ -17,10 +36,15 @@ class SimpleAudioStream {
     this.gainNode = null;
     this.isMuted = false;
     this.isStreaming = false;
+    this.sendSeq = 0;          // Número de secuencia de la próxima trama
+    this.streamStartTime = 0;  // Origen de los timestamps (ms)
+    this.sendRate = 44100;     // Frecuencia de envío (el servidor la baja si el otro se atrasa)
 
     // === REPRODUCCIÓN OPTIMIZADA ===
     this.nextPlayTime = 0; // Para sincronización precisa
+    this.speakerPlayTimes = new Map(); // Conferencias SFU: una línea de tiempo por hablante
     this.bufferDuration = 0.046; // Duración de cada buffer (2048/44100)
+    this.comfortNoise = null;    // { source, gain } mientras el otro extremo calla
 
     console.log('🎤 [AUDIO STREAM] Inicializado');
   }
@@ -88,6 +112,9 @@ class SimpleAudioStream {
       console.log('   ✅ Captura de audio conectada');
 
       // Marcar como activo ANTES de onaudioprocess
+      this.sendSeq = 0;
+      this.streamStartTime = performance.now();
+      this.sendRate = this.audioContext.sampleRate;
       this.isStreaming = true;
 
       let packetCount = 0;
@@ -96,7 +123,7 @@ class SimpleAudioStream {
       this.scriptProcessor.onaudioprocess = (e) => {
         if (!this.isStreaming || this.isMuted) return;
 
-        const inputData = e.inputBuffer.getChannelData(0);
+        const inputData = this.downsample(e.inputBuffer.getChannelData(0));
         
         // ✅ CONVERSIÓN PCM16 OPTIMIZADA
         const pcm16 = new Int16Array(inputData.length);
@@ -135,7 +162,15 @@ class SimpleAudioStream {
     if (!this.audioSubject || !this.isStreaming) return;
 
     try {
-      await this.audioSubject.sendAudio(this.username, pcm8Data);
+      // Trama numerada: el servidor la reordena y mide pérdidas y jitter
+      const frame = new window.Ice.AudioSystem.AudioFrame(
+        this.sendSeq,
+        Math.round(performance.now() - this.streamStartTime) | 0,
+        pcm8Data
+      );
+      this.sendSeq = (this.sendSeq + 1) | 0;
+
+      await this.audioSubject.sendAudioFrame(this.username, frame);
     } catch (error) {
       if (!error.message?.includes('timeout')) {
         console.error('❌ Error enviando audio:', error);
@@ -143,6 +178,44 @@ class SimpleAudioStream {
     }
   }
 
+  // ========================================
+  // CALIDAD ADAPTATIVA (la pide el servidor)
+  // ========================================
+  async setSendQuality(quality) {
+    if (!this.audioSubject || !this.isStreaming) return;
+    if (quality.sampleRate === this.sendRate) return;
+
+    try {
+      // Primero se avisa al servidor, luego se cambia lo que se envía
+      const ok = await this.audioSubject.setSendRate(this.username, quality.sampleRate);
+      if (ok) {
+        this.sendRate = quality.sampleRate;
+        console.log(`🎚️ [AUDIO] Enviando a ${this.sendRate} Hz (nivel ${quality.level})`);
+      }
+    } catch (error) {
+      console.warn('⚠️ No se pudo cambiar la calidad:', error);
+    }
+  }
+
+  // Promedia las muestras de cada intervalo de salida (filtro simple anti-aliasing)
+  downsample(input) {
+    const inRate = this.audioContext.sampleRate;
+    if (this.sendRate >= inRate) return input;
+
+    const ratio = inRate / this.sendRate;
+    const output = new Float32Array(Math.floor(input.length / ratio));
+    for (let i = 0; i < output.length; i++) {
+      const start = Math.floor(i * ratio);
+      const end = Math.min(input.length, Math.floor((i + 1) * ratio));
+      let sum = 0;
+      for (let j = start; j < end; j++) {
+        sum += input[j];
+      }
+      output[i] = sum / (end - start);
+    }
+    return output;
+  }
+
   // ========================================
   // ✅ RECEPCIÓN Y REPRODUCCIÓN DIRECTA (SIN COLA)
   // ========================================
@@ -150,42 +223,131 @@ class SimpleAudioStream {
     if (!this.isStreaming || !audioData || audioData.length === 0) return;
 
     try {
-      // ✅ CONVERSIÓN CORRECTA (Little Endian)
-      const uint8Array = audioData instanceof Uint8Array 
-        ? audioData 
-        : new Uint8Array(audioData);
+      this.stopComfortNoise();
       
-      // Bytes → Int16Array (little-endian)
-      const pcm16 = new Int16Array(uint8Array.length / 2);
-      for (let i = 0; i < pcm16.length; i++) {
-        const lowByte = uint8Array[i * 2];
-        const highByte = uint8Array[i * 2 + 1];
-        // ✅ Combinar bytes correctamente
-        pcm16[i] = (highByte << 8) | lowByte;
-        // Manejar signo
-        if (pcm16[i] > 32767) pcm16[i] -= 65536;
-      }
-      
-      // Int16 → Float32 para reproducción
-      const floatData = new Float32Array(pcm16.length);
-      for (let i = 0; i < pcm16.length; i++) {
-        floatData[i] = pcm16[i] / 32768.0;
-      }
-
       // ✅ REPRODUCIR DIRECTAMENTE (SIN COLA)
-      this.playImmediately(floatData);
+      this.playImmediately(this.decodePcm16(audioData));
       
     } catch (error) {
       console.error('❌ Error procesando audio recibido:', error);
     }
   }
 
+  // ✅ SFU: cada hablante suena en paralelo (Web Audio mezcla las fuentes)
+  receiveSpeakerAudio(fromUser, audioData) {
+    if (!this.isStreaming || !audioData || audioData.length === 0) return;
+
+    try {
+      const timeline = this.speakerPlayTimes.get(fromUser) ?? 0;
+      this.speakerPlayTimes.set(fromUser, this.schedule(this.decodePcm16(audioData), timeline));
+    } catch (error) {
+      console.error('❌ Error procesando audio de', fromUser, error);
+    }
+  }
+
+  // ✅ Formato negociado por llamada: G.711 (1 byte/muestra) o PCM16 a menor frecuencia
+  receiveCodedAudio(codec, sampleRate, audioData) {
+    if (!this.isStreaming || !audioData || audioData.length === 0) return;
+
+    try {
+      this.stopComfortNoise();
+
+      let floatData;
+      if (codec === 'PCMU' || codec === 'PCMA') {
+        const table = codec === 'PCMU' ? ULAW_TABLE : ALAW_TABLE;
+        floatData = new Float32Array(audioData.length);
+        for (let i = 0; i < audioData.length; i++) {
+          floatData[i] = table[audioData[i]];
+        }
+      } else {
+        floatData = this.decodePcm16(audioData);
+      }
+
+      // Web Audio reconvierte a la frecuencia del contexto
+      this.nextPlayTime = this.schedule(floatData, this.nextPlayTime, sampleRate);
+    } catch (error) {
+      console.error('❌ Error procesando audio codificado:', error);
+    }
+  }
+
+  // ✅ Silencio del otro extremo: ruido suave en bucle hasta que vuelva el audio
+  receiveComfortNoise(level) {
+    if (!this.isStreaming || !this.audioContext) return;
+
+    // level = media de |muestra| PCM16; el ruido uniforme en [-a, a] tiene media a/2
+    const amplitude = Math.min(0.05, (2 * level) / 32768);
+
+    if (this.comfortNoise) {
+      this.comfortNoise.gain.gain.value = amplitude;
+      return;
+    }
+
+    const length = this.audioContext.sampleRate; // 1 s
+    const buffer = this.audioContext.createBuffer(1, length, this.audioContext.sampleRate);
+    const data = buffer.getChannelData(0);
+    for (let i = 0; i < length; i++) {
+      data[i] = Math.random() * 2 - 1;
+    }
+
+    const source = this.audioContext.createBufferSource();
+    source.buffer = buffer;
+    source.loop = true;
+
+    const gain = this.audioContext.createGain();
+    gain.gain.value = amplitude;
+
+    source.connect(gain);
+    gain.connect(this.audioContext.destination);
+    source.start(Math.max(this.nextPlayTime, this.audioContext.currentTime));
+
+    this.comfortNoise = { source, gain };
+  }
+
+  stopComfortNoise() {
+    if (!this.comfortNoise) return;
+    try {
+      this.comfortNoise.source.stop();
+    } catch (e) {}
+    this.comfortNoise = null;
+  }
+
+  decodePcm16(audioData) {
+    // ✅ CONVERSIÓN CORRECTA (Little Endian)
+    const uint8Array = audioData instanceof Uint8Array 
+      ? audioData 
+      : new Uint8Array(audioData);
+    
+    // Bytes → Int16Array (little-endian)
+    const pcm16 = new Int16Array(uint8Array.length / 2);
+    for (let i = 0; i < pcm16.length; i++) {
+      const lowByte = uint8Array[i * 2];
+      const highByte = uint8Array[i * 2 + 1];
+      // ✅ Combinar bytes correctamente
+      pcm16[i] = (highByte << 8) | lowByte;
+      // Manejar signo
+      if (pcm16[i] > 32767) pcm16[i] -= 65536;
+    }
+    
+    // Int16 → Float32 para reproducción
+    const floatData = new Float32Array(pcm16.length);
+    for (let i = 0; i < pcm16.length; i++) {
+      floatData[i] = pcm16[i] / 32768.0;
+    }
+
+    return floatData;
+  }
+
   // ✅ REPRODUCCIÓN INMEDIATA CON SINCRONIZACIÓN PRECISA
   playImmediately(floatData) {
-    if (!this.audioContext) return;
+    this.nextPlayTime = this.schedule(floatData, this.nextPlayTime);
+  }
+
+  // Programa el buffer tras nextPlayTime; devuelve el nuevo fin de la línea de tiempo
+  schedule(floatData, nextPlayTime, sampleRate = 44100) {
+    if (!this.audioContext) return nextPlayTime;
 
     // Crear buffer de audio
-    const audioBuffer = this.audioContext.createBuffer(1, floatData.length, 44100);
+    const audioBuffer = this.audioContext.createBuffer(1, floatData.length, sampleRate);
     audioBuffer.copyToChannel(floatData, 0);
 
     // Crear source
@@ -197,22 +359,22 @@ class SimpleAudioStream {
     const now = this.audioContext.currentTime;
     
     // Si el siguiente tiempo está muy atrás, resetear
-    if (this.nextPlayTime < now - 0.1) {
+    if (nextPlayTime < now - 0.1) {
       console.warn('⚠️ Reseteo de timeline de audio (desfase detectado)');
-      this.nextPlayTime = now;
+      nextPlayTime = now;
     }
     
     // Si está muy adelante (más de 200ms), ajustar
-    if (this.nextPlayTime > now + 0.2) {
+    if (nextPlayTime > now + 0.2) {
       console.warn('⚠️ Timeline muy adelantado, ajustando');
-      this.nextPlayTime = now + 0.05;
+      nextPlayTime = now + 0.05;
     }
     
     // Programar reproducción
-    source.start(Math.max(this.nextPlayTime, now));
+    source.start(Math.max(nextPlayTime, now));
     
-    // Actualizar próximo tiempo
-    this.nextPlayTime = Math.max(this.nextPlayTime, now) + audioBuffer.duration;
+    // Próximo tiempo
+    return Math.max(nextPlayTime, now) + audioBuffer.duration;
   }
 
   // ========================================
@@ -233,6 +395,7 @@ class SimpleAudioStream {
     console.log('🧹 [AUDIO STREAM] Cleanup');
 
     this.isStreaming = false;
+    this.stopComfortNoise();
 
     // Detener captura
     if (this.mediaStream) {
@@ -257,6 +420,7 @@ class SimpleAudioStream {
     this.isMuted = false;
     this.gainNode = null;
     this.nextPlayTime = 0;
+    this.speakerPlayTimes.clear();
   }
 }
 
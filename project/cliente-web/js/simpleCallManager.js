@@ -6,6 +6,10 @@
 
 import { simpleAudioStream } from './simpleAudioStream.js';
 
+// Formato en que pedimos recibir el audio de las llamadas 1 a 1: G.711 de banda
+// ancha (el servidor remuestrea 44.1 → 16 kHz). null = PCM16 a 44.1 kHz sin conversión
+const RECEIVE_CODEC = { codec: 'PCMU', sampleRate: 16000 };
+
 class SimpleCallManager {
   constructor() {
     this.activeCall = null;
@@ -140,6 +144,8 @@ class SimpleCallManager {
       await simpleAudioStream.startStreaming();
       console.log('   ✅ Audio streaming activo');
       
+      await this.negotiateCodec();
+      
       // ✅ Iniciar contador de duración (SIN timeout)
       this.startDurationTimer();
       
@@ -189,6 +195,8 @@ class SimpleCallManager {
       await simpleAudioStream.startStreaming();
       console.log('   ✅ Audio streaming ACTIVO');
       
+      await this.negotiateCodec();
+      
       // ✅ Iniciar contador (sin timeout)
       this.startDurationTimer();
       
@@ -200,6 +208,28 @@ class SimpleCallManager {
     }
   }
   
+  // ========================================
+  // CODEC DE LA LLAMADA
+  // ========================================
+  
+  async negotiateCodec() {
+    if (!RECEIVE_CODEC) return;
+    
+    try {
+      const ok = await this.audioSubject.setCallCodec(
+        this.username,
+        RECEIVE_CODEC.codec,
+        RECEIVE_CODEC.sampleRate
+      );
+      console.log(ok
+        ? `   🎚️ Recibiendo audio en ${RECEIVE_CODEC.codec}/${RECEIVE_CODEC.sampleRate}`
+        : '   ⚠️ Servidor no aceptó el codec, se recibe PCM16');
+    } catch (err) {
+      // Servidor sin soporte de codecs: se sigue con PCM16
+      console.warn('⚠️ No se pudo negociar codec:', err);
+    }
+  }
+  
   // ========================================
   // RECHAZAR LLAMADA
   // ========================================
@@ -235,6 +265,10 @@ class SimpleCallManager {
     try {
       if (!this.activeCall) return;
       
+      if (this.activeCall.type === 'GROUP') {
+        return await this.leaveGroupCall();
+      }
+      
       console.log('📞 [SIMPLE CALL] Finalizando llamada');
       
       const otherUser = this.activeCall.type === 'OUTGOING' 
@@ -263,6 +297,56 @@ class SimpleCallManager {
     }
   }
   
+  // ========================================
+  // LLAMADA GRUPAL (conferencia del grupo)
+  // ========================================
+  
+  async joinGroupCall(groupName) {
+    if (!this.audioSubject) {
+      throw new Error('AudioSubject no configurado');
+    }
+    
+    console.log('👥 [SIMPLE CALL] Uniéndose a la llamada de:', groupName);
+    
+    const joined = await this.audioSubject.joinConference(groupName, this.username);
+    if (!joined) {
+      throw new Error(`No se pudo entrar a la llamada de ${groupName}`);
+    }
+    
+    this.activeCall = {
+      type: 'GROUP',
+      groupName,
+      startTime: Date.now(),
+      status: 'CONNECTED',
+      answerTime: Date.now()
+    };
+    
+    // El servidor mezcla: se envía y recibe el audio igual que en 1 a 1
+    await simpleAudioStream.startStreaming();
+    this.startDurationTimer();
+    
+    const participants = await this.audioSubject.getConferenceParticipants(groupName);
+    console.log('   ✅ En llamada grupal con:', participants);
+    return participants;
+  }
+  
+  async leaveGroupCall() {
+    if (!this.activeCall || this.activeCall.type !== 'GROUP') return;
+    
+    console.log('👥 [SIMPLE CALL] Saliendo de la llamada de:', this.activeCall.groupName);
+    
+    this.clearAllTimers();
+    simpleAudioStream.cleanup();
+    
+    try {
+      await this.audioSubject.leaveConference(this.activeCall.groupName, this.username);
+    } catch (err) {
+      console.warn('⚠️ Error saliendo de la conferencia:', err);
+    }
+    
+    this.cleanup();
+  }
+  
   // ========================================
   // TIMERS
   // ========================================
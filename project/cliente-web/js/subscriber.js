@@ -32,9 +32,63 @@ export default class AudioSubscriber extends window.Ice.AudioSystem.AudioObserve
     }
   }
   
+  // Conferencias grandes (SFU): llega el audio de cada hablante por separado
+  receiveSpeakerAudio(fromUser, data, current) {
+    try {
+      const audioData = data instanceof Uint8Array ? data : new Uint8Array(data);
+      
+      if (this.delegate.audioCallbacks?.receiveSpeakerAudio) {
+        this.delegate.audioCallbacks.receiveSpeakerAudio(fromUser, audioData);
+      } else if (this.delegate.audioCallbacks?.receiveAudio) {
+        this.delegate.audioCallbacks.receiveAudio(audioData);
+      }
+    } catch (error) {
+      console.error('❌ [SUBSCRIBER] Error en receiveSpeakerAudio:', error);
+    }
+  }
+  
+  // Audio en el formato negociado para la llamada (G.711 o PCM16 a menor frecuencia)
+  receiveCodedAudio(codec, sampleRate, data, current) {
+    try {
+      const audioData = data instanceof Uint8Array ? data : new Uint8Array(data);
+      
+      if (this.delegate.audioCallbacks?.receiveCodedAudio) {
+        this.delegate.audioCallbacks.receiveCodedAudio(codec, sampleRate, audioData);
+      }
+    } catch (error) {
+      console.error('❌ [SUBSCRIBER] Error en receiveCodedAudio:', error);
+    }
+  }
+  
+  // El otro extremo calla: el servidor no manda audio, solo el nivel del ruido de fondo
+  receiveComfortNoise(level, current) {
+    if (this.delegate.audioCallbacks?.receiveComfortNoise) {
+      this.delegate.audioCallbacks.receiveComfortNoise(level);
+    }
+  }
+  
+  // El servidor pide capturar con otra calidad (el oyente se atrasa o se recuperó)
+  qualityChanged(quality, current) {
+    console.log('🎚️ [SUBSCRIBER] qualityChanged:', quality.level, quality.sampleRate);
+    
+    if (this.delegate.audioCallbacks?.qualityChanged) {
+      this.delegate.audioCallbacks.qualityChanged(quality);
+    }
+  }
+  
+  // Niveles de la llamada/conferencia y hablante activo (calculados en el servidor)
+  audioLevels(activeSpeaker, levels, current) {
+    if (this.delegate.audioCallbacks?.audioLevels) {
+      this.delegate.audioCallbacks.audioLevels(activeSpeaker, levels);
+    }
+  }
+  
   incomingCall(fromUser, current) {
     console.log('📞 [SUBSCRIBER] incomingCall llamado:', fromUser);
     
+    // El polling no repetirá este aviso
+    this.delegate.noteCallNotification?.('Incoming', fromUser);
+    
     try {
       if (this.delegate.audioCallbacks?.incomingCall) {
         this.delegate.audioCallbacks.incomingCall(fromUser);
@@ -49,6 +103,9 @@ export default class AudioSubscriber extends window.Ice.AudioSystem.AudioObserve
   callAccepted(fromUser, current) {
     console.log('✅ [SUBSCRIBER] callAccepted llamado:', fromUser);
     
+    // El polling no repetirá este aviso
+    this.delegate.noteCallNotification?.('Accepted', fromUser);
+    
     try {
       if (this.delegate.audioCallbacks?.callAccepted) {
         this.delegate.audioCallbacks.callAccepted(fromUser);
@@ -63,6 +120,9 @@ export default class AudioSubscriber extends window.Ice.AudioSystem.AudioObserve
   callRejected(fromUser, current) {
     console.log('❌ [SUBSCRIBER] callRejected llamado:', fromUser);
     
+    // El polling no repetirá este aviso
+    this.delegate.noteCallNotification?.('Rejected', fromUser);
+    
     try {
       if (this.delegate.audioCallbacks?.callRejected) {
         this.delegate.audioCallbacks.callRejected(fromUser);
@@ -77,6 +137,9 @@ export default class AudioSubscriber extends window.Ice.AudioSystem.AudioObserve
   callEnded(fromUser, current) {
     console.log('🔴 [SUBSCRIBER] callEnded llamado:', fromUser);
     
+    // El polling no repetirá este aviso
+    this.delegate.noteCallNotification?.('Ended', fromUser);
+    
     try {
       if (this.delegate.audioCallbacks?.callEnded) {
         this.delegate.audioCallbacks.callEnded(fromUser);
@@ -87,4 +150,38 @@ export default class AudioSubscriber extends window.Ice.AudioSystem.AudioObserve
       console.error('❌ [SUBSCRIBER] Error en callEnded:', error);
     }
   }
+  
+  callBusy(fromUser, current) {
+    console.log('📵 [SUBSCRIBER] callBusy llamado:', fromUser);
+    
+    // El polling no repetirá este aviso
+    this.delegate.noteCallNotification?.('Busy', fromUser);
+    
+    try {
+      if (this.delegate.audioCallbacks?.callBusy) {
+        this.delegate.audioCallbacks.callBusy(fromUser);
+      } else {
+        console.warn('   ⚠️ No hay callback callBusy');
+      }
+    } catch (error) {
+      console.error('❌ [SUBSCRIBER] Error en callBusy:', error);
+    }
+  }
+  
+  callNoAnswer(fromUser, current) {
+    console.log('⏰ [SUBSCRIBER] callNoAnswer llamado:', fromUser);
+    
+    // El polling no repetirá este aviso
+    this.delegate.noteCallNotification?.('NoAnswer', fromUser);
+    
+    try {
+      if (this.delegate.audioCallbacks?.callNoAnswer) {
+        this.delegate.audioCallbacks.callNoAnswer(fromUser);
+      } else {
+        console.warn('   ⚠️ No hay callback callNoAnswer');
+      }
+    } catch (error) {
+      console.error('❌ [SUBSCRIBER] Error en callNoAnswer:', error);
+    }
+  }
 }
\ No newline at end of file